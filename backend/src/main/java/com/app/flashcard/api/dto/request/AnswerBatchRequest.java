@@ -0,0 +1,28 @@
+package com.app.flashcard.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class AnswerBatchRequest {
+    
+    @NotEmpty(message = "Answers are required")
+    @Size(max = 500, message = "At most 500 answers can be submitted at once")
+    private List<@Valid StudyAnswerRequest> answers;
+    
+    public AnswerBatchRequest() {}
+    
+    public AnswerBatchRequest(List<StudyAnswerRequest> answers) {
+        this.answers = answers;
+    }
+    
+    public List<StudyAnswerRequest> getAnswers() {
+        return answers;
+    }
+    
+    public void setAnswers(List<StudyAnswerRequest> answers) {
+        this.answers = answers;
+    }
+}
@@ -0,0 +1,24 @@
+package com.app.flashcard.api.dto.request;
+
+import jakarta.validation.constraints.Positive;
+
+public class RescheduleJobRequest {
+    
+    // Reschedule one deck; all of the user's cards when omitted
+    @Positive(message = "Deck ID must be positive")
+    private Integer deckId;
+    
+    public RescheduleJobRequest() {}
+    
+    public RescheduleJobRequest(Integer deckId) {
+        this.deckId = deckId;
+    }
+    
+    public Integer getDeckId() {
+        return deckId;
+    }
+    
+    public void setDeckId(Integer deckId) {
+        this.deckId = deckId;
+    }
+}
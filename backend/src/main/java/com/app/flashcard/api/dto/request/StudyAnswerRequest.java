@@ -0,0 +1,54 @@
+package com.app.flashcard.api.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.time.LocalDateTime;
+
+public class StudyAnswerRequest {
+    
+    @NotNull(message = "Card ID is required")
+    @Positive(message = "Card ID must be positive")
+    private Integer cardId;
+    
+    @NotNull(message = "Answer is required")
+    @Min(value = 1, message = "Answer must be between 1 (Again) and 4 (Easy)")
+    @Max(value = 4, message = "Answer must be between 1 (Again) and 4 (Easy)")
+    private Integer answer;
+    
+    // Only used by batch sync; defaults to the time the server receives the answer
+    private LocalDateTime answeredAt;
+    
+    public StudyAnswerRequest() {}
+    
+    public StudyAnswerRequest(Integer cardId, Integer answer) {
+        this.cardId = cardId;
+        this.answer = answer;
+    }
+    
+    public Integer getCardId() {
+        return cardId;
+    }
+    
+    public void setCardId(Integer cardId) {
+        this.cardId = cardId;
+    }
+    
+    public Integer getAnswer() {
+        return answer;
+    }
+    
+    public void setAnswer(Integer answer) {
+        this.answer = answer;
+    }
+    
+    public LocalDateTime getAnsweredAt() {
+        return answeredAt;
+    }
+    
+    public void setAnsweredAt(LocalDateTime answeredAt) {
+        this.answeredAt = answeredAt;
+    }
+}
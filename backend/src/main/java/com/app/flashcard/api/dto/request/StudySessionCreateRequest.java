@@ -0,0 +1,40 @@
+package com.app.flashcard.api.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class StudySessionCreateRequest {
+    
+    @NotNull(message = "Deck ID is required")
+    @Positive(message = "Deck ID must be positive")
+    private Integer deckId;
+    
+    @Min(value = 1, message = "Batch size must be at least 1")
+    @Max(value = 100, message = "Batch size must not exceed 100")
+    private Integer batchSize;
+    
+    public StudySessionCreateRequest() {}
+    
+    public StudySessionCreateRequest(Integer deckId, Integer batchSize) {
+        this.deckId = deckId;
+        this.batchSize = batchSize;
+    }
+    
+    public Integer getDeckId() {
+        return deckId;
+    }
+    
+    public void setDeckId(Integer deckId) {
+        this.deckId = deckId;
+    }
+    
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+    
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,42 @@
+package com.app.flashcard.api.dto.response;
+
+import java.util.List;
+
+public class AnswerBatchResponse {
+    
+    private Integer appliedCount;
+    private List<Integer> skippedCardIds;
+    private List<CardResponse> cards;
+    
+    public AnswerBatchResponse() {}
+    
+    public AnswerBatchResponse(Integer appliedCount, List<Integer> skippedCardIds, List<CardResponse> cards) {
+        this.appliedCount = appliedCount;
+        this.skippedCardIds = skippedCardIds;
+        this.cards = cards;
+    }
+    
+    public Integer getAppliedCount() {
+        return appliedCount;
+    }
+    
+    public void setAppliedCount(Integer appliedCount) {
+        this.appliedCount = appliedCount;
+    }
+    
+    public List<Integer> getSkippedCardIds() {
+        return skippedCardIds;
+    }
+    
+    public void setSkippedCardIds(List<Integer> skippedCardIds) {
+        this.skippedCardIds = skippedCardIds;
+    }
+    
+    public List<CardResponse> getCards() {
+        return cards;
+    }
+    
+    public void setCards(List<CardResponse> cards) {
+        this.cards = cards;
+    }
+}
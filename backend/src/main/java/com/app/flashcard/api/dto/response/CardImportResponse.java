@@ -0,0 +1,42 @@
+package com.app.flashcard.api.dto.response;
+
+import java.util.List;
+
+public class CardImportResponse {
+    
+    private int importedCount;
+    private int skippedCount;
+    private List<String> errors;
+    
+    public CardImportResponse() {}
+    
+    public CardImportResponse(int importedCount, int skippedCount, List<String> errors) {
+        this.importedCount = importedCount;
+        this.skippedCount = skippedCount;
+        this.errors = errors;
+    }
+    
+    public int getImportedCount() {
+        return importedCount;
+    }
+    
+    public void setImportedCount(int importedCount) {
+        this.importedCount = importedCount;
+    }
+    
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+    
+    public void setSkippedCount(int skippedCount) {
+        this.skippedCount = skippedCount;
+    }
+    
+    public List<String> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,52 @@
+package com.app.flashcard.api.dto.response;
+
+import java.util.List;
+
+public class CardPageResponse {
+    
+    private List<CardResponse> cards;
+    private String nextCursor;
+    private boolean hasMore;
+    private Integer totalCount;
+    
+    public CardPageResponse() {}
+    
+    public CardPageResponse(List<CardResponse> cards, String nextCursor, Integer totalCount) {
+        this.cards = cards;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.totalCount = totalCount;
+    }
+    
+    public List<CardResponse> getCards() {
+        return cards;
+    }
+    
+    public void setCards(List<CardResponse> cards) {
+        this.cards = cards;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public Integer getTotalCount() {
+        return totalCount;
+    }
+    
+    public void setTotalCount(Integer totalCount) {
+        this.totalCount = totalCount;
+    }
+}
@@ -0,0 +1,104 @@
+package com.app.flashcard.api.dto.response;
+
+import java.time.LocalDate;
+
+public class CardSearchHitResponse {
+    
+    private Integer id;
+    private Integer deckId;
+    private String frontContent;
+    private String backContent;
+    private LocalDate remindTime;
+    private Integer status;
+    private double rank;
+    private String frontHighlight;
+    private String backHighlight;
+    
+    public CardSearchHitResponse() {}
+    
+    public CardSearchHitResponse(Integer id, Integer deckId, String frontContent, String backContent,
+                                 LocalDate remindTime, Integer status, double rank,
+                                 String frontHighlight, String backHighlight) {
+        this.id = id;
+        this.deckId = deckId;
+        this.frontContent = frontContent;
+        this.backContent = backContent;
+        this.remindTime = remindTime;
+        this.status = status;
+        this.rank = rank;
+        this.frontHighlight = frontHighlight;
+        this.backHighlight = backHighlight;
+    }
+    
+    public Integer getId() {
+        return id;
+    }
+    
+    public void setId(Integer id) {
+        this.id = id;
+    }
+    
+    public Integer getDeckId() {
+        return deckId;
+    }
+    
+    public void setDeckId(Integer deckId) {
+        this.deckId = deckId;
+    }
+    
+    public String getFrontContent() {
+        return frontContent;
+    }
+    
+    public void setFrontContent(String frontContent) {
+        this.frontContent = frontContent;
+    }
+    
+    public String getBackContent() {
+        return backContent;
+    }
+    
+    public void setBackContent(String backContent) {
+        this.backContent = backContent;
+    }
+    
+    public LocalDate getRemindTime() {
+        return remindTime;
+    }
+    
+    public void setRemindTime(LocalDate remindTime) {
+        this.remindTime = remindTime;
+    }
+    
+    public Integer getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+    
+    public double getRank() {
+        return rank;
+    }
+    
+    public void setRank(double rank) {
+        this.rank = rank;
+    }
+    
+    public String getFrontHighlight() {
+        return frontHighlight;
+    }
+    
+    public void setFrontHighlight(String frontHighlight) {
+        this.frontHighlight = frontHighlight;
+    }
+    
+    public String getBackHighlight() {
+        return backHighlight;
+    }
+    
+    public void setBackHighlight(String backHighlight) {
+        this.backHighlight = backHighlight;
+    }
+}
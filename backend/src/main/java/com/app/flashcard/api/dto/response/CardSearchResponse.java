@@ -0,0 +1,42 @@
+package com.app.flashcard.api.dto.response;
+
+import java.util.List;
+
+public class CardSearchResponse {
+    
+    private List<CardSearchHitResponse> hits;
+    private boolean hasMore;
+    private Integer nextOffset;
+    
+    public CardSearchResponse() {}
+    
+    public CardSearchResponse(List<CardSearchHitResponse> hits, boolean hasMore, Integer nextOffset) {
+        this.hits = hits;
+        this.hasMore = hasMore;
+        this.nextOffset = nextOffset;
+    }
+    
+    public List<CardSearchHitResponse> getHits() {
+        return hits;
+    }
+    
+    public void setHits(List<CardSearchHitResponse> hits) {
+        this.hits = hits;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+    
+    public Integer getNextOffset() {
+        return nextOffset;
+    }
+    
+    public void setNextOffset(Integer nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+}
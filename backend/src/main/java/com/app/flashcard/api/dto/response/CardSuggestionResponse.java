@@ -0,0 +1,50 @@
+package com.app.flashcard.api.dto.response;
+
+public class CardSuggestionResponse {
+    
+    private Integer id;
+    private Integer deckId;
+    private String frontContent;
+    private String backContent;
+    
+    public CardSuggestionResponse() {}
+    
+    public CardSuggestionResponse(Integer id, Integer deckId, String frontContent, String backContent) {
+        this.id = id;
+        this.deckId = deckId;
+        this.frontContent = frontContent;
+        this.backContent = backContent;
+    }
+    
+    public Integer getId() {
+        return id;
+    }
+    
+    public void setId(Integer id) {
+        this.id = id;
+    }
+    
+    public Integer getDeckId() {
+        return deckId;
+    }
+    
+    public void setDeckId(Integer deckId) {
+        this.deckId = deckId;
+    }
+    
+    public String getFrontContent() {
+        return frontContent;
+    }
+    
+    public void setFrontContent(String frontContent) {
+        this.frontContent = frontContent;
+    }
+    
+    public String getBackContent() {
+        return backContent;
+    }
+    
+    public void setBackContent(String backContent) {
+        this.backContent = backContent;
+    }
+}
@@ -0,0 +1,65 @@
+package com.app.flashcard.api.dto.response;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class DueForecastResponse {
+    
+    private Integer deckId;
+    private LocalDate startDate;
+    private int days;
+    // counts[i] = cards due on startDate + i; counts[0] includes overdue cards
+    private int[] counts;
+    // Per-deck counts, only for the across-decks forecast
+    private Map<Integer, int[]> decks;
+    
+    public DueForecastResponse() {}
+    
+    public DueForecastResponse(Integer deckId, LocalDate startDate, int days, int[] counts, Map<Integer, int[]> decks) {
+        this.deckId = deckId;
+        this.startDate = startDate;
+        this.days = days;
+        this.counts = counts;
+        this.decks = decks;
+    }
+    
+    public Integer getDeckId() {
+        return deckId;
+    }
+    
+    public void setDeckId(Integer deckId) {
+        this.deckId = deckId;
+    }
+    
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    public int getDays() {
+        return days;
+    }
+    
+    public void setDays(int days) {
+        this.days = days;
+    }
+    
+    public int[] getCounts() {
+        return counts;
+    }
+    
+    public void setCounts(int[] counts) {
+        this.counts = counts;
+    }
+    
+    public Map<Integer, int[]> getDecks() {
+        return decks;
+    }
+    
+    public void setDecks(Map<Integer, int[]> decks) {
+        this.decks = decks;
+    }
+}
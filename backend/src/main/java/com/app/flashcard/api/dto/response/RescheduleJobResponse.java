@@ -0,0 +1,124 @@
+package com.app.flashcard.api.dto.response;
+
+import java.time.LocalDateTime;
+
+public class RescheduleJobResponse {
+    
+    private Integer id;
+    private String scope;
+    private Integer scopeId;
+    private String algorithm;
+    private String status;
+    private Long processedCount;
+    private Long updatedCount;
+    private Integer lastCardId;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    
+    public RescheduleJobResponse() {}
+    
+    public RescheduleJobResponse(Integer id, String scope, Integer scopeId, String algorithm, String status,
+                                 Long processedCount, Long updatedCount, Integer lastCardId,
+                                 LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+        this.id = id;
+        this.scope = scope;
+        this.scopeId = scopeId;
+        this.algorithm = algorithm;
+        this.status = status;
+        this.processedCount = processedCount;
+        this.updatedCount = updatedCount;
+        this.lastCardId = lastCardId;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+    
+    public Integer getId() {
+        return id;
+    }
+    
+    public void setId(Integer id) {
+        this.id = id;
+    }
+    
+    public String getScope() {
+        return scope;
+    }
+    
+    public void setScope(String scope) {
+        this.scope = scope;
+    }
+    
+    public Integer getScopeId() {
+        return scopeId;
+    }
+    
+    public void setScopeId(Integer scopeId) {
+        this.scopeId = scopeId;
+    }
+    
+    public String getAlgorithm() {
+        return algorithm;
+    }
+    
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public Long getProcessedCount() {
+        return processedCount;
+    }
+    
+    public void setProcessedCount(Long processedCount) {
+        this.processedCount = processedCount;
+    }
+    
+    public Long getUpdatedCount() {
+        return updatedCount;
+    }
+    
+    public void setUpdatedCount(Long updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+    
+    public Integer getLastCardId() {
+        return lastCardId;
+    }
+    
+    public void setLastCardId(Integer lastCardId) {
+        this.lastCardId = lastCardId;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
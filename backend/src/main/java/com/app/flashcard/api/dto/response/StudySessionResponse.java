@@ -0,0 +1,63 @@
+package com.app.flashcard.api.dto.response;
+
+import java.util.List;
+
+public class StudySessionResponse {
+    
+    private String sessionId;
+    private Integer deckId;
+    private Integer answeredCount;
+    private Integer pendingCount;
+    private List<CardResponse> cards;
+    
+    public StudySessionResponse() {}
+    
+    public StudySessionResponse(String sessionId, Integer deckId, Integer answeredCount,
+                                Integer pendingCount, List<CardResponse> cards) {
+        this.sessionId = sessionId;
+        this.deckId = deckId;
+        this.answeredCount = answeredCount;
+        this.pendingCount = pendingCount;
+        this.cards = cards;
+    }
+    
+    public String getSessionId() {
+        return sessionId;
+    }
+    
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+    
+    public Integer getDeckId() {
+        return deckId;
+    }
+    
+    public void setDeckId(Integer deckId) {
+        this.deckId = deckId;
+    }
+    
+    public Integer getAnsweredCount() {
+        return answeredCount;
+    }
+    
+    public void setAnsweredCount(Integer answeredCount) {
+        this.answeredCount = answeredCount;
+    }
+    
+    public Integer getPendingCount() {
+        return pendingCount;
+    }
+    
+    public void setPendingCount(Integer pendingCount) {
+        this.pendingCount = pendingCount;
+    }
+    
+    public List<CardResponse> getCards() {
+        return cards;
+    }
+    
+    public void setCards(List<CardResponse> cards) {
+        this.cards = cards;
+    }
+}
@@ -0,0 +1,57 @@
+package com.app.flashcard.api.v1;
+
+import com.app.flashcard.api.dto.response.ApiResponse;
+import com.app.flashcard.shared.cache.EntityCache;
+import com.app.flashcard.shared.cache.MapperCacheManager;
+import com.app.flashcard.shared.ratelimit.ApiAdmissionControl;
+import com.app.flashcard.shared.security.BoundedPasswordEncoder;
+import com.app.flashcard.shared.shadow.ShadowReadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@Tag(name = "Administration", description = "Operational APIs (ADMIN role)")
+public class AdminApiController {
+
+    @Autowired
+    private ApiAdmissionControl apiAdmissionControl;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private List<EntityCache<?, ?>> entityCaches;
+
+    @Autowired
+    private MapperCacheManager mapperCacheManager;
+
+    @Autowired
+    private ShadowReadService shadowReadService;
+
+    @Operation(summary = "Get metrics", description = "Rate limiting, admission control, password hashing, cache and shadow-read counters of this instance")
+    @GetMapping("/metrics")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getMetrics() {
+        try {
+            Map<String, Object> metrics = new LinkedHashMap<>(apiAdmissionControl.getStatistics());
+            metrics.putAll(passwordEncoder.getStatistics());
+            entityCaches.forEach(cache -> metrics.putAll(cache.getStatistics()));
+            metrics.putAll(mapperCacheManager.getStatistics());
+            metrics.putAll(shadowReadService.getStatistics());
+            return ResponseEntity.ok(ApiResponse.success(metrics));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to get metrics", e.getMessage()));
+        }
+    }
+}
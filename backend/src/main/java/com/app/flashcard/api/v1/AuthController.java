@@ -7,6 +7,8 @@ import com.app.flashcard.api.dto.response.LoginResponse;
 import com.app.flashcard.api.dto.response.UserResponse;
 import com.app.flashcard.shared.security.JwtUtil;
 import com.app.flashcard.shared.security.LoginAttemptService;
+import com.app.flashcard.shared.security.PasswordHashingBusyException;
+import com.app.flashcard.shared.security.UserPrincipal;
 import com.app.flashcard.shared.utils.IpUtils;
 import com.app.flashcard.user.model.User;
 import com.app.flashcard.user.service.UserService;
@@ -15,13 +17,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -33,9 +35,6 @@ public class AuthController {
     @Autowired
     private AuthenticationManager authenticationManager;
 
-    @Autowired
-    private UserDetailsService userDetailsService;
-
     @Autowired
     private JwtUtil jwtUtil;
 
@@ -53,9 +52,9 @@ public class AuthController {
     public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         String clientIp = IpUtils.getClientIpAddress(request);
         
-        // Check if IP is blocked due to too many failed attempts
-        if (loginAttemptService.isBlocked(clientIp)) {
-            long remainingMinutes = loginAttemptService.getBlockRemainingMinutes(clientIp);
+        // Check if IP or account is blocked due to too many failed attempts
+        if (loginAttemptService.isBlocked(clientIp, loginRequest.getLoginId())) {
+            long remainingMinutes = loginAttemptService.getBlockRemainingMinutes(clientIp, loginRequest.getLoginId());
             return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
                 .body(ApiResponse.error(
                     "Tài khoản tạm thời bị khóa do quá nhiều lần đăng nhập sai. Vui lòng thử lại sau " + remainingMinutes + " phút.",
@@ -64,18 +63,19 @@ public class AuthController {
         }
         
         try {
-            // Authenticate - Spring Security will handle all validation
-            authenticationManager.authenticate(
+            // Authenticate - loads the user once and checks the password hash once;
+            // token and response are built from the authenticated principal
+            Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getLoginId(), loginRequest.getPassword())
             );
 
             // Register successful attempt (clears any previous failed attempts)
-            loginAttemptService.registerSuccessfulAttempt(clientIp);
+            loginAttemptService.registerSuccessfulAttempt(clientIp, loginRequest.getLoginId());
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getLoginId());
-            String token = jwtUtil.generateToken(userDetails);
+            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+            String token = jwtUtil.generateToken(principal);
 
-            User user = userService.findByUserLoginID(loginRequest.getLoginId());
+            User user = principal.getUser();
             UserResponse userResponse = new UserResponse(
                 user.getUserID(),
                 user.getUserLoginID(),
@@ -87,12 +87,15 @@ public class AuthController {
             LoginResponse loginResponse = new LoginResponse(token, userResponse);
             return ResponseEntity.ok(ApiResponse.success(loginResponse, "Login successful"));
 
+        } catch (PasswordHashingBusyException e) {
+            // Not a failed attempt: the password was never checked
+            return serverBusy();
         } catch (BadCredentialsException e) {
             // Register failed attempt for rate limiting
-            loginAttemptService.registerFailedAttempt(clientIp);
+            loginAttemptService.registerFailedAttempt(clientIp, loginRequest.getLoginId());
             
             // Provide additional info about remaining attempts (but still generic for security)
-            int remainingAttempts = loginAttemptService.getRemainingAttempts(clientIp);
+            int remainingAttempts = loginAttemptService.getRemainingAttempts(clientIp, loginRequest.getLoginId());
             String message = "Thông tin đăng nhập không chính xác";
             if (remainingAttempts > 0) {
                 message += ". Còn " + remainingAttempts + " lần thử.";
@@ -135,9 +138,17 @@ public class AuthController {
             return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(userResponse, "User registered successfully"));
 
+        } catch (PasswordHashingBusyException e) {
+            return serverBusy();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Registration failed", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    private <T> ResponseEntity<ApiResponse<T>> serverBusy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(ApiResponse.error("Server busy", "Too many logins in progress, retry later"));
+    }
+}
@@ -2,22 +2,46 @@ package com.app.flashcard.api.v1;
 
 import com.app.flashcard.api.dto.request.CardCreateRequest;
 import com.app.flashcard.api.dto.response.ApiResponse;
+import com.app.flashcard.api.dto.response.CardImportResponse;
+import com.app.flashcard.api.dto.response.CardPageResponse;
 import com.app.flashcard.api.dto.response.CardResponse;
+import com.app.flashcard.api.dto.response.CardSearchHitResponse;
+import com.app.flashcard.api.dto.response.CardSearchResponse;
+import com.app.flashcard.api.dto.response.CardSuggestionResponse;
 import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.model.CardFileFormat;
+import com.app.flashcard.card.model.CardImportResult;
+import com.app.flashcard.card.model.CardPage;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.model.CardSearchHit;
+import com.app.flashcard.card.model.CardSearchResult;
+import com.app.flashcard.card.model.CardSuggestion;
+import com.app.flashcard.card.service.CardExportService;
+import com.app.flashcard.card.service.CardImportService;
+import com.app.flashcard.card.service.CardSearchService;
 import com.app.flashcard.card.service.CardService;
+import com.app.flashcard.card.service.CardTypeaheadService;
 import com.app.flashcard.deck.model.Deck;
 import com.app.flashcard.deck.service.DeckService;
+import com.app.flashcard.shared.exception.ValidationException;
 import com.app.flashcard.shared.security.UserPrincipal;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 import java.util.stream.Collectors;
 
 @RestController
@@ -31,6 +55,18 @@ public class CardApiController {
     @Autowired
     private DeckService deckService;
 
+    @Autowired
+    private CardImportService cardImportService;
+
+    @Autowired
+    private CardExportService cardExportService;
+
+    @Autowired
+    private CardSearchService cardSearchService;
+
+    @Autowired
+    private CardTypeaheadService cardTypeaheadService;
+
     @Operation(summary = "Get cards by deck", description = "Retrieve all cards for a specific deck")
     @GetMapping("/deck/{deckId}")
     public ResponseEntity<ApiResponse<List<CardResponse>>> getCardsByDeck(
@@ -56,21 +92,177 @@ public class CardApiController {
         }
     }
 
+    @Operation(summary = "Get a page of cards by deck", description = "Retrieve cards of a deck ordered by remind time, one page at a time")
+    @GetMapping("/deck/{deckId}/page")
+    public ResponseEntity<ApiResponse<CardPageResponse>> getCardPageByDeck(
+            @PathVariable Integer deckId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CardService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            Deck deck = deckService.findByDeckID(deckId);
+            
+            if (deck == null || deck.getUserID() != userPrincipal.getUserID()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Deck not found", "Deck does not exist or access denied"));
+            }
+            
+            CardPage page = cardService.findCardPage(deckId, cursor, limit, includeTotal);
+            List<CardResponse> cardResponses = page.getCards().stream()
+                .map(this::convertToCardResponse)
+                .collect(Collectors.toList());
+            
+            return ResponseEntity.ok(ApiResponse.success(
+                new CardPageResponse(cardResponses, page.getNextCursor(), page.getTotalCount())));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid page request", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve cards", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Import cards", description = "Import cards into a deck from a CSV, TSV or NDJSON upload")
+    @PostMapping(value = "/deck/{deckId}/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<CardImportResponse>> importCards(
+            @PathVariable Integer deckId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            Deck deck = deckService.findByDeckID(deckId);
+            
+            if (deck == null || deck.getUserID() != userPrincipal.getUserID()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Deck not found", "Deck does not exist or access denied"));
+            }
+            
+            CardFileFormat importFormat = CardFileFormat.resolve(format, file.getOriginalFilename());
+            if (importFormat == null) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("Unsupported import format", "Use csv, tsv or ndjson"));
+            }
+            
+            CardImportResult result;
+            try (InputStream input = file.getInputStream()) {
+                result = cardImportService.importCards(deckId, input, importFormat);
+            }
+            CardImportResponse response = new CardImportResponse(
+                result.getImportedCount(), result.getSkippedCount(), result.getErrors());
+            return ResponseEntity.ok(ApiResponse.success(response, "Cards imported"));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Import rejected", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to import cards", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Export deck", description = "Download the cards of a deck as CSV, TSV or NDJSON, optionally gzipped")
+    @GetMapping("/deck/{deckId}/export")
+    public ResponseEntity<?> exportDeck(
+            @PathVariable Integer deckId,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        Deck deck = deckService.findByDeckID(deckId);
+        
+        if (deck == null || deck.getUserID() != userPrincipal.getUserID()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Deck not found", "Deck does not exist or access denied"));
+        }
+        
+        return exportResponse(deckId, deck.getUserID(), format, gzip, "deck-" + deckId);
+    }
+
+    @Operation(summary = "Export all cards", description = "Download every card of the authenticated user as CSV, TSV or NDJSON, optionally gzipped")
+    @GetMapping("/export")
+    public ResponseEntity<?> exportAllCards(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        return exportResponse(null, userPrincipal.getUserID().intValue(), format, gzip, "cards");
+    }
+
+    @Operation(summary = "Search cards", description = "Search the cards of one deck or all decks of the authenticated user")
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<CardSearchResponse>> searchCards(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer deckId,
+            @RequestParam(defaultValue = "" + CardSearchService.DEFAULT_LIMIT) int limit,
+            @RequestParam(defaultValue = "0") int offset,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            if (deckId != null) {
+                Deck deck = deckService.findByDeckID(deckId);
+                if (deck == null || deck.getUserID() != userPrincipal.getUserID()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Deck not found", "Deck does not exist or access denied"));
+                }
+            }
+            
+            CardSearchResult result = cardSearchService.search(
+                userPrincipal.getUserID().intValue(), deckId, query, limit, offset);
+            List<CardSearchHitResponse> hits = result.getHits().stream()
+                .map(this::convertToSearchHitResponse)
+                .collect(Collectors.toList());
+            
+            return ResponseEntity.ok(ApiResponse.success(new CardSearchResponse(
+                hits, result.isHasMore(), result.isHasMore() ? offset + hits.size() : null)));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid search request", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to search cards", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Suggest cards", description = "Instant type-ahead lookup of cards whose front or back contains the query")
+    @GetMapping("/typeahead")
+    public ResponseEntity<ApiResponse<List<CardSuggestionResponse>>> suggestCards(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer deckId,
+            @RequestParam(defaultValue = "" + CardTypeaheadService.DEFAULT_LIMIT) int limit,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            if (deckId != null) {
+                Deck deck = deckService.findByDeckID(deckId);
+                if (deck == null || deck.getUserID() != userPrincipal.getUserID()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Deck not found", "Deck does not exist or access denied"));
+                }
+            }
+            
+            List<CardSuggestion> suggestions = cardTypeaheadService.suggest(
+                userPrincipal.getUserID().intValue(), deckId, query, limit);
+            List<CardSuggestionResponse> response = suggestions.stream()
+                .map(suggestion -> new CardSuggestionResponse(suggestion.getCardID(), suggestion.getDeckID(),
+                    suggestion.getFrontContent(), suggestion.getBackContent()))
+                .collect(Collectors.toList());
+            
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid search request", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to suggest cards", e.getMessage()));
+        }
+    }
+
     @Operation(summary = "Get card by ID", description = "Retrieve a specific card by its ID")
     @GetMapping("/{cardId}")
     public ResponseEntity<ApiResponse<CardResponse>> getCard(
             @PathVariable Integer cardId,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            Card card = cardService.findByCardID(cardId);
+            Card card = cardService.findOwnedCard(cardId, userPrincipal.getUserID().intValue());
             
             if (card == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(ApiResponse.error("Card not found", "Card does not exist"));
-            }
-            
-            Deck deck = deckService.findByDeckID(card.getDeckID());
-            if (deck == null || deck.getUserID() != userPrincipal.getUserID()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error("Card not found", "Card does not exist or access denied"));
             }
@@ -96,16 +288,9 @@ public class CardApiController {
                     .body(ApiResponse.error("Deck not found", "Deck does not exist or access denied"));
             }
             
-            Card card = new Card();
-            card.setDeckID(request.getDeckId());
-            card.setFontContent(request.getFrontContent());
-            card.setBackContent(request.getBackContent());
-            
-            Card savedCard = cardService.save(card);
-            
-            // Update deck statistics after creating a new card
-            deckService.updateDeckStatistics(deck);
-            deckService.save(deck);
+            // Deck counters are adjusted incrementally by the card lifecycle event
+            Card savedCard = cardService.createCard(
+                request.getDeckId(), request.getFrontContent(), request.getBackContent());
             
             CardResponse cardResponse = convertToCardResponse(savedCard);
             
@@ -124,23 +309,27 @@ public class CardApiController {
             @Valid @RequestBody CardCreateRequest request,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            Card card = cardService.findByCardID(cardId);
+            Card card = cardService.findOwnedCardForWrite(cardId, userPrincipal.getUserID().intValue());
             
             if (card == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(ApiResponse.error("Card not found", "Card does not exist"));
+                    .body(ApiResponse.error("Card not found", "Card does not exist or access denied"));
             }
             
-            Deck deck = deckService.findByDeckID(card.getDeckID());
-            if (deck == null || deck.getUserID() != userPrincipal.getUserID()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(ApiResponse.error("Card not found", "Card does not exist or access denied"));
+            if (request.getDeckId() != card.getDeckID()) {
+                Deck targetDeck = deckService.findByDeckID(request.getDeckId());
+                if (targetDeck == null || targetDeck.getUserID() != userPrincipal.getUserID()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Deck not found", "Deck does not exist or access denied"));
+                }
             }
             
             card.setFontContent(request.getFrontContent());
             card.setBackContent(request.getBackContent());
             
-            Card updatedCard = cardService.save(card);
+            Card updatedCard = request.getDeckId() != card.getDeckID()
+                ? cardService.moveCard(card, request.getDeckId())
+                : cardService.save(card);
             CardResponse cardResponse = convertToCardResponse(updatedCard);
             
             return ResponseEntity.ok(ApiResponse.success(cardResponse, "Card updated successfully"));
@@ -156,24 +345,14 @@ public class CardApiController {
             @PathVariable Integer cardId,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            Card card = cardService.findByCardID(cardId);
+            Card card = cardService.findOwnedCardForWrite(cardId, userPrincipal.getUserID().intValue());
             
             if (card == null) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(ApiResponse.error("Card not found", "Card does not exist"));
-            }
-            
-            Deck deck = deckService.findByDeckID(card.getDeckID());
-            if (deck == null || deck.getUserID() != userPrincipal.getUserID()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(ApiResponse.error("Card not found", "Card does not exist or access denied"));
             }
             
-            cardService.deleteByCardID(cardId);
-            
-            // Update deck statistics after deleting a card
-            deckService.updateDeckStatistics(deck);
-            deckService.save(deck);
+            cardService.deleteCard(card);
             
             return ResponseEntity.ok(ApiResponse.success(null, "Card deleted successfully"));
         } catch (Exception e) {
@@ -182,6 +361,32 @@ public class CardApiController {
         }
     }
 
+    private ResponseEntity<?> exportResponse(Integer deckID, int userID, String formatName, boolean gzip, String baseName) {
+        CardFileFormat format = CardFileFormat.resolve(formatName, null);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Unsupported export format", "Use csv, tsv or ndjson"));
+        }
+        
+        // Written on an async thread after the headers are sent; errors can only abort the download
+        StreamingResponseBody body = output -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(output, 8192, true);
+                cardExportService.exportCards(deckID, userID, format, compressed);
+                compressed.finish();
+            } else {
+                cardExportService.exportCards(deckID, userID, format, output);
+            }
+        };
+        String fileName = baseName + "." + format.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+            .contentType(gzip
+                ? MediaType.parseMediaType("application/gzip")
+                : MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+            .body(body);
+    }
+
     private CardResponse convertToCardResponse(Card card) {
         return new CardResponse(
             card.getCardID(),
@@ -192,4 +397,29 @@ public class CardApiController {
             card.getStatus()
         );
     }
-}
\ No newline at end of file
+
+    private CardResponse convertToCardResponse(CardPojo card) {
+        return new CardResponse(
+            card.getCardID(),
+            card.getDeckID(),
+            card.getFrontContent(),
+            card.getBackContent(),
+            card.getRemindTime(),
+            card.getStatus()
+        );
+    }
+
+    private CardSearchHitResponse convertToSearchHitResponse(CardSearchHit hit) {
+        return new CardSearchHitResponse(
+            hit.getCardID(),
+            hit.getDeckID(),
+            hit.getFrontContent(),
+            hit.getBackContent(),
+            hit.getRemindTime(),
+            hit.getStatus(),
+            hit.getRank(),
+            hit.getFrontHighlight(),
+            hit.getBackHighlight()
+        );
+    }
+}
@@ -3,8 +3,12 @@ package com.app.flashcard.api.v1;
 import com.app.flashcard.api.dto.request.DeckCreateRequest;
 import com.app.flashcard.api.dto.response.ApiResponse;
 import com.app.flashcard.api.dto.response.DeckResponse;
+import com.app.flashcard.api.dto.response.DueForecastResponse;
 import com.app.flashcard.deck.model.Deck;
 import com.app.flashcard.deck.service.DeckService;
+import com.app.flashcard.learning.model.DueForecast;
+import com.app.flashcard.learning.service.DueForecastService;
+import com.app.flashcard.shared.exception.ValidationException;
 import com.app.flashcard.shared.security.UserPrincipal;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -15,7 +19,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,6 +32,9 @@ public class DeckApiController {
     @Autowired
     private DeckService deckService;
 
+    @Autowired
+    private DueForecastService dueForecastService;
+
     @Operation(summary = "Get all user decks", description = "Retrieve all decks for the authenticated user")
     @GetMapping
     public ResponseEntity<ApiResponse<List<DeckResponse>>> getUserDecks(
@@ -64,6 +73,54 @@ public class DeckApiController {
         }
     }
 
+    @Operation(summary = "Get due forecast", description = "Cards due per day across all decks of the authenticated user")
+    @GetMapping("/forecast")
+    public ResponseEntity<ApiResponse<DueForecastResponse>> getForecast(
+            @RequestParam(defaultValue = "" + DueForecastService.DEFAULT_DAYS) int days,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            DueForecast forecast = dueForecastService.getForecast(userPrincipal.getUserID().intValue(), days);
+            Map<Integer, int[]> decks = new LinkedHashMap<>();
+            forecast.getDeckIDs().stream().sorted()
+                .forEach(deckID -> decks.put(deckID, forecast.getDeckCounts(deckID, days)));
+            
+            return ResponseEntity.ok(ApiResponse.success(new DueForecastResponse(
+                null, forecast.getStartDate(), days, forecast.getTotalCounts(days), decks)));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid forecast request", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve forecast", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Get deck due forecast", description = "Cards due per day in a specific deck")
+    @GetMapping("/{deckId}/forecast")
+    public ResponseEntity<ApiResponse<DueForecastResponse>> getDeckForecast(
+            @PathVariable Integer deckId,
+            @RequestParam(defaultValue = "" + DueForecastService.DEFAULT_DAYS) int days,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            Deck deck = deckService.findByDeckID(deckId);
+            
+            if (deck == null || deck.getUserID() != userPrincipal.getUserID()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Deck not found", "Deck does not exist or access denied"));
+            }
+            
+            DueForecast forecast = dueForecastService.getForecast(deck.getUserID(), days);
+            return ResponseEntity.ok(ApiResponse.success(new DueForecastResponse(
+                deckId, forecast.getStartDate(), days, forecast.getDeckCounts(deckId, days), null)));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid forecast request", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve forecast", e.getMessage()));
+        }
+    }
+
     @Operation(summary = "Create new deck", description = "Create a new deck for the authenticated user")
     @PostMapping
     public ResponseEntity<ApiResponse<DeckResponse>> createDeck(
@@ -92,7 +149,7 @@ public class DeckApiController {
             @Valid @RequestBody DeckCreateRequest request,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            Deck deck = deckService.findByDeckID(deckId);
+            Deck deck = deckService.findByDeckIDForWrite(deckId);
             
             if (deck == null || deck.getUserID() != userPrincipal.getUserID()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -0,0 +1,122 @@
+package com.app.flashcard.api.v1;
+
+import com.app.flashcard.api.dto.request.RescheduleJobRequest;
+import com.app.flashcard.api.dto.response.ApiResponse;
+import com.app.flashcard.api.dto.response.RescheduleJobResponse;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.service.DeckService;
+import com.app.flashcard.learning.model.RescheduleJob;
+import com.app.flashcard.learning.service.RescheduleJobService;
+import com.app.flashcard.shared.exception.EntityNotFoundException;
+import com.app.flashcard.shared.exception.ValidationException;
+import com.app.flashcard.shared.security.UserPrincipal;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/reschedule-jobs")
+@Tag(name = "Rescheduling", description = "Bulk card rescheduling APIs")
+public class RescheduleJobApiController {
+
+    @Autowired
+    private RescheduleJobService rescheduleJobService;
+
+    @Autowired
+    private DeckService deckService;
+
+    @Operation(summary = "Start reschedule job", description = "Recompute remind times of a deck or of all the user's cards in the background")
+    @PostMapping
+    public ResponseEntity<ApiResponse<RescheduleJobResponse>> startJob(
+            @Valid @RequestBody RescheduleJobRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            int userID = userPrincipal.getUserID().intValue();
+            RescheduleJob job;
+            if (request.getDeckId() != null) {
+                Deck deck = deckService.findByDeckID(request.getDeckId());
+                if (deck == null || deck.getUserID() != userID) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Deck not found", "Deck does not exist or access denied"));
+                }
+                job = rescheduleJobService.startJob(RescheduleJob.Scope.DECK, request.getDeckId(), userID);
+            } else {
+                job = rescheduleJobService.startJob(RescheduleJob.Scope.USER, userID, userID);
+            }
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(convertToResponse(job), "Reschedule job started"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to start reschedule job", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Get reschedule job", description = "Get the progress of a reschedule job")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<RescheduleJobResponse>> getJob(
+            @PathVariable Integer jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            RescheduleJob job = findOwnedJob(jobId, userPrincipal);
+            return ResponseEntity.ok(ApiResponse.success(convertToResponse(job)));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Reschedule job not found", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve reschedule job", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Resume reschedule job", description = "Resume a failed reschedule job from its last checkpoint")
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<ApiResponse<RescheduleJobResponse>> resumeJob(
+            @PathVariable Integer jobId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            findOwnedJob(jobId, userPrincipal);
+            RescheduleJob job = rescheduleJobService.resumeJob(jobId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(convertToResponse(job), "Reschedule job resumed"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Reschedule job not found", e.getMessage()));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error("Reschedule job cannot be resumed", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to resume reschedule job", e.getMessage()));
+        }
+    }
+
+    private RescheduleJob findOwnedJob(Integer jobId, UserPrincipal userPrincipal) {
+        RescheduleJob job = rescheduleJobService.getJob(jobId);
+        if (job.getRequestedBy() == null || job.getRequestedBy() != userPrincipal.getUserID().intValue()) {
+            throw new EntityNotFoundException("Reschedule job does not exist or access denied");
+        }
+        return job;
+    }
+
+    private RescheduleJobResponse convertToResponse(RescheduleJob job) {
+        return new RescheduleJobResponse(
+            job.getJobID(),
+            job.getScope().name(),
+            job.getScopeID(),
+            job.getAlgorithm(),
+            job.getStatus().name(),
+            job.getProcessedCount(),
+            job.getUpdatedCount(),
+            job.getLastCardID(),
+            job.getStartedAt(),
+            job.getFinishedAt(),
+            job.getErrorMessage()
+        );
+    }
+}
@@ -0,0 +1,183 @@
+package com.app.flashcard.api.v1;
+
+import com.app.flashcard.api.dto.request.AnswerBatchRequest;
+import com.app.flashcard.api.dto.request.StudyAnswerRequest;
+import com.app.flashcard.api.dto.request.StudySessionCreateRequest;
+import com.app.flashcard.api.dto.response.AnswerBatchResponse;
+import com.app.flashcard.api.dto.response.ApiResponse;
+import com.app.flashcard.api.dto.response.CardResponse;
+import com.app.flashcard.api.dto.response.StudySessionResponse;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.service.DeckService;
+import com.app.flashcard.learning.model.AnswerBatchResult;
+import com.app.flashcard.learning.model.CardAnswer;
+import com.app.flashcard.learning.model.StudySession;
+import com.app.flashcard.learning.service.LearningService;
+import com.app.flashcard.learning.service.StudySessionService;
+import com.app.flashcard.shared.exception.EntityNotFoundException;
+import com.app.flashcard.shared.exception.ValidationException;
+import com.app.flashcard.shared.security.UserPrincipal;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/v1/study")
+@Tag(name = "Study", description = "Study session APIs")
+public class StudyApiController {
+
+    @Autowired
+    private StudySessionService studySessionService;
+
+    @Autowired
+    private LearningService learningService;
+
+    @Autowired
+    private DeckService deckService;
+
+    @Operation(summary = "Start study session", description = "Start a study session and get the first batch of due and new cards")
+    @PostMapping("/sessions")
+    public ResponseEntity<ApiResponse<StudySessionResponse>> startSession(
+            @Valid @RequestBody StudySessionCreateRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            Deck deck = deckService.findByDeckID(request.getDeckId());
+            
+            if (deck == null || deck.getUserID() != userPrincipal.getUserID()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Deck not found", "Deck does not exist or access denied"));
+            }
+            
+            int batchSize = request.getBatchSize() != null
+                ? request.getBatchSize() : StudySessionService.DEFAULT_BATCH_SIZE;
+            StudySession session = studySessionService.startSession(
+                userPrincipal.getUserID(), request.getDeckId(), batchSize);
+            
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(convertToSessionResponse(session, session.getPendingCards()),
+                    "Study session started"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to start study session", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Get next cards", description = "Get the next batch of cards not yet handed out in this session")
+    @GetMapping("/sessions/{sessionId}/cards")
+    public ResponseEntity<ApiResponse<StudySessionResponse>> getNextCards(
+            @PathVariable String sessionId,
+            @RequestParam(defaultValue = "20") int count,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            List<CardPojo> cards = studySessionService.nextCards(sessionId, userPrincipal.getUserID(), count);
+            StudySession session = studySessionService.getSession(sessionId, userPrincipal.getUserID());
+            
+            return ResponseEntity.ok(ApiResponse.success(convertToSessionResponse(session, cards)));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Study session not found", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve cards", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Answer card", description = "Submit an answer for a card handed out in this session")
+    @PostMapping("/sessions/{sessionId}/answers")
+    public ResponseEntity<ApiResponse<CardResponse>> answerCard(
+            @PathVariable String sessionId,
+            @Valid @RequestBody StudyAnswerRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            CardPojo card = studySessionService.submitAnswer(
+                sessionId, userPrincipal.getUserID(), request.getCardId(), request.getAnswer());
+            
+            return ResponseEntity.ok(ApiResponse.success(convertToCardResponse(card), "Answer recorded"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Not found", e.getMessage()));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid answer", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to record answer", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "End study session", description = "End a study session and release its review queue")
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<ApiResponse<StudySessionResponse>> endSession(
+            @PathVariable String sessionId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            StudySession session = studySessionService.endSession(sessionId, userPrincipal.getUserID());
+            
+            return ResponseEntity.ok(ApiResponse.success(
+                convertToSessionResponse(session, List.of()), "Study session ended"));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Study session not found", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to end study session", e.getMessage()));
+        }
+    }
+
+    @Operation(summary = "Submit answers in batch", description = "Apply answers recorded offline in one transaction; cards outside the user's decks are skipped")
+    @PostMapping("/answers")
+    public ResponseEntity<ApiResponse<AnswerBatchResponse>> submitAnswers(
+            @Valid @RequestBody AnswerBatchRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            List<CardAnswer> answers = request.getAnswers().stream()
+                .map(answer -> new CardAnswer(answer.getCardId(), answer.getAnswer(), answer.getAnsweredAt()))
+                .collect(Collectors.toList());
+            AnswerBatchResult result = learningService.processAnswerBatch(
+                userPrincipal.getUserID().intValue(), answers);
+            
+            AnswerBatchResponse response = new AnswerBatchResponse(
+                result.getAppliedCount(),
+                result.getSkippedCardIDs(),
+                result.getUpdatedCards().stream().map(this::convertToCardResponse).collect(Collectors.toList())
+            );
+            return ResponseEntity.ok(ApiResponse.success(response, "Answers recorded"));
+        } catch (ValidationException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("Invalid answers", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to record answers", e.getMessage()));
+        }
+    }
+
+    private StudySessionResponse convertToSessionResponse(StudySession session, List<CardPojo> cards) {
+        return new StudySessionResponse(
+            session.getSessionID(),
+            session.getDeckID(),
+            session.getAnsweredCount(),
+            session.getPendingCount(),
+            cards.stream().map(this::convertToCardResponse).collect(Collectors.toList())
+        );
+    }
+
+    private CardResponse convertToCardResponse(CardPojo card) {
+        return new CardResponse(
+            card.getCardID(),
+            card.getDeckID(),
+            card.getFrontContent(),
+            card.getBackContent(),
+            card.getRemindTime(),
+            card.getStatus()
+        );
+    }
+}
@@ -0,0 +1,83 @@
+package com.app.flashcard.card.event;
+
+import com.app.flashcard.card.model.Card;
+
+/**
+ * Published synchronously (inside the caller's transaction) whenever a single card
+ * is created, edited, moved, deleted or re-scheduled after an answer.
+ * Listeners use it to keep derived data such as deck counters in step with the card table.
+ */
+public class CardLifecycleEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        MOVED,
+        DELETED,
+        STATUS_CHANGED
+    }
+
+    private final Type type;
+    private final int cardID;
+    private final int deckID;
+    private final int previousDeckID;
+    private final int status;
+    private final int previousStatus;
+
+    private CardLifecycleEvent(Type type, int cardID, int deckID, int previousDeckID, int status, int previousStatus) {
+        this.type = type;
+        this.cardID = cardID;
+        this.deckID = deckID;
+        this.previousDeckID = previousDeckID;
+        this.status = status;
+        this.previousStatus = previousStatus;
+    }
+
+    public static CardLifecycleEvent created(Card card) {
+        return new CardLifecycleEvent(Type.CREATED, card.getCardID(), card.getDeckID(),
+            card.getDeckID(), card.getStatus(), card.getStatus());
+    }
+
+    public static CardLifecycleEvent updated(Card card) {
+        return new CardLifecycleEvent(Type.UPDATED, card.getCardID(), card.getDeckID(),
+            card.getDeckID(), card.getStatus(), card.getStatus());
+    }
+
+    public static CardLifecycleEvent moved(Card card, int previousDeckID) {
+        return new CardLifecycleEvent(Type.MOVED, card.getCardID(), card.getDeckID(),
+            previousDeckID, card.getStatus(), card.getStatus());
+    }
+
+    public static CardLifecycleEvent deleted(Card card) {
+        return new CardLifecycleEvent(Type.DELETED, card.getCardID(), card.getDeckID(),
+            card.getDeckID(), card.getStatus(), card.getStatus());
+    }
+
+    public static CardLifecycleEvent statusChanged(int cardID, int deckID, int previousStatus, int status) {
+        return new CardLifecycleEvent(Type.STATUS_CHANGED, cardID, deckID, deckID, status, previousStatus);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getCardID() {
+        return cardID;
+    }
+
+    public int getDeckID() {
+        return deckID;
+    }
+
+    public int getPreviousDeckID() {
+        return previousDeckID;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public int getPreviousStatus() {
+        return previousStatus;
+    }
+}
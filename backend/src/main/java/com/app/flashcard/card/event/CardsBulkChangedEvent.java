@@ -0,0 +1,42 @@
+package com.app.flashcard.card.event;
+
+import java.util.Set;
+
+/**
+ * Published when many cards of one or more decks changed in a single operation
+ * (bulk delete, import, batch answers). Listeners recompute derived data for the
+ * affected decks once instead of reacting to every card.
+ */
+public class CardsBulkChangedEvent {
+
+    private final Set<Integer> deckIDs;
+    private final boolean contentChanged;
+
+    public CardsBulkChangedEvent(Set<Integer> deckIDs) {
+        this(deckIDs, true);
+    }
+
+    private CardsBulkChangedEvent(Set<Integer> deckIDs, boolean contentChanged) {
+        this.deckIDs = Set.copyOf(deckIDs);
+        this.contentChanged = contentChanged;
+    }
+
+    public static CardsBulkChangedEvent forDeck(int deckID) {
+        return new CardsBulkChangedEvent(Set.of(deckID));
+    }
+
+    /**
+     * Only status and remind times changed (answers, rescheduling); cards were not added, removed or edited
+     */
+    public static CardsBulkChangedEvent scheduleOnly(Set<Integer> deckIDs) {
+        return new CardsBulkChangedEvent(deckIDs, false);
+    }
+
+    public Set<Integer> getDeckIDs() {
+        return deckIDs;
+    }
+
+    public boolean isContentChanged() {
+        return contentChanged;
+    }
+}
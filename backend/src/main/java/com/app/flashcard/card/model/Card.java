@@ -1,10 +1,16 @@
 package com.app.flashcard.card.model;
 
+import com.app.flashcard.shared.cache.MapperCacheEntityListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "card")
+@EntityListeners(MapperCacheEntityListener.class)
+@Table(name = "card", indexes = {
+    @Index(name = "idx_card_deck_status", columnList = "DeckID, Status"),
+    @Index(name = "idx_card_deck_remind_id", columnList = "DeckID, RemindTime, CardID")
+})
 public class Card {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,10 +27,41 @@ public class Card {
     @Column(name = "Status")
     private int status;
 
+    // Scheduling algorithm state (see learning.scheduling); defaults let MyBatis inserts omit them
+    @Column(name = "IntervalDays", nullable = false)
+    @ColumnDefault("0")
+    private int intervalDays;
+
+    @Column(name = "EaseFactor", nullable = false)
+    @ColumnDefault("0")
+    private double easeFactor;
+
+    @Column(name = "Stability", nullable = false)
+    @ColumnDefault("0")
+    private double stability;
+
+    @Column(name = "Difficulty", nullable = false)
+    @ColumnDefault("0")
+    private double difficulty;
+
     public Card(){
         this.remindTime = LocalDate.now();
     }
 
+    // Detached copy (see EntityCache)
+    public Card(Card other) {
+        this.cardID = other.cardID;
+        this.deckID = other.deckID;
+        this.fontContent = other.fontContent;
+        this.backContent = other.backContent;
+        this.remindTime = other.remindTime;
+        this.status = other.status;
+        this.intervalDays = other.intervalDays;
+        this.easeFactor = other.easeFactor;
+        this.stability = other.stability;
+        this.difficulty = other.difficulty;
+    }
+
     public int getCardID() {
         return cardID;
     }
@@ -72,4 +109,36 @@ public class Card {
     public void setStatus(int status) {
         this.status = status;
     }
-}
\ No newline at end of file
+
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    public void setIntervalDays(int intervalDays) {
+        this.intervalDays = intervalDays;
+    }
+
+    public double getEaseFactor() {
+        return easeFactor;
+    }
+
+    public void setEaseFactor(double easeFactor) {
+        this.easeFactor = easeFactor;
+    }
+
+    public double getStability() {
+        return stability;
+    }
+
+    public void setStability(double stability) {
+        this.stability = stability;
+    }
+
+    public double getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(double difficulty) {
+        this.difficulty = difficulty;
+    }
+}
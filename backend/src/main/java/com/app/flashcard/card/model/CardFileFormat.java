@@ -0,0 +1,50 @@
+package com.app.flashcard.card.model;
+
+import java.util.Locale;
+
+/**
+ * File formats of card import and export
+ */
+public enum CardFileFormat {
+    CSV("text/csv", "csv"),
+    TSV("text/tab-separated-values", "tsv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    CardFileFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolve the format from an explicit name or, failing that, the file extension
+     * @param name Format name (csv, tsv, ndjson/jsonl), may be null
+     * @param fileName Uploaded file name, may be null
+     * @return Format, or null if neither identifies one
+     */
+    public static CardFileFormat resolve(String name, String fileName) {
+        String key = name;
+        if ((key == null || key.isBlank()) && fileName != null && fileName.lastIndexOf('.') >= 0) {
+            key = fileName.substring(fileName.lastIndexOf('.') + 1);
+        }
+        if (key == null) {
+            return null;
+        }
+        return switch (key.trim().toLowerCase(Locale.ROOT)) {
+            case "csv" -> CSV;
+            case "tsv", "tab", "txt" -> TSV;
+            case "ndjson", "jsonl" -> NDJSON;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.app.flashcard.card.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of a card import
+ */
+@Data
+@AllArgsConstructor
+public class CardImportResult {
+    private int importedCount;
+    private int skippedCount;
+    private List<String> errors;  // first rejected rows, "Line n: reason"
+}
@@ -0,0 +1,17 @@
+package com.app.flashcard.card.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One keyset page of a deck's cards, ordered by (RemindTime, CardID)
+ */
+@Data
+@AllArgsConstructor
+public class CardPage {
+    private List<CardPojo> cards;
+    private String nextCursor;   // null on the last page
+    private Integer totalCount;  // null unless requested
+}
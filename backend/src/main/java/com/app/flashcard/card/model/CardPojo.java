@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 
 /**
@@ -12,10 +13,12 @@ import java.time.LocalDate;
  * Using Lombok to reduce boilerplate code
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
-public class CardPojo {
+public class CardPojo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
     
     // Primary key
     private Integer cardID;
@@ -33,6 +36,19 @@ public class CardPojo {
     @Builder.Default
     private Integer status = 0;  // 0: new, 1: learning, 2: due
     
+    // Scheduling algorithm state (see learning.scheduling)
+    @Builder.Default
+    private Integer intervalDays = 0;
+    
+    @Builder.Default
+    private Double easeFactor = 0.0;
+    
+    @Builder.Default
+    private Double stability = 0.0;
+    
+    @Builder.Default
+    private Double difficulty = 0.0;
+    
     // Business logic methods
     public boolean isNew() {
         return status != null && status == 0;
@@ -0,0 +1,31 @@
+package com.app.flashcard.card.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * A card matching a search with its rank and highlighted contents (see CardMapper.searchCards)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardSearchHit implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer cardID;
+    private Integer deckID;
+    private String frontContent;
+    private String backContent;
+    private LocalDate remindTime;
+    private Integer status;
+    private double rank;
+    private String frontHighlight;  // HTML-escaped contents, matched words wrapped in <mark></mark>
+    private String backHighlight;
+}
@@ -0,0 +1,16 @@
+package com.app.flashcard.card.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of search hits, best match first
+ */
+@Data
+@AllArgsConstructor
+public class CardSearchResult {
+    private List<CardSearchHit> hits;
+    private boolean hasMore;
+}
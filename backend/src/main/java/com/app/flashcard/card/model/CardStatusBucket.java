@@ -0,0 +1,18 @@
+package com.app.flashcard.card.model;
+
+/**
+ * Deck counter bucket a card status falls into.
+ * Mirrors the ranges used by CardRepository.countNewCardNum / countLearningCardNum / countDueCardNum.
+ */
+public enum CardStatusBucket {
+    NEW,        // status = 0
+    LEARNING,   // status 1-20
+    DUE;        // status >= 21
+
+    public static CardStatusBucket of(int status) {
+        if (status <= 0) {
+            return NEW;
+        }
+        return status <= 20 ? LEARNING : DUE;
+    }
+}
@@ -0,0 +1,16 @@
+package com.app.flashcard.card.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Type-ahead match of a card (see CardTypeaheadService)
+ */
+@Data
+@AllArgsConstructor
+public class CardSuggestion {
+    private int cardID;
+    private int deckID;
+    private String frontContent;
+    private String backContent;
+}
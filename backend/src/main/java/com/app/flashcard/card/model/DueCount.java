@@ -0,0 +1,25 @@
+package com.app.flashcard.card.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Number of cards of a deck due on one day (see CardMapper.countDueByDeckAndDay)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DueCount implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer deckID;
+    private LocalDate dueDate;
+    private int cardCount;
+}
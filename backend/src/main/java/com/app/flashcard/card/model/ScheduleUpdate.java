@@ -0,0 +1,22 @@
+package com.app.flashcard.card.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * New schedule of a card plus the state it was computed from (see CardMapper.batchUpdateScheduleIfUnchanged)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleUpdate {
+
+    private CardPojo card;
+    private Integer expectedStatus;
+    private LocalDate expectedRemindTime;
+}
@@ -1,10 +1,15 @@
 package com.app.flashcard.card.repository;
 
 import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.model.CardSearchHit;
+import com.app.flashcard.card.model.DueCount;
+import com.app.flashcard.card.model.ScheduleUpdate;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,6 +34,25 @@ public interface CardMapper {
     
     int deleteByDeckId(@Param("deckId") Integer deckId);
     
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+    
+    int deleteAll();
+    
+    List<CardPojo> findByIds(@Param("ids") Collection<Integer> ids);
+    
+    long countAll();
+    
+    // Repository queries (see MyBatisCardRepository)
+    List<CardPojo> findByFrontContent(@Param("frontContent") String frontContent);
+    
+    List<CardPojo> findByDeckIdOrderByRemindTime(@Param("deckId") Integer deckId);
+    
+    List<CardPojo> findByDeckIdRemindTimeUntil(@Param("deckId") Integer deckId, @Param("date") LocalDate date);
+    
+    CardPojo findOwnedById(@Param("cardId") Integer cardId, @Param("userId") Integer userId);
+    
+    List<CardPojo> findOwnedByIds(@Param("cardIds") Collection<Integer> cardIds, @Param("userId") Integer userId);
+    
     // Learning queries
     List<CardPojo> findDueCards(@Param("deckId") Integer deckId, @Param("date") LocalDate date);
     
@@ -54,8 +78,48 @@ public interface CardMapper {
     
     int batchUpdateStatus(@Param("cardIds") List<Integer> cardIds, @Param("status") Integer status);
     
-    // Advanced queries
-    List<CardPojo> findCardsForReview(@Param("deckId") Integer deckId, @Param("limit") Integer limit);
+    int batchUpdateSchedule(@Param("cards") List<CardPojo> cards);
+
+    List<Integer> batchUpdateScheduleIfUnchanged(@Param("updates") List<ScheduleUpdate> updates);
     
-    List<CardPojo> searchCardsByContent(@Param("deckId") Integer deckId, @Param("searchTerm") String searchTerm);
+    // Advanced queries
+    List<CardPojo> findCardsForReview(@Param("deckId") Integer deckId,
+                                      @Param("excludeCardIds") Collection<Integer> excludeCardIds,
+                                      @Param("limit") Integer limit);
+
+    List<CardPojo> findOwnedByIdsForUpdate(@Param("cardIds") Collection<Integer> cardIds,
+                                           @Param("userId") Integer userId);
+
+    // Scheduling updates (single indexed UPDATE by primary key)
+    int updateScheduleIfUnchanged(@Param("card") CardPojo card,
+                                  @Param("expectedStatus") Integer expectedStatus,
+                                  @Param("expectedRemindTime") LocalDate expectedRemindTime);
+    
+    // Keyset pagination on ("RemindTime", "CardID"); afterRemindTime/afterCardId are null for the first page
+    List<CardPojo> findPageByDeck(@Param("deckId") Integer deckId,
+                                  @Param("afterRemindTime") LocalDate afterRemindTime,
+                                  @Param("afterCardId") Integer afterCardId,
+                                  @Param("limit") Integer limit);
+    
+    // Forecast: cards due per deck and day before untilDate, overdue cards counted on fromDate
+    List<DueCount> countDueByDeckAndDay(@Param("userId") Integer userId,
+                                        @Param("fromDate") LocalDate fromDate,
+                                        @Param("untilDate") LocalDate untilDate);
+    
+    // Streaming (must be consumed inside a transaction so PostgreSQL honours the fetch size)
+    Cursor<CardPojo> streamCardsForReschedule(@Param("deckId") Integer deckId,
+                                              @Param("userId") Integer userId,
+                                              @Param("afterCardId") Integer afterCardId,
+                                              @Param("limit") Integer limit);
+    
+    Cursor<CardPojo> streamCardsForExport(@Param("deckId") Integer deckId,
+                                          @Param("userId") Integer userId);
+    
+    // Search: prefix/word matches via tsQuery, substring matches via likePattern; either may be null
+    List<CardSearchHit> searchCards(@Param("userId") Integer userId,
+                                    @Param("deckId") Integer deckId,
+                                    @Param("tsQuery") String tsQuery,
+                                    @Param("likePattern") String likePattern,
+                                    @Param("limit") Integer limit,
+                                    @Param("offset") Integer offset);
 }
\ No newline at end of file
@@ -6,11 +6,14 @@ import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface CardRepository extends CrudRepository<Card, Integer> {
     public List<Card> findByFontContent(String fontContent);
     public List<Card> findByDeckIDOrderByRemindTimeAsc(int deckID);
+    public Optional<Card> findFirstByDeckIDOrderByRemindTimeAscCardIDAsc(int deckID);
     @Query("SELECT COUNT(c) FROM Card c WHERE c.status=0 AND c.deckID=:deckID")
     public int countNewCardNum(@Param("deckID") int deckID);
 
@@ -26,4 +29,11 @@ public interface CardRepository extends CrudRepository<Card, Integer> {
     // Find cards due for review (remind time <= given date)
     public List<Card> findByDeckIDAndRemindTimeLessThanEqualOrderByRemindTimeAsc(int deckID, LocalDate date);
 
+    // Ownership-checked access: the card joined with its deck owner, one statement over both primary keys
+    @Query("SELECT c FROM Card c JOIN Deck d ON d.deckID = c.deckID WHERE c.cardID = :cardID AND d.userID = :userID")
+    public Optional<Card> findOwnedById(@Param("cardID") int cardID, @Param("userID") int userID);
+
+    @Query("SELECT c FROM Card c JOIN Deck d ON d.deckID = c.deckID WHERE c.cardID IN :cardIDs AND d.userID = :userID ORDER BY c.cardID")
+    public List<Card> findOwnedByIds(@Param("cardIDs") Collection<Integer> cardIDs, @Param("userID") int userID);
+
 }
\ No newline at end of file
@@ -0,0 +1,221 @@
+package com.app.flashcard.card.repository;
+
+import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.model.CardPojo;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * CardRepository served by CardMapper instead of Hibernate
+ * (selected with flashcard.persistence.backend=mybatis, see PersistenceBackendConfig).
+ * <p>
+ * Returned cards are plain objects: changes are only written by {@link #save}, which every
+ * service already calls. Ordered queries add "CardID" as a tie-breaker to the JPA ordering.
+ */
+@Transactional(readOnly = true)
+public class MyBatisCardRepository implements CardRepository {
+
+    private final CardMapper cardMapper;
+
+    public MyBatisCardRepository(CardMapper cardMapper) {
+        this.cardMapper = cardMapper;
+    }
+
+    @Override
+    public List<Card> findByFontContent(String fontContent) {
+        return toEntities(cardMapper.findByFrontContent(fontContent));
+    }
+
+    @Override
+    public List<Card> findByDeckIDOrderByRemindTimeAsc(int deckID) {
+        return toEntities(cardMapper.findByDeckIdOrderByRemindTime(deckID));
+    }
+
+    @Override
+    public Optional<Card> findFirstByDeckIDOrderByRemindTimeAscCardIDAsc(int deckID) {
+        return cardMapper.findPageByDeck(deckID, null, null, 1).stream().findFirst().map(MyBatisCardRepository::toEntity);
+    }
+
+    @Override
+    public int countNewCardNum(int deckID) {
+        return cardMapper.countNewCardsByDeck(deckID);
+    }
+
+    @Override
+    public int countLearningCardNum(int deckID) {
+        return cardMapper.countLearningCardsByDeck(deckID);
+    }
+
+    @Override
+    public int countDueCardNum(int deckID) {
+        return cardMapper.countDueCardsByDeck(deckID);
+    }
+
+    @Override
+    public int countCardByDeckID(int deckID) {
+        return cardMapper.countCardsByDeck(deckID);
+    }
+
+    @Override
+    public List<Card> findByDeckIDAndRemindTimeLessThanEqualOrderByRemindTimeAsc(int deckID, LocalDate date) {
+        return toEntities(cardMapper.findByDeckIdRemindTimeUntil(deckID, date));
+    }
+
+    @Override
+    public Optional<Card> findOwnedById(int cardID, int userID) {
+        return Optional.ofNullable(cardMapper.findOwnedById(cardID, userID)).map(MyBatisCardRepository::toEntity);
+    }
+
+    @Override
+    public List<Card> findOwnedByIds(Collection<Integer> cardIDs, int userID) {
+        if (cardIDs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return toEntities(cardMapper.findOwnedByIds(cardIDs, userID));
+    }
+
+    /**
+     * Insert a card with ID 0 (the generated ID is set on it), update any other
+     */
+    @Override
+    @Transactional
+    public <S extends Card> S save(S card) {
+        Assert.notNull(card, "Card must not be null");
+        CardPojo pojo = toPojo(card);
+        if (card.getCardID() == 0) {
+            cardMapper.insert(pojo);
+            card.setCardID(pojo.getCardID());
+        } else if (cardMapper.update(pojo) == 0) {
+            // What Hibernate reports when merging a card that no longer exists
+            throw new ObjectOptimisticLockingFailureException(Card.class, card.getCardID());
+        }
+        return card;
+    }
+
+    @Override
+    @Transactional
+    public <S extends Card> Iterable<S> saveAll(Iterable<S> cards) {
+        List<S> saved = new ArrayList<>();
+        for (S card : cards) {
+            saved.add(save(card));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Card> findById(Integer cardID) {
+        Assert.notNull(cardID, "Card ID must not be null");
+        return Optional.ofNullable(cardMapper.findById(cardID)).map(MyBatisCardRepository::toEntity);
+    }
+
+    @Override
+    public boolean existsById(Integer cardID) {
+        return findById(cardID).isPresent();
+    }
+
+    @Override
+    public Iterable<Card> findAll() {
+        return toEntities(cardMapper.findAll());
+    }
+
+    @Override
+    public Iterable<Card> findAllById(Iterable<Integer> cardIDs) {
+        List<Integer> ids = toList(cardIDs);
+        return ids.isEmpty() ? new ArrayList<>() : toEntities(cardMapper.findByIds(ids));
+    }
+
+    @Override
+    public long count() {
+        return cardMapper.countAll();
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Integer cardID) {
+        Assert.notNull(cardID, "Card ID must not be null");
+        cardMapper.deleteById(cardID);
+    }
+
+    @Override
+    @Transactional
+    public void delete(Card card) {
+        Assert.notNull(card, "Card must not be null");
+        cardMapper.deleteById(card.getCardID());
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllById(Iterable<? extends Integer> cardIDs) {
+        List<Integer> ids = toList(cardIDs);
+        if (!ids.isEmpty()) {
+            cardMapper.deleteByIds(ids);
+        }
+    }
+
+    /**
+     * One DELETE for all given cards (Hibernate issues one per card)
+     */
+    @Override
+    @Transactional
+    public void deleteAll(Iterable<? extends Card> cards) {
+        List<Integer> ids = new ArrayList<>();
+        cards.forEach(card -> ids.add(card.getCardID()));
+        if (!ids.isEmpty()) {
+            cardMapper.deleteByIds(ids);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll() {
+        cardMapper.deleteAll();
+    }
+
+    public static Card toEntity(CardPojo pojo) {
+        Card card = new Card();
+        card.setCardID(pojo.getCardID());
+        card.setDeckID(pojo.getDeckID());
+        card.setFontContent(pojo.getFrontContent());
+        card.setBackContent(pojo.getBackContent());
+        card.setRemindTime(pojo.getRemindTime());
+        card.setStatus(pojo.getStatus());
+        card.setIntervalDays(pojo.getIntervalDays());
+        card.setEaseFactor(pojo.getEaseFactor());
+        card.setStability(pojo.getStability());
+        card.setDifficulty(pojo.getDifficulty());
+        return card;
+    }
+
+    public static CardPojo toPojo(Card card) {
+        return CardPojo.builder()
+            .cardID(card.getCardID() == 0 ? null : card.getCardID())
+            .deckID(card.getDeckID())
+            .frontContent(card.getFontContent())
+            .backContent(card.getBackContent())
+            .remindTime(card.getRemindTime())
+            .status(card.getStatus())
+            .intervalDays(card.getIntervalDays())
+            .easeFactor(card.getEaseFactor())
+            .stability(card.getStability())
+            .difficulty(card.getDifficulty())
+            .build();
+    }
+
+    private static List<Card> toEntities(List<CardPojo> pojos) {
+        return pojos.stream().map(MyBatisCardRepository::toEntity).collect(Collectors.toList());
+    }
+
+    private static <T> List<T> toList(Iterable<? extends T> values) {
+        List<T> list = new ArrayList<>();
+        values.forEach(list::add);
+        return list;
+    }
+}
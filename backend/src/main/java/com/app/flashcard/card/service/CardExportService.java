@@ -0,0 +1,69 @@
+package com.app.flashcard.card.service;
+
+import com.app.flashcard.card.model.CardFileFormat;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.repository.CardMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Card export.
+ * Rows are read through a MyBatis cursor (fetchSize rows at a time) and written straight to the
+ * response stream, so heap use is constant whatever the number of cards and the first bytes go
+ * out before the query has finished.
+ */
+@Service
+public class CardExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardExportService.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private CardMapper cardMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Write the cards of a deck or of a whole account. Runs in a read-only transaction,
+     * which keeps the cursor open while rows are written.
+     * @param deckID Deck to export, null to export every deck of the user
+     * @param userID Owner whose cards are exported when deckID is null
+     * @param format Output format
+     * @param output Destination; flushed but not closed
+     * @return Number of cards written
+     */
+    @Transactional(readOnly = true)
+    public long exportCards(Integer deckID, Integer userID, CardFileFormat format, OutputStream output) throws IOException {
+        long startNanos = System.nanoTime();
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        CardExportWriter rows = new CardExportWriter(writer, format, objectMapper);
+        rows.writeHeader();
+        // Send the header right away so the download starts before the first rows are fetched
+        writer.flush();
+
+        long written = 0;
+        try (Cursor<CardPojo> cursor = cardMapper.streamCardsForExport(deckID, deckID == null ? userID : null)) {
+            for (CardPojo card : cursor) {
+                rows.write(card);
+                written++;
+            }
+        }
+        writer.flush();
+        logger.info("Exported {} cards ({}) for deck {} / user {} in {} ms",
+            written, format, deckID, userID, (System.nanoTime() - startNanos) / 1_000_000);
+        return written;
+    }
+}
@@ -0,0 +1,90 @@
+package com.app.flashcard.card.service;
+
+import com.app.flashcard.card.model.CardFileFormat;
+import com.app.flashcard.card.model.CardPojo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes cards one row at a time. CSV and TSV start with a front/back header so an export can be
+ * imported again; fields holding the delimiter, quotes or line breaks are quoted as in RFC 4180.
+ */
+class CardExportWriter {
+
+    private static final String[] COLUMNS = {"front", "back", "deckId", "remindTime", "status"};
+
+    private final Writer writer;
+    private final JsonGenerator json;
+    private final char delimiter;
+
+    CardExportWriter(Writer writer, CardFileFormat format, ObjectMapper objectMapper) throws IOException {
+        this.writer = writer;
+        this.delimiter = format == CardFileFormat.TSV ? '\t' : ',';
+        if (format == CardFileFormat.NDJSON) {
+            this.json = objectMapper.getFactory().createGenerator(writer);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        } else {
+            this.json = null;
+        }
+    }
+
+    void writeHeader() throws IOException {
+        if (json != null) {
+            return;
+        }
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            writer.write(COLUMNS[i]);
+        }
+        writer.write('\n');
+    }
+
+    void write(CardPojo card) throws IOException {
+        if (json != null) {
+            json.writeStartObject();
+            json.writeStringField(COLUMNS[0], card.getFrontContent());
+            json.writeStringField(COLUMNS[1], card.getBackContent());
+            json.writeNumberField(COLUMNS[2], card.getDeckID());
+            json.writeStringField(COLUMNS[3], card.getRemindTime() != null ? card.getRemindTime().toString() : null);
+            json.writeNumberField(COLUMNS[4], card.getStatus());
+            json.writeEndObject();
+            json.flush();
+            writer.write('\n');
+            return;
+        }
+        writeField(card.getFrontContent());
+        writer.write(delimiter);
+        writeField(card.getBackContent());
+        writer.write(delimiter);
+        writer.write(String.valueOf(card.getDeckID()));
+        writer.write(delimiter);
+        writer.write(card.getRemindTime() != null ? card.getRemindTime().toString() : "");
+        writer.write(delimiter);
+        writer.write(String.valueOf(card.getStatus()));
+        writer.write('\n');
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == delimiter || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,145 @@
+package com.app.flashcard.card.service;
+
+import com.app.flashcard.card.model.CardFileFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pull parser for card uploads. Reads one row at a time from the stream, so only the current
+ * row is held in memory. CSV and TSV follow RFC 4180 quoting (quoted fields may hold delimiters,
+ * quotes doubled as "" and line breaks); the first two columns are front and back, extra columns
+ * are ignored and a "front,back" header row is skipped. NDJSON rows are objects with
+ * front/back (or frontContent/backContent) fields.
+ */
+class CardImportParser {
+
+    /**
+     * One parsed row; error is set instead of the contents when the row is malformed
+     */
+    record Row(int line, String front, String back, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final CardFileFormat format;
+    private final ObjectMapper objectMapper;
+    private final char delimiter;
+    private int line = 1;
+    private boolean firstRow = true;
+
+    CardImportParser(BufferedReader reader, CardFileFormat format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.delimiter = format == CardFileFormat.TSV ? '\t' : ',';
+    }
+
+    /**
+     * @return Next non-blank row, or null at the end of the stream
+     */
+    Row next() throws IOException {
+        return format == CardFileFormat.NDJSON ? nextJsonRow() : nextDelimitedRow();
+    }
+
+    private Row nextJsonRow() throws IOException {
+        String text;
+        while ((text = reader.readLine()) != null) {
+            int rowLine = line++;
+            text = stripBom(text);
+            if (text.isBlank()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (IOException e) {
+                return new Row(rowLine, null, null, "Invalid JSON");
+            }
+            if (node == null || !node.isObject()) {
+                return new Row(rowLine, null, null, "Expected a JSON object");
+            }
+            return new Row(rowLine, textField(node, "front", "frontContent"), textField(node, "back", "backContent"), null);
+        }
+        return null;
+    }
+
+    private Row nextDelimitedRow() throws IOException {
+        while (true) {
+            int rowLine = line;
+            List<String> fields = new ArrayList<>(2);
+            StringBuilder field = new StringBuilder();
+            boolean inQuotes = false;
+            boolean endOfRow = false;
+            int c;
+            while (!endOfRow && (c = reader.read()) != -1) {
+                if (inQuotes) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            inQuotes = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    inQuotes = true;
+                } else if (c == delimiter) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    endOfRow = true;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!endOfRow && fields.isEmpty() && field.length() == 0 && !inQuotes) {
+                return null;
+            }
+            if (inQuotes) {
+                return new Row(rowLine, null, null, "Unterminated quoted field");
+            }
+            fields.add(field.toString());
+
+            if (firstRow) {
+                firstRow = false;
+                fields.set(0, stripBom(fields.get(0)));
+                if (isHeader(fields)) {
+                    continue;
+                }
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            if (fields.size() < 2) {
+                return new Row(rowLine, null, null, "Expected front and back columns");
+            }
+            return new Row(rowLine, fields.get(0), fields.get(1), null);
+        }
+    }
+
+    private static boolean isHeader(List<String> fields) {
+        return fields.size() >= 2
+            && (fields.get(0).trim().equalsIgnoreCase("front") || fields.get(0).trim().equalsIgnoreCase("frontContent"))
+            && (fields.get(1).trim().equalsIgnoreCase("back") || fields.get(1).trim().equalsIgnoreCase("backContent"));
+    }
+
+    private static String textField(JsonNode node, String name, String alias) {
+        JsonNode value = node.has(name) ? node.get(name) : node.get(alias);
+        return value != null && value.isValueNode() && !value.isNull() ? value.asText() : null;
+    }
+
+    private static String stripBom(String text) {
+        return !text.isEmpty() && text.charAt(0) == '\uFEFF' ? text.substring(1) : text;
+    }
+}
@@ -0,0 +1,130 @@
+package com.app.flashcard.card.service;
+
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
+import com.app.flashcard.card.model.CardFileFormat;
+import com.app.flashcard.card.model.CardImportResult;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.shared.exception.ValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk card import.
+ * The upload is parsed row by row and valid rows are written with CardMapper.batchInsert in
+ * fixed-size chunks, so memory holds one chunk regardless of the file size. The whole import is
+ * one transaction and deck counters are refreshed once at the end.
+ */
+@Service
+public class CardImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardImportService.class);
+
+    public static final int MAX_CONTENT_LENGTH = 1000;
+
+    // 1000 rows x 5 bind parameters stays well below the PostgreSQL limit of 32767
+    private static final int INSERT_CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private CardMapper cardMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${flashcard.import.max-rows:100000}")
+    private int maxRows = 100000;
+
+    /**
+     * Import cards into a deck. Invalid rows are skipped and reported; a database or read error
+     * rolls the whole import back.
+     * @param deckID Deck ID
+     * @param input UTF-8 upload
+     * @param format Upload format
+     * @return Imported and skipped counts with the first errors
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public CardImportResult importCards(int deckID, InputStream input, CardFileFormat format) throws IOException {
+        long startNanos = System.nanoTime();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+        CardImportParser parser = new CardImportParser(reader, format, objectMapper);
+        LocalDate today = LocalDate.now();
+
+        List<CardPojo> chunk = new ArrayList<>(INSERT_CHUNK_SIZE);
+        List<String> errors = new ArrayList<>();
+        int imported = 0;
+        int skipped = 0;
+        CardImportParser.Row row;
+        while ((row = parser.next()) != null) {
+            String error = row.error() != null ? row.error() : validate(row);
+            if (error != null) {
+                skipped++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("Line " + row.line() + ": " + error);
+                }
+                continue;
+            }
+            if (imported + chunk.size() >= maxRows) {
+                throw new ValidationException("Import is limited to " + maxRows + " cards");
+            }
+            chunk.add(CardPojo.builder()
+                .deckID(deckID)
+                .frontContent(row.front())
+                .backContent(row.back())
+                .remindTime(today)
+                .status(0)
+                .build());
+            if (chunk.size() == INSERT_CHUNK_SIZE) {
+                cardMapper.batchInsert(chunk);
+                imported += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            cardMapper.batchInsert(chunk);
+            imported += chunk.size();
+        }
+
+        if (imported > 0) {
+            eventPublisher.publishEvent(CardsBulkChangedEvent.forDeck(deckID));
+        }
+        logger.info("Imported {} cards into deck {} ({} skipped) in {} ms",
+            imported, deckID, skipped, (System.nanoTime() - startNanos) / 1_000_000);
+        return new CardImportResult(imported, skipped, errors);
+    }
+
+    private static String validate(CardImportParser.Row row) {
+        if (row.front() == null || row.front().isBlank()) {
+            return "Front content is required";
+        }
+        if (row.back() == null || row.back().isBlank()) {
+            return "Back content is required";
+        }
+        if (row.front().length() > MAX_CONTENT_LENGTH) {
+            return "Front content must not exceed " + MAX_CONTENT_LENGTH + " characters";
+        }
+        if (row.back().length() > MAX_CONTENT_LENGTH) {
+            return "Back content must not exceed " + MAX_CONTENT_LENGTH + " characters";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,111 @@
+package com.app.flashcard.card.service;
+
+import com.app.flashcard.card.model.CardSearchHit;
+import com.app.flashcard.card.model.CardSearchResult;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.shared.exception.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Card search over the contents of one deck or all decks of a user.
+ * Every word of the query is matched as a prefix through the text search index; queries of
+ * three or more characters also match as a substring through the trigram indexes.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CardSearchService {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    public static final int MAX_OFFSET = 1000;
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    // Trigram indexes cannot serve shorter substrings
+    private static final int MIN_SUBSTRING_LENGTH = 3;
+
+    // Match delimiters set by CardMapper.searchCards (chr(2) and chr(3))
+    private static final String MATCH_START = "\u0002";
+    private static final String MATCH_END = "\u0003";
+
+    @Autowired
+    private CardMapper cardMapper;
+
+    /**
+     * Search cards by content
+     * @param userID Owner of the cards
+     * @param deckID Deck to search, null for all decks of the user
+     * @param query Search text
+     * @param limit Page size, capped at MAX_LIMIT
+     * @param offset Hits to skip, at most MAX_OFFSET
+     * @return Ranked page of hits
+     */
+    public CardSearchResult search(int userID, Integer deckID, String query, int limit, int offset) {
+        String text = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (text.length() > MAX_QUERY_LENGTH) {
+            throw new ValidationException("Search query must not exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (offset < 0 || offset > MAX_OFFSET) {
+            throw new ValidationException("Offset must be between 0 and " + MAX_OFFSET);
+        }
+        String tsQuery = toPrefixTsQuery(text);
+        String likePattern = text.length() >= MIN_SUBSTRING_LENGTH ? "%" + escapeLike(text) + "%" : null;
+        if (tsQuery == null && likePattern == null) {
+            throw new ValidationException("Search query must contain letters or digits");
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<CardSearchHit> hits = cardMapper.searchCards(userID, deckID, tsQuery, likePattern, pageSize + 1, offset);
+        boolean hasMore = hits.size() > pageSize;
+        List<CardSearchHit> page = hasMore ? hits.subList(0, pageSize) : hits;
+        for (CardSearchHit hit : page) {
+            hit.setFrontHighlight(toMarkup(hit.getFrontHighlight()));
+            hit.setBackHighlight(toMarkup(hit.getBackHighlight()));
+        }
+        return new CardSearchResult(page, hasMore);
+    }
+
+    /**
+     * HTML-escape a highlighted text, then wrap the delimited matches in {@code <mark></mark>}
+     */
+    static String toMarkup(String highlight) {
+        if (highlight == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(highlight, "UTF-8")
+            .replace(MATCH_START, "<mark>")
+            .replace(MATCH_END, "</mark>");
+    }
+
+    /**
+     * Turn free text into a tsquery matching every word as a prefix, e.g. {@code "xin ch" -> "xin:* & ch:*"}.
+     * Only letters, digits and combining marks are kept, so user input can never break the tsquery syntax.
+     */
+    static String toPrefixTsQuery(String text) {
+        List<String> terms = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            int c = i < text.length() ? text.codePointAt(i) : ' ';
+            if (Character.isLetterOrDigit(c) || Character.getType(c) == Character.NON_SPACING_MARK) {
+                word.appendCodePoint(c);
+                if (Character.isSupplementaryCodePoint(c)) {
+                    i++;
+                }
+            } else if (word.length() > 0) {
+                terms.add(word + ":*");
+                word.setLength(0);
+            }
+        }
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,24 +1,57 @@
 package com.app.flashcard.card.service;
 
+import com.app.flashcard.card.event.CardLifecycleEvent;
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
 import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.model.CardPage;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.repository.CardMapper;
 import com.app.flashcard.card.repository.CardRepository;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.shared.cache.EntityCache;
 import com.app.flashcard.shared.exception.EntityNotFoundException;
+import com.app.flashcard.shared.exception.ValidationException;
+import com.app.flashcard.shared.shadow.ShadowReadService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Iterator;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @Transactional
 public class CardService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private CardRepository cardRepository;
 
+    @Autowired
+    private CardMapper cardMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Lookups by ID; card writes publish lifecycle events, which invalidate the cached card
+    @Autowired
+    private EntityCache<Integer, Card> cardCache;
+
+    @Autowired
+    private EntityCache<Integer, Deck> deckCache;
+
+    // Compares a sample of these reads between JPA and MyBatis (see flashcard.persistence.shadow-reads)
+    @Autowired
+    private ShadowReadService shadowReads;
+
     /**
      * Get the next card to study in a deck (ordered by remind time)
      * @param deckID Deck ID
@@ -26,8 +59,9 @@ public class CardService {
      */
     @Transactional(readOnly = true)
     public Card getNextCardForDeck(int deckID) {
-        Iterator<Card> cards = cardRepository.findByDeckIDOrderByRemindTimeAsc(deckID).iterator();
-        return cards.hasNext() ? cards.next() : null;
+        shadowReads.sample("card.findFirstByDeck",
+            repositories -> repositories.cards().findFirstByDeckIDOrderByRemindTimeAscCardIDAsc(deckID));
+        return cardRepository.findFirstByDeckIDOrderByRemindTimeAscCardIDAsc(deckID).orElse(null);
     }
 
     /**
@@ -44,7 +78,25 @@ public class CardService {
         newCard.setFontContent(frontContent);
         newCard.setBackContent(backContent);
         newCard.setRemindTime(LocalDate.now()); // Set initial remind time to today
-        return cardRepository.save(newCard);
+        Card savedCard = cardRepository.save(newCard);
+        eventPublisher.publishEvent(CardLifecycleEvent.created(savedCard));
+        return savedCard;
+    }
+
+    /**
+     * Move a card to another deck
+     * @param card Card to move
+     * @param targetDeckID Deck ID the card moves to
+     * @return Saved card
+     */
+    public Card moveCard(Card card, int targetDeckID) {
+        int previousDeckID = card.getDeckID();
+        card.setDeckID(targetDeckID);
+        Card savedCard = cardRepository.save(card);
+        if (previousDeckID != targetDeckID) {
+            eventPublisher.publishEvent(CardLifecycleEvent.moved(savedCard, previousDeckID));
+        }
+        return savedCard;
     }
 
     /**
@@ -55,11 +107,12 @@ public class CardService {
      */
     @Transactional(readOnly = true)
     public Card findById(int cardID) {
-        Optional<Card> cardOpt = cardRepository.findById(cardID);
-        if (cardOpt.isEmpty()) {
+        shadowReads.sample("card.findById", repositories -> repositories.cards().findById(cardID));
+        Card card = cardCache.get(cardID);
+        if (card == null) {
             throw new EntityNotFoundException("Card not found with ID: " + cardID);
         }
-        return cardOpt.get();
+        return card;
     }
 
     /**
@@ -69,7 +122,9 @@ public class CardService {
      * @return Saved card
      */
     public Card updateCard(int cardID, Card card) {
-        return cardRepository.save(card);
+        Card savedCard = cardRepository.save(card);
+        cardCache.invalidate(cardID);
+        return savedCard;
     }
 
     /**
@@ -79,6 +134,9 @@ public class CardService {
      */
     @Transactional(readOnly = true)
     public List<Card> getCardsByDeck(int deckID) {
+        // Remind times tie, so only the set of cards is compared
+        shadowReads.sample("card.findByDeck",
+            repositories -> repositories.cards().findByDeckIDOrderByRemindTimeAsc(deckID), false);
         return cardRepository.findByDeckIDOrderByRemindTimeAsc(deckID);
     }
 
@@ -89,6 +147,7 @@ public class CardService {
     public void deleteCardsByDeck(int deckID) {
         List<Card> cards = cardRepository.findByDeckIDOrderByRemindTimeAsc(deckID);
         cardRepository.deleteAll(cards);
+        eventPublisher.publishEvent(CardsBulkChangedEvent.forDeck(deckID));
     }
 
     /**
@@ -98,6 +157,7 @@ public class CardService {
      */
     @Transactional(readOnly = true)
     public int countNewCards(int deckID) {
+        shadowReads.sample("card.countNewCardNum", repositories -> repositories.cards().countNewCardNum(deckID));
         return cardRepository.countNewCardNum(deckID);
     }
 
@@ -108,6 +168,8 @@ public class CardService {
      */
     @Transactional(readOnly = true)
     public int countLearningCards(int deckID) {
+        shadowReads.sample("card.countLearningCardNum",
+            repositories -> repositories.cards().countLearningCardNum(deckID));
         return cardRepository.countLearningCardNum(deckID);
     }
 
@@ -118,6 +180,7 @@ public class CardService {
      */
     @Transactional(readOnly = true)
     public int countDueCards(int deckID) {
+        shadowReads.sample("card.countDueCardNum", repositories -> repositories.cards().countDueCardNum(deckID));
         return cardRepository.countDueCardNum(deckID);
     }
 
@@ -128,6 +191,7 @@ public class CardService {
      */
     @Transactional(readOnly = true)
     public int countCardsByDeck(int deckID) {
+        shadowReads.sample("card.countCardByDeckID", repositories -> repositories.cards().countCardByDeckID(deckID));
         return cardRepository.countCardByDeckID(deckID);
     }
 
@@ -138,6 +202,8 @@ public class CardService {
      */
     @Transactional(readOnly = true)
     public Card findByFontContent(String fontContent) {
+        shadowReads.sample("card.findByFontContent",
+            repositories -> repositories.cards().findByFontContent(fontContent), false);
         List<Card> cards = cardRepository.findByFontContent(fontContent);
         return cards.isEmpty() ? null : cards.get(0);
     }
@@ -159,7 +225,11 @@ public class CardService {
      */
     @Transactional(readOnly = true)
     public List<Card> getDueCards(int deckID) {
-        return cardRepository.findByDeckIDAndRemindTimeLessThanEqualOrderByRemindTimeAsc(deckID, LocalDate.now());
+        LocalDate today = LocalDate.now();
+        shadowReads.sample("card.findDueByDeck",
+            repositories -> repositories.cards()
+                .findByDeckIDAndRemindTimeLessThanEqualOrderByRemindTimeAsc(deckID, today), false);
+        return cardRepository.findByDeckIDAndRemindTimeLessThanEqualOrderByRemindTimeAsc(deckID, today);
     }
 
     /**
@@ -171,9 +241,13 @@ public class CardService {
      */
     public Card updateCardLearningProgress(int cardID, int newStatus, LocalDate newRemindTime) {
         Card card = findById(cardID);
+        int previousStatus = card.getStatus();
         card.setStatus(newStatus);
         card.setRemindTime(newRemindTime);
-        return cardRepository.save(card);
+        Card savedCard = cardRepository.save(card);
+        eventPublisher.publishEvent(
+            CardLifecycleEvent.statusChanged(cardID, card.getDeckID(), previousStatus, newStatus));
+        return savedCard;
     }
 
     // API-specific methods
@@ -185,9 +259,44 @@ public class CardService {
      */
     @Transactional(readOnly = true)
     public List<Card> findCardsByDeckID(int deckID) {
+        shadowReads.sample("card.findByDeck",
+            repositories -> repositories.cards().findByDeckIDOrderByRemindTimeAsc(deckID), false);
         return cardRepository.findByDeckIDOrderByRemindTimeAsc(deckID);
     }
 
+    /**
+     * Find one page of a deck's cards ordered by remind time.
+     * Pages are addressed by an opaque cursor holding the last (RemindTime, CardID) seen,
+     * so each page is an index seek regardless of how deep it is.
+     * @param deckID Deck ID
+     * @param cursor Cursor returned with the previous page, null for the first page
+     * @param limit Page size, capped at MAX_PAGE_SIZE
+     * @param includeTotal Whether to count the deck's cards as well
+     * @return Page of cards
+     */
+    @Transactional(readOnly = true)
+    public CardPage findCardPage(int deckID, String cursor, int limit, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDate afterRemindTime = null;
+        Integer afterCardID = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            PageCursor position = PageCursor.decode(cursor);
+            afterRemindTime = position.remindTime();
+            afterCardID = position.cardID();
+        }
+
+        // One extra row tells whether another page follows
+        List<CardPojo> cards = cardMapper.findPageByDeck(deckID, afterRemindTime, afterCardID, pageSize + 1);
+        String nextCursor = null;
+        if (cards.size() > pageSize) {
+            cards = cards.subList(0, pageSize);
+            CardPojo last = cards.get(pageSize - 1);
+            nextCursor = new PageCursor(last.getRemindTime(), last.getCardID()).encode();
+        }
+        Integer totalCount = includeTotal ? cardMapper.countCardsByDeck(deckID) : null;
+        return new CardPage(cards, nextCursor, totalCount);
+    }
+
     /**
      * Find card by ID (nullable version for API)
      * @param cardID Card ID
@@ -195,16 +304,80 @@ public class CardService {
      */
     @Transactional(readOnly = true)
     public Card findByCardID(int cardID) {
-        return cardRepository.findById(cardID).orElse(null);
+        shadowReads.sample("card.findById", repositories -> repositories.cards().findById(cardID));
+        return cardCache.get(cardID);
+    }
+
+    /**
+     * Find a card in one of the user's decks; cards of other users are not found.
+     * A cached card is checked against its cached deck, otherwise one joined query is used.
+     * @param cardID Card ID
+     * @param userID Owner user ID
+     * @return Card if found and owned, null otherwise
+     */
+    @Transactional(readOnly = true)
+    public Card findOwnedCard(int cardID, int userID) {
+        shadowReads.sample("card.findOwnedById", repositories -> repositories.cards().findOwnedById(cardID, userID));
+        boolean[] loaded = new boolean[1];
+        Card card = cardCache.get(cardID, id -> {
+            loaded[0] = true;
+            return cardRepository.findOwnedById(id, userID).orElse(null);
+        });
+        if (card == null || loaded[0]) {
+            return card;
+        }
+        Deck deck = deckCache.get(card.getDeckID());
+        return deck != null && deck.getUserID() == userID ? card : null;
     }
 
     /**
-     * Save card entity
+     * Load a card in one of the user's decks for modification; always reads the database,
+     * so a stale cached copy cannot overwrite the scheduling columns or the deck counters
+     * @param cardID Card ID
+     * @param userID Owner user ID
+     * @return Card if found and owned, null otherwise
+     */
+    public Card findOwnedCardForWrite(int cardID, int userID) {
+        return cardRepository.findOwnedById(cardID, userID).orElse(null);
+    }
+
+    /**
+     * Find the cards of a batch that belong to the user's decks, in one query
+     * @param cardIDs Card IDs
+     * @param userID Owner user ID
+     * @return Owned cards ordered by ID; foreign and missing IDs are left out
+     */
+    @Transactional(readOnly = true)
+    public List<Card> findOwnedCards(Collection<Integer> cardIDs, int userID) {
+        if (cardIDs.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> ids = List.copyOf(cardIDs);
+        shadowReads.sample("card.findOwnedByIds", repositories -> repositories.cards().findOwnedByIds(ids, userID));
+        return cardRepository.findOwnedByIds(cardIDs, userID);
+    }
+
+    /**
+     * Save card entity (new cards are counted into their deck, existing ones are content edits)
      * @param card Card to save
      * @return Saved card
      */
     public Card save(Card card) {
-        return cardRepository.save(card);
+        boolean isNew = card.getCardID() == 0;
+        Card savedCard = cardRepository.save(card);
+        eventPublisher.publishEvent(isNew
+            ? CardLifecycleEvent.created(savedCard)
+            : CardLifecycleEvent.updated(savedCard));
+        return savedCard;
+    }
+
+    /**
+     * Delete a loaded card
+     * @param card Card to delete
+     */
+    public void deleteCard(Card card) {
+        cardRepository.deleteById(card.getCardID());
+        eventPublisher.publishEvent(CardLifecycleEvent.deleted(card));
     }
 
     /**
@@ -212,6 +385,49 @@ public class CardService {
      * @param cardID Card ID to delete
      */
     public void deleteByCardID(int cardID) {
-        cardRepository.deleteById(cardID);
+        cardRepository.findById(cardID).ifPresent(this::deleteCard);
+    }
+
+    /**
+     * Last (RemindTime, CardID) of a page, sent to clients as URL-safe Base64
+     */
+    private record PageCursor(LocalDate remindTime, int cardID) {
+
+        String encode() {
+            String position = remindTime + "|" + cardID;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static PageCursor decode(String cursor) {
+            try {
+                String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (position.length != 2) {
+                    throw new ValidationException("Invalid page cursor");
+                }
+                return new PageCursor(LocalDate.parse(position[0]), Integer.parseInt(position[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new ValidationException("Invalid page cursor");
+            }
+        }
+    }
+
+    /**
+     * Drop a changed card from the lookup cache (runs inside the changing transaction)
+     * @param event Card lifecycle event
+     */
+    @EventListener
+    public void onCardLifecycle(CardLifecycleEvent event) {
+        cardCache.invalidate(event.getCardID());
+    }
+
+    /**
+     * Drop the cached cards of decks changed in bulk
+     * @param event Bulk change event
+     */
+    @EventListener
+    public void onCardsBulkChanged(CardsBulkChangedEvent event) {
+        if (!event.getDeckIDs().isEmpty()) {
+            cardCache.invalidateIf(card -> event.getDeckIDs().contains(card.getDeckID()));
+        }
     }
-}
\ No newline at end of file
+}
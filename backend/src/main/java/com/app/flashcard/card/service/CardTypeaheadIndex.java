@@ -0,0 +1,276 @@
+package com.app.flashcard.card.service;
+
+import com.app.flashcard.card.model.CardSuggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory inverted n-gram index over the cards of one user.
+ * Every lower-cased trigram of a card's front and back points to the card, so a substring query
+ * intersects the posting lists of its trigrams and only verifies the few remaining candidates.
+ * Queries shorter than a trigram use the one- and two-character prefixes of every word instead.
+ * Posting lists are sorted int arrays; the card text is kept once, as uploaded, and compared
+ * case-insensitively without copies.
+ * Not thread-safe; CardTypeaheadService guards each index with a read/write lock.
+ */
+class CardTypeaheadIndex {
+
+    // Keys of word-prefix postings; trigram keys use the lower 48 bits only
+    private static final long PREFIX_KEY = 1L << 62;
+
+    private static final class Entry {
+        final int deckID;
+        final String front;
+        final String back;
+
+        Entry(int deckID, String front, String back) {
+            this.deckID = deckID;
+            this.front = front != null ? front : "";
+            this.back = back != null ? back : "";
+        }
+    }
+
+    private final Map<Integer, Entry> cards = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Add a card or replace its contents
+     */
+    void put(int cardID, int deckID, String front, String back) {
+        remove(cardID);
+        Entry entry = new Entry(deckID, front, back);
+        for (long key : keysOf(entry)) {
+            postings.computeIfAbsent(key, k -> new Postings()).add(cardID);
+        }
+        cards.put(cardID, entry);
+    }
+
+    void remove(int cardID) {
+        Entry entry = cards.remove(cardID);
+        if (entry == null) {
+            return;
+        }
+        for (long key : keysOf(entry)) {
+            Postings list = postings.get(key);
+            if (list != null) {
+                list.remove(cardID);
+                if (list.size == 0) {
+                    postings.remove(key);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return cards.size();
+    }
+
+    int gramCount() {
+        return postings.size();
+    }
+
+    /**
+     * Find cards containing the query; cards whose front starts with it come first, then front
+     * matches, then back matches, each in CardID order
+     * @param query Non-empty search text
+     * @param deckID Restrict to one deck, null for all
+     * @param limit Maximum suggestions
+     */
+    List<CardSuggestion> search(String query, Integer deckID, int limit) {
+        int[] candidates;
+        int count;
+        if (query.length() >= 3) {
+            Postings[] lists = new Postings[query.length() - 2];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postings.get(trigramKey(query, i));
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+            candidates = Arrays.copyOf(lists[0].ids, lists[0].size);
+            count = candidates.length;
+            for (int i = 1; i < lists.length && count > 0; i++) {
+                count = lists[i].retainIn(candidates, count);
+            }
+        } else {
+            Postings list = postings.get(prefixKey(query, 0, query.length()));
+            if (list == null) {
+                return List.of();
+            }
+            candidates = list.ids;
+            count = list.size;
+        }
+
+        List<List<CardSuggestion>> tiers = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (int i = 0; i < count && tiers.get(0).size() < limit; i++) {
+            Entry entry = cards.get(candidates[i]);
+            if (entry == null || (deckID != null && entry.deckID != deckID)) {
+                continue;
+            }
+            int tier = tierOf(entry, query);
+            if (tier >= 0) {
+                List<CardSuggestion> bucket = tiers.get(tier);
+                if (bucket.size() < limit) {
+                    bucket.add(new CardSuggestion(candidates[i], entry.deckID, entry.front, entry.back));
+                }
+            }
+        }
+        List<CardSuggestion> result = new ArrayList<>(limit);
+        for (List<CardSuggestion> bucket : tiers) {
+            for (int i = 0; i < bucket.size() && result.size() < limit; i++) {
+                result.add(bucket.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rough heap footprint of the index in bytes (compressed oops, compact strings)
+     */
+    long estimateBytes() {
+        long bytes = 0;
+        for (Entry entry : cards.values()) {
+            // HashMap node + Integer key + entry + two strings with their arrays
+            bytes += 32 + 16 + 24 + stringBytes(entry.front) + stringBytes(entry.back);
+        }
+        for (Postings list : postings.values()) {
+            // HashMap node + Long key + postings object + int array
+            bytes += 32 + 24 + 24 + 16 + 4L * list.ids.length;
+        }
+        // HashMap tables
+        bytes += 4L * (Integer.highestOneBit(Math.max(1, cards.size())) * 2 + Integer.highestOneBit(Math.max(1, postings.size())) * 2);
+        return bytes;
+    }
+
+    private static long stringBytes(String text) {
+        boolean latin1 = true;
+        for (int i = 0; i < text.length() && latin1; i++) {
+            latin1 = text.charAt(i) < 256;
+        }
+        return 24 + 16 + (long) text.length() * (latin1 ? 1 : 2);
+    }
+
+    /**
+     * 0: front starts with the query, 1: front contains it, 2: back contains it, -1: no match
+     * (short queries only match at the start of a word)
+     */
+    private static int tierOf(Entry entry, String query) {
+        if (entry.front.regionMatches(true, 0, query, 0, query.length())) {
+            return 0;
+        }
+        boolean wordStart = query.length() < 3;
+        if (indexOfIgnoreCase(entry.front, query, wordStart) >= 0) {
+            return 1;
+        }
+        return indexOfIgnoreCase(entry.back, query, wordStart) >= 0 ? 2 : -1;
+    }
+
+    private static int indexOfIgnoreCase(String text, String query, boolean wordStart) {
+        for (int i = 0; i + query.length() <= text.length(); i++) {
+            if ((!wordStart || isWordStart(text, i)) && text.regionMatches(true, i, query, 0, query.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Set<Long> keysOf(Entry entry) {
+        Set<Long> keys = new HashSet<>();
+        addKeys(entry.front, keys);
+        addKeys(entry.back, keys);
+        return keys;
+    }
+
+    private static void addKeys(String text, Set<Long> keys) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            keys.add(trigramKey(text, i));
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (isWordStart(text, i)) {
+                keys.add(prefixKey(text, i, 1));
+                if (i + 1 < text.length() && Character.isLetterOrDigit(text.charAt(i + 1))) {
+                    keys.add(prefixKey(text, i, 2));
+                }
+            }
+        }
+    }
+
+    private static boolean isWordStart(String text, int i) {
+        return Character.isLetterOrDigit(text.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+    }
+
+    private static long trigramKey(String text, int i) {
+        return ((long) Character.toLowerCase(text.charAt(i)) << 32)
+            | ((long) Character.toLowerCase(text.charAt(i + 1)) << 16)
+            | Character.toLowerCase(text.charAt(i + 2));
+    }
+
+    private static long prefixKey(String text, int i, int length) {
+        long key = PREFIX_KEY | ((long) length << 40) | ((long) Character.toLowerCase(text.charAt(i)) << 16);
+        return length == 2 ? key | Character.toLowerCase(text.charAt(i + 1)) : key;
+    }
+
+    /**
+     * Sorted set of card IDs backed by an int array
+     */
+    private static final class Postings {
+        int[] ids = new int[2];
+        int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int index = Arrays.binarySearch(ids, 0, size, id);
+                if (index >= 0) {
+                    return;
+                }
+                index = -index - 1;
+                grow();
+                System.arraycopy(ids, index, ids, index + 1, size - index);
+                ids[index] = id;
+            } else {
+                grow();
+                ids[size] = id;
+            }
+            size++;
+        }
+
+        void remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+                size--;
+            }
+        }
+
+        /**
+         * Keep only the first count candidates also in this list
+         * @return New candidate count
+         */
+        int retainIn(int[] candidates, int count) {
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < count; i++) {
+                while (j < size && ids[j] < candidates[i]) {
+                    j++;
+                }
+                if (j < size && ids[j] == candidates[i]) {
+                    candidates[kept++] = candidates[i];
+                }
+            }
+            return kept;
+        }
+
+        private void grow() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.app.flashcard.card.service;
+
+import com.app.flashcard.card.event.CardLifecycleEvent;
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.model.CardSearchHit;
+import com.app.flashcard.card.model.CardSuggestion;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.model.DeckPojo;
+import com.app.flashcard.deck.repository.DeckMapper;
+import com.app.flashcard.shared.cache.EntityCache;
+import com.app.flashcard.shared.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Type-ahead card lookup from an in-memory n-gram index per active user (see CardTypeaheadIndex).
+ * A user's index is built on the first lookup, kept current by card events after commit and
+ * dropped when idle or when more than max-users indexes are held. Users with more than
+ * max-cards-per-user cards, and all users when disabled, are served by CardSearchService.
+ */
+@Service
+public class CardTypeaheadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardTypeaheadService.class);
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 20;
+
+    @Autowired
+    private CardMapper cardMapper;
+
+    @Autowired
+    private DeckMapper deckMapper;
+
+    @Autowired
+    private CardSearchService cardSearchService;
+
+    @Autowired
+    private EntityCache<Integer, Deck> deckCache;
+
+    @Value("${flashcard.search.typeahead.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${flashcard.search.typeahead.max-users:1000}")
+    private int maxUsers = 1000;
+
+    @Value("${flashcard.search.typeahead.max-cards-per-user:50000}")
+    private int maxCardsPerUser = 50000;
+
+    @Value("${flashcard.search.typeahead.idle-minutes:30}")
+    private long idleMinutes = 30;
+
+    private final ConcurrentMap<Integer, UserIndex> indexes = new ConcurrentHashMap<>();
+    // DeckID -> UserID for the decks of indexed users, so card events (which only carry the deck)
+    // find the index; entries leave with their index
+    private final ConcurrentMap<Integer, Integer> deckOwners = new ConcurrentHashMap<>();
+
+    private static final class UserIndex {
+        final int userID;
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        final CardTypeaheadIndex index = new CardTypeaheadIndex();
+        final Set<Integer> deckIDs = ConcurrentHashMap.newKeySet();
+        volatile long lastAccess = System.nanoTime();
+        // Written under the write lock, read without it by acquire
+        volatile boolean built;
+        volatile boolean tooLarge;
+
+        UserIndex(int userID) {
+            this.userID = userID;
+        }
+    }
+
+    /**
+     * Suggest cards whose front or back contains the query
+     * @param userID Owner of the cards
+     * @param deckID Deck to search, null for all decks of the user
+     * @param query Search text
+     * @param limit Maximum suggestions, capped at MAX_LIMIT
+     * @return Cards whose front starts with the query first, then front and back matches
+     */
+    public List<CardSuggestion> suggest(int userID, Integer deckID, String query, int limit) {
+        String text = query == null ? "" : query.trim();
+        if (text.isEmpty()) {
+            throw new ValidationException("Search query must not be empty");
+        }
+        if (text.length() > CardSearchService.MAX_QUERY_LENGTH) {
+            throw new ValidationException("Search query must not exceed " + CardSearchService.MAX_QUERY_LENGTH + " characters");
+        }
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        UserIndex userIndex = enabled ? acquire(userID) : null;
+        if (userIndex == null) {
+            return fallback(userID, deckID, text, size);
+        }
+        userIndex.lock.readLock().lock();
+        try {
+            return userIndex.index.search(text, deckID, size);
+        } finally {
+            userIndex.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the index of a user; it is rebuilt on the next lookup
+     * @param userID User ID
+     */
+    public void invalidateUser(int userID) {
+        UserIndex userIndex = indexes.get(userID);
+        if (userIndex != null) {
+            drop(userIndex);
+        }
+    }
+
+    /**
+     * Drop indexes that were not used for idle-minutes. Scheduled by SchedulerConfig.
+     * @return Number of dropped indexes
+     */
+    public int evictIdle() {
+        long cutoff = System.nanoTime() - TimeUnit.MINUTES.toNanos(idleMinutes);
+        int dropped = 0;
+        for (UserIndex userIndex : indexes.values()) {
+            if (userIndex.lastAccess - cutoff < 0 && drop(userIndex)) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * Number of users with an index in memory
+     */
+    public int getIndexedUserCount() {
+        return indexes.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCardLifecycle(CardLifecycleEvent event) {
+        switch (event.getType()) {
+            case CREATED, UPDATED -> {
+                UserIndex userIndex = indexOfDeck(event.getDeckID());
+                if (userIndex != null) {
+                    put(userIndex, cardMapper.findById(event.getCardID()));
+                }
+            }
+            case MOVED -> {
+                UserIndex previous = indexOfDeck(event.getPreviousDeckID());
+                UserIndex current = indexOfDeck(event.getDeckID());
+                if (previous != null && previous != current) {
+                    remove(previous, event.getCardID());
+                }
+                if (current != null) {
+                    put(current, cardMapper.findById(event.getCardID()));
+                }
+            }
+            case DELETED -> {
+                UserIndex userIndex = indexOfDeck(event.getDeckID());
+                if (userIndex != null) {
+                    remove(userIndex, event.getCardID());
+                }
+            }
+            default -> {
+                // status changes do not affect contents
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCardsBulkChanged(CardsBulkChangedEvent event) {
+        if (!event.isContentChanged() || indexes.isEmpty()) {
+            return;
+        }
+        for (Integer deckID : event.getDeckIDs()) {
+            UserIndex userIndex = indexOfDeck(deckID);
+            if (userIndex != null) {
+                drop(userIndex);
+            }
+        }
+    }
+
+    /**
+     * Get the built index of a user, building it on first use
+     * @return null if the user has too many cards for an in-memory index
+     */
+    private UserIndex acquire(int userID) {
+        UserIndex userIndex = indexes.get(userID);
+        if (userIndex == null) {
+            if (indexes.size() >= maxUsers) {
+                evictLeastRecentlyUsed();
+            }
+            userIndex = indexes.computeIfAbsent(userID, UserIndex::new);
+        }
+        userIndex.lastAccess = System.nanoTime();
+        if (!userIndex.built) {
+            userIndex.lock.writeLock().lock();
+            try {
+                if (!userIndex.built) {
+                    build(userID, userIndex);
+                }
+            } finally {
+                userIndex.lock.writeLock().unlock();
+            }
+        }
+        return userIndex.tooLarge ? null : userIndex;
+    }
+
+    private void build(int userID, UserIndex userIndex) {
+        long started = System.nanoTime();
+        List<DeckPojo> decks = deckMapper.findByUserId(userID);
+        int totalCards = decks.stream().mapToInt(DeckPojo::getTotalCards).sum();
+        decks.forEach(deck -> registerDeck(userIndex, deck.getDeckID()));
+        if (totalCards > maxCardsPerUser) {
+            userIndex.tooLarge = true;
+        } else {
+            for (DeckPojo deck : decks) {
+                for (CardPojo card : cardMapper.findByDeckId(deck.getDeckID())) {
+                    userIndex.index.put(card.getCardID(), card.getDeckID(), card.getFrontContent(), card.getBackContent());
+                }
+            }
+            userIndex.tooLarge = userIndex.index.size() > maxCardsPerUser;
+        }
+        userIndex.built = true;
+
+        if (userIndex.tooLarge) {
+            logger.info("User {} has more than {} cards, type-ahead falls back to database search", userID, maxCardsPerUser);
+        } else if (logger.isDebugEnabled()) {
+            int cards = userIndex.index.size();
+            long bytes = userIndex.index.estimateBytes();
+            logger.debug("Built type-ahead index for user {}: {} cards, {} grams, {} KB ({} bytes/card) in {} ms",
+                userID, cards, userIndex.index.gramCount(), bytes / 1024, cards == 0 ? 0 : bytes / cards,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    private List<CardSuggestion> fallback(int userID, Integer deckID, String text, int limit) {
+        List<CardSearchHit> hits = cardSearchService.search(userID, deckID, text, limit, 0).getHits();
+        return hits.stream()
+            .map(hit -> new CardSuggestion(hit.getCardID(), hit.getDeckID(), hit.getFrontContent(), hit.getBackContent()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Index of the deck's owner if it is in memory
+     */
+    private UserIndex indexOfDeck(int deckID) {
+        if (indexes.isEmpty()) {
+            return null;
+        }
+        Integer userID = deckOwners.get(deckID);
+        if (userID != null) {
+            return indexes.get(userID);
+        }
+        // A deck created after its owner's index was built, or of a user without an index;
+        // the owner comes from the shared, bounded deck cache
+        Deck deck = deckCache.get(deckID);
+        UserIndex userIndex = deck != null ? indexes.get(deck.getUserID()) : null;
+        if (userIndex != null) {
+            registerDeck(userIndex, deckID);
+        }
+        return userIndex;
+    }
+
+    private void registerDeck(UserIndex userIndex, int deckID) {
+        userIndex.deckIDs.add(deckID);
+        deckOwners.put(deckID, userIndex.userID);
+        if (indexes.get(userIndex.userID) != userIndex) {
+            // Dropped meanwhile; drop may have run before the deck was added
+            deckOwners.remove(deckID, userIndex.userID);
+        }
+    }
+
+    /**
+     * Remove an index with its deck owners
+     * @return false if it was already removed
+     */
+    private boolean drop(UserIndex userIndex) {
+        if (!indexes.remove(userIndex.userID, userIndex)) {
+            return false;
+        }
+        userIndex.deckIDs.forEach(deckID -> deckOwners.remove(deckID, userIndex.userID));
+        return true;
+    }
+
+    private void put(UserIndex userIndex, CardPojo card) {
+        if (card == null) {
+            return;
+        }
+        boolean grownTooLarge;
+        userIndex.lock.writeLock().lock();
+        try {
+            if (!userIndex.built || userIndex.tooLarge) {
+                return;
+            }
+            userIndex.index.put(card.getCardID(), card.getDeckID(), card.getFrontContent(), card.getBackContent());
+            grownTooLarge = userIndex.index.size() > maxCardsPerUser;
+        } finally {
+            userIndex.lock.writeLock().unlock();
+        }
+        if (grownTooLarge) {
+            // The next lookup sees the deck counters and falls back to the database
+            drop(userIndex);
+        }
+    }
+
+    private void remove(UserIndex userIndex, int cardID) {
+        userIndex.lock.writeLock().lock();
+        try {
+            userIndex.index.remove(cardID);
+        } finally {
+            userIndex.lock.writeLock().unlock();
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        indexes.entrySet().stream()
+            .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+            .ifPresent(entry -> drop(entry.getValue()));
+    }
+}
@@ -1,16 +1,22 @@
 package com.app.flashcard.config;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.ibatis.parsing.PropertyParser;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.util.List;
+import java.util.Properties;
 
 @Configuration
 @EnableTransactionManagement
@@ -22,18 +28,34 @@ import javax.sql.DataSource;
 })
 public class MyBatisConfig {
     
+    // Namespace caches declared in the mapper XML files, tuned under flashcard.mybatis-cache.<name>
+    private static final List<String> MAPPER_CACHES = List.of("card", "user", "learning-log");
+    private static final List<String> MAPPER_CACHE_SETTINGS = List.of("size", "ttl-seconds", "eviction");
+
     @Autowired
     private DataSource dataSource;
+
+    @Autowired
+    private Environment environment;
     
+    /**
+     * JPA transaction manager bound to the same DataSource, so JPA repositories
+     * and MyBatis mappers called from one @Transactional service method share
+     * a single connection and commit together.
+     */
     @Bean
-    public PlatformTransactionManager transactionManager() {
-        return new DataSourceTransactionManager(dataSource);
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        transactionManager.setDataSource(dataSource);
+        return transactionManager;
     }
     
     @Bean
     public SqlSessionFactory sqlSessionFactory() throws Exception {
         SqlSessionFactoryBean sessionFactory = new SqlSessionFactoryBean();
         sessionFactory.setDataSource(dataSource);
+        sessionFactory.setMapperLocations(
+            new PathMatchingResourcePatternResolver().getResources("classpath:mappers/*.xml"));
         
         // Additional MyBatis configuration if needed
         org.apache.ibatis.session.Configuration configuration = 
@@ -44,7 +66,27 @@ public class MyBatisConfig {
         configuration.setLazyLoadingEnabled(false);
         
         sessionFactory.setConfiguration(configuration);
+        sessionFactory.setConfigurationProperties(mapperCacheProperties());
         
         return sessionFactory.getObject();
     }
-}
\ No newline at end of file
+
+    /**
+     * Values for the ${...} placeholders of the mapper <cache> declarations;
+     * unset keys fall back to the defaults written in the XML
+     */
+    private Properties mapperCacheProperties() {
+        Properties properties = new Properties();
+        properties.setProperty(PropertyParser.KEY_ENABLE_DEFAULT_VALUE, "true");
+        for (String cache : MAPPER_CACHES) {
+            for (String setting : MAPPER_CACHE_SETTINGS) {
+                String key = "flashcard.mybatis-cache." + cache + "." + setting;
+                String value = environment.getProperty(key);
+                if (value != null) {
+                    properties.setProperty(key, value);
+                }
+            }
+        }
+        return properties;
+    }
+}
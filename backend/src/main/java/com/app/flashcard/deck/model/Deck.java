@@ -1,9 +1,13 @@
 package com.app.flashcard.deck.model;
 
+import com.app.flashcard.shared.cache.MapperCacheEntityListener;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "deck")
+@EntityListeners(MapperCacheEntityListener.class)
+@Table(name = "deck", indexes = {
+    @Index(name = "idx_deck_user", columnList = "UserID")
+})
 public class Deck {
     @Column(name = "UserID")
     private int userID;
@@ -13,15 +17,26 @@ public class Deck {
     private int deckID;
     @Column(name = "DeckName")
     private String deckName;
-    @Column(name = "NewCardNum")
+    // Counters are maintained by DeckService through DeckMapper deltas; JPA only writes them on insert
+    @Column(name = "NewCardNum", updatable = false)
     private int newCardNum = 0;
-    @Column(name = "LearningCardNum")
+    @Column(name = "LearningCardNum", updatable = false)
     private int learningCardNum = 0;
-    @Column(name = "DueCardNum")
+    @Column(name = "DueCardNum", updatable = false)
     private int dueCardNum = 0;
 
     public Deck(){}
 
+    // Detached copy (see EntityCache)
+    public Deck(Deck other) {
+        this.userID = other.userID;
+        this.deckID = other.deckID;
+        this.deckName = other.deckName;
+        this.newCardNum = other.newCardNum;
+        this.learningCardNum = other.learningCardNum;
+        this.dueCardNum = other.dueCardNum;
+    }
+
     public int getUserID() {
         return userID;
     }
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Serializable;
+
 /**
  * Deck POJO for MyBatis with Lombok
  */
@@ -12,7 +14,10 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class DeckPojo {
+public class DeckPojo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private Integer deckID;
     private Integer userID;
     private String deckName;
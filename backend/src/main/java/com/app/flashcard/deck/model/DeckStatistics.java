@@ -0,0 +1,44 @@
+package com.app.flashcard.deck.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Per-deck card counters computed in a single grouped query
+ * (see DeckMapper.findStatisticsByUserId / findStatisticsByDeckIds)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeckStatistics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer deckID;
+
+    @Builder.Default
+    private int newCardNum = 0;       // status = 0
+
+    @Builder.Default
+    private int learningCardNum = 0;  // status 1-20
+
+    @Builder.Default
+    private int dueCardNum = 0;       // status >= 21
+
+    public boolean matches(Deck deck) {
+        return deck.getNewCardNum() == newCardNum
+            && deck.getLearningCardNum() == learningCardNum
+            && deck.getDueCardNum() == dueCardNum;
+    }
+
+    public void applyTo(Deck deck) {
+        deck.setNewCardNum(newCardNum);
+        deck.setLearningCardNum(learningCardNum);
+        deck.setDueCardNum(dueCardNum);
+    }
+}
@@ -1,8 +1,10 @@
 package com.app.flashcard.deck.repository;
 
 import com.app.flashcard.deck.model.DeckPojo;
+import com.app.flashcard.deck.model.DeckStatistics;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -12,9 +14,26 @@ public interface DeckMapper {
     List<DeckPojo> findAll();
     int insert(DeckPojo deck);
     int update(DeckPojo deck);
+    int updateDetails(DeckPojo deck);
     int deleteById(@Param("id") Integer id);
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+    int deleteAll();
+    List<DeckPojo> findByIds(@Param("ids") Collection<Integer> ids);
+    long countAll();
     int updateStatistics(@Param("deckId") Integer deckId, 
                         @Param("newCards") int newCards,
                         @Param("learningCards") int learningCards, 
                         @Param("dueCards") int dueCards);
+
+    // Aggregated statistics: one grouped pass over card for many decks
+    List<DeckStatistics> findStatisticsByUserId(@Param("userId") Integer userId);
+    List<DeckStatistics> findStatisticsByDeckIds(@Param("deckIds") List<Integer> deckIds);
+
+    // Incremental counter maintenance
+    int adjustStatistics(@Param("deckId") Integer deckId,
+                         @Param("newDelta") int newDelta,
+                         @Param("learningDelta") int learningDelta,
+                         @Param("dueDelta") int dueDelta);
+    int batchUpdateStatistics(@Param("statistics") List<DeckStatistics> statistics);
+    int reconcileStatistics();
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package com.app.flashcard.deck.repository;
+
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.model.DeckPojo;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * DeckRepository served by DeckMapper instead of Hibernate
+ * (selected with flashcard.persistence.backend=mybatis, see PersistenceBackendConfig).
+ * Like the JPA mapping, saving an existing deck never writes its card counters.
+ */
+@Transactional(readOnly = true)
+public class MyBatisDeckRepository implements DeckRepository {
+
+    private final DeckMapper deckMapper;
+
+    public MyBatisDeckRepository(DeckMapper deckMapper) {
+        this.deckMapper = deckMapper;
+    }
+
+    @Override
+    public List<Deck> findByUserID(int userID) {
+        return toEntities(deckMapper.findByUserId(userID));
+    }
+
+    /**
+     * Insert a deck with ID 0 (the generated ID is set on it), update any other
+     */
+    @Override
+    @Transactional
+    public <S extends Deck> S save(S deck) {
+        Assert.notNull(deck, "Deck must not be null");
+        DeckPojo pojo = toPojo(deck);
+        if (deck.getDeckID() == 0) {
+            deckMapper.insert(pojo);
+            deck.setDeckID(pojo.getDeckID());
+        } else if (deckMapper.updateDetails(pojo) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Deck.class, deck.getDeckID());
+        }
+        return deck;
+    }
+
+    @Override
+    @Transactional
+    public <S extends Deck> Iterable<S> saveAll(Iterable<S> decks) {
+        List<S> saved = new ArrayList<>();
+        for (S deck : decks) {
+            saved.add(save(deck));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Deck> findById(Integer deckID) {
+        Assert.notNull(deckID, "Deck ID must not be null");
+        return Optional.ofNullable(deckMapper.findById(deckID)).map(MyBatisDeckRepository::toEntity);
+    }
+
+    @Override
+    public boolean existsById(Integer deckID) {
+        return findById(deckID).isPresent();
+    }
+
+    @Override
+    public Iterable<Deck> findAll() {
+        return toEntities(deckMapper.findAll());
+    }
+
+    @Override
+    public Iterable<Deck> findAllById(Iterable<Integer> deckIDs) {
+        List<Integer> ids = new ArrayList<>();
+        deckIDs.forEach(ids::add);
+        return ids.isEmpty() ? new ArrayList<>() : toEntities(deckMapper.findByIds(ids));
+    }
+
+    @Override
+    public long count() {
+        return deckMapper.countAll();
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Integer deckID) {
+        Assert.notNull(deckID, "Deck ID must not be null");
+        deckMapper.deleteById(deckID);
+    }
+
+    @Override
+    @Transactional
+    public void delete(Deck deck) {
+        Assert.notNull(deck, "Deck must not be null");
+        deckMapper.deleteById(deck.getDeckID());
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllById(Iterable<? extends Integer> deckIDs) {
+        List<Integer> ids = new ArrayList<>();
+        deckIDs.forEach(ids::add);
+        if (!ids.isEmpty()) {
+            deckMapper.deleteByIds(ids);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll(Iterable<? extends Deck> decks) {
+        List<Integer> ids = new ArrayList<>();
+        decks.forEach(deck -> ids.add(deck.getDeckID()));
+        if (!ids.isEmpty()) {
+            deckMapper.deleteByIds(ids);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll() {
+        deckMapper.deleteAll();
+    }
+
+    public static Deck toEntity(DeckPojo pojo) {
+        Deck deck = new Deck();
+        deck.setDeckID(pojo.getDeckID());
+        deck.setUserID(pojo.getUserID());
+        deck.setDeckName(pojo.getDeckName());
+        deck.setNewCardNum(pojo.getNewCardNum());
+        deck.setLearningCardNum(pojo.getLearningCardNum());
+        deck.setDueCardNum(pojo.getDueCardNum());
+        return deck;
+    }
+
+    public static DeckPojo toPojo(Deck deck) {
+        return DeckPojo.builder()
+            .deckID(deck.getDeckID() == 0 ? null : deck.getDeckID())
+            .userID(deck.getUserID())
+            .deckName(deck.getDeckName())
+            .newCardNum(deck.getNewCardNum())
+            .learningCardNum(deck.getLearningCardNum())
+            .dueCardNum(deck.getDueCardNum())
+            .build();
+    }
+
+    private static List<Deck> toEntities(List<DeckPojo> pojos) {
+        return pojos.stream().map(MyBatisDeckRepository::toEntity).collect(Collectors.toList());
+    }
+}
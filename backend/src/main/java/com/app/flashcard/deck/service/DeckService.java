@@ -1,39 +1,82 @@
 package com.app.flashcard.deck.service;
 
+import com.app.flashcard.card.event.CardLifecycleEvent;
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
+import com.app.flashcard.card.model.CardStatusBucket;
 import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.model.DeckStatistics;
 import com.app.flashcard.card.repository.CardRepository;
+import com.app.flashcard.deck.repository.DeckMapper;
 import com.app.flashcard.deck.repository.DeckRepository;
+import com.app.flashcard.shared.cache.EntityCache;
 import com.app.flashcard.shared.exception.EntityNotFoundException;
+import com.app.flashcard.shared.shadow.ShadowReadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class DeckService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DeckService.class);
+
+    private static final int STATISTICS_CHUNK_SIZE = 1000;
+
     @Autowired
     private DeckRepository deckRepository;
 
     @Autowired
     private CardRepository cardRepository;
 
+    @Autowired
+    private DeckMapper deckMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Lookups by ID; every write below that changes a deck row invalidates it
+    @Autowired
+    private EntityCache<Integer, Deck> deckCache;
+
+    // Compares a sample of these reads between JPA and MyBatis (see flashcard.persistence.shadow-reads)
+    @Autowired
+    private ShadowReadService shadowReads;
+
     /**
-     * Get all decks for a user with updated statistics
+     * Get all decks for a user with updated statistics.
+     * Counters for every deck are computed in one grouped query.
      * @param userID User ID
      * @return List of decks with current statistics
      */
-    @Transactional(readOnly = true)
     public List<Deck> getDecksByUserWithStatistics(int userID) {
+        shadowReads.sample("deck.findByUserID", repositories -> repositories.decks().findByUserID(userID));
         List<Deck> decks = deckRepository.findByUserID(userID);
-        updateDeckStatistics(decks);
+        applyStatistics(decks, deckMapper.findStatisticsByUserId(userID));
         return decks;
     }
 
+    /**
+     * Get per-deck statistics for all decks of a user without loading the decks
+     * @param userID User ID
+     * @return One statistics row per deck (decks without cards report zeros)
+     */
+    @Transactional(readOnly = true)
+    public List<DeckStatistics> getStatisticsByUser(int userID) {
+        return deckMapper.findStatisticsByUserId(userID);
+    }
+
     /**
      * Get all decks for a user without updating statistics
      * @param userID User ID
@@ -41,6 +84,7 @@ public class DeckService {
      */
     @Transactional(readOnly = true)
     public List<Deck> getDecksByUser(int userID) {
+        shadowReads.sample("deck.findByUserID", repositories -> repositories.decks().findByUserID(userID));
         return deckRepository.findByUserID(userID);
     }
 
@@ -69,17 +113,22 @@ public class DeckService {
         
         // Then delete the deck
         deckRepository.deleteById(deckID);
+        deckCache.invalidate(deckID);
+        eventPublisher.publishEvent(CardsBulkChangedEvent.forDeck(deckID));
     }
 
     /**
-     * Update statistics for multiple decks
+     * Update statistics for multiple decks.
+     * All counters are computed in one grouped query and only decks whose
+     * counters actually changed are written back.
      * @param decks List of decks to update
      */
     public void updateDeckStatistics(List<Deck> decks) {
-        for (Deck deck : decks) {
-            updateDeckStatistics(deck);
+        if (decks.isEmpty()) {
+            return;
         }
-        deckRepository.saveAll(decks);
+        List<Integer> deckIDs = decks.stream().map(Deck::getDeckID).collect(Collectors.toList());
+        applyStatistics(decks, deckMapper.findStatisticsByDeckIds(deckIDs));
     }
 
     /**
@@ -87,14 +136,108 @@ public class DeckService {
      * @param deck Deck to update
      */
     public void updateDeckStatistics(Deck deck) {
-        int deckID = deck.getDeckID();
-        int newCardNum = cardRepository.countNewCardNum(deckID);
-        int learningCardNum = cardRepository.countLearningCardNum(deckID);
-        int dueCardNum = cardRepository.countDueCardNum(deckID);
-        
-        deck.setNewCardNum(newCardNum);
-        deck.setLearningCardNum(learningCardNum);
-        deck.setDueCardNum(dueCardNum);
+        List<DeckStatistics> statistics = deckMapper.findStatisticsByDeckIds(List.of(deck.getDeckID()));
+        if (!statistics.isEmpty()) {
+            statistics.get(0).applyTo(deck);
+        }
+    }
+
+    /**
+     * Copy aggregated counters onto decks and persist the ones that changed
+     * @param decks Decks to update
+     * @param statistics Aggregated counters keyed by deck
+     */
+    private void applyStatistics(List<Deck> decks, List<DeckStatistics> statistics) {
+        Map<Integer, DeckStatistics> statisticsByDeck = statistics.stream()
+            .collect(Collectors.toMap(DeckStatistics::getDeckID, Function.identity()));
+
+        List<DeckStatistics> changed = new ArrayList<>();
+        for (Deck deck : decks) {
+            DeckStatistics deckStatistics = statisticsByDeck.get(deck.getDeckID());
+            if (deckStatistics != null && !deckStatistics.matches(deck)) {
+                deckStatistics.applyTo(deck);
+                changed.add(deckStatistics);
+            }
+        }
+        if (!changed.isEmpty()) {
+            deckMapper.batchUpdateStatistics(changed);
+            deckCache.invalidateAll(changed.stream().map(DeckStatistics::getDeckID).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Apply an O(1) counter delta for a single card change.
+     * Runs inside the transaction that changed the card.
+     * @param event Card lifecycle event
+     */
+    @EventListener
+    public void onCardLifecycle(CardLifecycleEvent event) {
+        switch (event.getType()) {
+            case CREATED -> adjustCounters(event.getDeckID(), CardStatusBucket.of(event.getStatus()), 1);
+            case DELETED -> adjustCounters(event.getDeckID(), CardStatusBucket.of(event.getStatus()), -1);
+            case MOVED -> {
+                CardStatusBucket bucket = CardStatusBucket.of(event.getStatus());
+                adjustCounters(event.getPreviousDeckID(), bucket, -1);
+                adjustCounters(event.getDeckID(), bucket, 1);
+            }
+            case STATUS_CHANGED -> {
+                CardStatusBucket from = CardStatusBucket.of(event.getPreviousStatus());
+                CardStatusBucket to = CardStatusBucket.of(event.getStatus());
+                if (from != to) {
+                    int[] deltas = new int[CardStatusBucket.values().length];
+                    deltas[from.ordinal()]--;
+                    deltas[to.ordinal()]++;
+                    deckMapper.adjustStatistics(event.getDeckID(), deltas[0], deltas[1], deltas[2]);
+                    deckCache.invalidate(event.getDeckID());
+                }
+            }
+            default -> {
+                // content edits do not affect counters
+            }
+        }
+    }
+
+    /**
+     * Recount decks touched by a bulk card operation (one grouped query for all of them)
+     * @param event Bulk change event
+     */
+    @EventListener
+    public void onCardsBulkChanged(CardsBulkChangedEvent event) {
+        if (event.getDeckIDs().isEmpty()) {
+            return;
+        }
+        // Chunked so jobs touching many decks stay within the statement parameter limit
+        List<Integer> deckIDs = List.copyOf(event.getDeckIDs());
+        for (int from = 0; from < deckIDs.size(); from += STATISTICS_CHUNK_SIZE) {
+            List<Integer> chunk = deckIDs.subList(from, Math.min(from + STATISTICS_CHUNK_SIZE, deckIDs.size()));
+            List<DeckStatistics> statistics = deckMapper.findStatisticsByDeckIds(chunk);
+            if (!statistics.isEmpty()) {
+                deckMapper.batchUpdateStatistics(statistics);
+            }
+            deckCache.invalidateAll(chunk);
+        }
+    }
+
+    /**
+     * Detect and repair counters that drifted from the card table
+     * (e.g. rows changed outside the service layer). Scheduled by SchedulerConfig.
+     * @return Number of decks that were repaired
+     */
+    public int reconcileStatistics() {
+        int repaired = deckMapper.reconcileStatistics();
+        if (repaired > 0) {
+            logger.warn("Repaired drifted card counters on {} deck(s)", repaired);
+            deckCache.clear();
+        }
+        return repaired;
+    }
+
+    private void adjustCounters(int deckID, CardStatusBucket bucket, int delta) {
+        deckMapper.adjustStatistics(deckID,
+            bucket == CardStatusBucket.NEW ? delta : 0,
+            bucket == CardStatusBucket.LEARNING ? delta : 0,
+            bucket == CardStatusBucket.DUE ? delta : 0);
+        deckCache.invalidate(deckID);
     }
 
     /**
@@ -104,6 +247,7 @@ public class DeckService {
      */
     @Transactional(readOnly = true)
     public Map<Integer, String> getDeckOptionsForUser(int userID) {
+        shadowReads.sample("deck.findByUserID", repositories -> repositories.decks().findByUserID(userID));
         List<Deck> decks = deckRepository.findByUserID(userID);
         return decks.stream().collect(
             Collectors.toMap(Deck::getDeckID, Deck::getDeckName)
@@ -118,7 +262,8 @@ public class DeckService {
      */
     @Transactional(readOnly = true)
     public Deck findById(int deckID) {
-        return deckRepository.findById(deckID)
+        shadowReads.sample("deck.findById", repositories -> repositories.decks().findById(deckID));
+        return Optional.ofNullable(deckCache.get(deckID))
             .orElseThrow(() -> new EntityNotFoundException("Deck not found with ID: " + deckID));
     }
 
@@ -141,6 +286,7 @@ public class DeckService {
      */
     @Transactional(readOnly = true)
     public long getDecksCountByUser(int userID) {
+        shadowReads.sample("deck.findByUserID", repositories -> repositories.decks().findByUserID(userID));
         return deckRepository.findByUserID(userID).size();
     }
 
@@ -153,6 +299,7 @@ public class DeckService {
      */
     @Transactional(readOnly = true)
     public List<Deck> findDecksByUserID(int userID) {
+        shadowReads.sample("deck.findByUserID", repositories -> repositories.decks().findByUserID(userID));
         return deckRepository.findByUserID(userID);
     }
 
@@ -163,6 +310,16 @@ public class DeckService {
      */
     @Transactional(readOnly = true)
     public Deck findByDeckID(int deckID) {
+        shadowReads.sample("deck.findById", repositories -> repositories.decks().findById(deckID));
+        return deckCache.get(deckID);
+    }
+
+    /**
+     * Load a deck for modification; always reads the database, bypassing the deck cache
+     * @param deckID Deck ID
+     * @return Deck if found, null otherwise
+     */
+    public Deck findByDeckIDForWrite(int deckID) {
         return deckRepository.findById(deckID).orElse(null);
     }
 
@@ -172,7 +329,9 @@ public class DeckService {
      * @return Saved deck
      */
     public Deck save(Deck deck) {
-        return deckRepository.save(deck);
+        Deck savedDeck = deckRepository.save(deck);
+        deckCache.invalidate(savedDeck.getDeckID());
+        return savedDeck;
     }
 
     /**
@@ -0,0 +1,18 @@
+package com.app.flashcard.learning.model;
+
+import com.app.flashcard.card.model.CardPojo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Outcome of applying a batch of answers
+ */
+@Data
+@AllArgsConstructor
+public class AnswerBatchResult {
+    private int appliedCount;
+    private List<CardPojo> updatedCards;   // final state of every card that was answered
+    private List<Integer> skippedCardIDs;  // cards that do not exist or belong to another user
+}
@@ -0,0 +1,21 @@
+package com.app.flashcard.learning.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One answer of a batch submitted by a client that reviewed offline
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardAnswer {
+    private Integer cardID;
+    private Integer answer;         // 1=Again, 2=Hard, 3=Good, 4=Easy
+    private LocalDateTime answeredAt; // null means "now"
+}
@@ -0,0 +1,73 @@
+package com.app.flashcard.learning.model;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable due-count histograms of one user: for each deck, the number of cards due on each
+ * day from the start date on. Index 0 also holds overdue cards.
+ */
+public class DueForecast {
+
+    private static final int[] NO_CARDS = new int[0];
+
+    private final LocalDate startDate;
+    private final int days;
+    private final Map<Integer, int[]> deckCounts;
+    private final int[] totalCounts;
+
+    /**
+     * @param startDate First day of the forecast
+     * @param days Number of days covered
+     * @param deckCounts DeckID to histogram of length days; arrays are owned by the forecast
+     */
+    public DueForecast(LocalDate startDate, int days, Map<Integer, int[]> deckCounts) {
+        this.startDate = startDate;
+        this.days = days;
+        this.deckCounts = Collections.unmodifiableMap(deckCounts);
+        this.totalCounts = new int[days];
+        for (int[] counts : deckCounts.values()) {
+            for (int day = 0; day < days; day++) {
+                totalCounts[day] += counts[day];
+            }
+        }
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Decks that have cards due within the forecast
+     */
+    public Set<Integer> getDeckIDs() {
+        return deckCounts.keySet();
+    }
+
+    /**
+     * Due counts of one deck for the first days of the forecast
+     * @param deckID Deck ID
+     * @param days Number of days, at most getDays()
+     * @return Fresh array, all zeros if the deck has nothing due
+     */
+    public int[] getDeckCounts(int deckID, int days) {
+        int[] counts = deckCounts.getOrDefault(deckID, NO_CARDS);
+        return Arrays.copyOf(counts, days);
+    }
+
+    /**
+     * Due counts across all decks for the first days of the forecast
+     * @param days Number of days, at most getDays()
+     * @return Fresh array
+     */
+    public int[] getTotalCounts(int days) {
+        return Arrays.copyOf(totalCounts, days);
+    }
+}
@@ -1,10 +1,15 @@
 package com.app.flashcard.learning.model;
 
+import com.app.flashcard.shared.cache.MapperCacheEntityListener;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "learningLog")
+@EntityListeners(MapperCacheEntityListener.class)
+@Table(name = "learningLog", uniqueConstraints = {
+    // One row per deck, user and day; LearningLogMapper upserts against this key
+    @UniqueConstraint(name = "uk_learning_log_deck_user_day", columnNames = {"deckID", "userID", "logTime"})
+})
 public class LearningLog {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -4,13 +4,17 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.io.Serializable;
 import java.time.LocalDate;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class LearningLogPojo {
+public class LearningLogPojo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
     private Integer logID;
     private Integer deckID;
     private Integer userID;
@@ -0,0 +1,158 @@
+package com.app.flashcard.learning.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A bulk rescheduling run over the cards of a deck, a user or all users.
+ * Persisted with its checkpoint (last fully written CardID) so a failed or
+ * interrupted run can be resumed where it stopped.
+ */
+@Entity
+@Table(name = "rescheduleJob", indexes = {
+    @Index(name = "idx_reschedule_job_status", columnList = "status")
+})
+public class RescheduleJob {
+
+    public enum Scope { DECK, USER, ALL }
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private int jobID;
+
+    @Enumerated(EnumType.STRING)
+    private Scope scope;
+
+    // DeckID for DECK scope, UserID for USER scope, null for ALL
+    private Integer scopeID;
+
+    // User who started the job, null for jobs started by the system
+    private Integer requestedBy;
+
+    private String algorithm;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private int lastCardID;
+    private long processedCount;
+    private long updatedCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String errorMessage;
+
+    public RescheduleJob() {
+        this.status = Status.PENDING;
+    }
+
+    public RescheduleJob(Scope scope, Integer scopeID, Integer requestedBy) {
+        this();
+        this.scope = scope;
+        this.scopeID = scopeID;
+        this.requestedBy = requestedBy;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public int getJobID() {
+        return jobID;
+    }
+
+    public void setJobID(int jobID) {
+        this.jobID = jobID;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public void setScope(Scope scope) {
+        this.scope = scope;
+    }
+
+    public Integer getScopeID() {
+        return scopeID;
+    }
+
+    public void setScopeID(Integer scopeID) {
+        this.scopeID = scopeID;
+    }
+
+    public Integer getRequestedBy() {
+        return requestedBy;
+    }
+
+    public void setRequestedBy(Integer requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getLastCardID() {
+        return lastCardID;
+    }
+
+    public void setLastCardID(int lastCardID) {
+        this.lastCardID = lastCardID;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(long processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public long getUpdatedCount() {
+        return updatedCount;
+    }
+
+    public void setUpdatedCount(long updatedCount) {
+        this.updatedCount = updatedCount;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
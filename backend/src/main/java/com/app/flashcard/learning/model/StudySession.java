@@ -0,0 +1,105 @@
+package com.app.flashcard.learning.model;
+
+import com.app.flashcard.card.model.CardPojo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory state of a study session: the cards handed out to the client but not yet answered.
+ * Holding the prefetched card rows lets an answer be persisted with one UPDATE instead of a re-read.
+ */
+public class StudySession {
+
+    private final String sessionID;
+    private final long userID;
+    private final int deckID;
+    private final LocalDateTime startedAt;
+    private final Map<Integer, CardPojo> pendingCards = new LinkedHashMap<>();
+    private int answeredCount = 0;
+    private volatile long lastAccessMillis;
+
+    public StudySession(String sessionID, long userID, int deckID) {
+        this.sessionID = sessionID;
+        this.userID = userID;
+        this.deckID = deckID;
+        this.startedAt = LocalDateTime.now();
+        this.lastAccessMillis = System.currentTimeMillis();
+    }
+
+    public String getSessionID() {
+        return sessionID;
+    }
+
+    public long getUserID() {
+        return userID;
+    }
+
+    public int getDeckID() {
+        return deckID;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    public void touch() {
+        this.lastAccessMillis = System.currentTimeMillis();
+    }
+
+    public boolean isExpired(long nowMillis, long idleTimeoutMillis) {
+        return nowMillis - lastAccessMillis > idleTimeoutMillis;
+    }
+
+    public synchronized Set<Integer> getPendingCardIDs() {
+        return new LinkedHashSet<>(pendingCards.keySet());
+    }
+
+    public synchronized List<CardPojo> getPendingCards() {
+        return new ArrayList<>(pendingCards.values());
+    }
+
+    public synchronized int getPendingCount() {
+        return pendingCards.size();
+    }
+
+    public synchronized void handOut(List<CardPojo> cards) {
+        for (CardPojo card : cards) {
+            pendingCards.put(card.getCardID(), card);
+        }
+    }
+
+    /**
+     * Remove a handed-out card from the queue so it can be answered
+     * @param cardID Card ID
+     * @return The prefetched card, or null if it was not handed out in this session
+     */
+    public synchronized CardPojo take(int cardID) {
+        return pendingCards.remove(cardID);
+    }
+
+    /**
+     * Return a taken card to the queue after its answer could not be saved
+     * @param card The card as it was taken
+     */
+    public synchronized void putBack(CardPojo card) {
+        pendingCards.putIfAbsent(card.getCardID(), card);
+    }
+
+    public synchronized void recordAnswer() {
+        answeredCount++;
+    }
+
+    public synchronized int getAnsweredCount() {
+        return answeredCount;
+    }
+}
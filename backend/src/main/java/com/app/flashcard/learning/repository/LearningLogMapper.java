@@ -4,6 +4,7 @@ import com.app.flashcard.learning.model.LearningLogPojo;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -12,6 +13,17 @@ public interface LearningLogMapper {
     List<LearningLogPojo> findByUserId(@Param("userId") Integer userId);
     List<LearningLogPojo> findByDeckId(@Param("deckId") Integer deckId);
     int insert(LearningLogPojo log);
+    int update(LearningLogPojo log);
     int deleteById(@Param("id") Integer id);
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+    int deleteAll();
+    List<LearningLogPojo> findAll();
+    List<LearningLogPojo> findByIds(@Param("ids") Collection<Integer> ids);
+    long countAll();
     List<LearningLogPojo> findByUserAndDate(@Param("userId") Integer userId, @Param("date") LocalDate date);
-}
\ No newline at end of file
+    LearningLogPojo findByDeckUserAndDate(@Param("deckId") Integer deckId, @Param("userId") Integer userId,
+                                          @Param("date") LocalDate date);
+    int upsertIncrement(@Param("deckId") Integer deckId, @Param("userId") Integer userId,
+                        @Param("logTime") LocalDate logTime, @Param("count") Integer count);
+    int batchUpsertIncrement(@Param("increments") List<LearningLogPojo> increments);
+}
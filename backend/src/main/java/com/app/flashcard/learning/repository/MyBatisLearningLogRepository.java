@@ -0,0 +1,159 @@
+package com.app.flashcard.learning.repository;
+
+import com.app.flashcard.learning.model.LearningLog;
+import com.app.flashcard.learning.model.LearningLogPojo;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * LearningLogRepository served by LearningLogMapper instead of Hibernate
+ * (selected with flashcard.persistence.backend=mybatis, see PersistenceBackendConfig)
+ */
+@Transactional(readOnly = true)
+public class MyBatisLearningLogRepository implements LearningLogRepository {
+
+    private final LearningLogMapper learningLogMapper;
+
+    public MyBatisLearningLogRepository(LearningLogMapper learningLogMapper) {
+        this.learningLogMapper = learningLogMapper;
+    }
+
+    /**
+     * At most one row, (deckID, userID, logTime) is unique
+     */
+    @Override
+    public List<LearningLog> findByDeckIDAndUserIDAndLogTime(int deckID, int userID, LocalDate logTime) {
+        List<LearningLog> logs = new ArrayList<>();
+        LearningLogPojo pojo = learningLogMapper.findByDeckUserAndDate(deckID, userID, logTime);
+        if (pojo != null) {
+            logs.add(toEntity(pojo));
+        }
+        return logs;
+    }
+
+    /**
+     * Insert a log with ID 0 (the generated ID is set on it), update any other
+     */
+    @Override
+    @Transactional
+    public <S extends LearningLog> S save(S log) {
+        Assert.notNull(log, "Learning log must not be null");
+        LearningLogPojo pojo = toPojo(log);
+        if (log.getLogID() == 0) {
+            learningLogMapper.insert(pojo);
+            log.setLogID(pojo.getLogID());
+        } else if (learningLogMapper.update(pojo) == 0) {
+            throw new ObjectOptimisticLockingFailureException(LearningLog.class, log.getLogID());
+        }
+        return log;
+    }
+
+    @Override
+    @Transactional
+    public <S extends LearningLog> Iterable<S> saveAll(Iterable<S> logs) {
+        List<S> saved = new ArrayList<>();
+        for (S log : logs) {
+            saved.add(save(log));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<LearningLog> findById(Integer logID) {
+        Assert.notNull(logID, "Learning log ID must not be null");
+        return Optional.ofNullable(learningLogMapper.findById(logID)).map(MyBatisLearningLogRepository::toEntity);
+    }
+
+    @Override
+    public boolean existsById(Integer logID) {
+        return findById(logID).isPresent();
+    }
+
+    @Override
+    public Iterable<LearningLog> findAll() {
+        return toEntities(learningLogMapper.findAll());
+    }
+
+    @Override
+    public Iterable<LearningLog> findAllById(Iterable<Integer> logIDs) {
+        List<Integer> ids = new ArrayList<>();
+        logIDs.forEach(ids::add);
+        return ids.isEmpty() ? new ArrayList<>() : toEntities(learningLogMapper.findByIds(ids));
+    }
+
+    @Override
+    public long count() {
+        return learningLogMapper.countAll();
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Integer logID) {
+        Assert.notNull(logID, "Learning log ID must not be null");
+        learningLogMapper.deleteById(logID);
+    }
+
+    @Override
+    @Transactional
+    public void delete(LearningLog log) {
+        Assert.notNull(log, "Learning log must not be null");
+        learningLogMapper.deleteById(log.getLogID());
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllById(Iterable<? extends Integer> logIDs) {
+        List<Integer> ids = new ArrayList<>();
+        logIDs.forEach(ids::add);
+        if (!ids.isEmpty()) {
+            learningLogMapper.deleteByIds(ids);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll(Iterable<? extends LearningLog> logs) {
+        List<Integer> ids = new ArrayList<>();
+        logs.forEach(log -> ids.add(log.getLogID()));
+        if (!ids.isEmpty()) {
+            learningLogMapper.deleteByIds(ids);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll() {
+        learningLogMapper.deleteAll();
+    }
+
+    public static LearningLog toEntity(LearningLogPojo pojo) {
+        LearningLog log = new LearningLog();
+        log.setLogID(pojo.getLogID());
+        log.setDeckID(pojo.getDeckID());
+        log.setUserID(pojo.getUserID());
+        log.setLearnTime(pojo.getLearnTime());
+        log.setLogTime(pojo.getLogTime());
+        return log;
+    }
+
+    public static LearningLogPojo toPojo(LearningLog log) {
+        return LearningLogPojo.builder()
+            .logID(log.getLogID() == 0 ? null : log.getLogID())
+            .deckID(log.getDeckID())
+            .userID(log.getUserID())
+            .learnTime(log.getLearnTime())
+            .logTime(log.getLogTime())
+            .build();
+    }
+
+    private static List<LearningLog> toEntities(List<LearningLogPojo> pojos) {
+        return pojos.stream().map(MyBatisLearningLogRepository::toEntity).collect(Collectors.toList());
+    }
+}
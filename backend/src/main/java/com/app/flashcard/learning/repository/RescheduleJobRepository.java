@@ -0,0 +1,11 @@
+package com.app.flashcard.learning.repository;
+
+import com.app.flashcard.learning.model.RescheduleJob;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface RescheduleJobRepository extends CrudRepository<RescheduleJob, Integer> {
+    public List<RescheduleJob> findByStatusIn(Collection<RescheduleJob.Status> statuses);
+}
@@ -0,0 +1,102 @@
+package com.app.flashcard.learning.scheduling;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * FSRS v4 (Free Spaced Repetition Scheduler) with its published default weights.
+ * Tracks memory stability (days until recall probability drops to 90%) and difficulty (1-10) per card,
+ * and schedules the next review when recall probability reaches the requested retention.
+ * The status is the interval in days.
+ */
+@Component
+public class FsrsSchedulingAlgorithm implements SchedulingAlgorithm {
+
+    public static final String NAME = "fsrs";
+
+    private static final double[] W = {
+        0.4, 0.6, 2.4, 5.8, 4.93, 0.94, 0.86, 0.01, 1.49, 0.14, 0.94, 2.18, 0.05, 0.34, 1.26, 0.29, 2.61
+    };
+
+    private final double intervalFactor;
+
+    public FsrsSchedulingAlgorithm(@Value("${flashcard.scheduling.fsrs.request-retention:0.9}") double requestRetention) {
+        if (requestRetention <= 0 || requestRetention >= 1) {
+            throw new IllegalArgumentException("FSRS request retention must be between 0 and 1: " + requestRetention);
+        }
+        // Interval at which retrievability R = (1 + t / (9 S))^-1 falls to the requested retention
+        this.intervalFactor = 9 * (1 / requestRetention - 1);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void schedule(SchedulingState state, int answer, long todayEpochDay) {
+        double stability;
+        double difficulty;
+        if (state.getStability() <= 0) {
+            stability = W[answer - 1];
+            difficulty = clampDifficulty(initialDifficulty(answer));
+        } else {
+            double elapsed = Math.max(0, todayEpochDay - state.getLastReviewEpochDay());
+            double retrievability = 1 / (1 + elapsed / (9 * state.getStability()));
+            stability = answer == ANSWER_AGAIN
+                ? stabilityAfterLapse(state.getDifficulty(), state.getStability(), retrievability)
+                : stabilityAfterRecall(state.getDifficulty(), state.getStability(), retrievability, answer);
+            double next = state.getDifficulty() - W[6] * (answer - 3);
+            difficulty = clampDifficulty(W[7] * initialDifficulty(ANSWER_GOOD) + (1 - W[7]) * next);
+        }
+
+        int interval = answer == ANSWER_AGAIN ? 0 : intervalFor(stability);
+
+        state.setStability(stability);
+        state.setDifficulty(difficulty);
+        state.setIntervalDays(interval);
+        state.setStatus(interval);
+        state.setDueEpochDay(todayEpochDay + interval);
+    }
+
+    @Override
+    public boolean reschedule(SchedulingState state) {
+        // Not reviewed with FSRS yet, or relearning after a lapse
+        if (state.getStability() <= 0 || state.getIntervalDays() <= 0) {
+            return false;
+        }
+        int interval = intervalFor(state.getStability());
+        if (interval == state.getIntervalDays()) {
+            return false;
+        }
+        long lastReview = state.getLastReviewEpochDay();
+        state.setIntervalDays(interval);
+        state.setStatus(interval);
+        state.setDueEpochDay(lastReview + interval);
+        return true;
+    }
+
+    private int intervalFor(double stability) {
+        return (int) Math.max(1, Math.min(MAX_INTERVAL_DAYS, Math.round(stability * intervalFactor)));
+    }
+
+    private static double initialDifficulty(int answer) {
+        return W[4] - (answer - 3) * W[5];
+    }
+
+    private static double stabilityAfterRecall(double difficulty, double stability, double retrievability, int answer) {
+        double hardPenalty = answer == ANSWER_HARD ? W[15] : 1;
+        double easyBonus = answer == ANSWER_EASY ? W[16] : 1;
+        return stability * (1 + Math.exp(W[8]) * (11 - difficulty) * Math.pow(stability, -W[9])
+            * (Math.exp((1 - retrievability) * W[10]) - 1) * hardPenalty * easyBonus);
+    }
+
+    private static double stabilityAfterLapse(double difficulty, double stability, double retrievability) {
+        return W[11] * Math.pow(difficulty, -W[12]) * (Math.pow(stability + 1, W[13]) - 1)
+            * Math.exp((1 - retrievability) * W[14]);
+    }
+
+    private static double clampDifficulty(double difficulty) {
+        return Math.min(10, Math.max(1, difficulty));
+    }
+}
@@ -0,0 +1,33 @@
+package com.app.flashcard.learning.scheduling;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * The original flashcard algorithm: "Again" resets the status, any other answer adds its value
+ * to the status, and the card comes back status days after its current remind time.
+ */
+@Component
+public class LegacySchedulingAlgorithm implements SchedulingAlgorithm {
+
+    public static final String NAME = "legacy";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void schedule(SchedulingState state, int answer, long todayEpochDay) {
+        int newStatus = answer == ANSWER_AGAIN ? 0 : state.getStatus() + answer;
+
+        // If answer is "Again" and card is due in future, restart from today
+        long base = state.getDueEpochDay();
+        if (answer == ANSWER_AGAIN && base > todayEpochDay) {
+            base = todayEpochDay;
+        }
+
+        state.setStatus(newStatus);
+        state.setIntervalDays(newStatus);
+        state.setDueEpochDay(base + newStatus);
+    }
+}
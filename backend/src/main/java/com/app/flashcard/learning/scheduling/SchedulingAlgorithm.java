@@ -0,0 +1,44 @@
+package com.app.flashcard.learning.scheduling;
+
+/**
+ * Spaced repetition algorithm SPI.
+ * Implementations are stateless Spring beans selected by name through {@link SchedulingEngine};
+ * {@link #schedule} is called once per answer and must not allocate.
+ */
+public interface SchedulingAlgorithm {
+
+    int ANSWER_AGAIN = 1;
+    int ANSWER_HARD = 2;
+    int ANSWER_GOOD = 3;
+    int ANSWER_EASY = 4;
+
+    /**
+     * Maximum interval any algorithm schedules, keeps status values in int range
+     */
+    int MAX_INTERVAL_DAYS = 36500;
+
+    /**
+     * @return Name used in configuration (flashcard.scheduling.algorithm)
+     */
+    String getName();
+
+    /**
+     * Update the card state in place after an answer.
+     * Implementations set status, interval and due day; the status keeps the card table's
+     * buckets meaningful (0 = new / relearning, 1-20 = learning, 21+ = mature).
+     * @param state Card state before the answer, updated in place
+     * @param answer Answer value (1=Again, 2=Hard, 3=Good, 4=Easy)
+     * @param todayEpochDay Day the answer was given
+     */
+    void schedule(SchedulingState state, int answer, long todayEpochDay);
+
+    /**
+     * Recompute the due day of an already reviewed card after the algorithm's parameters changed,
+     * keeping its memory state and last review day. Used by bulk rescheduling; must not allocate.
+     * @param state Card state, updated in place
+     * @return true if the state changed
+     */
+    default boolean reschedule(SchedulingState state) {
+        return false;
+    }
+}
@@ -0,0 +1,53 @@
+package com.app.flashcard.learning.scheduling;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of the available scheduling algorithms and the one selected by
+ * flashcard.scheduling.algorithm (legacy, sm2 or fsrs).
+ */
+@Component
+public class SchedulingEngine {
+
+    private final Map<String, SchedulingAlgorithm> algorithms = new LinkedHashMap<>();
+    private final SchedulingAlgorithm active;
+
+    public SchedulingEngine(List<SchedulingAlgorithm> algorithms,
+                            @Value("${flashcard.scheduling.algorithm:" + LegacySchedulingAlgorithm.NAME + "}") String activeName) {
+        for (SchedulingAlgorithm algorithm : algorithms) {
+            this.algorithms.put(algorithm.getName(), algorithm);
+        }
+        this.active = get(activeName);
+    }
+
+    /**
+     * @return Algorithm used for new answers
+     */
+    public SchedulingAlgorithm getActive() {
+        return active;
+    }
+
+    /**
+     * Look up an algorithm by its configuration name
+     * @param name Algorithm name
+     * @return The algorithm
+     */
+    public SchedulingAlgorithm get(String name) {
+        SchedulingAlgorithm algorithm = algorithms.get(name);
+        if (algorithm == null) {
+            throw new IllegalArgumentException(
+                "Unknown scheduling algorithm '" + name + "', available: " + algorithms.keySet());
+        }
+        return algorithm;
+    }
+
+    public Set<String> getAvailableNames() {
+        return algorithms.keySet();
+    }
+}
@@ -0,0 +1,90 @@
+package com.app.flashcard.learning.scheduling;
+
+/**
+ * Mutable per-card scheduling state handed to a {@link SchedulingAlgorithm}.
+ * Dates are epoch days and all fields are primitives, so an algorithm can update
+ * the state in place without allocating; callers may reuse one instance per thread.
+ */
+public class SchedulingState {
+
+    private int status;
+    private int intervalDays;
+    private double easeFactor;
+    private double stability;
+    private double difficulty;
+    private long dueEpochDay;
+
+    public SchedulingState() {
+    }
+
+    public SchedulingState(int status, int intervalDays, double easeFactor, double stability,
+                           double difficulty, long dueEpochDay) {
+        set(status, intervalDays, easeFactor, stability, difficulty, dueEpochDay);
+    }
+
+    public SchedulingState set(int status, int intervalDays, double easeFactor, double stability,
+                               double difficulty, long dueEpochDay) {
+        this.status = status;
+        this.intervalDays = intervalDays;
+        this.easeFactor = easeFactor;
+        this.stability = stability;
+        this.difficulty = difficulty;
+        this.dueEpochDay = dueEpochDay;
+        return this;
+    }
+
+    /**
+     * Day of the previous review, derived from the scheduled due day and interval
+     */
+    public long getLastReviewEpochDay() {
+        return dueEpochDay - intervalDays;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    public void setIntervalDays(int intervalDays) {
+        this.intervalDays = intervalDays;
+    }
+
+    public double getEaseFactor() {
+        return easeFactor;
+    }
+
+    public void setEaseFactor(double easeFactor) {
+        this.easeFactor = easeFactor;
+    }
+
+    public double getStability() {
+        return stability;
+    }
+
+    public void setStability(double stability) {
+        this.stability = stability;
+    }
+
+    public double getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(double difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public long getDueEpochDay() {
+        return dueEpochDay;
+    }
+
+    public void setDueEpochDay(long dueEpochDay) {
+        this.dueEpochDay = dueEpochDay;
+    }
+}
@@ -0,0 +1,46 @@
+package com.app.flashcard.learning.scheduling;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * SuperMemo SM-2 with the four answer buttons mapped to quality 1, 3, 4 and 5.
+ * Successful reviews grow the interval 1 -> 6 -> interval * ease; "Again" relearns the card today.
+ * The status is the interval in days.
+ */
+@Component
+public class Sm2SchedulingAlgorithm implements SchedulingAlgorithm {
+
+    public static final String NAME = "sm2";
+
+    public static final double INITIAL_EASE_FACTOR = 2.5;
+    public static final double MIN_EASE_FACTOR = 1.3;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void schedule(SchedulingState state, int answer, long todayEpochDay) {
+        int quality = answer == ANSWER_AGAIN ? 1 : answer + 1;
+        double ease = state.getEaseFactor() > 0 ? state.getEaseFactor() : INITIAL_EASE_FACTOR;
+        int lapse = 5 - quality;
+        ease = Math.max(MIN_EASE_FACTOR, ease + (0.1 - lapse * (0.08 + lapse * 0.02)));
+
+        int interval;
+        if (quality < 3) {
+            interval = 0;
+        } else if (state.getIntervalDays() <= 0) {
+            interval = 1;
+        } else if (state.getIntervalDays() == 1) {
+            interval = 6;
+        } else {
+            interval = (int) Math.min(MAX_INTERVAL_DAYS, Math.round(state.getIntervalDays() * ease));
+        }
+
+        state.setEaseFactor(ease);
+        state.setIntervalDays(interval);
+        state.setStatus(interval);
+        state.setDueEpochDay(todayEpochDay + interval);
+    }
+}
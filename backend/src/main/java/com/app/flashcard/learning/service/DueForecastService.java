@@ -0,0 +1,199 @@
+package com.app.flashcard.learning.service;
+
+import com.app.flashcard.card.event.CardLifecycleEvent;
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
+import com.app.flashcard.card.model.DueCount;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.learning.model.DueForecast;
+import com.app.flashcard.shared.cache.EntityCache;
+import com.app.flashcard.shared.exception.ValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Due-count forecasts per user.
+ * A user's forecast is built from one grouped query over the card table and cached as int histograms
+ * covering max-days, so any shorter horizon and any deck is served from the same entry.
+ * Card events drop the owner's entry after commit; a per-user version keeps a load that raced
+ * with an invalidation from caching what it read before the commit. Versions and deck owners are
+ * only kept for users with a cached or loading forecast.
+ */
+@Service
+public class DueForecastService {
+
+    public static final int DEFAULT_DAYS = 30;
+
+    @Autowired
+    private CardMapper cardMapper;
+
+    @Autowired
+    private EntityCache<Integer, Deck> deckCache;
+
+    @Value("${flashcard.forecast.max-days:90}")
+    private int maxDays = 90;
+
+    @Value("${flashcard.forecast.max-cached-users:10000}")
+    private int maxCachedUsers = 10000;
+
+    // Exists while the user has a cached or loading forecast; changed only inside slots.compute
+    private static final class Slot {
+        volatile DueForecast forecast;
+        long version;
+        int loads;
+        // Decks counted by the user's loads, dropped from deckOwners with the slot
+        final Set<Integer> deckIDs = ConcurrentHashMap.newKeySet();
+    }
+
+    private final ConcurrentMap<Integer, Slot> slots = new ConcurrentHashMap<>();
+    // DeckID -> UserID of decks with due cards, so card events (which only carry the deck) find
+    // the slot without a lookup, even after the deck was deleted
+    private final ConcurrentMap<Integer, Integer> deckOwners = new ConcurrentHashMap<>();
+
+    /**
+     * Get the due-count forecast of a user starting today
+     * @param userID User ID
+     * @param days Requested horizon, validated against max-days
+     * @return Forecast covering at least the requested days
+     */
+    public DueForecast getForecast(int userID, int days) {
+        if (days < 1 || days > maxDays) {
+            throw new ValidationException("Forecast days must be between 1 and " + maxDays);
+        }
+        LocalDate today = LocalDate.now();
+        Slot slot = slots.get(userID);
+        DueForecast forecast = slot != null ? slot.forecast : null;
+        if (forecast != null && forecast.getStartDate().equals(today)) {
+            return forecast;
+        }
+        return load(userID, today);
+    }
+
+    public int getMaxDays() {
+        return maxDays;
+    }
+
+    /**
+     * Drop the cached forecast of a user
+     * @param userID User ID
+     */
+    public void invalidateUser(int userID) {
+        slots.computeIfPresent(userID, (id, slot) -> {
+            slot.version++;
+            slot.forecast = null;
+            return release(id, slot);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCardLifecycle(CardLifecycleEvent event) {
+        invalidateDeck(event.getDeckID());
+        if (event.getPreviousDeckID() != event.getDeckID()) {
+            invalidateDeck(event.getPreviousDeckID());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCardsBulkChanged(CardsBulkChangedEvent event) {
+        event.getDeckIDs().forEach(this::invalidateDeck);
+    }
+
+    private DueForecast load(int userID, LocalDate today) {
+        long[] version = new long[1];
+        Slot slot = slots.compute(userID, (id, current) -> {
+            Slot loading = current != null ? current : new Slot();
+            loading.loads++;
+            version[0] = loading.version;
+            return loading;
+        });
+
+        DueForecast forecast = null;
+        try {
+            Map<Integer, int[]> deckCounts = new HashMap<>();
+            for (DueCount row : cardMapper.countDueByDeckAndDay(userID, today, today.plusDays(maxDays))) {
+                int day = (int) ChronoUnit.DAYS.between(today, row.getDueDate());
+                deckCounts.computeIfAbsent(row.getDeckID(), deckID -> new int[maxDays])[day] += row.getCardCount();
+                slot.deckIDs.add(row.getDeckID());
+                deckOwners.put(row.getDeckID(), userID);
+            }
+            forecast = new DueForecast(today, maxDays, deckCounts);
+            return forecast;
+        } finally {
+            finishLoad(userID, version[0], forecast, today);
+        }
+    }
+
+    private void finishLoad(int userID, long version, DueForecast forecast, LocalDate today) {
+        if (forecast != null && slots.size() >= maxCachedUsers) {
+            evict(today);
+        }
+        slots.computeIfPresent(userID, (id, slot) -> {
+            slot.loads--;
+            // Not cached if invalidated while loading; the result may predate the change
+            if (forecast != null && slot.version == version) {
+                slot.forecast = forecast;
+            }
+            return release(id, slot);
+        });
+    }
+
+    /**
+     * Keep a slot while it has a forecast or a load; otherwise drop it with its deck owners
+     */
+    private Slot release(int userID, Slot slot) {
+        if (slot.forecast != null || slot.loads > 0) {
+            return slot;
+        }
+        slot.deckIDs.forEach(deckID -> deckOwners.remove(deckID, userID));
+        return null;
+    }
+
+    private void invalidateDeck(int deckID) {
+        if (slots.isEmpty()) {
+            return;
+        }
+        Integer userID = deckOwners.get(deckID);
+        if (userID == null) {
+            // A deck without due cards; its owner comes from the shared, bounded deck cache
+            Deck deck = deckCache.get(deckID);
+            if (deck == null) {
+                return;
+            }
+            userID = deck.getUserID();
+        }
+        invalidateUser(userID);
+    }
+
+    /**
+     * Make room for one entry: forecasts from earlier days first, otherwise any entry
+     */
+    private void evict(LocalDate today) {
+        for (Integer userID : slots.keySet()) {
+            slots.computeIfPresent(userID, (id, slot) -> {
+                DueForecast forecast = slot.forecast;
+                if (forecast != null && !forecast.getStartDate().equals(today)) {
+                    slot.forecast = null;
+                }
+                return release(id, slot);
+            });
+        }
+        Iterator<Integer> userIDs = slots.keySet().iterator();
+        while (slots.size() >= maxCachedUsers && userIDs.hasNext()) {
+            slots.computeIfPresent(userIDs.next(), (id, slot) -> {
+                slot.forecast = null;
+                return release(id, slot);
+            });
+        }
+    }
+}
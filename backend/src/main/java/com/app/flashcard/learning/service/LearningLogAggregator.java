@@ -0,0 +1,157 @@
+package com.app.flashcard.learning.service;
+
+import com.app.flashcard.learning.model.LearningLogPojo;
+import com.app.flashcard.learning.repository.LearningLogMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for learning log increments.
+ * Answers only bump an in-memory counter per (deck, user, day); the counters are drained and written
+ * with one batched upsert by SchedulerConfig, when the buffer passes its size threshold, and on shutdown.
+ * Counters live in a ConcurrentHashMap, whose per-bin locking keeps concurrent answers on different
+ * keys from contending; drain uses remove() so an increment lands either in this flush or the next one.
+ */
+@Service
+public class LearningLogAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LearningLogAggregator.class);
+
+    // Keeps a single upsert well below the PostgreSQL bind parameter limit
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    @Autowired
+    private LearningLogMapper learningLogMapper;
+
+    @Value("${flashcard.learning-log.flush-threshold:5000}")
+    private long flushThreshold = 5000;
+
+    private final ConcurrentMap<LogKey, Long> pending = new ConcurrentHashMap<>();
+    private final LongAdder pendingIncrements = new LongAdder();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "learning-log-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Buffer studied cards for a learning log row. Inside a transaction the increment is only
+     * buffered after commit, so rolled-back answers are never counted.
+     * @param deckID Deck ID
+     * @param userID User ID
+     * @param day Day the cards were studied
+     * @param count Number of cards studied
+     */
+    public void record(int deckID, int userID, LocalDate day, int count) {
+        if (count <= 0) {
+            return;
+        }
+        LogKey key = new LogKey(deckID, userID, day);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(key, count);
+                }
+            });
+        } else {
+            add(key, count);
+        }
+    }
+
+    /**
+     * Cards buffered but not yet written for a learning log row
+     * @param deckID Deck ID
+     * @param userID User ID
+     * @param day Day the cards were studied
+     * @return Pending count, 0 if nothing is buffered
+     */
+    public int getPendingCount(int deckID, int userID, LocalDate day) {
+        Long count = pending.get(new LogKey(deckID, userID, day));
+        return count != null ? count.intValue() : 0;
+    }
+
+    /**
+     * Write all buffered increments with batched upserts.
+     * Increments of a failed statement are put back and retried on the next flush.
+     * @return Number of learning log rows written
+     */
+    public synchronized int flush() {
+        flushScheduled.set(false);
+        List<LearningLogPojo> drained = new ArrayList<>();
+        for (LogKey key : pending.keySet()) {
+            Long count = pending.remove(key);
+            if (count != null) {
+                pendingIncrements.add(-count);
+                drained.add(LearningLogPojo.builder()
+                    .deckID(key.deckID()).userID(key.userID()).logTime(key.day()).learnTime(count.intValue())
+                    .build());
+            }
+        }
+
+        int written = 0;
+        for (int from = 0; from < drained.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<LearningLogPojo> chunk = drained.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, drained.size()));
+            try {
+                learningLogMapper.batchUpsertIncrement(chunk);
+                written += chunk.size();
+            } catch (RuntimeException e) {
+                logger.error("Failed to flush {} learning log rows, will retry on next flush", chunk.size(), e);
+                for (LearningLogPojo log : chunk) {
+                    requeue(new LogKey(log.getDeckID(), log.getUserID(), log.getLogTime()), log.getLearnTime());
+                }
+            }
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int written = flush();
+        logger.info("Flushed {} learning log rows on shutdown", written);
+    }
+
+    private void add(LogKey key, long count) {
+        requeue(key, count);
+        if (pendingIncrements.sum() >= flushThreshold && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(this::flush);
+            } catch (RuntimeException e) {
+                // Executor already shut down; the shutdown flush picks the counters up
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    private void requeue(LogKey key, long count) {
+        pending.merge(key, count, Long::sum);
+        pendingIncrements.add(count);
+    }
+
+    private record LogKey(int deckID, int userID, LocalDate day) {
+    }
+}
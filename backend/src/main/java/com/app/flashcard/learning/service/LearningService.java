@@ -1,28 +1,65 @@
 package com.app.flashcard.learning.service;
 
+import com.app.flashcard.card.event.CardLifecycleEvent;
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
 import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.learning.model.AnswerBatchResult;
+import com.app.flashcard.learning.model.CardAnswer;
 import com.app.flashcard.learning.model.LearningLog;
 import com.app.flashcard.card.repository.CardRepository;
 import com.app.flashcard.learning.repository.LearningLogRepository;
+import com.app.flashcard.learning.scheduling.SchedulingAlgorithm;
+import com.app.flashcard.learning.scheduling.SchedulingEngine;
+import com.app.flashcard.learning.scheduling.SchedulingState;
 import com.app.flashcard.shared.exception.EntityNotFoundException;
+import com.app.flashcard.shared.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class LearningService {
 
+    private static final Logger logger = LoggerFactory.getLogger(LearningService.class);
+
     @Autowired
     private CardRepository cardRepository;
 
+    @Autowired
+    private CardMapper cardMapper;
+
     @Autowired
     private LearningLogRepository learningLogRepository;
 
+    @Autowired
+    private LearningLogAggregator learningLogAggregator;
+
+    @Autowired
+    private SchedulingEngine schedulingEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Process answer for a card and update learning progress
      * @param cardID Card ID that was answered
@@ -50,52 +87,130 @@ public class LearningService {
         }
         
         Card card = cardOpt.get();
+        int previousStatus = card.getStatus();
         
-        // Calculate new status based on spaced repetition algorithm
-        int newStatus = calculateNewStatus(card.getStatus(), answer);
-        card.setStatus(newStatus);
-        
-        // Calculate new remind time
-        LocalDate newRemindTime = calculateNextRemindTime(card, answer, newStatus);
-        card.setRemindTime(newRemindTime);
+        // Calculate new status, interval and remind time with the configured scheduling algorithm
+        SchedulingState state = new SchedulingState(card.getStatus(), card.getIntervalDays(), card.getEaseFactor(),
+            card.getStability(), card.getDifficulty(), card.getRemindTime().toEpochDay());
+        schedule(state, answer, LocalDate.now());
+        card.setStatus(state.getStatus());
+        card.setIntervalDays(state.getIntervalDays());
+        card.setEaseFactor(state.getEaseFactor());
+        card.setStability(state.getStability());
+        card.setDifficulty(state.getDifficulty());
+        card.setRemindTime(LocalDate.ofEpochDay(state.getDueEpochDay()));
+        int newStatus = state.getStatus();
         
         cardRepository.save(card);
+        eventPublisher.publishEvent(
+            CardLifecycleEvent.statusChanged(cardID, card.getDeckID(), previousStatus, newStatus));
     }
 
     /**
-     * Calculate new status based on current status and answer
-     * @param currentStatus Current card status
-     * @param answer Answer value (1=Again, 2=Hard, 3=Good, 4=Easy)
-     * @return New status value
+     * Apply a batch of answers (e.g. synced by a client that reviewed offline) in one transaction.
+     * Cards are loaded and locked with one query, written back with one batched UPDATE, and the
+     * learning log is incremented once per deck and day instead of once per answer.
+     * Answers are applied in answeredAt order, so several answers for the same card chain correctly.
+     * @param userID User ID who answered; cards outside the user's decks are skipped
+     * @param answers Answers to apply
+     * @return Applied count, final card states and skipped card IDs
      */
-    private int calculateNewStatus(int currentStatus, int answer) {
-        if (answer == 1) {
-            // Again - reset to beginning
-            return 0;
-        } else {
-            // Hard, Good, Easy - increment status
-            return currentStatus + answer;
+    public AnswerBatchResult processAnswerBatch(int userID, List<CardAnswer> answers) {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<CardAnswer> ordered = new ArrayList<>(answers.size());
+        for (CardAnswer answer : answers) {
+            if (answer.getCardID() == null || answer.getAnswer() == null
+                    || answer.getAnswer() < 1 || answer.getAnswer() > 4) {
+                throw new ValidationException("Invalid answer for card " + answer.getCardID());
+            }
+            // Missing or future timestamps (client clock skew) count as answered now
+            LocalDateTime answeredAt = answer.getAnsweredAt();
+            if (answeredAt == null || answeredAt.isAfter(now)) {
+                answeredAt = now;
+            }
+            ordered.add(new CardAnswer(answer.getCardID(), answer.getAnswer(), answeredAt));
         }
+        ordered.sort(Comparator.comparing(CardAnswer::getAnsweredAt));
+        if (ordered.isEmpty()) {
+            return new AnswerBatchResult(0, List.of(), List.of());
+        }
+
+        Set<Integer> cardIDs = ordered.stream().map(CardAnswer::getCardID)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Integer, CardPojo> cards = cardMapper.findOwnedByIdsForUpdate(cardIDs, userID).stream()
+            .collect(Collectors.toMap(CardPojo::getCardID, Function.identity()));
+
+        Map<Integer, CardPojo> updated = new LinkedHashMap<>();
+        Map<Integer, Map<LocalDate, Integer>> learnedPerDeckAndDay = new LinkedHashMap<>();
+        Set<Integer> skipped = new LinkedHashSet<>();
+        int applied = 0;
+        for (CardAnswer answer : ordered) {
+            CardPojo card = cards.get(answer.getCardID());
+            if (card == null) {
+                skipped.add(answer.getCardID());
+                continue;
+            }
+            LocalDate answeredOn = answer.getAnsweredAt().toLocalDate();
+            applyAnswer(card, answer.getAnswer(), answeredOn);
+            updated.put(card.getCardID(), card);
+            learnedPerDeckAndDay.computeIfAbsent(card.getDeckID(), deckID -> new LinkedHashMap<>())
+                .merge(answeredOn, 1, Integer::sum);
+            applied++;
+        }
+
+        if (!updated.isEmpty()) {
+            cardMapper.batchUpdateSchedule(new ArrayList<>(updated.values()));
+            eventPublisher.publishEvent(CardsBulkChangedEvent.scheduleOnly(learnedPerDeckAndDay.keySet()));
+            learnedPerDeckAndDay.forEach((deckID, perDay) ->
+                perDay.forEach((day, count) -> incrementLearningLog(deckID, userID, day, count)));
+        }
+
+        if (logger.isDebugEnabled()) {
+            double seconds = Math.max(System.nanoTime() - started, 1) / 1_000_000_000.0;
+            logger.debug("Applied {} answers for user {} in {} ms ({} answers/sec)",
+                applied, userID, Math.round(seconds * 1000), Math.round(applied / seconds));
+        }
+        return new AnswerBatchResult(applied, new ArrayList<>(updated.values()), new ArrayList<>(skipped));
     }
 
     /**
-     * Calculate next remind time based on card status and answer
-     * @param card Current card
-     * @param answer Answer value
-     * @param newStatus New status after answer
-     * @return New remind time
+     * Apply an answer to an already loaded card without any I/O.
+     * Used by study sessions that hold the card state in memory and persist it with a single UPDATE.
+     * @param card Card to update in place
+     * @param answer Answer value (1=Again, 2=Hard, 3=Good, 4=Easy)
+     * @param answeredOn Day the answer was given
      */
-    private LocalDate calculateNextRemindTime(Card card, int answer, int newStatus) {
-        LocalDate currentRemindTime = card.getRemindTime();
-        LocalDate today = LocalDate.now();
-        
-        // If answer is "Again" and card is due in future, set to today
-        if (answer == 1 && currentRemindTime.isAfter(today)) {
-            return today.plusDays(newStatus);
+    public void applyAnswer(CardPojo card, int answer, LocalDate answeredOn) {
+        LocalDate remindTime = card.getRemindTime() != null ? card.getRemindTime() : answeredOn;
+        SchedulingState state = new SchedulingState(
+            card.getStatus() != null ? card.getStatus() : 0,
+            card.getIntervalDays() != null ? card.getIntervalDays() : 0,
+            card.getEaseFactor() != null ? card.getEaseFactor() : 0,
+            card.getStability() != null ? card.getStability() : 0,
+            card.getDifficulty() != null ? card.getDifficulty() : 0,
+            remindTime.toEpochDay());
+        schedule(state, answer, answeredOn);
+        card.setStatus(state.getStatus());
+        card.setIntervalDays(state.getIntervalDays());
+        card.setEaseFactor(state.getEaseFactor());
+        card.setStability(state.getStability());
+        card.setDifficulty(state.getDifficulty());
+        card.setRemindTime(LocalDate.ofEpochDay(state.getDueEpochDay()));
+    }
+
+    /**
+     * Run the configured scheduling algorithm on a card state
+     * @param state Card state, updated in place
+     * @param answer Answer value (1=Again, 2=Hard, 3=Good, 4=Easy)
+     * @param answeredOn Day the answer was given
+     */
+    private void schedule(SchedulingState state, int answer, LocalDate answeredOn) {
+        if (answer < SchedulingAlgorithm.ANSWER_AGAIN || answer > SchedulingAlgorithm.ANSWER_EASY) {
+            throw new ValidationException("Answer must be between 1 (Again) and 4 (Easy): " + answer);
         }
-        
-        // Add status days to current remind time
-        return currentRemindTime.plusDays(newStatus);
+        schedulingEngine.getActive().schedule(state, answer, answeredOn.toEpochDay());
     }
 
     /**
@@ -104,28 +219,19 @@ public class LearningService {
      * @param userID User ID
      */
     public void updateLearningLog(int deckID, int userID) {
-        LocalDate today = LocalDate.now();
-        
-        // Find existing log for today
-        Iterator<LearningLog> logs = learningLogRepository
-                .findByDeckIDAndUserIDAndLogTime(deckID, userID, today)
-                .iterator();
-        
-        LearningLog log;
-        if (logs.hasNext()) {
-            // Update existing log
-            log = logs.next();
-            log.increaseLearnTime();
-        } else {
-            // Create new log
-            log = new LearningLog();
-            log.setDeckID(deckID);
-            log.setUserID(userID);
-            log.setLogTime(today);
-            log.setLearnTime(1); // First card of the day
-        }
-        
-        learningLogRepository.save(log);
+        incrementLearningLog(deckID, userID, LocalDate.now(), 1);
+    }
+
+    /**
+     * Add studied cards to the learning log of a given day.
+     * Buffered by LearningLogAggregator and written later with an atomic upsert, so answering does no learning log I/O.
+     * @param deckID Deck ID
+     * @param userID User ID
+     * @param day Day the cards were studied
+     * @param count Number of cards studied
+     */
+    public void incrementLearningLog(int deckID, int userID, LocalDate day, int count) {
+        learningLogAggregator.record(deckID, userID, day, count);
     }
 
     /**
@@ -152,8 +258,7 @@ public class LearningService {
      */
     @Transactional(readOnly = true)
     public LearningStatistics getLearningStatistics(int deckID, int userID) {
-        LearningLog todayLog = getTodayLog(deckID, userID);
-        int cardsStudiedToday = todayLog != null ? todayLog.getLearnTime() : 0;
+        int cardsStudiedToday = getCardsStudiedToday(deckID, userID);
         
         // You can add more statistics here like:
         // - Total cards studied this week/month
@@ -171,8 +276,16 @@ public class LearningService {
      */
     @Transactional(readOnly = true)
     public boolean hasStudiedToday(int deckID, int userID) {
+        return getCardsStudiedToday(deckID, userID) > 0;
+    }
+
+    /**
+     * Cards studied today: the stored log plus increments still buffered for write-behind
+     */
+    private int getCardsStudiedToday(int deckID, int userID) {
         LearningLog todayLog = getTodayLog(deckID, userID);
-        return todayLog != null && todayLog.getLearnTime() > 0;
+        int stored = todayLog != null ? todayLog.getLearnTime() : 0;
+        return stored + learningLogAggregator.getPendingCount(deckID, userID, LocalDate.now());
     }
 
     /**
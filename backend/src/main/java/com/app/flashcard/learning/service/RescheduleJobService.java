@@ -0,0 +1,407 @@
+package com.app.flashcard.learning.service;
+
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.model.ScheduleUpdate;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.learning.model.RescheduleJob;
+import com.app.flashcard.learning.repository.RescheduleJobRepository;
+import com.app.flashcard.learning.scheduling.SchedulingAlgorithm;
+import com.app.flashcard.learning.scheduling.SchedulingEngine;
+import com.app.flashcard.learning.scheduling.SchedulingState;
+import com.app.flashcard.shared.exception.EntityNotFoundException;
+import com.app.flashcard.shared.exception.ValidationException;
+import jakarta.annotation.PreDestroy;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Background jobs that recompute the schedule of many cards after scheduling parameters changed.
+ * Cards are streamed in CardID order through a MyBatis cursor in bounded segments (one short read
+ * transaction each), recomputed by worker threads in chunks and written back with one batched UPDATE
+ * per chunk. At most parallelism * 2 chunks are in flight, so memory stays bounded whatever the card count.
+ * The job row keeps the last CardID below which every chunk is written; a failed or interrupted job
+ * resumes from there, and re-processing a chunk is harmless because rescheduling is idempotent.
+ */
+@Service
+public class RescheduleJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RescheduleJobService.class);
+
+    // Progress is persisted every this many dispatched chunks, so GET /reschedule-jobs shows it while streaming
+    private static final int CHUNKS_PER_PROGRESS_SAVE = 10;
+
+    @Autowired
+    private CardMapper cardMapper;
+
+    @Autowired
+    private RescheduleJobRepository rescheduleJobRepository;
+
+    @Autowired
+    private SchedulingEngine schedulingEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${flashcard.reschedule.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${flashcard.reschedule.segment-size:100000}")
+    private int segmentSize = 100000;
+
+    @Value("${flashcard.reschedule.parallelism:4}")
+    private int parallelism = 4;
+
+    // Jobs run one at a time; more requests queue up behind the running one
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reschedule-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<Integer> queuedJobIDs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Queue a rescheduling job
+     * @param scope Cards to reschedule
+     * @param scopeID DeckID for DECK scope, UserID for USER scope, ignored for ALL
+     * @param requestedBy User starting the job, null for the system
+     * @return The queued job
+     */
+    public RescheduleJob startJob(RescheduleJob.Scope scope, Integer scopeID, Integer requestedBy) {
+        if (scope != RescheduleJob.Scope.ALL && scopeID == null) {
+            throw new ValidationException("Scope " + scope + " needs a scope ID");
+        }
+        RescheduleJob job = new RescheduleJob(scope, scope == RescheduleJob.Scope.ALL ? null : scopeID, requestedBy);
+        job.setAlgorithm(schedulingEngine.getActive().getName());
+        job = rescheduleJobRepository.save(job);
+        submit(job.getJobID());
+        return job;
+    }
+
+    /**
+     * Resume a failed job from its checkpoint
+     * @param jobID Job ID
+     * @return The queued job
+     */
+    public RescheduleJob resumeJob(int jobID) {
+        RescheduleJob job = getJob(jobID);
+        if (job.getStatus() != RescheduleJob.Status.FAILED) {
+            throw new ValidationException("Only failed jobs can be resumed, job " + jobID + " is " + job.getStatus());
+        }
+        job.setStatus(RescheduleJob.Status.PENDING);
+        job.setErrorMessage(null);
+        job.setFinishedAt(null);
+        job = rescheduleJobRepository.save(job);
+        submit(jobID);
+        return job;
+    }
+
+    /**
+     * Get a job with its progress
+     * @param jobID Job ID
+     * @return The job
+     */
+    public RescheduleJob getJob(int jobID) {
+        return rescheduleJobRepository.findById(jobID)
+            .orElseThrow(() -> new EntityNotFoundException("Reschedule job not found with ID: " + jobID));
+    }
+
+    /**
+     * Requeue jobs that were pending or running when the application stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (RescheduleJob job : rescheduleJobRepository.findByStatusIn(
+                List.of(RescheduleJob.Status.PENDING, RescheduleJob.Status.RUNNING))) {
+            logger.info("Resuming reschedule job {} after CardID {}", job.getJobID(), job.getLastCardID());
+            submit(job.getJobID());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running job keeps its checkpoint and is resumed on next start
+        jobExecutor.shutdownNow();
+    }
+
+    private void submit(int jobID) {
+        if (queuedJobIDs.add(jobID)) {
+            jobExecutor.execute(() -> {
+                try {
+                    run(jobID);
+                } finally {
+                    queuedJobIDs.remove(jobID);
+                }
+            });
+        }
+    }
+
+    /**
+     * Execute a job on the calling thread
+     * @param jobID Job ID
+     */
+    void run(int jobID) {
+        RescheduleJob job = getJob(jobID);
+        if (job.isFinished()) {
+            return;
+        }
+        SchedulingAlgorithm algorithm = schedulingEngine.get(job.getAlgorithm());
+        job.setStatus(RescheduleJob.Status.RUNNING);
+        if (job.getStartedAt() == null) {
+            job.setStartedAt(LocalDateTime.now());
+        }
+        job = rescheduleJobRepository.save(job);
+
+        Integer deckID = job.getScope() == RescheduleJob.Scope.DECK ? job.getScopeID() : null;
+        Integer userID = job.getScope() == RescheduleJob.Scope.USER ? job.getScopeID() : null;
+        Progress progress = new Progress(job);
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        TransactionTemplate readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        try {
+            int afterCardID = job.getLastCardID();
+            while (true) {
+                int segmentStart = afterCardID;
+                Integer segmentEnd = readTransaction.execute(status ->
+                    streamSegment(deckID, userID, segmentStart, algorithm, workers, inFlight, progress));
+                progress.checkFailure();
+                job = saveCheckpoint(progress.saveJob, progress);
+                if (segmentEnd == null) {
+                    break;
+                }
+                afterCardID = segmentEnd;
+            }
+
+            inFlight.acquire(parallelism * 2);
+            progress.checkFailure();
+            job = progress.saveJob;
+            progress.applyTo(job);
+            job.setStatus(RescheduleJob.Status.COMPLETED);
+            logger.info("Reschedule job {} completed: {} cards read, {} rescheduled",
+                job.getJobID(), job.getProcessedCount(), job.getUpdatedCount());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Reschedule job {} interrupted at CardID {}", job.getJobID(), job.getLastCardID());
+            return;
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                logger.warn("Reschedule job {} interrupted at CardID {}", job.getJobID(), job.getLastCardID());
+                return;
+            }
+            job = progress.saveJob;
+            progress.applyTo(job);
+            logger.error("Reschedule job {} failed after CardID {}", job.getJobID(), job.getLastCardID(), e);
+            job.setStatus(RescheduleJob.Status.FAILED);
+            job.setErrorMessage(truncate(e.getMessage()));
+        } finally {
+            workers.shutdownNow();
+        }
+        job.setFinishedAt(LocalDateTime.now());
+        rescheduleJobRepository.save(job);
+    }
+
+    /**
+     * Stream one segment of cards and hand them to the workers in chunks
+     * @return Last CardID read, or null if the segment was the last one
+     */
+    private Integer streamSegment(Integer deckID, Integer userID, int afterCardID, SchedulingAlgorithm algorithm,
+                                  ExecutorService workers, Semaphore inFlight, Progress progress) {
+        int read = 0;
+        int lastCardID = afterCardID;
+        List<CardPojo> chunk = new ArrayList<>(chunkSize);
+        try (Cursor<CardPojo> cursor = cardMapper.streamCardsForReschedule(deckID, userID, afterCardID, segmentSize)) {
+            for (CardPojo card : cursor) {
+                chunk.add(card);
+                lastCardID = card.getCardID();
+                read++;
+                if (chunk.size() == chunkSize) {
+                    dispatch(chunk, algorithm, workers, inFlight, progress);
+                    chunk = new ArrayList<>(chunkSize);
+                    if (progress.dispatchedChunks() % CHUNKS_PER_PROGRESS_SAVE == 0) {
+                        progress.saveJob = saveCheckpoint(progress.saveJob, progress);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!chunk.isEmpty()) {
+            dispatch(chunk, algorithm, workers, inFlight, progress);
+        }
+        return read < segmentSize ? null : lastCardID;
+    }
+
+    private void dispatch(List<CardPojo> chunk, SchedulingAlgorithm algorithm,
+                          ExecutorService workers, Semaphore inFlight, Progress progress) {
+        progress.checkFailure();
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for reschedule workers", e);
+        }
+        long sequence = progress.register(chunk.get(chunk.size() - 1).getCardID());
+        workers.execute(() -> {
+            try {
+                List<CardPojo> changed = rescheduleChunk(chunk, algorithm);
+                if (!changed.isEmpty()) {
+                    // Per committed chunk, so caches and counters stay right even if the job fails later
+                    eventPublisher.publishEvent(CardsBulkChangedEvent.scheduleOnly(
+                        changed.stream().map(CardPojo::getDeckID).collect(Collectors.toSet())));
+                }
+                progress.complete(sequence, chunk.size(), changed.size());
+            } catch (RuntimeException e) {
+                progress.fail(e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Recompute and write back one chunk. Cards answered since the cursor read them keep
+     * the schedule of that answer.
+     * @return Cards whose schedule was written
+     */
+    List<CardPojo> rescheduleChunk(List<CardPojo> chunk, SchedulingAlgorithm algorithm) {
+        SchedulingState state = new SchedulingState();
+        List<ScheduleUpdate> updates = new ArrayList<>();
+        for (CardPojo card : chunk) {
+            state.set(card.getStatus(), card.getIntervalDays(), card.getEaseFactor(), card.getStability(),
+                card.getDifficulty(), card.getRemindTime().toEpochDay());
+            if (algorithm.reschedule(state)) {
+                updates.add(new ScheduleUpdate(card, card.getStatus(), card.getRemindTime()));
+                card.setStatus(state.getStatus());
+                card.setIntervalDays(state.getIntervalDays());
+                card.setRemindTime(LocalDate.ofEpochDay(state.getDueEpochDay()));
+            }
+        }
+        if (updates.isEmpty()) {
+            return List.of();
+        }
+        Set<Integer> written = new HashSet<>(cardMapper.batchUpdateScheduleIfUnchanged(updates));
+        if (written.size() < updates.size()) {
+            logger.debug("Reschedule skipped {} cards answered since they were read", updates.size() - written.size());
+        }
+        return updates.stream()
+            .map(ScheduleUpdate::getCard)
+            .filter(card -> written.contains(card.getCardID()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Persist progress in its own transaction (the job thread may be inside a read-only one)
+     */
+    private RescheduleJob saveCheckpoint(RescheduleJob job, Progress progress) {
+        progress.applyTo(job);
+        RescheduleJob saved = writeTransaction().execute(status -> rescheduleJobRepository.save(job));
+        progress.saveJob = saved;
+        return saved;
+    }
+
+    private TransactionTemplate writeTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    /**
+     * Tracks chunk completion; the checkpoint only advances past chunks whose predecessors are all written
+     */
+    private static final class Progress {
+        // Chunk sequence -> last CardID of the chunk
+        private final TreeMap<Long, Integer> pendingChunks = new TreeMap<>();
+        private final TreeMap<Long, Integer> completedChunks = new TreeMap<>();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private long nextSequence = 0;
+        private int checkpoint;
+        // Latest persisted instance, used for intermediate saves while streaming
+        private RescheduleJob saveJob;
+
+        Progress(RescheduleJob job) {
+            this.saveJob = job;
+            this.checkpoint = job.getLastCardID();
+            this.processed.set(job.getProcessedCount());
+            this.updated.set(job.getUpdatedCount());
+        }
+
+        synchronized long register(int lastCardID) {
+            long sequence = nextSequence++;
+            pendingChunks.put(sequence, lastCardID);
+            return sequence;
+        }
+
+        synchronized long dispatchedChunks() {
+            return nextSequence;
+        }
+
+        synchronized void complete(long sequence, int read, int changed) {
+            processed.addAndGet(read);
+            updated.addAndGet(changed);
+            completedChunks.put(sequence, pendingChunks.get(sequence));
+            while (!pendingChunks.isEmpty() && completedChunks.containsKey(pendingChunks.firstKey())) {
+                long first = pendingChunks.firstKey();
+                checkpoint = completedChunks.remove(first);
+                pendingChunks.remove(first);
+            }
+        }
+
+        void fail(RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+
+        void checkFailure() {
+            RuntimeException e = failure.get();
+            if (e != null) {
+                throw e;
+            }
+        }
+
+        synchronized void applyTo(RescheduleJob job) {
+            job.setLastCardID(checkpoint);
+            job.setProcessedCount(processed.get());
+            job.setUpdatedCount(updated.get());
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.app.flashcard.learning.service;
+
+import com.app.flashcard.card.event.CardLifecycleEvent;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.learning.model.StudySession;
+import com.app.flashcard.shared.exception.EntityNotFoundException;
+import com.app.flashcard.shared.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Study sessions with a server-side review queue.
+ * Cards are prefetched in batches with one LIMIT query and kept in the session, so answering
+ * a card costs a single UPDATE by primary key instead of re-reading the deck.
+ */
+@Service
+@Transactional
+public class StudySessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudySessionService.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 20;
+    public static final int MAX_BATCH_SIZE = 100;
+
+    // Re-reads allowed when the card was re-scheduled elsewhere after it was handed out
+    private static final int MAX_STALE_RETRIES = 2;
+
+    @Autowired
+    private CardMapper cardMapper;
+
+    @Autowired
+    private LearningService learningService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${flashcard.study.session-idle-minutes:30}")
+    private long sessionIdleMinutes = 30;
+
+    @Value("${flashcard.study.max-sessions-per-user:5}")
+    private int maxSessionsPerUser = 5;
+
+    private final ConcurrentMap<String, StudySession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Start a study session and hand out the first batch of cards.
+     * Deck ownership must be checked by the caller.
+     * @param userID User ID
+     * @param deckID Deck ID to study
+     * @param batchSize Number of cards to prefetch
+     * @return New session holding the first batch of cards
+     */
+    public StudySession startSession(long userID, int deckID, int batchSize) {
+        evictOldestSessionsOfUser(userID);
+
+        StudySession session = new StudySession(UUID.randomUUID().toString(), userID, deckID);
+        sessions.put(session.getSessionID(), session);
+        fetchNextCards(session, batchSize);
+        return session;
+    }
+
+    /**
+     * Hand out the next cards of a session, skipping cards still waiting for an answer
+     * @param sessionID Session ID
+     * @param userID User ID owning the session
+     * @param count Number of cards to fetch
+     * @return Newly handed-out cards, empty when nothing is left to review
+     */
+    @Transactional(readOnly = true)
+    public List<CardPojo> nextCards(String sessionID, long userID, int count) {
+        return fetchNextCards(getSession(sessionID, userID), count);
+    }
+
+    /**
+     * Answer a card handed out by the session and persist its new schedule
+     * @param sessionID Session ID
+     * @param userID User ID owning the session
+     * @param cardID Card ID that was answered
+     * @param answer Answer value (1=Again, 2=Hard, 3=Good, 4=Easy)
+     * @return Card with its updated status and remind time
+     */
+    public CardPojo submitAnswer(String sessionID, long userID, int cardID, int answer) {
+        StudySession session = getSession(sessionID, userID);
+        CardPojo taken = session.take(cardID);
+        if (taken == null) {
+            throw new ValidationException("Card " + cardID + " is not pending in this study session");
+        }
+
+        // Answered on a copy, so a failed answer can return the card to the queue unchanged
+        CardPojo card = taken.toBuilder().build();
+        LocalDate today = LocalDate.now();
+        try {
+            for (int attempt = 0; ; attempt++) {
+                int previousStatus = card.getStatus();
+                LocalDate previousRemindTime = card.getRemindTime();
+                learningService.applyAnswer(card, answer, today);
+
+                if (cardMapper.updateScheduleIfUnchanged(card, previousStatus, previousRemindTime) == 1) {
+                    eventPublisher.publishEvent(CardLifecycleEvent.statusChanged(
+                        cardID, session.getDeckID(), previousStatus, card.getStatus()));
+                    break;
+                }
+
+                // The prefetched row is stale (edited, moved, deleted or answered elsewhere)
+                CardPojo current = cardMapper.findById(cardID);
+                if (current == null || current.getDeckID() != session.getDeckID()) {
+                    throw new EntityNotFoundException("Card not found with ID: " + cardID);
+                }
+                if (attempt >= MAX_STALE_RETRIES) {
+                    throw new ValidationException("Card " + cardID + " is being modified concurrently");
+                }
+                card = current;
+            }
+
+            learningService.updateLearningLog(session.getDeckID(), (int) userID);
+        } catch (EntityNotFoundException e) {
+            // Deleted or moved to another deck: nothing left to answer in this session
+            throw e;
+        } catch (RuntimeException e) {
+            // The transaction rolls back, so the card is still unanswered and can be submitted again
+            session.putBack(taken);
+            throw e;
+        }
+        session.recordAnswer();
+        return card;
+    }
+
+    /**
+     * End a study session and release its queue
+     * @param sessionID Session ID
+     * @param userID User ID owning the session
+     * @return The ended session
+     */
+    public StudySession endSession(String sessionID, long userID) {
+        StudySession session = getSession(sessionID, userID);
+        sessions.remove(sessionID, session);
+        return session;
+    }
+
+    /**
+     * Get an active session owned by the user
+     * @param sessionID Session ID
+     * @param userID User ID owning the session
+     * @return Active session
+     */
+    @Transactional(readOnly = true)
+    public StudySession getSession(String sessionID, long userID) {
+        StudySession session = sessionID != null ? sessions.get(sessionID) : null;
+        if (session == null || session.getUserID() != userID
+                || session.isExpired(System.currentTimeMillis(), idleTimeoutMillis())) {
+            throw new EntityNotFoundException("Study session not found: " + sessionID);
+        }
+        session.touch();
+        return session;
+    }
+
+    /**
+     * Drop sessions that have been idle longer than the configured timeout
+     * @return Number of sessions removed
+     */
+    public int cleanupExpiredSessions() {
+        long now = System.currentTimeMillis();
+        long timeout = idleTimeoutMillis();
+        int before = sessions.size();
+        sessions.values().removeIf(session -> session.isExpired(now, timeout));
+        int removed = before - sessions.size();
+        if (removed > 0) {
+            logger.debug("Removed {} expired study sessions", removed);
+        }
+        return removed;
+    }
+
+    public int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    private List<CardPojo> fetchNextCards(StudySession session, int count) {
+        int limit = Math.max(1, Math.min(count, MAX_BATCH_SIZE));
+        // Per-session lock so concurrent requests never hand out the same card twice
+        synchronized (session) {
+            List<CardPojo> cards = cardMapper.findCardsForReview(
+                session.getDeckID(), session.getPendingCardIDs(), limit);
+            session.handOut(cards);
+            return cards;
+        }
+    }
+
+    private void evictOldestSessionsOfUser(long userID) {
+        List<StudySession> userSessions = sessions.values().stream()
+            .filter(session -> session.getUserID() == userID)
+            .sorted(Comparator.comparingLong(StudySession::getLastAccessMillis))
+            .collect(Collectors.toList());
+        for (int i = 0; i <= userSessions.size() - maxSessionsPerUser; i++) {
+            sessions.remove(userSessions.get(i).getSessionID());
+        }
+    }
+
+    private long idleTimeoutMillis() {
+        return sessionIdleMinutes * 60_000L;
+    }
+}
@@ -0,0 +1,216 @@
+package com.app.flashcard.shared.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-node read-through cache for entity lookups by ID, bounded by entry count and age.
+ * Entities are stored and handed out as detached copies, so callers may modify what they get.
+ * Copies may be up to one TTL old: load rows that are about to be saved from the database instead.
+ * <p>
+ * Writers invalidate the keys they change; inside a transaction the entry is invalidated again
+ * after completion, so a concurrent read of the pre-commit row cannot stay cached. A load that
+ * overlaps any invalidation is returned but not cached.
+ */
+public class EntityCache<K, V> {
+
+    private final String name;
+    private final Function<K, V> loader;
+    private final UnaryOperator<V> copier;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    // Bumped by every invalidation; loads that saw another value are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    /**
+     * @param name Name used in statistics
+     * @param loader Loads an entity by ID, null if it does not exist
+     * @param copier Creates a detached copy of an entity
+     * @param enabled false passes every lookup through to the loader
+     * @param ttl Longest an entry is served
+     * @param maxEntries Entries kept at most
+     */
+    public EntityCache(String name, Function<K, V> loader, UnaryOperator<V> copier,
+                       boolean enabled, Duration ttl, int maxEntries) {
+        this(name, loader, copier, enabled, ttl, maxEntries, System::nanoTime);
+    }
+
+    EntityCache(String name, Function<K, V> loader, UnaryOperator<V> copier,
+                boolean enabled, Duration ttl, int maxEntries, LongSupplier clock) {
+        this.name = name;
+        this.loader = loader;
+        this.copier = copier;
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = Math.max(1, maxEntries);
+        this.clock = clock;
+    }
+
+    /**
+     * Get an entity, loading it with the default loader on a miss
+     * @param key Entity ID
+     * @return Entity, or null if it does not exist
+     */
+    public V get(K key) {
+        return get(key, loader);
+    }
+
+    /**
+     * Get an entity, loading it with the given loader on a miss.
+     * A null result is not cached.
+     * @param key Entity ID
+     * @param missLoader Loader for this lookup (e.g. a query with extra conditions)
+     * @return Entity, or null if not found
+     */
+    public V get(K key, Function<? super K, ? extends V> missLoader) {
+        if (!enabled) {
+            return missLoader.apply(key);
+        }
+        long now = clock.getAsLong();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            hits.increment();
+            return copier.apply(entry.value);
+        }
+        misses.increment();
+
+        long loadGeneration = generation.get();
+        V value = missLoader.apply(key);
+        if (value != null && generation.get() == loadGeneration) {
+            store(key, new Entry<>(copier.apply(value), now));
+        } else if (entry != null) {
+            entries.remove(key, entry);
+        }
+        // The loaded entity may be managed; hand out a copy like a hit does
+        return value != null ? copier.apply(value) : null;
+    }
+
+    /**
+     * Drop a changed entity; call from the transaction that changes it
+     * @param key Entity ID
+     */
+    public void invalidate(K key) {
+        invalidateAll(List.of(key));
+    }
+
+    /**
+     * Drop several changed entities
+     * @param keys Entity IDs
+     */
+    public void invalidateAll(Collection<? extends K> keys) {
+        if (!enabled || keys.isEmpty()) {
+            return;
+        }
+        List<K> copy = List.copyOf(keys);
+        Runnable invalidation = () -> {
+            generation.incrementAndGet();
+            entries.keySet().removeAll(copy);
+        };
+        invalidations.add(copy.size());
+        invalidateNowAndAfterCompletion(invalidation);
+    }
+
+    /**
+     * Drop every cached entity matching a condition (e.g. all cards of a deck)
+     * @param condition Condition on the cached entity
+     */
+    public void invalidateIf(Predicate<? super V> condition) {
+        if (!enabled) {
+            return;
+        }
+        Runnable invalidation = () -> {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> condition.test(entry.value));
+        };
+        invalidations.increment();
+        invalidateNowAndAfterCompletion(invalidation);
+    }
+
+    /**
+     * Drop everything
+     */
+    public void clear() {
+        invalidateIf(value -> true);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        String prefix = "cache." + name + ".";
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put(prefix + "enabled", enabled);
+        statistics.put(prefix + "size", entries.size());
+        statistics.put(prefix + "maxEntries", maxEntries);
+        statistics.put(prefix + "hits", hitCount);
+        statistics.put(prefix + "misses", missCount);
+        statistics.put(prefix + "hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        statistics.put(prefix + "evictions", evictions.sum());
+        statistics.put(prefix + "invalidations", invalidations.sum());
+        return statistics;
+    }
+
+    private void invalidateNowAndAfterCompletion(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private void store(K key, Entry<V> entry) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            makeRoom(entry.loadedAt);
+        }
+        entries.put(key, entry);
+    }
+
+    // Expired entries first; if that is not enough, an arbitrary eighth of the rest
+    private void makeRoom(long now) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> now - entry.loadedAt >= ttlNanos);
+        if (entries.size() >= maxEntries) {
+            int target = maxEntries - Math.max(1, maxEntries / 8);
+            Iterator<K> keys = entries.keySet().iterator();
+            while (entries.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        evictions.add(Math.max(0, before - entries.size()));
+    }
+}
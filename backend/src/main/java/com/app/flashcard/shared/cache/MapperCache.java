@@ -0,0 +1,252 @@
+package com.app.flashcard.shared.cache;
+
+import org.apache.ibatis.builder.InitializingObject;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.io.Resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * MyBatis second-level cache for one mapper namespace, declared in the mapper XML with
+ * {@code <cache type="...MapperCache">}. Bounded by entry count (LRU or FIFO eviction) and age.
+ * <p>
+ * Results are stored serialized and every hit returns a fresh copy, like MyBatis' read-write
+ * caches, so callers may modify the objects they get. MyBatis does not apply its standard
+ * decorators to custom cache types; size, expiry and copying are all handled here.
+ * Writes through a mapper flush its namespace; JPA writes are flushed by {@link MapperCacheManager}.
+ */
+public class MapperCache implements Cache, InitializingObject {
+
+    private static final Map<String, MapperCache> INSTANCES = new ConcurrentSkipListMap<>();
+
+    // Set while a thread runs reads that must reach the database
+    private static final ThreadLocal<Boolean> BYPASSED = ThreadLocal.withInitial(() -> false);
+
+    private final String id;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<Object, Entry> entries;
+
+    // Set by MyBatis from the <property> elements of the <cache> declaration
+    private int size = 1024;
+    private long ttlSeconds = 60;
+    private String eviction = "LRU";
+
+    private long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+
+    private record Entry(byte[] value, long storedAt) {
+    }
+
+    public MapperCache(String id) {
+        this.id = id;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public void setTtlSeconds(long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public void setEviction(String eviction) {
+        this.eviction = eviction;
+    }
+
+    @Override
+    public void initialize() {
+        String policy = eviction.trim().toUpperCase(Locale.ROOT);
+        if (!policy.equals("LRU") && !policy.equals("FIFO")) {
+            throw new CacheException("Unsupported eviction '" + eviction + "' for cache " + id + ", use LRU or FIFO");
+        }
+        int maxEntries = Math.max(1, size);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, policy.equals("LRU")) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        INSTANCES.put(id, this);
+    }
+
+    /**
+     * Every cache built by MyBatis in this JVM, sorted by namespace
+     */
+    public static Collection<MapperCache> all() {
+        return List.copyOf(INSTANCES.values());
+    }
+
+    /**
+     * Run an action with every mapper cache bypassed on this thread: lookups miss and results
+     * are not stored. Used to time MyBatis against the database rather than against memory.
+     */
+    public static <T> T bypass(Supplier<T> action) {
+        boolean outer = BYPASSED.get();
+        BYPASSED.set(true);
+        try {
+            return action.get();
+        } finally {
+            BYPASSED.set(outer);
+        }
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        // MyBatis also records misses as null entries; those are not worth keeping
+        if (value == null || BYPASSED.get()) {
+            return;
+        }
+        byte[] bytes = serialize(value);
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            entries.put(key, new Entry(bytes, now));
+        } finally {
+            lock.unlock();
+        }
+        puts.increment();
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        if (BYPASSED.get()) {
+            return null;
+        }
+        Entry entry;
+        lock.lock();
+        try {
+            entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.storedAt >= ttlNanos) {
+                entries.remove(key);
+                expirations.increment();
+                entry = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return deserialize(entry.value);
+    }
+
+    @Override
+    public Object removeObject(Object key) {
+        lock.lock();
+        try {
+            Entry entry = entries.remove(key);
+            return entry != null ? deserialize(entry.value) : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+        flushes.increment();
+    }
+
+    @Override
+    public int getSize() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        String prefix = "mybatisCache." + id.substring(id.lastIndexOf('.') + 1) + ".";
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put(prefix + "size", getSize());
+        statistics.put(prefix + "maxEntries", size);
+        statistics.put(prefix + "hits", hitCount);
+        statistics.put(prefix + "misses", missCount);
+        statistics.put(prefix + "hitRatio", hitCount + missCount == 0 ? 0.0 : (double) hitCount / (hitCount + missCount));
+        statistics.put(prefix + "puts", puts.sum());
+        statistics.put(prefix + "evictions", evictions.sum());
+        statistics.put(prefix + "expirations", expirations.sum());
+        statistics.put(prefix + "flushes", flushes.sum());
+        return statistics;
+    }
+
+    private byte[] serialize(Object value) {
+        if (!(value instanceof Serializable)) {
+            throw new CacheException("Cannot cache a " + value.getClass().getName() + " in " + id + ": not Serializable");
+        }
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(value);
+            output.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new CacheException("Cannot cache a " + value.getClass().getName() + " in " + id, e);
+        }
+    }
+
+    private Object deserialize(byte[] value) {
+        try (ObjectInputStream input = new ApplicationObjectInputStream(new ByteArrayInputStream(value))) {
+            return input.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new CacheException("Cannot read cached value from " + id, e);
+        }
+    }
+
+    // Resolves classes through MyBatis' class loaders (the application's, not the JDK's)
+    private static class ApplicationObjectInputStream extends ObjectInputStream {
+
+        ApplicationObjectInputStream(InputStream input) throws IOException {
+            super(input);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass descriptor) throws ClassNotFoundException {
+            return Resources.classForName(descriptor.getName());
+        }
+    }
+}
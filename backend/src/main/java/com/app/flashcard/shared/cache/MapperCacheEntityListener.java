@@ -0,0 +1,19 @@
+package com.app.flashcard.shared.cache;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that flushes the MyBatis cache over the written entity's table
+ * (see MapperCacheManager)
+ */
+public class MapperCacheEntityListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Object entity) {
+        MapperCacheManager.onEntityWrite(entity);
+    }
+}
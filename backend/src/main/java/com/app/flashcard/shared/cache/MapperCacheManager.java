@@ -0,0 +1,125 @@
+package com.app.flashcard.shared.cache;
+
+import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.repository.DeckMapper;
+import com.app.flashcard.learning.model.LearningLog;
+import com.app.flashcard.learning.repository.LearningLogMapper;
+import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.repository.UserMapper;
+import jakarta.annotation.PostConstruct;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the MyBatis second-level caches consistent with writes MyBatis does not see:
+ * JPA writes to a table flush the cache of the mapper reading that table, now and again after
+ * the transaction completes. Also collects the per-namespace cache statistics.
+ */
+@Component
+public class MapperCacheManager {
+
+    // Mapper whose cache holds rows of each JPA entity
+    private static final Map<Class<?>, Class<?>> MAPPER_BY_ENTITY = Map.of(
+        Card.class, CardMapper.class,
+        Deck.class, DeckMapper.class,
+        User.class, UserMapper.class,
+        LearningLog.class, LearningLogMapper.class);
+
+    // Entity listeners are created by Hibernate, they reach the manager through this
+    private static volatile MapperCacheManager current;
+
+    @Autowired
+    private ObjectProvider<SqlSessionFactory> sqlSessionFactory;
+
+    private final Map<Class<?>, Optional<Cache>> cacheByMapper = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void register() {
+        current = this;
+    }
+
+    static void onEntityWrite(Object entity) {
+        MapperCacheManager manager = current;
+        if (manager == null) {
+            return;
+        }
+        MAPPER_BY_ENTITY.forEach((entityType, mapperType) -> {
+            if (entityType.isInstance(entity)) {
+                manager.flush(mapperType);
+            }
+        });
+    }
+
+    /**
+     * Flush the cache used by a mapper's namespace after a write that bypassed the mapper
+     * @param mapperType Mapper interface
+     */
+    public void flush(Class<?> mapperType) {
+        Cache cache = cacheByMapper.computeIfAbsent(mapperType, this::findCache).orElse(null);
+        if (cache == null) {
+            return;
+        }
+        cache.clear();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // Entries read before this transaction committed may be stored while it runs, so flush
+        // again once it completes; one synchronization per transaction however many rows it writes
+        PendingFlush pending = TransactionSynchronizationManager.getSynchronizations().stream()
+            .filter(PendingFlush.class::isInstance)
+            .map(PendingFlush.class::cast)
+            .findFirst()
+            .orElse(null);
+        if (pending == null) {
+            pending = new PendingFlush();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.caches.add(cache);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        MapperCache.all().forEach(cache -> statistics.putAll(cache.getStatistics()));
+        return statistics;
+    }
+
+    private static class PendingFlush implements TransactionSynchronization {
+
+        private final Set<Cache> caches = new HashSet<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            caches.forEach(Cache::clear);
+        }
+    }
+
+    // The namespace's own cache or the one it references with <cache-ref>
+    private Optional<Cache> findCache(Class<?> mapperType) {
+        SqlSessionFactory factory = sqlSessionFactory.getIfAvailable();
+        if (factory == null) {
+            return Optional.empty();
+        }
+        Configuration configuration = factory.getConfiguration();
+        String prefix = mapperType.getName() + ".";
+        return configuration.getMappedStatementNames().stream()
+            .filter(name -> name.startsWith(prefix))
+            .map(name -> configuration.getMappedStatement(name).getCache())
+            .filter(cache -> cache != null)
+            .findFirst();
+    }
+}
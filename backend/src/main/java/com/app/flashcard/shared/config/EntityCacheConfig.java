@@ -0,0 +1,39 @@
+package com.app.flashcard.shared.config;
+
+import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.repository.CardRepository;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.repository.DeckRepository;
+import com.app.flashcard.shared.cache.EntityCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Read-through caches for card and deck lookups by ID (invalidated by CardService and DeckService)
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    @Value("${flashcard.cache.entities.enabled:true}")
+    private boolean enabled;
+
+    @Value("${flashcard.cache.entities.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Bean
+    public EntityCache<Integer, Deck> deckCache(DeckRepository deckRepository,
+            @Value("${flashcard.cache.entities.max-decks:10000}") int maxDecks) {
+        return new EntityCache<>("deck", deckID -> deckRepository.findById(deckID).orElse(null), Deck::new,
+            enabled, Duration.ofSeconds(ttlSeconds), maxDecks);
+    }
+
+    @Bean
+    public EntityCache<Integer, Card> cardCache(CardRepository cardRepository,
+            @Value("${flashcard.cache.entities.max-cards:50000}") int maxCards) {
+        return new EntityCache<>("card", cardID -> cardRepository.findById(cardID).orElse(null), Card::new,
+            enabled, Duration.ofSeconds(ttlSeconds), maxCards);
+    }
+}
@@ -0,0 +1,52 @@
+package com.app.flashcard.shared.config;
+
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.card.repository.CardRepository;
+import com.app.flashcard.card.repository.MyBatisCardRepository;
+import com.app.flashcard.deck.repository.DeckMapper;
+import com.app.flashcard.deck.repository.DeckRepository;
+import com.app.flashcard.deck.repository.MyBatisDeckRepository;
+import com.app.flashcard.learning.repository.LearningLogMapper;
+import com.app.flashcard.learning.repository.LearningLogRepository;
+import com.app.flashcard.learning.repository.MyBatisLearningLogRepository;
+import com.app.flashcard.user.repository.MyBatisUserRepository;
+import com.app.flashcard.user.repository.UserMapper;
+import com.app.flashcard.user.repository.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Serves the card, deck, learning log and user repositories from the MyBatis mappers
+ * when flashcard.persistence.backend=mybatis. The Spring Data JPA repositories stay
+ * registered (default backend jpa); these beans take precedence over them.
+ */
+@Configuration
+@ConditionalOnProperty(name = "flashcard.persistence.backend", havingValue = "mybatis")
+public class PersistenceBackendConfig {
+
+    @Bean
+    @Primary
+    public CardRepository myBatisCardRepository(CardMapper cardMapper) {
+        return new MyBatisCardRepository(cardMapper);
+    }
+
+    @Bean
+    @Primary
+    public DeckRepository myBatisDeckRepository(DeckMapper deckMapper) {
+        return new MyBatisDeckRepository(deckMapper);
+    }
+
+    @Bean
+    @Primary
+    public LearningLogRepository myBatisLearningLogRepository(LearningLogMapper learningLogMapper) {
+        return new MyBatisLearningLogRepository(learningLogMapper);
+    }
+
+    @Bean
+    @Primary
+    public UserRepository myBatisUserRepository(UserMapper userMapper) {
+        return new MyBatisUserRepository(userMapper);
+    }
+}
@@ -1,5 +1,10 @@
 package com.app.flashcard.shared.config;
 
+import com.app.flashcard.card.service.CardTypeaheadService;
+import com.app.flashcard.deck.service.DeckService;
+import com.app.flashcard.learning.service.LearningLogAggregator;
+import com.app.flashcard.learning.service.StudySessionService;
+import com.app.flashcard.shared.ratelimit.ApiAdmissionControl;
 import com.app.flashcard.shared.security.LoginAttemptService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
@@ -16,11 +21,66 @@ public class SchedulerConfig {
     @Autowired
     private LoginAttemptService loginAttemptService;
 
+    @Autowired
+    private DeckService deckService;
+
+    @Autowired
+    private StudySessionService studySessionService;
+
+    @Autowired
+    private LearningLogAggregator learningLogAggregator;
+
+    @Autowired
+    private CardTypeaheadService cardTypeaheadService;
+
+    @Autowired
+    private ApiAdmissionControl apiAdmissionControl;
+
     /**
-     * Clean up expired login attempt entries every hour
+     * Expire login attempt entries that came due every 10 seconds
      */
-    @Scheduled(fixedRate = 3600000) // 1 hour = 3600000 ms
+    @Scheduled(fixedRate = 10000) // 10 seconds = 10000 ms
     public void cleanupExpiredLoginAttempts() {
         loginAttemptService.cleanupExpiredEntries();
     }
-}
\ No newline at end of file
+
+    /**
+     * Repair deck card counters that drifted from the card table
+     */
+    @Scheduled(cron = "${flashcard.deck-statistics.reconcile-cron:0 30 3 * * *}")
+    public void reconcileDeckStatistics() {
+        deckService.reconcileStatistics();
+    }
+
+    /**
+     * Drop idle study sessions every 5 minutes
+     */
+    @Scheduled(fixedRate = 300000) // 5 minutes = 300000 ms
+    public void cleanupExpiredStudySessions() {
+        studySessionService.cleanupExpiredSessions();
+    }
+
+    /**
+     * Write buffered learning log increments
+     */
+    @Scheduled(fixedDelayString = "${flashcard.learning-log.flush-interval-ms:5000}")
+    public void flushLearningLogs() {
+        learningLogAggregator.flush();
+    }
+
+    /**
+     * Drop idle type-ahead indexes every 5 minutes
+     */
+    @Scheduled(fixedRate = 300000) // 5 minutes = 300000 ms
+    public void evictIdleTypeaheadIndexes() {
+        cardTypeaheadService.evictIdle();
+    }
+
+    /**
+     * Drop refilled API rate limit buckets every minute
+     */
+    @Scheduled(fixedRate = 60000) // 1 minute = 60000 ms
+    public void expireRateLimitBuckets() {
+        apiAdmissionControl.expire();
+    }
+}
@@ -0,0 +1,112 @@
+package com.app.flashcard.shared.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control for API requests: a token bucket per user (per client IP for anonymous
+ * requests) and a concurrency limit per endpoint group. Checked by RateLimitFilter before
+ * authentication and before any database work.
+ */
+@Service
+public class ApiAdmissionControl {
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter userBuckets;
+    private final TokenBucketRateLimiter anonymousBuckets;
+    private final Map<EndpointGroup, Semaphore> concurrency = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, Integer> maxConcurrent = new EnumMap<>(EndpointGroup.class);
+
+    private final Map<EndpointGroup, LongAdder> rateRejections = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, LongAdder> concurrencyRejections = new EnumMap<>(EndpointGroup.class);
+
+    public ApiAdmissionControl(
+            @Value("${flashcard.rate-limit.enabled:true}") boolean enabled,
+            @Value("${flashcard.rate-limit.requests-per-second:20}") double requestsPerSecond,
+            @Value("${flashcard.rate-limit.burst:40}") int burst,
+            @Value("${flashcard.rate-limit.anonymous-requests-per-second:5}") double anonymousRequestsPerSecond,
+            @Value("${flashcard.rate-limit.anonymous-burst:20}") int anonymousBurst,
+            @Value("${flashcard.rate-limit.max-tracked-keys:100000}") int maxTrackedKeys,
+            @Value("${flashcard.rate-limit.max-concurrent.auth:16}") int maxConcurrentAuth,
+            @Value("${flashcard.rate-limit.max-concurrent.bulk:4}") int maxConcurrentBulk,
+            @Value("${flashcard.rate-limit.max-concurrent.default:64}") int maxConcurrentDefault) {
+        this.enabled = enabled;
+        this.userBuckets = new TokenBucketRateLimiter(requestsPerSecond, burst, maxTrackedKeys);
+        this.anonymousBuckets = new TokenBucketRateLimiter(anonymousRequestsPerSecond, anonymousBurst, maxTrackedKeys);
+        maxConcurrent.put(EndpointGroup.AUTH, maxConcurrentAuth);
+        maxConcurrent.put(EndpointGroup.BULK, maxConcurrentBulk);
+        maxConcurrent.put(EndpointGroup.DEFAULT, maxConcurrentDefault);
+        for (EndpointGroup group : EndpointGroup.values()) {
+            concurrency.put(group, new Semaphore(maxConcurrent.get(group)));
+            rateRejections.put(group, new LongAdder());
+            concurrencyRejections.put(group, new LongAdder());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Take a request token
+     * @param key User ID for authenticated requests, client IP otherwise
+     * @param authenticated Whether the key is a user
+     * @param group Endpoint group of the request (for metrics)
+     * @return 0 if admitted, otherwise nanoseconds until the next token
+     */
+    public long tryAcquireRate(String key, boolean authenticated, EndpointGroup group) {
+        long wait = (authenticated ? userBuckets : anonymousBuckets).tryAcquire(key);
+        if (wait > 0) {
+            rateRejections.get(group).increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Enter an endpoint group without waiting
+     * @return false if the group is at its concurrency limit; otherwise exit must be called
+     */
+    public boolean tryEnter(EndpointGroup group) {
+        if (concurrency.get(group).tryAcquire()) {
+            return true;
+        }
+        concurrencyRejections.get(group).increment();
+        return false;
+    }
+
+    public void exit(EndpointGroup group) {
+        concurrency.get(group).release();
+    }
+
+    /**
+     * Drop refilled buckets. Scheduled by SchedulerConfig.
+     */
+    public void expire() {
+        userBuckets.expire();
+        anonymousBuckets.expire();
+    }
+
+    /**
+     * Rejection counters, in-flight requests per endpoint group and tracked buckets
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        for (EndpointGroup group : EndpointGroup.values()) {
+            String prefix = "rateLimit." + group.name().toLowerCase(Locale.ROOT) + ".";
+            statistics.put(prefix + "inFlight", maxConcurrent.get(group) - concurrency.get(group).availablePermits());
+            statistics.put(prefix + "maxConcurrent", maxConcurrent.get(group));
+            statistics.put(prefix + "rejected.rate", rateRejections.get(group).sum());
+            statistics.put(prefix + "rejected.concurrency", concurrencyRejections.get(group).sum());
+        }
+        statistics.put("rateLimit.trackedUsers", userBuckets.size());
+        statistics.put("rateLimit.trackedClients", anonymousBuckets.size());
+        return statistics;
+    }
+}
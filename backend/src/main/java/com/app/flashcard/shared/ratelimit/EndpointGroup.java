@@ -0,0 +1,26 @@
+package com.app.flashcard.shared.ratelimit;
+
+/**
+ * API endpoints sharing a concurrency limit (see ApiAdmissionControl)
+ */
+public enum EndpointGroup {
+
+    // Login and registration: password hashing is CPU bound
+    AUTH,
+    // Import and export: long running, streaming and database heavy
+    BULK,
+    DEFAULT;
+
+    /**
+     * Group of a request path below /api/v1
+     */
+    public static EndpointGroup of(String path) {
+        if (path.startsWith("/api/v1/auth/")) {
+            return AUTH;
+        }
+        if (path.endsWith("/import") || path.endsWith("/export")) {
+            return BULK;
+        }
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,136 @@
+package com.app.flashcard.shared.ratelimit;
+
+import com.app.flashcard.api.dto.response.ApiResponse;
+import com.app.flashcard.shared.security.JwtClaims;
+import com.app.flashcard.shared.security.JwtUtil;
+import com.app.flashcard.shared.utils.IpUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rejects API requests over the caller's rate (429) or over their endpoint group's concurrency
+ * limit (503), with Retry-After, before authentication and before any database work.
+ * Runs ahead of JwtAuthenticationFilter; the token is only verified to find the user, which
+ * leaves it in JwtUtil's verified-token cache for the authentication that follows.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ApiAdmissionControl admissionControl;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !admissionControl.isEnabled() || !request.getRequestURI().startsWith("/api/v1/")
+            || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.of(request.getRequestURI());
+
+        String userKey = userKey(request);
+        long wait = userKey != null
+            ? admissionControl.tryAcquireRate(userKey, true, group)
+            : admissionControl.tryAcquireRate(IpUtils.getClientIpAddress(request), false, group);
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait,
+                "Too many requests", "Request rate limit exceeded, retry later");
+            return;
+        }
+
+        if (!admissionControl.tryEnter(group)) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                "Server busy", "Too many concurrent requests, retry later");
+            return;
+        }
+        AtomicBoolean exited = new AtomicBoolean();
+        Runnable exit = () -> {
+            if (exited.compareAndSet(false, true)) {
+                admissionControl.exit(group);
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming responses hold their slot until the async request completes
+                request.getAsyncContext().addListener(new ExitListener(exit));
+            } else {
+                exit.run();
+            }
+        }
+    }
+
+    /**
+     * User of a valid bearer token, null for anonymous requests and invalid tokens
+     */
+    private String userKey(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            JwtClaims claims = jwtUtil.verify(header.substring(7));
+            return claims.userID() != null ? claims.userID().toString() : claims.subject();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long waitNanos,
+                        String error, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(error, message));
+    }
+
+    private record ExitListener(Runnable exit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            exit.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // keep listening for the completion of the new async cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.app.flashcard.shared.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts events per key over a sliding window and blocks keys that reach the limit.
+ * <p>
+ * The window is approximated from two fixed windows: the count of the current window plus the
+ * count of the previous one weighted by how much of it still overlaps the sliding window. Both
+ * counts and the window number are packed into one long, so recording an event is a single CAS.
+ * <p>
+ * At most {@code capacity} keys are tracked (plus keys inserted concurrently while making room).
+ * Every key sits in one slot of a timer wheel at its expiry time; {@link #expire()} only visits the
+ * slots that came due instead of scanning all keys. When the limiter is full, keys are evicted in
+ * expiry order, so keys that are blocked or still counting go last.
+ */
+public class SlidingWindowRateLimiter {
+
+    private static final int WHEEL_SLOTS = 1024;
+    private static final int COUNT_MASK = 0xFFFF;
+    // State of a counter that was expired or reset; callers drop it and start a new one
+    private static final long DEAD = -1L;
+
+    private final int limit;
+    private final long windowMillis;
+    private final long blockMillis;
+    private final int capacity;
+    private final long tickMillis;
+    private final LongSupplier clock;
+    private final long origin;
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final List<ConcurrentLinkedQueue<Counter>> wheel = new ArrayList<>(WHEEL_SLOTS);
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    // Last tick whose slot was drained, guarded by wheelLock
+    private long wheelTick;
+
+    private static final class Counter {
+        final String key;
+        // window number (upper 32 bits) | current window count (16 bits) | previous window count (16 bits)
+        final AtomicLong state;
+        // Milliseconds since origin, 0 if never blocked
+        final AtomicLong blockedUntil = new AtomicLong();
+
+        Counter(String key, long window) {
+            this.key = key;
+            this.state = new AtomicLong(pack(window, 0, 0));
+        }
+    }
+
+    /**
+     * @param limit Events within the window that block a key
+     * @param windowMillis Length of the sliding window
+     * @param blockMillis How long a key stays blocked once it reaches the limit; 0 to only reject
+     *                    while the sliding count is at the limit
+     * @param capacity Maximum number of tracked keys
+     */
+    public SlidingWindowRateLimiter(int limit, long windowMillis, long blockMillis, int capacity) {
+        this(limit, windowMillis, blockMillis, capacity, () -> System.nanoTime() / 1_000_000);
+    }
+
+    SlidingWindowRateLimiter(int limit, long windowMillis, long blockMillis, int capacity, LongSupplier clockMillis) {
+        if (limit < 1 || limit > COUNT_MASK || windowMillis < 1 || blockMillis < 0 || capacity < 1) {
+            throw new IllegalArgumentException("Invalid rate limiter settings");
+        }
+        this.limit = limit;
+        this.windowMillis = windowMillis;
+        this.blockMillis = blockMillis;
+        this.capacity = capacity;
+        this.tickMillis = Math.max(1, Math.max(2 * windowMillis, blockMillis) / WHEEL_SLOTS);
+        this.clock = clockMillis;
+        this.origin = clockMillis.getAsLong();
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Record one event for a key
+     * @param key Rate limited key
+     * @return Events counted in the sliding window, including this one
+     */
+    public int hit(String key) {
+        long now = now();
+        long window = now / windowMillis;
+        while (true) {
+            Counter counter = counterFor(key, now);
+            long state = counter.state.get();
+            if (state == DEAD) {
+                counters.remove(key, counter);
+                continue;
+            }
+            int current = current(state, window);
+            int previous = previous(state, window);
+            int next = Math.min(current + 1, COUNT_MASK);
+            if (counter.state.compareAndSet(state, pack(window, next, previous))) {
+                int count = estimate(now, next, previous);
+                if (count >= limit && blockMillis > 0) {
+                    counter.blockedUntil.accumulateAndGet(now + blockMillis, Math::max);
+                }
+                return count;
+            }
+        }
+    }
+
+    /**
+     * Events counted in the sliding window of a key, without recording one
+     */
+    public int count(String key) {
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            return 0;
+        }
+        long state = counter.state.get();
+        if (state == DEAD) {
+            return 0;
+        }
+        long now = now();
+        long window = now / windowMillis;
+        return estimate(now, current(state, window), previous(state, window));
+    }
+
+    /**
+     * Events left before the key is blocked
+     */
+    public int remaining(String key) {
+        return blockedForMillis(key) > 0 ? 0 : Math.max(0, limit - count(key));
+    }
+
+    /**
+     * Time until a blocked key is allowed again
+     * @return Milliseconds, 0 if the key is not blocked
+     */
+    public long blockedForMillis(String key) {
+        Counter counter = counters.get(key);
+        if (counter == null || counter.state.get() == DEAD) {
+            return 0;
+        }
+        long now = now();
+        if (blockMillis > 0) {
+            return Math.max(0, counter.blockedUntil.get() - now);
+        }
+        // Without a block period the count drops below the limit at the latest when the window rolls over
+        return count(key) >= limit ? windowMillis - now % windowMillis : 0;
+    }
+
+    /**
+     * Forget a key (e.g. after a successful login)
+     */
+    public void reset(String key) {
+        Counter counter = counters.remove(key);
+        if (counter != null) {
+            counter.state.set(DEAD);
+        }
+    }
+
+    /**
+     * Number of tracked keys
+     */
+    public int size() {
+        return counters.size();
+    }
+
+    /**
+     * Drop keys whose counts and block have run out. Only the wheel slots that came due since
+     * the last call are visited; call it regularly (every few seconds).
+     * @return Number of dropped keys
+     */
+    public int expire() {
+        if (!wheelLock.tryLock()) {
+            return 0;
+        }
+        try {
+            long now = now();
+            long nowTick = now / tickMillis;
+            long from = Math.max(wheelTick + 1, nowTick - WHEEL_SLOTS + 1);
+            int removed = 0;
+            for (long tick = from; tick <= nowTick; tick++) {
+                removed += drain(tick, now, false, 0);
+            }
+            wheelTick = Math.max(wheelTick, nowTick);
+            return removed;
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    private Counter counterFor(String key, long now) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            return counter;
+        }
+        if (counters.size() >= capacity) {
+            makeRoom(now);
+        }
+        Counter created = new Counter(key, now / windowMillis);
+        Counter existing = counters.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        schedule(created, expiresAt(created, created.state.get()));
+        return created;
+    }
+
+    /**
+     * Expire due keys, then evict the keys expiring soonest until an eighth of the capacity is free
+     */
+    private void makeRoom(long now) {
+        expire();
+        wheelLock.lock();
+        try {
+            int target = capacity - Math.max(1, capacity / 8);
+            long tick = Math.max(wheelTick + 1, now / tickMillis);
+            for (int i = 0; i < WHEEL_SLOTS && counters.size() > target; i++) {
+                drain(tick + i, now, true, counters.size() - target);
+            }
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+
+    /**
+     * Remove expired counters of a tick's slot and reschedule the rest. When forced, also evict up to
+     * evictions counters that are due by this tick (counters whose expiry moved later are rescheduled).
+     */
+    private int drain(long tick, long now, boolean force, int evictions) {
+        ConcurrentLinkedQueue<Counter> slot = slot(tick);
+        List<Counter> due = new ArrayList<>();
+        for (Counter counter = slot.poll(); counter != null; counter = slot.poll()) {
+            due.add(counter);
+        }
+        int removed = 0;
+        for (Counter counter : due) {
+            long state = counter.state.get();
+            if (state == DEAD) {
+                continue;
+            }
+            long expiresAt = expiresAt(counter, state);
+            boolean evict = expiresAt <= now || (force && removed < evictions && expiresAt / tickMillis <= tick);
+            if (evict && counter.state.compareAndSet(state, DEAD)) {
+                counters.remove(counter.key, counter);
+                removed++;
+            } else if (counter.state.get() != DEAD) {
+                schedule(counter, expiresAt(counter, counter.state.get()));
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * When the counter no longer affects decisions: both windows have passed and the block ended
+     */
+    private long expiresAt(Counter counter, long state) {
+        return Math.max(((state >>> 32) + 2) * windowMillis, counter.blockedUntil.get());
+    }
+
+    private void schedule(Counter counter, long at) {
+        slot(at / tickMillis).add(counter);
+    }
+
+    private ConcurrentLinkedQueue<Counter> slot(long tick) {
+        return wheel.get((int) (tick & (WHEEL_SLOTS - 1)));
+    }
+
+    private int estimate(long now, int current, int previous) {
+        long elapsed = now % windowMillis;
+        return current + (int) (previous * (windowMillis - elapsed) / windowMillis);
+    }
+
+    private long now() {
+        return clock.getAsLong() - origin;
+    }
+
+    private static int current(long state, long window) {
+        return (state >>> 32) == window ? (int) (state >>> 16) & COUNT_MASK : 0;
+    }
+
+    private static int previous(long state, long window) {
+        long stateWindow = state >>> 32;
+        if (stateWindow == window) {
+            return (int) state & COUNT_MASK;
+        }
+        return stateWindow == window - 1 ? (int) (state >>> 16) & COUNT_MASK : 0;
+    }
+
+    private static long pack(long window, int current, int previous) {
+        return (window << 32) | ((long) current << 16) | previous;
+    }
+}
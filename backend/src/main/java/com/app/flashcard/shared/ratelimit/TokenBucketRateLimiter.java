@@ -0,0 +1,100 @@
+package com.app.flashcard.shared.ratelimit;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key, implemented as the generic cell rate algorithm: each key keeps only the
+ * theoretical arrival time of its next request, so taking a token is a single CAS.
+ * A key whose bucket refilled completely carries no information and is dropped by {@link #expire()}.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final int capacity;
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param tokensPerSecond Refill rate
+     * @param burst Bucket size (requests allowed at once after being idle)
+     * @param capacity Maximum number of tracked keys
+     */
+    public TokenBucketRateLimiter(double tokensPerSecond, int burst, int capacity) {
+        this(tokensPerSecond, burst, capacity, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double tokensPerSecond, int burst, int capacity, LongSupplier clockNanos) {
+        if (tokensPerSecond <= 0 || burst < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Invalid token bucket settings");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.capacity = capacity;
+        this.clock = clockNanos;
+    }
+
+    /**
+     * Take a token for a key
+     * @param key Rate limited key
+     * @return 0 if a token was taken, otherwise nanoseconds until the next token is available
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong arrival = buckets.get(key);
+        if (arrival == null) {
+            if (buckets.size() >= capacity) {
+                makeRoom(now);
+            }
+            arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long expected = arrival.get();
+            long base = expected - now > 0 ? expected : now;
+            long wait = base - now - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(expected, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Number of tracked keys
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Drop keys whose bucket is full again
+     * @return Number of dropped keys
+     */
+    public int expire() {
+        long now = clock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(arrival -> arrival.get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    /**
+     * Expire full buckets; if that is not enough, drop an eighth of the keys
+     */
+    private void makeRoom(long now) {
+        expire();
+        Iterator<AtomicLong> arrivals = buckets.values().iterator();
+        int target = capacity - Math.max(1, capacity / 8);
+        while (buckets.size() > target && arrivals.hasNext()) {
+            arrivals.next();
+            arrivals.remove();
+        }
+    }
+}
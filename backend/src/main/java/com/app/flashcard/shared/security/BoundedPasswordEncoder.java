@@ -0,0 +1,161 @@
+package com.app.flashcard.shared.security;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that runs every hash and verification on a small dedicated pool with a
+ * bounded queue, so a burst of logins cannot occupy all request threads with hashing.
+ * When the queue is full, or a hash does not finish within the timeout, the call fails fast
+ * with {@link PasswordHashingBusyException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator peakQueueDepth = new LongAccumulator(Math::max, 0);
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder upgrades = new LongAdder();
+
+    /**
+     * @param strength BCrypt work factor (log rounds) for new hashes
+     * @param threads Hashing threads, at most one per core is useful
+     * @param queueCapacity Hashes allowed to wait for a thread; more are rejected
+     * @param timeoutMillis Longest a caller waits, queueing included
+     */
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMillis) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * A stored hash needs rehashing when its work factor differs from the configured one.
+     * Skipped while hashes are queueing, the rehash is retried on a later login.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        if (!matcher.matches() || Integer.parseInt(matcher.group(1)) == strength) {
+            return false;
+        }
+        if (!executor.getQueue().isEmpty()) {
+            return false;
+        }
+        upgrades.increment();
+        return true;
+    }
+
+    private <T> T execute(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    long elapsed = System.nanoTime() - startedAt;
+                    completed.increment();
+                    totalNanos.add(elapsed);
+                    maxNanos.accumulate(elapsed);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Password hashing queue is full", e);
+        }
+        peakQueueDepth.accumulate(executor.getQueue().size());
+
+        try {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis) - (System.nanoTime() - submittedAt);
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new PasswordHashingBusyException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        long count = completed.sum();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("passwordHashing.strength", strength);
+        statistics.put("passwordHashing.threads", executor.getMaximumPoolSize());
+        statistics.put("passwordHashing.active", executor.getActiveCount());
+        statistics.put("passwordHashing.queueDepth", executor.getQueue().size());
+        statistics.put("passwordHashing.queueDepth.peak", peakQueueDepth.get());
+        statistics.put("passwordHashing.queueCapacity", executor.getQueue().size() + executor.getQueue().remainingCapacity());
+        statistics.put("passwordHashing.completed", count);
+        statistics.put("passwordHashing.latencyMillis.avg", count == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / count);
+        statistics.put("passwordHashing.latencyMillis.max", maxNanos.get() / 1_000_000.0);
+        statistics.put("passwordHashing.rejected", rejected.sum());
+        statistics.put("passwordHashing.timedOut", timedOut.sum());
+        statistics.put("passwordHashing.rehashed", upgrades.sum());
+        return statistics;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
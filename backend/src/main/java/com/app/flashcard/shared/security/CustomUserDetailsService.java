@@ -2,9 +2,9 @@ package com.app.flashcard.shared.security;
 
 import com.app.flashcard.user.model.User;
 import com.app.flashcard.user.service.UserService;
-import com.app.flashcard.shared.exception.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -14,14 +14,14 @@ import org.springframework.stereotype.Service;
  * This service is called by Spring Security during authentication to load user details.
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserService userService;
 
     /**
      * Load user by username for Spring Security authentication.
-     * Now supports flexible login: username, email, or legacy userLoginID
+     * Supports flexible login: username, email, or legacy userLoginID, matched in one query
      * 
      * @param loginIdentifier The login identifier entered by the user (username, email, or legacy loginID)
      * @return UserDetails object containing user information
@@ -30,16 +30,10 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String loginIdentifier) throws UsernameNotFoundException {
         try {
-            // Try modern flexible login first
+            // One query matching username, email or legacy userLoginID
             User user = userService.findByLoginIdentifier(loginIdentifier);
-            
             if (user == null) {
-                // Fallback to legacy method for backward compatibility
-                try {
-                    user = userService.findByLoginId(loginIdentifier);
-                } catch (EntityNotFoundException e) {
-                    throw new UsernameNotFoundException("User not found with login identifier: " + loginIdentifier, e);
-                }
+                throw new UsernameNotFoundException("User not found with login identifier: " + loginIdentifier);
             }
             
             // Check if account is active and not locked
@@ -55,4 +49,16 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("User not found with login identifier: " + loginIdentifier, e);
         }
     }
+
+    /**
+     * Store a rehashed password after a successful login; called by Spring Security when
+     * the password encoder reports that the stored hash uses an outdated work factor.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) userDetails;
+        userService.updatePasswordHash(principal.getUserID(), newPassword);
+        principal.getUser().setUserPW(newPassword);
+        return principal;
+    }
 }
\ No newline at end of file
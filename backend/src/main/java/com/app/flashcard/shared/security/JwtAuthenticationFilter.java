@@ -1,10 +1,12 @@
 package com.app.flashcard.shared.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +16,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests carrying a bearer token.
+ * In stateless mode (jwt.stateless) the principal is built from the signed user ID, role and
+ * token version claims and only the token version is checked (see TokenVersionService);
+ * otherwise, and for tokens issued without these claims, the user is loaded on every request.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -23,28 +31,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Value("${jwt.stateless:true}")
+    private boolean stateless = true;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
         final String requestTokenHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwtToken = null;
+        JwtClaims claims = null;
         
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwtToken);
-            } catch (Exception e) {
+                claims = jwtUtil.verify(requestTokenHeader.substring(7));
+            } catch (JwtException | IllegalArgumentException e) {
                 logger.warn("Unable to get JWT Token or JWT Token has expired");
             }
         }
         
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (claims != null && claims.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = stateless && claims.isStateless()
+                ? authenticateFromClaims(claims)
+                : loadUser(claims);
             
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = 
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -54,4 +68,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Trust the signed claims; a revoked token version leaves the request unauthenticated
+     */
+    private UserDetails authenticateFromClaims(JwtClaims claims) {
+        if (!tokenVersionService.isCurrent(claims.userID(), claims.tokenVersion())) {
+            logger.debug("Rejected revoked JWT Token of user " + claims.userID());
+            return null;
+        }
+        return UserPrincipal.fromClaims(claims.userID(), claims.subject(), claims.role(), claims.tokenVersion());
+    }
+
+    private UserDetails loadUser(JwtClaims claims) {
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(claims.subject());
+        } catch (Exception e) {
+            logger.warn("Unable to load user of JWT Token");
+            return null;
+        }
+        // Tokens issued with a version are revoked by incrementing it, in either mode
+        if (claims.tokenVersion() != null && userDetails instanceof UserPrincipal principal
+                && claims.tokenVersion() != principal.getTokenVersion()) {
+            return null;
+        }
+        return userDetails;
+    }
+}
@@ -0,0 +1,23 @@
+package com.app.flashcard.shared.security;
+
+import com.app.flashcard.user.model.UserRole;
+
+import java.time.Instant;
+
+/**
+ * Verified contents of a token (see JwtUtil.verify).
+ * userID, role and tokenVersion are null for tokens issued before stateless authentication.
+ */
+public record JwtClaims(String subject, Long userID, UserRole role, Integer tokenVersion, Instant expiresAt) {
+
+    /**
+     * Whether the token carries everything needed to authenticate without loading the user
+     */
+    public boolean isStateless() {
+        return subject != null && userID != null && role != null && tokenVersion != null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -1,58 +1,125 @@
 package com.app.flashcard.shared.security;
 
+import com.app.flashcard.user.model.UserRole;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * Issues and verifies tokens.
+ * The signing key and parser are built once. Each token is parsed once into JwtClaims, and
+ * recently verified tokens are remembered by their SHA-256 digest until they expire, so repeat
+ * requests of a session skip signature verification and JSON parsing.
+ */
 @Component
 public class JwtUtil {
 
+    // Claims trusted by stateless authentication (see JwtAuthenticationFilter)
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize = 10000;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    private final ConcurrentMap<TokenDigest, JwtClaims> verified = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+
+        static TokenDigest of(String token) {
+            ByteBuffer digest = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+            return new TokenDigest(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        }
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Verify a token
+     * @param token Compact JWT
+     * @return Claims of a correctly signed, unexpired token
+     * @throws JwtException if the token is invalid or expired
+     */
+    public JwtClaims verify(String token) {
+        TokenDigest digest = verifiedCacheSize > 0 ? TokenDigest.of(token) : null;
+        Instant now = Instant.now();
+        if (digest != null) {
+            JwtClaims cached = verified.get(digest);
+            if (cached != null) {
+                if (!cached.isExpired(now)) {
+                    return cached;
+                }
+                verified.remove(digest, cached);
+            }
+        }
+
+        JwtClaims claims = toJwtClaims(extractAllClaims(token));
+        if (digest != null) {
+            if (verified.size() >= verifiedCacheSize) {
+                evict(now);
+            }
+            verified.put(digest, claims);
+        }
+        return claims;
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public String extractUsername(String token) {
+        return verify(token).subject();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Date extractExpiration(String token) {
+        Instant expiresAt = verify(token).expiresAt();
+        return expiresAt != null ? Date.from(expiresAt) : null;
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Claims extractAllClaims(String token) {
+        // Rejects bad signatures and expired tokens
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof UserPrincipal principal) {
+            claims.put(CLAIM_USER_ID, principal.getUserID());
+            claims.put(CLAIM_ROLE, principal.getRole().name());
+            claims.put(CLAIM_TOKEN_VERSION, principal.getTokenVersion());
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -62,21 +129,54 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        try {
+            return verify(token).subject().equals(userDetails.getUsername());
+        } catch (JwtException e) {
+            return false;
+        }
     }
 
     public Boolean isTokenValid(String token) {
         try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token);
-            return !isTokenExpired(token);
+            verify(token);
+            return true;
         } catch (JwtException e) {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private static JwtClaims toJwtClaims(Claims claims) {
+        Object userID = claims.get(CLAIM_USER_ID);
+        Object role = claims.get(CLAIM_ROLE);
+        Object tokenVersion = claims.get(CLAIM_TOKEN_VERSION);
+        UserRole userRole = null;
+        if (role instanceof String name) {
+            try {
+                userRole = UserRole.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw new MalformedJwtException("Unknown role claim: " + name);
+            }
+        }
+        return new JwtClaims(
+            claims.getSubject(),
+            userID instanceof Number number ? number.longValue() : null,
+            userRole,
+            tokenVersion instanceof Number number ? number.intValue() : null,
+            claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    /**
+     * Make room in the verified-token cache: expired tokens first, otherwise start over
+     */
+    private void evict(Instant now) {
+        verified.values().removeIf(claims -> claims.isExpired(now));
+        if (verified.size() >= verifiedCacheSize) {
+            verified.clear();
+        }
+    }
+}
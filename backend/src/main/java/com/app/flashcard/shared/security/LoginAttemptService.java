@@ -1,112 +1,123 @@
 package com.app.flashcard.shared.security;
 
+import com.app.flashcard.shared.ratelimit.SlidingWindowRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Service to track and limit login attempts to prevent brute force attacks
+ * Service to track and limit login attempts to prevent brute force attacks.
+ * Failed attempts are counted over a sliding window per client IP and per account; reaching
+ * either limit blocks further attempts for the block period. Both limiters track a bounded
+ * number of keys, so a burst from many addresses cannot grow memory without limit.
  */
 @Service
 public class LoginAttemptService {
     
-    private static final int MAX_ATTEMPTS = 5;
-    private static final int BLOCK_DURATION_MINUTES = 15;
+    private final SlidingWindowRateLimiter ipAttempts;
+    private final SlidingWindowRateLimiter accountAttempts;
     
-    // Store login attempts by IP address
-    private final ConcurrentMap<String, AttemptInfo> attemptCache = new ConcurrentHashMap<>();
+    public LoginAttemptService(
+            @Value("${flashcard.security.login-attempts.max-per-ip:5}") int maxPerIp,
+            @Value("${flashcard.security.login-attempts.max-per-account:10}") int maxPerAccount,
+            @Value("${flashcard.security.login-attempts.window-minutes:15}") long windowMinutes,
+            @Value("${flashcard.security.login-attempts.block-minutes:15}") long blockMinutes,
+            @Value("${flashcard.security.login-attempts.max-tracked-keys:100000}") int maxTrackedKeys) {
+        long window = TimeUnit.MINUTES.toMillis(windowMinutes);
+        long block = TimeUnit.MINUTES.toMillis(blockMinutes);
+        this.ipAttempts = new SlidingWindowRateLimiter(maxPerIp, window, block, maxTrackedKeys);
+        this.accountAttempts = new SlidingWindowRateLimiter(maxPerAccount, window, block, maxTrackedKeys);
+    }
     
     /**
      * Check if an IP address is blocked due to too many failed attempts
      */
     public boolean isBlocked(String ipAddress) {
-        AttemptInfo info = attemptCache.get(ipAddress);
-        if (info == null) {
-            return false;
-        }
-        
-        // Check if block has expired
-        if (info.blockedUntil != null && LocalDateTime.now().isAfter(info.blockedUntil)) {
-            // Block expired, reset attempts
-            attemptCache.remove(ipAddress);
-            return false;
-        }
-        
-        return info.blockedUntil != null;
+        return ipAttempts.blockedForMillis(ipAddress) > 0;
+    }
+    
+    /**
+     * Check if an IP address or the account being logged into is blocked
+     */
+    public boolean isBlocked(String ipAddress, String loginId) {
+        return isBlocked(ipAddress) || accountAttempts.blockedForMillis(accountKey(loginId)) > 0;
     }
     
     /**
      * Register a failed login attempt
      */
     public void registerFailedAttempt(String ipAddress) {
-        AttemptInfo info = attemptCache.computeIfAbsent(ipAddress, k -> new AttemptInfo());
-        
-        info.attempts++;
-        info.lastAttempt = LocalDateTime.now();
-        
-        // Block IP if max attempts reached
-        if (info.attempts >= MAX_ATTEMPTS) {
-            info.blockedUntil = LocalDateTime.now().plus(BLOCK_DURATION_MINUTES, ChronoUnit.MINUTES);
-        }
+        ipAttempts.hit(ipAddress);
+    }
+    
+    /**
+     * Register a failed login attempt for both the IP address and the account
+     */
+    public void registerFailedAttempt(String ipAddress, String loginId) {
+        ipAttempts.hit(ipAddress);
+        accountAttempts.hit(accountKey(loginId));
     }
     
     /**
      * Register a successful login (reset attempts for this IP)
      */
     public void registerSuccessfulAttempt(String ipAddress) {
-        attemptCache.remove(ipAddress);
+        ipAttempts.reset(ipAddress);
+    }
+    
+    /**
+     * Register a successful login (reset attempts for this IP and account)
+     */
+    public void registerSuccessfulAttempt(String ipAddress, String loginId) {
+        ipAttempts.reset(ipAddress);
+        accountAttempts.reset(accountKey(loginId));
     }
     
     /**
      * Get remaining attempts before block
      */
     public int getRemainingAttempts(String ipAddress) {
-        AttemptInfo info = attemptCache.get(ipAddress);
-        if (info == null) {
-            return MAX_ATTEMPTS;
-        }
-        
-        if (isBlocked(ipAddress)) {
-            return 0;
-        }
-        
-        return Math.max(0, MAX_ATTEMPTS - info.attempts);
+        return ipAttempts.remaining(ipAddress);
+    }
+    
+    /**
+     * Get remaining attempts before the IP address or the account is blocked
+     */
+    public int getRemainingAttempts(String ipAddress, String loginId) {
+        return Math.min(ipAttempts.remaining(ipAddress), accountAttempts.remaining(accountKey(loginId)));
     }
     
     /**
      * Get minutes until block expires
      */
     public long getBlockRemainingMinutes(String ipAddress) {
-        AttemptInfo info = attemptCache.get(ipAddress);
-        if (info == null || info.blockedUntil == null) {
-            return 0;
-        }
-        
-        return ChronoUnit.MINUTES.between(LocalDateTime.now(), info.blockedUntil);
+        return toMinutes(ipAttempts.blockedForMillis(ipAddress));
     }
     
     /**
-     * Clean up expired entries (should be called periodically)
+     * Get minutes until neither the IP address nor the account is blocked
      */
-    public void cleanupExpiredEntries() {
-        LocalDateTime now = LocalDateTime.now();
-        attemptCache.entrySet().removeIf(entry -> {
-            AttemptInfo info = entry.getValue();
-            // Remove if blocked time has expired or if last attempt was more than 24 hours ago
-            return (info.blockedUntil != null && now.isAfter(info.blockedUntil)) ||
-                   (info.lastAttempt != null && ChronoUnit.HOURS.between(info.lastAttempt, now) > 24);
-        });
+    public long getBlockRemainingMinutes(String ipAddress, String loginId) {
+        return toMinutes(Math.max(ipAttempts.blockedForMillis(ipAddress),
+            accountAttempts.blockedForMillis(accountKey(loginId))));
     }
     
     /**
-     * Internal class to store attempt information
+     * Clean up expired entries (should be called periodically; only visits entries that came due)
      */
-    private static class AttemptInfo {
-        int attempts = 0;
-        LocalDateTime lastAttempt;
-        LocalDateTime blockedUntil;
+    public void cleanupExpiredEntries() {
+        ipAttempts.expire();
+        accountAttempts.expire();
+    }
+    
+    private static String accountKey(String loginId) {
+        return loginId == null ? "" : loginId.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static long toMinutes(long millis) {
+        // Round up so a block ending in 30 seconds is not reported as 0 minutes
+        return (millis + TimeUnit.MINUTES.toMillis(1) - 1) / TimeUnit.MINUTES.toMillis(1);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package com.app.flashcard.shared.security;
+
+import com.app.flashcard.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revocation check for stateless tokens.
+ * Every token carries the user's token version; a token is accepted while its version matches
+ * the current one. Current versions are cached per user for jwt.token-version-cache-seconds, so
+ * the common request needs no database round trip. Revocations made on this instance apply
+ * immediately after commit, revocations made elsewhere within the cache period.
+ */
+@Service
+public class TokenVersionService {
+
+    // Version of users that no longer exist; never matches a token
+    private static final int UNKNOWN_USER = -1;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.token-version-cache-seconds:60}")
+    private long cacheSeconds = 60;
+
+    @Value("${jwt.token-version-cache-size:100000}")
+    private int maxEntries = 100000;
+
+    private final ConcurrentMap<Long, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    private record CachedVersion(int version, long loadedAt) {
+
+        // Versions only grow, so the higher one is always current
+        static CachedVersion newer(CachedVersion a, CachedVersion b) {
+            if (a.version != b.version) {
+                return a.version > b.version ? a : b;
+            }
+            return a.loadedAt - b.loadedAt >= 0 ? a : b;
+        }
+    }
+
+    /**
+     * Check a token version against the user's current version
+     * @param userID User ID from the token
+     * @param tokenVersion Token version from the token
+     * @return true if the token has not been revoked
+     */
+    public boolean isCurrent(long userID, int tokenVersion) {
+        long now = System.nanoTime();
+        CachedVersion cached = versions.get(userID);
+        if (cached == null || now - cached.loadedAt > TimeUnit.SECONDS.toNanos(cacheSeconds)) {
+            cached = remember(userID, load(userID), now);
+        }
+        return cached.version == tokenVersion;
+    }
+
+    /**
+     * Revoke every token of a user issued so far.
+     * Joins the caller's transaction; the local cache is updated after commit.
+     * @param userID User ID
+     * @return New token version
+     */
+    public int revokeTokens(long userID) {
+        userRepository.incrementTokenVersion(userID);
+        int version = load(userID);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(userID, version, System.nanoTime());
+                }
+            });
+        } else {
+            remember(userID, version, System.nanoTime());
+        }
+        return version;
+    }
+
+    private int load(long userID) {
+        return userRepository.findTokenVersionById(userID).orElse(UNKNOWN_USER);
+    }
+
+    private CachedVersion remember(long userID, int version, long now) {
+        if (versions.size() >= maxEntries) {
+            long cutoff = now - TimeUnit.SECONDS.toNanos(cacheSeconds);
+            versions.values().removeIf(entry -> entry.loadedAt - cutoff < 0);
+            if (versions.size() >= maxEntries) {
+                versions.clear();
+            }
+        }
+        return versions.merge(userID, new CachedVersion(version, now), CachedVersion::newer);
+    }
+}
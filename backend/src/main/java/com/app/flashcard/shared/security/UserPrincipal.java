@@ -1,40 +1,72 @@
 package com.app.flashcard.shared.security;
 
 import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.model.UserRole;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.Collections;
+import java.util.List;
 
 /**
  * Spring Security UserDetails implementation that wraps our User entity.
  * This class bridges our domain model with Spring Security's authentication system.
+ * Principals of stateless JWT requests are built from the token claims and carry no User entity.
  */
 public class UserPrincipal implements UserDetails {
 
     private final User user;
+    private final Long userID;
+    private final String username;
+    private final UserRole role;
+    private final int tokenVersion;
 
     public UserPrincipal(User user) {
         this.user = user;
+        this.userID = user.getUserID();
+        this.username = user.getUserLoginID();
+        this.role = user.getRole() != null ? user.getRole() : UserRole.USER;
+        this.tokenVersion = user.getTokenVersion();
+    }
+
+    private UserPrincipal(Long userID, String username, UserRole role, int tokenVersion) {
+        this.user = null;
+        this.userID = userID;
+        this.username = username;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+    }
+
+    /**
+     * Build a principal from verified token claims, without loading the user
+     * @param userID User ID claim
+     * @param username Token subject
+     * @param role Role claim
+     * @param tokenVersion Token version claim
+     * @return Principal without User entity
+     */
+    public static UserPrincipal fromClaims(Long userID, String username, UserRole role, int tokenVersion) {
+        return new UserPrincipal(userID, username, role, tokenVersion);
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // For now, all users have the same role
-        // In future phases, this could be expanded for role-based access control
-        return Collections.singleton(new SimpleGrantedAuthority("ROLE_USER"));
+        // Every account is a user; other roles add their own authority
+        if (role == UserRole.USER) {
+            return List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        }
+        return List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_" + role.name()));
     }
 
     @Override
     public String getPassword() {
-        return user.getUserPW();
+        return user != null ? user.getUserPW() : null;
     }
 
     @Override
     public String getUsername() {
-        return user.getUserLoginID();
+        return username;
     }
 
     @Override
@@ -61,7 +93,7 @@ public class UserPrincipal implements UserDetails {
      * Get the underlying User entity.
      * This allows controllers to access user data through Spring Security context.
      * 
-     * @return User entity
+     * @return User entity, null for principals built from token claims
      */
     public User getUser() {
         return user;
@@ -73,7 +105,7 @@ public class UserPrincipal implements UserDetails {
      * @return User ID
      */
     public Long getUserId() {
-        return user.getUserID();
+        return userID;
     }
 
     /**
@@ -82,7 +114,7 @@ public class UserPrincipal implements UserDetails {
      * @return User name
      */
     public String getDisplayName() {
-        return user.getUserName();
+        return user != null ? user.getUserName() : username;
     }
 
     /**
@@ -91,6 +123,14 @@ public class UserPrincipal implements UserDetails {
      * @return User ID
      */
     public Long getUserID() {
-        return user.getUserID();
+        return userID;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.app.flashcard.shared.shadow;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets (1 us up to about 67 s).
+ * Percentiles are reported as the upper bound of the bucket they fall into, so at most 2x high.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKETS = 27;
+
+    // Bucket i counts latencies up to 2^i microseconds; the last one also takes everything above
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long micros = Math.max(1, (nanos + 999) / 1000);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros - 1));
+        counts.incrementAndGet(bucket);
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @param quantile Between 0 and 1, e.g. 0.99
+     * @return Upper bound in microseconds of the bucket holding the quantile, 0 when empty
+     */
+    public long percentileMicros(double quantile) {
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return 1L << i;
+            }
+        }
+        return 1L << (BUCKETS - 1);
+    }
+
+    /**
+     * @param prefix Key prefix, e.g. "shadowReads.card.findById.jpa."
+     */
+    public Map<String, Object> getStatistics(String prefix) {
+        long count = count();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put(prefix + "count", count);
+        statistics.put(prefix + "latencyMicros.avg", count == 0 ? 0.0 : totalNanos.sum() / 1000.0 / count);
+        statistics.put(prefix + "latencyMicros.p50", percentileMicros(0.5));
+        statistics.put(prefix + "latencyMicros.p90", percentileMicros(0.9));
+        statistics.put(prefix + "latencyMicros.p99", percentileMicros(0.99));
+        statistics.put(prefix + "latencyMicros.max", maxNanos.get() / 1000.0);
+        return statistics;
+    }
+}
@@ -0,0 +1,331 @@
+package com.app.flashcard.shared.shadow;
+
+import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.card.repository.CardRepository;
+import com.app.flashcard.card.repository.MyBatisCardRepository;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.repository.DeckMapper;
+import com.app.flashcard.deck.repository.DeckRepository;
+import com.app.flashcard.deck.repository.MyBatisDeckRepository;
+import com.app.flashcard.shared.cache.MapperCache;
+import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.repository.MyBatisUserRepository;
+import com.app.flashcard.user.repository.UserMapper;
+import com.app.flashcard.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Shadow reads for the JPA to MyBatis migration: a sampled fraction of service reads is run
+ * again against both the Spring Data JPA repositories and the MyBatis-backed ones, on a small
+ * background pool after the request's transaction completes. Results are compared field by
+ * field (differences are logged) and the latency of each query is recorded per backend.
+ * Which backend goes first is chosen at random, so neither always reads warm database buffers,
+ * and the MyBatis side bypasses the mapper caches.
+ * <p>
+ * Results that differ are read once more from both backends; a difference that disappears was
+ * a concurrent write and is only counted. Shadow reads never affect the request: failures are
+ * logged and counted, and samples are dropped when the queue is full.
+ */
+@Component
+public class ShadowReadService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShadowReadService.class);
+
+    private static final int MAX_LOGGED_LENGTH = 2000;
+
+    /**
+     * The repositories a shadow read may use, all from the same backend
+     */
+    public record Repositories(CardRepository cards, DeckRepository decks, UserRepository users) {
+    }
+
+    private final Repositories jpa;
+    private final Repositories myBatis;
+    private final TransactionTemplate transaction;
+    private final Executor executor;
+    private final ThreadPoolExecutor ownExecutor;
+    private final boolean enabled;
+    private final double sampleRate;
+
+    private final Map<String, QueryStatistics> queries = new ConcurrentHashMap<>();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private static class QueryStatistics {
+        final LongAdder matches = new LongAdder();
+        final LongAdder mismatches = new LongAdder();
+        final LongAdder transientMismatches = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LatencyHistogram jpa = new LatencyHistogram();
+        final LatencyHistogram myBatis = new LatencyHistogram();
+    }
+
+    @Autowired
+    public ShadowReadService(@Qualifier("cardRepository") CardRepository jpaCardRepository,
+                             @Qualifier("deckRepository") DeckRepository jpaDeckRepository,
+                             @Qualifier("userRepository") UserRepository jpaUserRepository,
+                             CardMapper cardMapper, DeckMapper deckMapper, UserMapper userMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${flashcard.persistence.shadow-reads.enabled:false}") boolean enabled,
+                             @Value("${flashcard.persistence.shadow-reads.sample-rate:0.01}") double sampleRate,
+                             @Value("${flashcard.persistence.shadow-reads.threads:1}") int threads,
+                             @Value("${flashcard.persistence.shadow-reads.queue-capacity:100}") int queueCapacity) {
+        this.jpa = new Repositories(jpaCardRepository, jpaDeckRepository, jpaUserRepository);
+        this.myBatis = new Repositories(new MyBatisCardRepository(cardMapper), new MyBatisDeckRepository(deckMapper),
+            new MyBatisUserRepository(userMapper));
+        this.transaction = readOnlyTransaction(transactionManager);
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.ownExecutor = enabled ? newExecutor(threads, queueCapacity) : null;
+        this.executor = ownExecutor;
+    }
+
+    ShadowReadService(Repositories jpa, Repositories myBatis, PlatformTransactionManager transactionManager,
+                      Executor executor, double sampleRate) {
+        this.jpa = jpa;
+        this.myBatis = myBatis;
+        this.transaction = readOnlyTransaction(transactionManager);
+        this.executor = executor;
+        this.ownExecutor = null;
+        this.enabled = true;
+        this.sampleRate = sampleRate;
+    }
+
+    private static ThreadPoolExecutor newExecutor(int threads, int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "shadow-read-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    private static TransactionTemplate readOnlyTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    /**
+     * Maybe shadow a read whose result order is significant
+     * @param query Name used in logs and statistics, e.g. "card.findById"
+     * @param read The read, run once per backend
+     */
+    public void sample(String query, Function<Repositories, ?> read) {
+        sample(query, read, true);
+    }
+
+    /**
+     * Maybe shadow a read
+     * @param query Name used in logs and statistics, e.g. "card.findById"
+     * @param read The read, run once per backend
+     * @param ordered false compares list results regardless of order (for orderings with ties)
+     */
+    public void sample(String query, Function<Repositories, ?> read, boolean ordered) {
+        if (!enabled || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        sampled.increment();
+        Runnable comparison = () -> compare(query, read, ordered);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Read what the request's transaction left behind, not a state it is still changing
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    submit(comparison);
+                }
+            });
+        } else {
+            submit(comparison);
+        }
+    }
+
+    private void submit(Runnable comparison) {
+        try {
+            executor.execute(comparison);
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    void compare(String query, Function<Repositories, ?> read, boolean ordered) {
+        QueryStatistics statistics = queries.computeIfAbsent(query, name -> new QueryStatistics());
+        try {
+            boolean jpaFirst = ThreadLocalRandom.current().nextBoolean();
+            Results first = runBoth(read, ordered, statistics, jpaFirst);
+            if (Objects.equals(first.jpa(), first.myBatis())) {
+                statistics.matches.increment();
+                return;
+            }
+            // Read again, in the other order, to tell a concurrent write from a real difference
+            Results retry = runBoth(read, ordered, statistics, !jpaFirst);
+            if (Objects.equals(retry.jpa(), retry.myBatis())) {
+                statistics.transientMismatches.increment();
+                return;
+            }
+            statistics.mismatches.increment();
+            logger.warn("Shadow read {} differs: jpa={} mybatis={}",
+                query, abbreviate(retry.jpa()), abbreviate(retry.myBatis()));
+        } catch (RuntimeException e) {
+            statistics.errors.increment();
+            logger.warn("Shadow read {} failed", query, e);
+        }
+    }
+
+    private record Results(Object jpa, Object myBatis) {
+    }
+
+    private Results runBoth(Function<Repositories, ?> read, boolean ordered, QueryStatistics statistics,
+                            boolean jpaFirst) {
+        if (jpaFirst) {
+            Object jpaResult = run(jpa, read, ordered, statistics.jpa);
+            return new Results(jpaResult, runMyBatis(read, ordered, statistics));
+        }
+        Object myBatisResult = runMyBatis(read, ordered, statistics);
+        return new Results(run(jpa, read, ordered, statistics.jpa), myBatisResult);
+    }
+
+    // Past the mapper caches, so the histogram compares database round trips on both sides
+    private Object runMyBatis(Function<Repositories, ?> read, boolean ordered, QueryStatistics statistics) {
+        return MapperCache.bypass(() -> run(myBatis, read, ordered, statistics.myBatis));
+    }
+
+    private Object run(Repositories repositories, Function<Repositories, ?> read, boolean ordered,
+                       LatencyHistogram histogram) {
+        long start = System.nanoTime();
+        // Normalized inside the transaction, while lazy JPA associations can still load
+        Object result = transaction.execute(status -> normalize(read.apply(repositories), ordered));
+        histogram.record(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Comparable form of a read result: entities become field maps (password hashes and
+     * user preferences excluded), Optional its value or null, collections lists.
+     */
+    static Object normalize(Object result, boolean ordered) {
+        if (result instanceof Optional<?> optional) {
+            return optional.map(value -> normalize(value, ordered)).orElse(null);
+        }
+        if (result instanceof Iterable<?> iterable) {
+            List<Object> values = new ArrayList<>();
+            iterable.forEach(value -> values.add(normalize(value, ordered)));
+            if (!ordered) {
+                values.sort(Comparator.comparing(String::valueOf));
+            }
+            return values;
+        }
+        if (result instanceof Card card) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("cardID", card.getCardID());
+            fields.put("deckID", card.getDeckID());
+            fields.put("fontContent", card.getFontContent());
+            fields.put("backContent", card.getBackContent());
+            fields.put("remindTime", card.getRemindTime());
+            fields.put("status", card.getStatus());
+            fields.put("intervalDays", card.getIntervalDays());
+            fields.put("easeFactor", card.getEaseFactor());
+            fields.put("stability", card.getStability());
+            fields.put("difficulty", card.getDifficulty());
+            return fields;
+        }
+        if (result instanceof Deck deck) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("deckID", deck.getDeckID());
+            fields.put("userID", deck.getUserID());
+            fields.put("deckName", deck.getDeckName());
+            fields.put("newCardNum", deck.getNewCardNum());
+            fields.put("learningCardNum", deck.getLearningCardNum());
+            fields.put("dueCardNum", deck.getDueCardNum());
+            return fields;
+        }
+        if (result instanceof User user) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("userID", user.getUserID());
+            fields.put("userLoginID", user.getUserLoginID());
+            fields.put("userName", user.getUserName());
+            fields.put("userAge", user.getUserAge());
+            fields.put("userMail", user.getUserMail());
+            fields.put("username", user.getUsername());
+            fields.put("email", user.getEmail());
+            fields.put("firstName", user.getFirstName());
+            fields.put("lastName", user.getLastName());
+            fields.put("dateOfBirth", user.getDateOfBirth());
+            fields.put("phoneNumber", user.getPhoneNumber());
+            fields.put("profilePicture", user.getProfilePicture());
+            fields.put("status", user.getStatus());
+            fields.put("role", user.getRole());
+            fields.put("failedLoginAttempts", user.getFailedLoginAttempts());
+            fields.put("lockedUntil", user.getLockedUntil());
+            fields.put("lastLoginAt", user.getLastLoginAt());
+            fields.put("tokenVersion", user.getTokenVersion());
+            fields.put("createdAt", user.getCreatedAt());
+            fields.put("updatedAt", user.getUpdatedAt());
+            return fields;
+        }
+        return result;
+    }
+
+    private static String abbreviate(Object value) {
+        String text = String.valueOf(value);
+        return text.length() <= MAX_LOGGED_LENGTH ? text : text.substring(0, MAX_LOGGED_LENGTH) + "...";
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("shadowReads.enabled", enabled);
+        statistics.put("shadowReads.sampleRate", sampleRate);
+        statistics.put("shadowReads.sampled", sampled.sum());
+        statistics.put("shadowReads.dropped", dropped.sum());
+        new TreeMap<>(queries).forEach((query, stats) -> {
+            String prefix = "shadowReads." + query + ".";
+            statistics.put(prefix + "matches", stats.matches.sum());
+            statistics.put(prefix + "mismatches", stats.mismatches.sum());
+            statistics.put(prefix + "transientMismatches", stats.transientMismatches.sum());
+            statistics.put(prefix + "errors", stats.errors.sum());
+            statistics.putAll(stats.jpa.getStatistics(prefix + "jpa."));
+            statistics.putAll(stats.myBatis.getStatistics(prefix + "mybatis."));
+        });
+        return statistics;
+    }
+
+    @Override
+    public void destroy() {
+        if (ownExecutor != null) {
+            ownExecutor.shutdownNow();
+        }
+    }
+}
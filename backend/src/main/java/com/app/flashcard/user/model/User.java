@@ -1,5 +1,6 @@
 package com.app.flashcard.user.model;
 
+import com.app.flashcard.shared.cache.MapperCacheEntityListener;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -10,6 +11,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Entity
+@EntityListeners(MapperCacheEntityListener.class)
 @Table(name = "users")
 public class User {
     @Id
@@ -69,6 +71,10 @@ public class User {
     @Column(name = "last_login_at")
     private LocalDateTime lastLoginAt;
     
+    // Carried in issued tokens; incremented to revoke every token issued before
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
+    
     // Audit fields
     @CreationTimestamp
     @Column(name = "created_at")
@@ -291,6 +297,14 @@ public class User {
         this.lastLoginAt = lastLoginAt;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
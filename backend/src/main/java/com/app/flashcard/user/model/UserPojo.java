@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import com.app.flashcard.user.model.UserStatus;
 import com.app.flashcard.user.model.UserRole;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -20,7 +21,9 @@ import java.util.HashMap;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UserPojo {
+public class UserPojo implements Serializable {
+
+    private static final long serialVersionUID = 1L;
     
     // Primary key
     private Long userID;
@@ -55,6 +58,9 @@ public class UserPojo {
     private LocalDateTime lockedUntil;
     private LocalDateTime lastLoginAt;
     
+    @Builder.Default
+    private int tokenVersion = 0;
+    
     // Audit fields
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
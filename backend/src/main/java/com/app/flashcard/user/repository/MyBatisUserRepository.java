@@ -0,0 +1,258 @@
+package com.app.flashcard.user.repository;
+
+import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.model.UserPojo;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * UserRepository served by UserMapper instead of Hibernate
+ * (selected with flashcard.persistence.backend=mybatis, see PersistenceBackendConfig).
+ * <p>
+ * Preferences are not mapped: no service reads or writes them, users are loaded with an empty map.
+ * Saving an existing user never writes its token version, that only changes through
+ * {@link #incrementTokenVersion}.
+ */
+@Transactional(readOnly = true)
+public class MyBatisUserRepository implements UserRepository {
+
+    private final UserMapper userMapper;
+
+    public MyBatisUserRepository(UserMapper userMapper) {
+        this.userMapper = userMapper;
+    }
+
+    @Override
+    public List<User> findByUserLoginID(String userLoginID) {
+        return toEntities(userMapper.findAllByUserLoginID(userLoginID));
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return Optional.ofNullable(userMapper.findByModernUsername(username)).map(MyBatisUserRepository::toEntity);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(userMapper.findByEmail(email)).map(MyBatisUserRepository::toEntity);
+    }
+
+    @Override
+    public Optional<User> findByLoginIdentifier(String loginIdentifier) {
+        return Optional.ofNullable(userMapper.findByLoginIdentifier(loginIdentifier)).map(MyBatisUserRepository::toEntity);
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return userMapper.existsByModernUsername(username);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return userMapper.existsByEmail(email);
+    }
+
+    @Override
+    public boolean existsByUserLoginID(String userLoginID) {
+        return userMapper.existsByUserLoginID(userLoginID);
+    }
+
+    @Override
+    public boolean existsByAnyLoginIdentifier(String identifier) {
+        return userMapper.existsByAnyLoginIdentifier(identifier);
+    }
+
+    @Override
+    public Optional<Integer> findTokenVersionById(Long userID) {
+        return Optional.ofNullable(userMapper.findTokenVersionById(userID));
+    }
+
+    @Override
+    @Transactional
+    public int incrementTokenVersion(Long userID) {
+        return userMapper.incrementTokenVersion(userID);
+    }
+
+    @Override
+    @Transactional
+    public int updatePasswordHash(Long userID, String passwordHash) {
+        return userMapper.updatePasswordHash(userID, passwordHash);
+    }
+
+    /**
+     * Nothing to do, every mapper statement is executed immediately
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Insert a user without ID (the generated ID is set on it), update any other.
+     * Sets the audit timestamps on the user like Hibernate does.
+     */
+    @Override
+    @Transactional
+    public <S extends User> S save(S user) {
+        Assert.notNull(user, "User must not be null");
+        LocalDateTime now = LocalDateTime.now();
+        DirectFieldAccessor fields = new DirectFieldAccessor(user);
+        if (user.getUserID() == null) {
+            fields.setPropertyValue("createdAt", now);
+            fields.setPropertyValue("updatedAt", now);
+            UserPojo pojo = toPojo(user);
+            userMapper.insert(pojo);
+            user.setUserID(pojo.getUserID());
+        } else {
+            if (userMapper.update(toPojo(user)) == 0) {
+                throw new ObjectOptimisticLockingFailureException(User.class, user.getUserID());
+            }
+            fields.setPropertyValue("updatedAt", now);
+        }
+        return user;
+    }
+
+    @Override
+    @Transactional
+    public <S extends User> Iterable<S> saveAll(Iterable<S> users) {
+        List<S> saved = new ArrayList<>();
+        for (S user : users) {
+            saved.add(save(user));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<User> findById(Long userID) {
+        Assert.notNull(userID, "User ID must not be null");
+        return Optional.ofNullable(userMapper.findById(userID)).map(MyBatisUserRepository::toEntity);
+    }
+
+    @Override
+    public boolean existsById(Long userID) {
+        return findById(userID).isPresent();
+    }
+
+    @Override
+    public Iterable<User> findAll() {
+        return toEntities(userMapper.findAll());
+    }
+
+    @Override
+    public Iterable<User> findAllById(Iterable<Long> userIDs) {
+        List<Long> ids = new ArrayList<>();
+        userIDs.forEach(ids::add);
+        return ids.isEmpty() ? new ArrayList<>() : toEntities(userMapper.findByIds(ids));
+    }
+
+    @Override
+    public long count() {
+        return userMapper.countUsers();
+    }
+
+    /**
+     * Deletes the user's preference rows first, like Hibernate does for the element collection
+     */
+    @Override
+    @Transactional
+    public void deleteById(Long userID) {
+        Assert.notNull(userID, "User ID must not be null");
+        userMapper.deleteAllPreferences(userID);
+        userMapper.deleteById(userID);
+    }
+
+    @Override
+    @Transactional
+    public void delete(User user) {
+        Assert.notNull(user, "User must not be null");
+        if (user.getUserID() != null) {
+            deleteById(user.getUserID());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllById(Iterable<? extends Long> userIDs) {
+        userIDs.forEach(this::deleteById);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll(Iterable<? extends User> users) {
+        users.forEach(this::delete);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll() {
+        userMapper.findAll().forEach(user -> deleteById(user.getUserID()));
+    }
+
+    /**
+     * Fields are set directly, like Hibernate does: the entity's setters keep the legacy and
+     * modern fields in sync and would overwrite one with the other.
+     */
+    public static User toEntity(UserPojo pojo) {
+        User user = new User();
+        DirectFieldAccessor fields = new DirectFieldAccessor(user);
+        fields.setPropertyValue("userID", pojo.getUserID());
+        fields.setPropertyValue("userLoginID", pojo.getUserLoginID());
+        fields.setPropertyValue("userPW", pojo.getUserPW());
+        fields.setPropertyValue("userName", pojo.getUserName());
+        fields.setPropertyValue("userAge", pojo.getUserAge());
+        fields.setPropertyValue("userMail", pojo.getUserMail());
+        fields.setPropertyValue("username", pojo.getModernUsername());
+        fields.setPropertyValue("email", pojo.getEmail());
+        fields.setPropertyValue("firstName", pojo.getFirstName());
+        fields.setPropertyValue("lastName", pojo.getLastName());
+        fields.setPropertyValue("dateOfBirth", pojo.getDateOfBirth());
+        fields.setPropertyValue("phoneNumber", pojo.getPhoneNumber());
+        fields.setPropertyValue("profilePicture", pojo.getProfilePicture());
+        fields.setPropertyValue("status", pojo.getStatus());
+        fields.setPropertyValue("role", pojo.getRole());
+        fields.setPropertyValue("failedLoginAttempts", pojo.getFailedLoginAttempts());
+        fields.setPropertyValue("lockedUntil", pojo.getLockedUntil());
+        fields.setPropertyValue("lastLoginAt", pojo.getLastLoginAt());
+        fields.setPropertyValue("tokenVersion", pojo.getTokenVersion());
+        fields.setPropertyValue("createdAt", pojo.getCreatedAt());
+        fields.setPropertyValue("updatedAt", pojo.getUpdatedAt());
+        return user;
+    }
+
+    public static UserPojo toPojo(User user) {
+        return UserPojo.builder()
+            .userID(user.getUserID())
+            .userLoginID(user.getUserLoginID())
+            .userPW(user.getUserPW())
+            .userName(user.getUserName())
+            .userAge(user.getUserAge())
+            .userMail(user.getUserMail())
+            .modernUsername(user.getUsername())
+            .email(user.getEmail())
+            .firstName(user.getFirstName())
+            .lastName(user.getLastName())
+            .dateOfBirth(user.getDateOfBirth())
+            .phoneNumber(user.getPhoneNumber())
+            .profilePicture(user.getProfilePicture())
+            .status(user.getStatus())
+            .role(user.getRole())
+            .failedLoginAttempts(user.getFailedLoginAttempts())
+            .lockedUntil(user.getLockedUntil())
+            .lastLoginAt(user.getLastLoginAt())
+            .tokenVersion(user.getTokenVersion())
+            .createdAt(user.getCreatedAt())
+            .updatedAt(user.getUpdatedAt())
+            .build();
+    }
+
+    private static List<User> toEntities(List<UserPojo> pojos) {
+        return pojos.stream().map(MyBatisUserRepository::toEntity).collect(Collectors.toList());
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +27,12 @@ public interface UserMapper {
     
     List<UserPojo> findAll();
     
+    List<UserPojo> findAllByUserLoginID(@Param("loginId") String loginId);
+    
+    List<UserPojo> findByIds(@Param("ids") Collection<Long> ids);
+    
+    UserPojo findByLoginIdentifier(@Param("loginIdentifier") String loginIdentifier);
+    
     int insert(UserPojo user);
     
     int update(UserPojo user);
@@ -39,6 +46,8 @@ public interface UserMapper {
     
     boolean existsByEmail(@Param("email") String email);
     
+    boolean existsByAnyLoginIdentifier(@Param("identifier") String identifier);
+    
     // Security related operations
     int updateFailedLoginAttempts(@Param("id") Long id, @Param("attempts") int attempts);
     
@@ -46,6 +55,12 @@ public interface UserMapper {
     
     int updateLastLoginAt(@Param("id") Long id, @Param("lastLoginAt") LocalDateTime lastLoginAt);
     
+    Integer findTokenVersionById(@Param("id") Long id);
+    
+    int incrementTokenVersion(@Param("id") Long id);
+    
+    int updatePasswordHash(@Param("id") Long id, @Param("passwordHash") String passwordHash);
+    
     // User preferences operations
     Map<String, String> findPreferences(@Param("userId") Long userId);
     
@@ -1,14 +1,18 @@
 package com.app.flashcard.user.repository;
 
 import com.app.flashcard.user.model.User;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends CrudRepository<User, Long> {
+    
+    // Write pending changes before a bulk update (the one JpaRepository method in use; see MyBatisUserRepository)
+    void flush();
     
     // Legacy methods (for backward compatibility)
     List<User> findByUserLoginID(String userLoginID);
@@ -29,4 +33,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Combined existence check for flexible registration
     @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.username = :identifier OR u.email = :identifier OR u.userLoginID = :identifier")
     boolean existsByAnyLoginIdentifier(@Param("identifier") String identifier);
-}
\ No newline at end of file
+    
+    // Token revocation (see TokenVersionService)
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.userID = :userID")
+    Optional<Integer> findTokenVersionById(@Param("userID") Long userID);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.userID = :userID")
+    int incrementTokenVersion(@Param("userID") Long userID);
+    
+    // Rehash on login (see BoundedPasswordEncoder)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.userPW = :passwordHash WHERE u.userID = :userID")
+    int updatePasswordHash(@Param("userID") Long userID, @Param("passwordHash") String passwordHash);
+}
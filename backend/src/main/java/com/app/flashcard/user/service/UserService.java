@@ -1,6 +1,11 @@
 package com.app.flashcard.user.service;
 
+import com.app.flashcard.shared.cache.MapperCacheManager;
+import com.app.flashcard.shared.security.TokenVersionService;
+import com.app.flashcard.shared.shadow.ShadowReadService;
 import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.model.UserStatus;
+import com.app.flashcard.user.repository.UserMapper;
 import com.app.flashcard.user.repository.UserRepository;
 import com.app.flashcard.shared.exception.EntityNotFoundException;
 import com.app.flashcard.shared.exception.ValidationException;
@@ -19,6 +24,17 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    // JPQL bulk updates bypass the entity listener that flushes the UserMapper cache
+    @Autowired
+    private MapperCacheManager mapperCacheManager;
+
+    // Compares a sample of these reads between JPA and MyBatis (see flashcard.persistence.shadow-reads)
+    @Autowired
+    private ShadowReadService shadowReads;
+
     // PasswordEncoder will be injected through method parameters to avoid circular dependency
 
     /**
@@ -75,6 +91,8 @@ public class UserService {
      * @return true if exists, false otherwise
      */
     public boolean isLoginIDExists(String loginID) {
+        shadowReads.sample("user.findByUserLoginID",
+            repositories -> repositories.users().findByUserLoginID(loginID), false);
         return userRepository.findByUserLoginID(loginID).iterator().hasNext();
     }
 
@@ -95,12 +113,56 @@ public class UserService {
         }
         
         User user = userOpt.get();
+        boolean passwordChanged = !password.equals(user.getUserPW());
         user.setUserPW(password);
         user.setUserName(name);
         user.setUserAge(age);
         user.setUserMail(email);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        if (passwordChanged) {
+            revokeTokens(userId);
+        }
+        return savedUser;
+    }
+
+    /**
+     * Change the account status; tokens issued before stop working
+     * @param userId User ID to update
+     * @param status New status
+     * @return Updated user
+     * @throws EntityNotFoundException if user not found
+     */
+    public User updateStatus(Long userId, UserStatus status) {
+        User user = findById(userId);
+        if (user.getStatus() == status) {
+            return user;
+        }
+        user.setStatus(status);
+        User savedUser = userRepository.save(user);
+        revokeTokens(userId);
+        return savedUser;
+    }
+
+    /**
+     * Replace the stored hash of an unchanged password (work factor upgrade);
+     * issued tokens stay valid
+     * @param userId User ID
+     * @param passwordHash New password hash
+     */
+    public void updatePasswordHash(Long userId, String passwordHash) {
+        userRepository.updatePasswordHash(userId, passwordHash);
+        mapperCacheManager.flush(UserMapper.class);
+    }
+
+    /**
+     * Revoke every token issued to a user so far (logout everywhere)
+     * @param userId User ID
+     */
+    public void revokeTokens(Long userId) {
+        userRepository.flush();
+        tokenVersionService.revokeTokens(userId);
+        mapperCacheManager.flush(UserMapper.class);
     }
 
     /**
@@ -111,6 +173,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public User findById(Long userID) {
+        shadowReads.sample("user.findById", repositories -> repositories.users().findById(userID));
         Optional<User> userOpt = userRepository.findById(userID);
         if (userOpt.isEmpty()) {
             throw new EntityNotFoundException("User not found with ID: " + userID);
@@ -126,6 +189,8 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public User findByLoginId(String loginId) {
+        shadowReads.sample("user.findByUserLoginID",
+            repositories -> repositories.users().findByUserLoginID(loginId), false);
         Iterator<User> users = userRepository.findByUserLoginID(loginId).iterator();
         if (!users.hasNext()) {
             throw new EntityNotFoundException("User not found with loginID: " + loginId);
@@ -168,6 +233,8 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public User findByUserLoginID(String userLoginID) {
+        shadowReads.sample("user.findByUserLoginID",
+            repositories -> repositories.users().findByUserLoginID(userLoginID), false);
         Iterator<User> users = userRepository.findByUserLoginID(userLoginID).iterator();
         return users.hasNext() ? users.next() : null;
     }
@@ -179,6 +246,8 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public boolean existsByUserLoginID(String userLoginID) {
+        shadowReads.sample("user.findByUserLoginID",
+            repositories -> repositories.users().findByUserLoginID(userLoginID), false);
         return userRepository.findByUserLoginID(userLoginID).iterator().hasNext();
     }
 
@@ -200,6 +269,8 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public User findByLoginIdentifier(String loginIdentifier) {
+        shadowReads.sample("user.findByLoginIdentifier",
+            repositories -> repositories.users().findByLoginIdentifier(loginIdentifier));
         return userRepository.findByLoginIdentifier(loginIdentifier).orElse(null);
     }
     
@@ -210,6 +281,8 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public boolean existsByAnyLoginIdentifier(String identifier) {
+        shadowReads.sample("user.existsByAnyLoginIdentifier",
+            repositories -> repositories.users().existsByAnyLoginIdentifier(identifier));
         return userRepository.existsByAnyLoginIdentifier(identifier);
     }
     
@@ -220,6 +293,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public User findByUsername(String username) {
+        shadowReads.sample("user.findByUsername", repositories -> repositories.users().findByUsername(username));
         return userRepository.findByUsername(username).orElse(null);
     }
     
@@ -230,6 +304,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public User findByEmail(String email) {
+        shadowReads.sample("user.findByEmail", repositories -> repositories.users().findByEmail(email));
         return userRepository.findByEmail(email).orElse(null);
     }
     
@@ -240,6 +315,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
+        shadowReads.sample("user.existsByUsername", repositories -> repositories.users().existsByUsername(username));
         return userRepository.existsByUsername(username);
     }
     
@@ -250,6 +326,7 @@ public class UserService {
      */
     @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
+        shadowReads.sample("user.existsByEmail", repositories -> repositories.users().existsByEmail(email));
         return userRepository.existsByEmail(email);
     }
 }
\ No newline at end of file
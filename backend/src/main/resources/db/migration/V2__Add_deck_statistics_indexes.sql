@@ -0,0 +1,6 @@
+-- Migration V2: Indexes backing the aggregated deck statistics query
+-- DeckMapper.findStatisticsByUserId joins deck -> card and counts cards per status bucket
+-- in a single grouped pass, so both sides of the join need to be index-driven.
+
+CREATE INDEX IF NOT EXISTS idx_deck_user ON deck ("UserID");
+CREATE INDEX IF NOT EXISTS idx_card_deck_status ON card ("DeckID", "Status");
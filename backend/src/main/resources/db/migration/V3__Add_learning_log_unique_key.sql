@@ -0,0 +1,24 @@
+-- Migration V3: One learning log row per (deck, user, day)
+-- LearningLogMapper increments the daily counter with INSERT ... ON CONFLICT DO UPDATE,
+-- which needs a unique key. Duplicates left behind by the old read-then-write path are
+-- merged first, summing their counters into the lowest logID.
+
+UPDATE "learningLog" keep
+SET "learnTime" = dup.total
+FROM (
+    SELECT MIN("logID") AS keep_id, SUM("learnTime") AS total
+    FROM "learningLog"
+    GROUP BY "deckID", "userID", "logTime"
+    HAVING COUNT(*) > 1
+) dup
+WHERE keep."logID" = dup.keep_id;
+
+DELETE FROM "learningLog" l
+USING "learningLog" k
+WHERE l."deckID" = k."deckID"
+  AND l."userID" = k."userID"
+  AND l."logTime" = k."logTime"
+  AND l."logID" > k."logID";
+
+ALTER TABLE "learningLog"
+    ADD CONSTRAINT uk_learning_log_deck_user_day UNIQUE ("deckID", "userID", "logTime");
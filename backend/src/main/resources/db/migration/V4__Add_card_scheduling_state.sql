@@ -0,0 +1,8 @@
+-- Migration V4: Per-card state for the pluggable scheduling algorithms
+-- IntervalDays is used by every algorithm, EaseFactor by SM-2, Stability and Difficulty by FSRS.
+-- Zero means "not reviewed by this algorithm yet"; existing cards keep their legacy Status.
+
+ALTER TABLE card ADD COLUMN IF NOT EXISTS "IntervalDays" INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE card ADD COLUMN IF NOT EXISTS "EaseFactor" DOUBLE PRECISION NOT NULL DEFAULT 0;
+ALTER TABLE card ADD COLUMN IF NOT EXISTS "Stability" DOUBLE PRECISION NOT NULL DEFAULT 0;
+ALTER TABLE card ADD COLUMN IF NOT EXISTS "Difficulty" DOUBLE PRECISION NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Migration V5: Index backing the due-count forecast
+-- CardMapper.countDueByDeckAndDay groups a user's cards by deck and remind day; with
+-- ("DeckID", "RemindTime") each deck's range up to the horizon is read from the index alone.
+
+CREATE INDEX IF NOT EXISTS idx_card_deck_remind ON card ("DeckID", "RemindTime");
@@ -0,0 +1,6 @@
+-- Migration V6: Index backing keyset pagination of a deck's cards
+-- CardMapper.findPageByDeck seeks to ("RemindTime", "CardID") > cursor within a deck and reads the
+-- next page in index order. The new index also covers the forecast query, so it replaces V5's index.
+
+CREATE INDEX IF NOT EXISTS idx_card_deck_remind_id ON card ("DeckID", "RemindTime", "CardID");
+DROP INDEX IF EXISTS idx_card_deck_remind;
@@ -0,0 +1,13 @@
+-- Migration V7: Indexes backing card search (CardMapper.searchCards)
+-- Word and prefix matches use a GIN index on the cards' text search document; the expression must
+-- stay identical to the "cardSearchDocument" fragment in CardMapper.xml for the planner to use it.
+-- Substring matches (LIKE '%term%' on the lower-cased sides) use pg_trgm GIN indexes.
+-- The 'simple' configuration does no stemming or stop-word removal, so it works for any language.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_card_search_document ON card USING GIN (
+    to_tsvector('simple'::regconfig, COALESCE("FontContent", '') || ' ' || COALESCE("BackContent", ''))
+);
+CREATE INDEX IF NOT EXISTS idx_card_front_trgm ON card USING GIN (LOWER("FontContent") gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_card_back_trgm ON card USING GIN (LOWER("BackContent") gin_trgm_ops);
@@ -0,0 +1,5 @@
+-- Migration V8: Token version for stateless JWT authentication
+-- Issued tokens carry the user's token version; incrementing it revokes every token issued before
+-- (password, status or role change) without a per-request user lookup.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
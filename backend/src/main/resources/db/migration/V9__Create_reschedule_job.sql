@@ -0,0 +1,21 @@
+-- Migration V9: Bulk rescheduling jobs (RescheduleJob entity)
+-- Each job keeps its checkpoint, the last fully written CardID, with processed and updated counts,
+-- so a failed or interrupted run resumes where it stopped. Unfinished jobs are looked up by status
+-- when the application starts.
+
+CREATE TABLE IF NOT EXISTS "rescheduleJob" (
+    "jobID" SERIAL PRIMARY KEY,
+    "scope" VARCHAR(255) CHECK ("scope" IN ('DECK', 'USER', 'ALL')),
+    "scopeID" INTEGER,
+    "requestedBy" INTEGER,
+    "algorithm" VARCHAR(255),
+    "status" VARCHAR(255) CHECK ("status" IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+    "lastCardID" INTEGER NOT NULL DEFAULT 0,
+    "processedCount" BIGINT NOT NULL DEFAULT 0,
+    "updatedCount" BIGINT NOT NULL DEFAULT 0,
+    "startedAt" TIMESTAMP(6),
+    "finishedAt" TIMESTAMP(6),
+    "errorMessage" VARCHAR(1000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_reschedule_job_status ON "rescheduleJob" ("status");
@@ -0,0 +1,219 @@
+package com.app.flashcard;
+
+import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.card.repository.CardRepository;
+import com.app.flashcard.card.repository.MyBatisCardRepository;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.repository.DeckMapper;
+import com.app.flashcard.deck.repository.DeckRepository;
+import com.app.flashcard.deck.repository.MyBatisDeckRepository;
+import com.app.flashcard.shared.cache.MapperCacheManager;
+import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.repository.MyBatisUserRepository;
+import com.app.flashcard.user.repository.UserMapper;
+import com.app.flashcard.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Side-by-side latency and allocation per repository operation, JPA against MyBatis, on the
+ * configured database. Run with ./gradlew benchmark (excluded from the regular test task).
+ * <p>
+ * Every call runs in its own transaction, like a service call. The MyBatis second-level caches
+ * are flushed before each call, so both backends go to the database every time.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "flashcard.persistence.backend=jpa")
+class PersistenceBackendBenchmarkTest {
+
+    private static final int CARDS = 200;
+    private static final int WARMUP = 300;
+    private static final int ITERATIONS = 2000;
+
+    @Autowired
+    private CardRepository jpaCardRepository;
+
+    @Autowired
+    private DeckRepository jpaDeckRepository;
+
+    @Autowired
+    private UserRepository jpaUserRepository;
+
+    @Autowired
+    private CardMapper cardMapper;
+
+    @Autowired
+    private DeckMapper deckMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private MapperCacheManager mapperCacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Backend jpa;
+    private Backend myBatis;
+
+    private User user;
+    private Deck deck;
+    private Card card;
+
+    private record Backend(String name, CardRepository cards, DeckRepository decks, UserRepository users) {
+    }
+
+    private record Result(String operation, String backend, double meanMicros, double p50Micros,
+                          double p99Micros, long bytesPerOperation) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        jpa = new Backend("jpa", jpaCardRepository, jpaDeckRepository, jpaUserRepository);
+        myBatis = new Backend("mybatis", new MyBatisCardRepository(cardMapper),
+            new MyBatisDeckRepository(deckMapper), new MyBatisUserRepository(userMapper));
+
+        String name = "bench" + UUID.randomUUID().toString().substring(0, 8);
+        user = transaction.execute(status -> jpaUserRepository.save(
+            new User().setByUserData(name, "not-a-hash", "Bench Mark", 30, name + "@example.com")));
+        Deck newDeck = new Deck();
+        newDeck.setUserID(user.getUserID().intValue());
+        newDeck.setDeckName("Benchmark deck");
+        deck = transaction.execute(status -> jpaDeckRepository.save(newDeck));
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < CARDS; i++) {
+            Card newCard = new Card();
+            newCard.setDeckID(deck.getDeckID());
+            newCard.setFontContent("Front " + i);
+            newCard.setBackContent("Back " + i);
+            newCard.setRemindTime(LocalDate.now().plusDays(i % 30));
+            newCard.setStatus(i % 25);
+            cards.add(newCard);
+        }
+        transaction.executeWithoutResult(status -> jpaCardRepository.saveAll(cards));
+        card = cards.get(CARDS / 2);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transaction.executeWithoutResult(status -> {
+            jpaCardRepository.deleteAll(jpaCardRepository.findByDeckIDOrderByRemindTimeAsc(deck.getDeckID()));
+            jpaDeckRepository.deleteById(deck.getDeckID());
+            jpaUserRepository.deleteById(user.getUserID());
+        });
+    }
+
+    @Test
+    void benchmarkRepositoryOperations() {
+        int deckID = deck.getDeckID();
+        int userID = user.getUserID().intValue();
+        String login = user.getUsername();
+
+        // Both backends must agree before their timings mean anything
+        for (Function<Backend, Object> read : List.<Function<Backend, Object>>of(
+                backend -> describe(backend.cards().findById(card.getCardID()).orElseThrow()),
+                backend -> backend.cards().findByDeckIDOrderByRemindTimeAsc(deckID).stream()
+                    .map(Card::getRemindTime).collect(Collectors.toList()),
+                backend -> backend.cards().countLearningCardNum(deckID),
+                backend -> backend.users().findByLoginIdentifier(login).orElseThrow().getEmail())) {
+            assertEquals(inTransaction(read, jpa), inTransaction(read, myBatis));
+        }
+
+        Map<String, Function<Backend, Object>> operations = new LinkedHashMap<>();
+        operations.put("card.findById", b -> b.cards().findById(card.getCardID()));
+        operations.put("card.findOwnedById", b -> b.cards().findOwnedById(card.getCardID(), userID));
+        operations.put("card.findByDeckIDOrderByRemindTimeAsc (" + CARDS + " rows)",
+            b -> b.cards().findByDeckIDOrderByRemindTimeAsc(deckID));
+        operations.put("card.countNewCardNum", b -> b.cards().countNewCardNum(deckID));
+        operations.put("card.save (update)", b -> {
+            Card loaded = b.cards().findById(card.getCardID()).orElseThrow();
+            loaded.setBackContent("Back " + System.nanoTime());
+            return b.cards().save(loaded);
+        });
+        operations.put("card.save (insert) + deleteById", b -> {
+            Card newCard = new Card();
+            newCard.setDeckID(deckID);
+            newCard.setFontContent("Temporary");
+            Card saved = b.cards().save(newCard);
+            b.cards().deleteById(saved.getCardID());
+            return saved;
+        });
+        operations.put("deck.findByUserID", b -> b.decks().findByUserID(userID));
+        operations.put("user.findByLoginIdentifier", b -> b.users().findByLoginIdentifier(login));
+        operations.put("user.findTokenVersionById", b -> b.users().findTokenVersionById(user.getUserID()));
+
+        List<Result> results = new ArrayList<>();
+        operations.forEach((operation, call) -> {
+            results.add(measure(operation, jpa, call));
+            results.add(measure(operation, myBatis, call));
+        });
+        print(results);
+    }
+
+    private Result measure(String operation, Backend backend, Function<Backend, Object> call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            inTransaction(call, backend);
+        }
+        long[] nanos = new long[ITERATIONS];
+        long allocated = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            flushMapperCaches();
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            inTransaction(call, backend);
+            nanos[i] = System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        }
+        Arrays.sort(nanos);
+        return new Result(operation, backend.name(), Arrays.stream(nanos).average().orElse(0) / 1000.0,
+            nanos[ITERATIONS / 2] / 1000.0, nanos[(int) (ITERATIONS * 0.99)] / 1000.0, allocated / ITERATIONS);
+    }
+
+    private Object inTransaction(Function<Backend, Object> call, Backend backend) {
+        return transaction.execute(status -> call.apply(backend));
+    }
+
+    private void flushMapperCaches() {
+        mapperCacheManager.flush(CardMapper.class);
+        mapperCacheManager.flush(UserMapper.class);
+    }
+
+    private static String describe(Card card) {
+        return card.getCardID() + "|" + card.getDeckID() + "|" + card.getFontContent() + "|" + card.getBackContent()
+            + "|" + card.getRemindTime() + "|" + card.getStatus() + "|" + card.getIntervalDays();
+    }
+
+    private static void print(List<Result> results) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-52s %-8s %10s %10s %10s %12s%n",
+            "operation", "backend", "mean us", "p50 us", "p99 us", "bytes/op"));
+        results.forEach(result -> table.append(String.format(Locale.ROOT, "%-52s %-8s %10.1f %10.1f %10.1f %12d%n",
+                result.operation(), result.backend(), result.meanMicros(), result.p50Micros(),
+                result.p99Micros(), result.bytesPerOperation())));
+        System.out.println(table);
+    }
+}
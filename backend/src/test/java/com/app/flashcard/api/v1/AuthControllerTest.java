@@ -0,0 +1,114 @@
+package com.app.flashcard.api.v1;
+
+import com.app.flashcard.api.dto.request.LoginRequest;
+import com.app.flashcard.api.dto.response.ApiResponse;
+import com.app.flashcard.api.dto.response.LoginResponse;
+import com.app.flashcard.shared.security.JwtUtil;
+import com.app.flashcard.shared.security.LoginAttemptService;
+import com.app.flashcard.shared.security.PasswordHashingBusyException;
+import com.app.flashcard.shared.security.UserPrincipal;
+import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.model.UserStatus;
+import com.app.flashcard.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthControllerTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
+    @InjectMocks
+    private AuthController authController;
+
+    private User user;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setUserID(7L);
+        user.setUserLoginID("alice");
+        user.setUserName("Alice");
+        user.setUserMail("alice@example.com");
+        user.setStatus(UserStatus.ACTIVE);
+
+        request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+    }
+
+    @Test
+    void testLogin_BuildsResponseFromAuthenticatedPrincipal() {
+        UserPrincipal principal = new UserPrincipal(user);
+        Authentication authentication =
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authentication);
+        when(jwtUtil.generateToken(principal)).thenReturn("token");
+
+        ResponseEntity<ApiResponse<LoginResponse>> response =
+            authController.login(new LoginRequest("alice", "secret1"), request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        LoginResponse body = response.getBody().getData();
+        assertEquals("token", body.getToken());
+        assertEquals(7L, body.getUser().getId());
+        assertEquals("alice", body.getUser().getLoginId());
+        assertEquals("alice@example.com", body.getUser().getEmail());
+
+        verify(authenticationManager, times(1)).authenticate(any(Authentication.class));
+        verify(loginAttemptService).registerSuccessfulAttempt("10.0.0.1", "alice");
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void testLogin_BadCredentials_RegistersFailure() {
+        when(authenticationManager.authenticate(any(Authentication.class)))
+            .thenThrow(new BadCredentialsException("Bad credentials"));
+
+        ResponseEntity<ApiResponse<LoginResponse>> response =
+            authController.login(new LoginRequest("alice", "wrong12"), request);
+
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verify(loginAttemptService).registerFailedAttempt("10.0.0.1", "alice");
+        verifyNoInteractions(jwtUtil, userService);
+    }
+
+    @Test
+    void testLogin_HashingBusy_ReturnsServiceUnavailable() {
+        when(authenticationManager.authenticate(any(Authentication.class)))
+            .thenThrow(new PasswordHashingBusyException("Password hashing queue is full", null));
+
+        ResponseEntity<ApiResponse<LoginResponse>> response =
+            authController.login(new LoginRequest("alice", "secret1"), request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verify(loginAttemptService, never()).registerFailedAttempt("10.0.0.1", "alice");
+    }
+}
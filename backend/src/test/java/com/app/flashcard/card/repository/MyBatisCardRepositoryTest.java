@@ -0,0 +1,134 @@
+package com.app.flashcard.card.repository;
+
+import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.model.CardPojo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MyBatisCardRepositoryTest {
+
+    @Mock
+    private CardMapper cardMapper;
+
+    private MyBatisCardRepository cardRepository;
+
+    @BeforeEach
+    void setUp() {
+        cardRepository = new MyBatisCardRepository(cardMapper);
+    }
+
+    @Test
+    void testSave_NewCardIsInsertedWithGeneratedId() {
+        when(cardMapper.insert(any(CardPojo.class))).thenAnswer(invocation -> {
+            invocation.<CardPojo>getArgument(0).setCardID(42);
+            return 1;
+        });
+        Card card = new Card();
+        card.setDeckID(7);
+        card.setFontContent("Front");
+        card.setEaseFactor(2.5);
+
+        Card saved = cardRepository.save(card);
+
+        assertSame(card, saved);
+        assertEquals(42, saved.getCardID());
+        ArgumentCaptor<CardPojo> inserted = ArgumentCaptor.forClass(CardPojo.class);
+        verify(cardMapper).insert(inserted.capture());
+        assertEquals("Front", inserted.getValue().getFrontContent());
+        assertEquals(2.5, inserted.getValue().getEaseFactor());
+        verify(cardMapper, never()).update(any(CardPojo.class));
+    }
+
+    @Test
+    void testSave_ExistingCardIsUpdated() {
+        when(cardMapper.update(any(CardPojo.class))).thenReturn(1);
+        Card card = card(5, 7);
+        card.setStatus(21);
+
+        cardRepository.save(card);
+
+        ArgumentCaptor<CardPojo> updated = ArgumentCaptor.forClass(CardPojo.class);
+        verify(cardMapper).update(updated.capture());
+        assertEquals(5, updated.getValue().getCardID());
+        assertEquals(21, updated.getValue().getStatus());
+        verify(cardMapper, never()).insert(any(CardPojo.class));
+    }
+
+    @Test
+    void testSave_MissingCardFailsLikeHibernate() {
+        when(cardMapper.update(any(CardPojo.class))).thenReturn(0);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> cardRepository.save(card(5, 7)));
+    }
+
+    @Test
+    void testFindOwnedById_MapsAllFields() {
+        CardPojo pojo = CardPojo.builder().cardID(5).deckID(7).frontContent("Front").backContent("Back")
+            .remindTime(LocalDate.of(2024, 3, 1)).status(3).intervalDays(4).easeFactor(2.3)
+            .stability(1.5).difficulty(6.0).build();
+        when(cardMapper.findOwnedById(5, 9)).thenReturn(pojo);
+
+        Card card = cardRepository.findOwnedById(5, 9).orElseThrow();
+
+        assertEquals(5, card.getCardID());
+        assertEquals(7, card.getDeckID());
+        assertEquals("Front", card.getFontContent());
+        assertEquals("Back", card.getBackContent());
+        assertEquals(LocalDate.of(2024, 3, 1), card.getRemindTime());
+        assertEquals(3, card.getStatus());
+        assertEquals(4, card.getIntervalDays());
+        assertEquals(2.3, card.getEaseFactor());
+        assertEquals(1.5, card.getStability());
+        assertEquals(6.0, card.getDifficulty());
+        assertEquals(Optional.empty(), cardRepository.findOwnedById(6, 9));
+    }
+
+    @Test
+    void testFindFirstByDeck_UsesFirstKeysetPage() {
+        when(cardMapper.findPageByDeck(7, null, null, 1)).thenReturn(List.of(CardPojo.builder().cardID(3).deckID(7).build()));
+
+        assertEquals(3, cardRepository.findFirstByDeckIDOrderByRemindTimeAscCardIDAsc(7).orElseThrow().getCardID());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteAll_OneStatementForAllCards() {
+        cardRepository.deleteAll(List.of(card(1, 7), card(2, 7), card(3, 7)));
+
+        ArgumentCaptor<Collection<Integer>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(cardMapper).deleteByIds(ids.capture());
+        assertEquals(List.of(1, 2, 3), List.copyOf(ids.getValue()));
+        verify(cardMapper, never()).deleteById(any());
+    }
+
+    @Test
+    void testEmptyIdCollections_DoNotQuery() {
+        assertTrue(cardRepository.findOwnedByIds(List.of(), 9).isEmpty());
+        assertFalse(cardRepository.findAllById(List.of()).iterator().hasNext());
+        cardRepository.deleteAll(List.of());
+
+        verifyNoInteractions(cardMapper);
+    }
+
+    private static Card card(int cardID, int deckID) {
+        Card card = new Card();
+        card.setCardID(cardID);
+        card.setDeckID(deckID);
+        return card;
+    }
+}
@@ -0,0 +1,103 @@
+package com.app.flashcard.card.service;
+
+import com.app.flashcard.card.model.CardFileFormat;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.repository.CardMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 3);
+
+    @Mock
+    private CardMapper cardMapper;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private CardExportService cardExportService;
+
+    @Test
+    void testExportCsv_QuotesSpecialCharacters() throws IOException {
+        Cursor<CardPojo> cursor = mockCursor(card("Hello", "Xin chào"), card("a, b", "say \"hi\"\nbye"));
+        when(cardMapper.streamCardsForExport(7, null)).thenReturn(cursor);
+
+        String csv = export(7, 1, CardFileFormat.CSV);
+
+        assertEquals("front,back,deckId,remindTime,status\n"
+            + "Hello,Xin chào,7,2025-08-03,21\n"
+            + "\"a, b\",\"say \"\"hi\"\"\nbye\",7,2025-08-03,21\n", csv);
+        verify(cursor).close();
+    }
+
+    @Test
+    void testExportNdjson_OneObjectPerLine() throws IOException {
+        Cursor<CardPojo> cursor = mockCursor(card("one", "uno"), card("two\n", "dos"));
+        when(cardMapper.streamCardsForExport(null, 1)).thenReturn(cursor);
+
+        String[] lines = export(null, 1, CardFileFormat.NDJSON).split("\n");
+
+        assertEquals(2, lines.length);
+        JsonNode second = objectMapper.readTree(lines[1]);
+        assertEquals("two\n", second.get("front").asText());
+        assertEquals(7, second.get("deckId").asInt());
+        assertEquals("2025-08-03", second.get("remindTime").asText());
+    }
+
+    @Test
+    void testExportTsv_CanBeImportedAgain() throws IOException {
+        List<CardPojo> cards = List.of(card("tab\there", "plain"), card("\"quoted\"", "multi\nline"));
+        Cursor<CardPojo> cursor = mockCursor(cards.toArray(new CardPojo[0]));
+        when(cardMapper.streamCardsForExport(7, null)).thenReturn(cursor);
+
+        String tsv = export(7, 1, CardFileFormat.TSV);
+        CardImportParser parser = new CardImportParser(
+            new BufferedReader(new StringReader(tsv)), CardFileFormat.TSV, objectMapper);
+
+        for (CardPojo card : cards) {
+            CardImportParser.Row row = parser.next();
+            assertNull(row.error());
+            assertEquals(card.getFrontContent(), row.front());
+            assertEquals(card.getBackContent(), row.back());
+        }
+        assertNull(parser.next());
+    }
+
+    private String export(Integer deckID, Integer userID, CardFileFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        cardExportService.exportCards(deckID, userID, format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<CardPojo> mockCursor(CardPojo... cards) {
+        Cursor<CardPojo> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(List.of(cards).iterator());
+        return cursor;
+    }
+
+    private static CardPojo card(String front, String back) {
+        return CardPojo.builder().deckID(7).frontContent(front).backContent(back).remindTime(DAY).status(21).build();
+    }
+}
@@ -0,0 +1,195 @@
+package com.app.flashcard.card.service;
+
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
+import com.app.flashcard.card.model.CardFileFormat;
+import com.app.flashcard.card.model.CardImportResult;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.shared.exception.ValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardImportServiceTest {
+
+    @Mock
+    private CardMapper cardMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private CardImportService cardImportService;
+
+    @Test
+    void testImportCsv_QuotedFieldsHeaderAndExtraColumns() throws IOException {
+        List<CardPojo> inserted = captureInserts();
+        String csv = "\uFEFFfront,back\r\n"
+            + "Hello,Xin chào,tag1\r\n"
+            + "\"a, b\",\"say \"\"hi\"\"\"\r\n"
+            + "\"two\nlines\",back\n";
+
+        CardImportResult result = cardImportService.importCards(7, stream(csv), CardFileFormat.CSV);
+
+        assertEquals(3, result.getImportedCount());
+        assertEquals(0, result.getSkippedCount());
+        assertEquals("Hello", inserted.get(0).getFrontContent());
+        assertEquals("Xin chào", inserted.get(0).getBackContent());
+        assertEquals("a, b", inserted.get(1).getFrontContent());
+        assertEquals("say \"hi\"", inserted.get(1).getBackContent());
+        assertEquals("two\nlines", inserted.get(2).getFrontContent());
+        assertEquals(7, inserted.get(2).getDeckID());
+        assertEquals(0, inserted.get(2).getStatus());
+        verify(eventPublisher).publishEvent(any(CardsBulkChangedEvent.class));
+    }
+
+    @Test
+    void testImportTsv_InvalidRowsAreSkippedWithLineNumbers() throws IOException {
+        captureInserts();
+        String tsv = "one\tuno\n"
+            + "\n"
+            + "missing back\n"
+            + "\tempty front\n"
+            + "two\tdos\n";
+
+        CardImportResult result = cardImportService.importCards(7, stream(tsv), CardFileFormat.TSV);
+
+        assertEquals(2, result.getImportedCount());
+        assertEquals(2, result.getSkippedCount());
+        assertEquals(List.of("Line 3: Expected front and back columns", "Line 4: Front content is required"),
+            result.getErrors());
+    }
+
+    @Test
+    void testImportNdjson() throws IOException {
+        List<CardPojo> inserted = captureInserts();
+        String ndjson = "{\"front\":\"one\",\"back\":\"uno\"}\n"
+            + "{\"frontContent\":\"two\",\"backContent\":\"dos\"}\n"
+            + "not json\n"
+            + "[1,2]\n";
+
+        CardImportResult result = cardImportService.importCards(7, stream(ndjson), CardFileFormat.NDJSON);
+
+        assertEquals(2, result.getImportedCount());
+        assertEquals("two", inserted.get(1).getFrontContent());
+        assertEquals(List.of("Line 3: Invalid JSON", "Line 4: Expected a JSON object"), result.getErrors());
+    }
+
+    @Test
+    void testImport_WritesFixedSizeChunksAndPublishesOnce() throws IOException {
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(cardMapper.batchInsert(anyList())).thenAnswer(invocation -> {
+            chunkSizes.add(invocation.<List<CardPojo>>getArgument(0).size());
+            return 0;
+        });
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 2500; i++) {
+            csv.append("front ").append(i).append(",back ").append(i).append('\n');
+        }
+
+        CardImportResult result = cardImportService.importCards(7, stream(csv.toString()), CardFileFormat.CSV);
+
+        assertEquals(2500, result.getImportedCount());
+        assertEquals(List.of(1000, 1000, 500), chunkSizes);
+        verify(eventPublisher, times(1)).publishEvent(any(CardsBulkChangedEvent.class));
+    }
+
+    @Test
+    void testImport_TooManyRowsIsRejected() {
+        ReflectionTestUtils.setField(cardImportService, "maxRows", 2);
+
+        assertThrows(ValidationException.class,
+            () -> cardImportService.importCards(7, stream("a,b\nc,d\ne,f\n"), CardFileFormat.CSV));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testImport_ReadFailureAfterFirstChunkRollsBack() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ProxyFactory proxyFactory = new ProxyFactory(cardImportService);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new TransactionInterceptor(
+            (TransactionManager) transactionManager, new AnnotationTransactionAttributeSource()));
+        CardImportService transactional = (CardImportService) proxyFactory.getProxy();
+
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            csv.append("front ").append(i).append(",back ").append(i).append('\n');
+        }
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        InputStream input = new SequenceInputStream(stream(csv.toString()), failing);
+
+        assertThrows(IOException.class, () -> transactional.importCards(7, input, CardFileFormat.CSV));
+
+        verify(cardMapper, times(1)).batchInsert(anyList());
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testImport_NothingValid_NoInsertNoEvent() throws IOException {
+        CardImportResult result = cardImportService.importCards(7, stream("\"unterminated,b\n"), CardFileFormat.CSV);
+
+        assertEquals(0, result.getImportedCount());
+        assertEquals(1, result.getSkippedCount());
+        verifyNoInteractions(cardMapper, eventPublisher);
+    }
+
+    @Test
+    void testResolveFormat() {
+        assertEquals(CardFileFormat.TSV, CardFileFormat.resolve("TSV", "cards.csv"));
+        assertEquals(CardFileFormat.NDJSON, CardFileFormat.resolve(null, "cards.jsonl"));
+        assertEquals(CardFileFormat.CSV, CardFileFormat.resolve("", "cards.csv"));
+        assertNull(CardFileFormat.resolve(null, "cards.xlsx"));
+    }
+
+    private List<CardPojo> captureInserts() {
+        List<CardPojo> inserted = new ArrayList<>();
+        when(cardMapper.batchInsert(anyList())).thenAnswer(invocation -> {
+            inserted.addAll(invocation.getArgument(0));
+            return 0;
+        });
+        return inserted;
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
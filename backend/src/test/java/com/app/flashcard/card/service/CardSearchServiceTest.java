@@ -0,0 +1,114 @@
+package com.app.flashcard.card.service;
+
+import com.app.flashcard.card.model.CardSearchHit;
+import com.app.flashcard.card.model.CardSearchResult;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.shared.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardSearchServiceTest {
+
+    @Mock
+    private CardMapper cardMapper;
+
+    @InjectMocks
+    private CardSearchService cardSearchService;
+
+    @Test
+    void testToPrefixTsQuery_KeepsOnlyWordCharacters() {
+        assertEquals("xin:* & chào:*", CardSearchService.toPrefixTsQuery("xin  chào"));
+        assertEquals("a:* & b:* & c:*", CardSearchService.toPrefixTsQuery("a' | b:* & !c"));
+        assertEquals("日本語:*", CardSearchService.toPrefixTsQuery("日本語"));
+        assertNull(CardSearchService.toPrefixTsQuery("&|!()"));
+    }
+
+    @Test
+    void testSearch_LongQueryUsesPrefixAndEscapedSubstring() {
+        when(cardMapper.searchCards(anyInt(), any(), any(), any(), anyInt(), anyInt())).thenReturn(List.of());
+
+        cardSearchService.search(1, 7, "  100%_Done ", 20, 0);
+
+        verify(cardMapper).searchCards(1, 7, "100:* & done:*", "%100\\%\\_done%", 21, 0);
+    }
+
+    @Test
+    void testSearch_ShortQueryUsesPrefixOnly() {
+        when(cardMapper.searchCards(anyInt(), any(), any(), any(), anyInt(), anyInt())).thenReturn(List.of());
+
+        cardSearchService.search(1, null, "ch", 20, 0);
+
+        verify(cardMapper).searchCards(eq(1), isNull(), eq("ch:*"), isNull(), eq(21), eq(0));
+    }
+
+    @Test
+    void testSearch_PunctuationOnlyLongQueryUsesSubstringOnly() {
+        when(cardMapper.searchCards(anyInt(), any(), any(), any(), anyInt(), anyInt())).thenReturn(List.of());
+
+        cardSearchService.search(1, null, "?!?", 20, 0);
+
+        verify(cardMapper).searchCards(eq(1), isNull(), isNull(), eq("%?!?%"), eq(21), eq(0));
+    }
+
+    @Test
+    void testSearch_ExtraRowMeansMoreHits() {
+        when(cardMapper.searchCards(anyInt(), any(), any(), any(), eq(3), anyInt())).thenReturn(List.of(
+            hit(1), hit(2), hit(3)));
+
+        CardSearchResult result = cardSearchService.search(1, null, "hello", 2, 0);
+
+        assertTrue(result.isHasMore());
+        assertEquals(2, result.getHits().size());
+    }
+
+    @Test
+    void testSearch_CapsLimit() {
+        when(cardMapper.searchCards(anyInt(), any(), any(), any(), anyInt(), anyInt())).thenReturn(List.of());
+
+        cardSearchService.search(1, null, "hello", 10000, 0);
+
+        verify(cardMapper).searchCards(anyInt(), any(), any(), any(), eq(CardSearchService.MAX_LIMIT + 1), eq(0));
+    }
+
+    @Test
+    void testSearch_InvalidRequests() {
+        assertThrows(ValidationException.class, () -> cardSearchService.search(1, null, "!", 20, 0));
+        assertThrows(ValidationException.class, () -> cardSearchService.search(1, null, "  ", 20, 0));
+        assertThrows(ValidationException.class, () -> cardSearchService.search(1, null, "hello", 20, -1));
+        assertThrows(ValidationException.class,
+            () -> cardSearchService.search(1, null, "hello", 20, CardSearchService.MAX_OFFSET + 1));
+        assertThrows(ValidationException.class, () -> cardSearchService.search(1, null, "x".repeat(201), 20, 0));
+        verifyNoInteractions(cardMapper);
+    }
+
+    @Test
+    void testSearch_HighlightsAreEscapedBeforeMarking() {
+        CardSearchHit hit = hit(1);
+        hit.setFrontHighlight("\u0002<img>\u0003 src=x onerror=\"alert('x')\"");
+        hit.setBackHighlight("Xin \u0002chào\u0003 & more");
+        when(cardMapper.searchCards(anyInt(), any(), any(), any(), anyInt(), anyInt())).thenReturn(List.of(hit));
+
+        CardSearchResult result = cardSearchService.search(1, null, "img", 20, 0);
+
+        assertEquals("<mark>&lt;img&gt;</mark> src=x onerror=&quot;alert(&#39;x&#39;)&quot;",
+            result.getHits().get(0).getFrontHighlight());
+        assertEquals("Xin <mark>chào</mark> &amp; more", result.getHits().get(0).getBackHighlight());
+    }
+
+    private static CardSearchHit hit(int cardID) {
+        return CardSearchHit.builder().cardID(cardID).deckID(7).build();
+    }
+}
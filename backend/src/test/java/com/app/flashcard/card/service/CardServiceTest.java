@@ -1,15 +1,28 @@
 package com.app.flashcard.card.service;
 
+import com.app.flashcard.card.event.CardLifecycleEvent;
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
 import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.model.CardPage;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.repository.CardMapper;
 import com.app.flashcard.card.repository.CardRepository;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.shared.cache.EntityCache;
 import com.app.flashcard.shared.exception.EntityNotFoundException;
+import com.app.flashcard.shared.exception.ValidationException;
+import com.app.flashcard.shared.shadow.ShadowReadService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
@@ -18,6 +31,9 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +42,15 @@ class CardServiceTest {
     @Mock
     private CardRepository cardRepository;
 
+    @Mock
+    private CardMapper cardMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ShadowReadService shadowReads;
+
     @InjectMocks
     private CardService cardService;
 
@@ -40,6 +65,14 @@ class CardServiceTest {
         testCard.setBackContent("Xin chào");
         testCard.setStatus(0);
         testCard.setRemindTime(LocalDate.now());
+
+        Deck testDeck = new Deck();
+        testDeck.setDeckID(100);
+        testDeck.setUserID(7);
+        ReflectionTestUtils.setField(cardService, "cardCache", new EntityCache<Integer, Card>("card",
+            cardID -> cardRepository.findById(cardID).orElse(null), Card::new, true, Duration.ofMinutes(1), 100));
+        ReflectionTestUtils.setField(cardService, "deckCache", new EntityCache<Integer, Deck>("deck",
+            deckID -> deckID == 100 ? testDeck : null, Deck::new, true, Duration.ofMinutes(1), 100));
     }
 
     @Test
@@ -58,18 +91,18 @@ class CardServiceTest {
 
     @Test
     void testGetNextCardForDeck_WithCards() {
-        List<Card> cards = Arrays.asList(testCard);
-        when(cardRepository.findByDeckIDOrderByRemindTimeAsc(100)).thenReturn(cards);
+        when(cardRepository.findFirstByDeckIDOrderByRemindTimeAscCardIDAsc(100)).thenReturn(Optional.of(testCard));
 
         Card result = cardService.getNextCardForDeck(100);
 
         assertNotNull(result);
         assertEquals(testCard, result);
+        verify(cardRepository, never()).findByDeckIDOrderByRemindTimeAsc(anyInt());
     }
 
     @Test
     void testGetNextCardForDeck_NoCards() {
-        when(cardRepository.findByDeckIDOrderByRemindTimeAsc(100)).thenReturn(Collections.emptyList());
+        when(cardRepository.findFirstByDeckIDOrderByRemindTimeAscCardIDAsc(100)).thenReturn(Optional.empty());
 
         Card result = cardService.getNextCardForDeck(100);
 
@@ -125,6 +158,7 @@ class CardServiceTest {
         cardService.deleteCardsByDeck(100);
 
         verify(cardRepository).deleteAll(cards);
+        verify(eventPublisher).publishEvent(any(CardsBulkChangedEvent.class));
     }
 
     @Test
@@ -246,7 +280,8 @@ class CardServiceTest {
         Card result = cardService.findByCardID(1);
 
         assertNotNull(result);
-        assertEquals(testCard, result);
+        assertNotSame(testCard, result);
+        assertEquals(testCard.getCardID(), result.getCardID());
     }
 
     @Test
@@ -271,8 +306,158 @@ class CardServiceTest {
 
     @Test
     void testDeleteByCardID() {
+        when(cardRepository.findById(1)).thenReturn(Optional.of(testCard));
+
         cardService.deleteByCardID(1);
 
         verify(cardRepository).deleteById(1);
+        ArgumentCaptor<CardLifecycleEvent> captor = ArgumentCaptor.forClass(CardLifecycleEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(CardLifecycleEvent.Type.DELETED, captor.getValue().getType());
+        assertEquals(100, captor.getValue().getDeckID());
+    }
+
+    @Test
+    void testDeleteByCardID_NotFound() {
+        when(cardRepository.findById(999)).thenReturn(Optional.empty());
+
+        cardService.deleteByCardID(999);
+
+        verify(cardRepository, never()).deleteById(anyInt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testCreateCard_PublishesCreatedEvent() {
+        when(cardRepository.save(any(Card.class))).thenReturn(testCard);
+
+        cardService.createCard(100, "Hello", "Xin chào");
+
+        ArgumentCaptor<CardLifecycleEvent> captor = ArgumentCaptor.forClass(CardLifecycleEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(CardLifecycleEvent.Type.CREATED, captor.getValue().getType());
+        assertEquals(0, captor.getValue().getStatus());
+    }
+
+    @Test
+    void testMoveCard_PublishesMovedEvent() {
+        when(cardRepository.save(testCard)).thenReturn(testCard);
+
+        Card result = cardService.moveCard(testCard, 200);
+
+        assertEquals(200, result.getDeckID());
+        ArgumentCaptor<CardLifecycleEvent> captor = ArgumentCaptor.forClass(CardLifecycleEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(CardLifecycleEvent.Type.MOVED, captor.getValue().getType());
+        assertEquals(100, captor.getValue().getPreviousDeckID());
+        assertEquals(200, captor.getValue().getDeckID());
+    }
+
+    @Test
+    void testMoveCard_SameDeck_NoEvent() {
+        when(cardRepository.save(testCard)).thenReturn(testCard);
+
+        cardService.moveCard(testCard, 100);
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testFindCardPage_FirstPageReturnsCursorOfLastCard() {
+        LocalDate day = LocalDate.of(2025, 8, 3);
+        when(cardMapper.findPageByDeck(100, null, null, 3)).thenReturn(List.of(
+            pageCard(1, day), pageCard(2, day), pageCard(3, day.plusDays(1))));
+
+        CardPage page = cardService.findCardPage(100, null, 2, false);
+
+        assertEquals(2, page.getCards().size());
+        assertNotNull(page.getNextCursor());
+        assertNull(page.getTotalCount());
+        verify(cardMapper, never()).countCardsByDeck(anyInt());
+
+        when(cardMapper.findPageByDeck(100, day, 2, 3)).thenReturn(List.of(pageCard(3, day.plusDays(1))));
+        CardPage next = cardService.findCardPage(100, page.getNextCursor(), 2, false);
+
+        assertEquals(1, next.getCards().size());
+        assertNull(next.getNextCursor());
+    }
+
+    @Test
+    void testFindCardPage_CapsPageSizeAndCountsOnRequest() {
+        when(cardMapper.findPageByDeck(eq(100), isNull(), isNull(), anyInt())).thenReturn(List.of());
+        when(cardMapper.countCardsByDeck(100)).thenReturn(20000);
+
+        CardPage page = cardService.findCardPage(100, null, 100000, true);
+
+        verify(cardMapper).findPageByDeck(100, null, null, CardService.MAX_PAGE_SIZE + 1);
+        assertEquals(20000, page.getTotalCount());
+    }
+
+    @Test
+    void testFindCardPage_InvalidCursor() {
+        assertThrows(ValidationException.class, () -> cardService.findCardPage(100, "not-a-cursor", 50, false));
+        assertThrows(ValidationException.class, () -> cardService.findCardPage(100, "%%%", 50, false));
+        verifyNoInteractions(cardMapper);
+    }
+
+    @Test
+    void testFindOwnedCard_SingleQuery() {
+        when(cardRepository.findOwnedById(1, 7)).thenReturn(Optional.of(testCard));
+        when(cardRepository.findOwnedById(2, 7)).thenReturn(Optional.empty());
+
+        Card card = cardService.findOwnedCard(1, 7);
+        assertNotSame(testCard, card);
+        assertEquals(testCard.getCardID(), card.getCardID());
+        assertNull(cardService.findOwnedCard(2, 7));
+        verify(cardRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void testFindOwnedCardForWrite_AlwaysReadsDatabase() {
+        when(cardRepository.findOwnedById(1, 7)).thenReturn(Optional.of(testCard));
+
+        cardService.findOwnedCard(1, 7);
+        assertSame(testCard, cardService.findOwnedCardForWrite(1, 7));
+        assertSame(testCard, cardService.findOwnedCardForWrite(1, 7));
+
+        verify(cardRepository, times(3)).findOwnedById(1, 7);
+    }
+
+    @Test
+    void testFindOwnedCards_EmptyBatchSkipsQuery() {
+        when(cardRepository.findOwnedByIds(List.of(1, 2), 7)).thenReturn(List.of(testCard));
+
+        assertEquals(List.of(testCard), cardService.findOwnedCards(List.of(1, 2), 7));
+        assertTrue(cardService.findOwnedCards(List.of(), 7).isEmpty());
+        verify(cardRepository, times(1)).findOwnedByIds(anyCollection(), anyInt());
+    }
+
+    @Test
+    void testFindOwnedCard_CachedCardCheckedAgainstDeckOwner() {
+        when(cardRepository.findOwnedById(1, 7)).thenReturn(Optional.of(testCard));
+
+        assertNotNull(cardService.findOwnedCard(1, 7));
+        assertNotNull(cardService.findOwnedCard(1, 7));
+        assertNull(cardService.findOwnedCard(1, 8));
+
+        verify(cardRepository, times(1)).findOwnedById(anyInt(), anyInt());
+    }
+
+    @Test
+    void testLifecycleEvents_InvalidateCachedCard() {
+        when(cardRepository.findById(1)).thenReturn(Optional.of(testCard));
+
+        cardService.findByCardID(1);
+        cardService.findByCardID(1);
+        cardService.onCardLifecycle(CardLifecycleEvent.updated(testCard));
+        cardService.findByCardID(1);
+        cardService.onCardsBulkChanged(CardsBulkChangedEvent.forDeck(100));
+        cardService.findByCardID(1);
+
+        verify(cardRepository, times(3)).findById(1);
+    }
+
+    private CardPojo pageCard(int cardID, LocalDate remindTime) {
+        return CardPojo.builder().cardID(cardID).deckID(100).remindTime(remindTime).build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,207 @@
+package com.app.flashcard.card.service;
+
+import com.app.flashcard.card.event.CardLifecycleEvent;
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
+import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.model.CardSearchHit;
+import com.app.flashcard.card.model.CardSearchResult;
+import com.app.flashcard.card.model.CardSuggestion;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.model.DeckPojo;
+import com.app.flashcard.deck.repository.DeckMapper;
+import com.app.flashcard.shared.cache.EntityCache;
+import com.app.flashcard.shared.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardTypeaheadServiceTest {
+
+    @Mock
+    private CardMapper cardMapper;
+
+    @Mock
+    private DeckMapper deckMapper;
+
+    @Mock
+    private CardSearchService cardSearchService;
+
+    @Mock
+    private EntityCache<Integer, Deck> deckCache;
+
+    @InjectMocks
+    private CardTypeaheadService cardTypeaheadService;
+
+    @Test
+    void testSuggest_BuildsIndexOnceAndRanksFrontPrefixFirst() {
+        givenDecks(1, deck(10, 1, 3));
+        when(cardMapper.findByDeckId(10)).thenReturn(List.of(
+            card(1, 10, "Say hello", "Xin chào"),
+            card(2, 10, "Hello", "Chào"),
+            card(3, 10, "Goodbye", "Tạm biệt, hello")));
+
+        List<CardSuggestion> first = cardTypeaheadService.suggest(1, null, "HELLO", 10);
+        List<CardSuggestion> second = cardTypeaheadService.suggest(1, null, "ello", 10);
+
+        assertEquals(List.of(2, 1, 3), ids(first));
+        assertEquals(List.of(1, 2, 3), ids(second));
+        verify(cardMapper, times(1)).findByDeckId(10);
+        verifyNoInteractions(cardSearchService);
+    }
+
+    @Test
+    void testSuggest_ShortQueryMatchesWordStartsOnly() {
+        givenDecks(1, deck(10, 1, 2));
+        when(cardMapper.findByDeckId(10)).thenReturn(List.of(
+            card(1, 10, "Xin chào", "Hello"),
+            card(2, 10, "Cách", "Way")));
+
+        assertEquals(List.of(1), ids(cardTypeaheadService.suggest(1, null, "ch", 10)));
+        assertEquals(List.of(2), ids(cardTypeaheadService.suggest(1, null, "w", 10)));
+        assertEquals(List.of(), ids(cardTypeaheadService.suggest(1, null, "ay", 10)));
+    }
+
+    @Test
+    void testSuggest_FiltersByDeckAndLimit() {
+        givenDecks(1, deck(10, 1, 2), deck(11, 1, 1));
+        when(cardMapper.findByDeckId(10)).thenReturn(List.of(card(1, 10, "cat", ""), card(2, 10, "catalog", "")));
+        when(cardMapper.findByDeckId(11)).thenReturn(List.of(card(3, 11, "category", "")));
+
+        assertEquals(List.of(3), ids(cardTypeaheadService.suggest(1, 11, "cat", 10)));
+        assertEquals(List.of(1, 2), ids(cardTypeaheadService.suggest(1, null, "cat", 2)));
+    }
+
+    @Test
+    void testLifecycleEvents_UpdateBuiltIndex() {
+        givenDecks(1, deck(10, 1, 1));
+        when(cardMapper.findByDeckId(10)).thenReturn(List.of(card(1, 10, "apple", "táo")));
+        cardTypeaheadService.suggest(1, null, "app", 10);
+
+        when(cardMapper.findById(2)).thenReturn(card(2, 10, "application", "ứng dụng"));
+        cardTypeaheadService.onCardLifecycle(CardLifecycleEvent.created(entity(2, 10)));
+        when(cardMapper.findById(1)).thenReturn(card(1, 10, "pear", "lê"));
+        cardTypeaheadService.onCardLifecycle(CardLifecycleEvent.updated(entity(1, 10)));
+
+        assertEquals(List.of(2), ids(cardTypeaheadService.suggest(1, null, "app", 10)));
+        assertEquals(List.of(1), ids(cardTypeaheadService.suggest(1, null, "pea", 10)));
+
+        cardTypeaheadService.onCardLifecycle(CardLifecycleEvent.deleted(entity(2, 10)));
+
+        assertTrue(cardTypeaheadService.suggest(1, null, "app", 10).isEmpty());
+    }
+
+    @Test
+    void testBulkEvents_DropIndexOnlyWhenContentChanged() {
+        givenDecks(1, deck(10, 1, 1));
+        when(cardMapper.findByDeckId(10)).thenReturn(List.of(card(1, 10, "apple", "táo")));
+        cardTypeaheadService.suggest(1, null, "app", 10);
+
+        cardTypeaheadService.onCardsBulkChanged(CardsBulkChangedEvent.scheduleOnly(Set.of(10)));
+        assertEquals(1, cardTypeaheadService.getIndexedUserCount());
+
+        cardTypeaheadService.onCardsBulkChanged(CardsBulkChangedEvent.forDeck(10));
+        assertEquals(0, cardTypeaheadService.getIndexedUserCount());
+    }
+
+    @Test
+    void testLifecycleEvents_DeckCreatedAfterBuildResolvesOwnerOnce() {
+        givenDecks(1, deck(10, 1, 0));
+        when(cardMapper.findByDeckId(10)).thenReturn(List.of());
+        cardTypeaheadService.suggest(1, null, "app", 10);
+        Deck newDeck = new Deck();
+        newDeck.setDeckID(11);
+        newDeck.setUserID(1);
+        when(deckCache.get(11)).thenReturn(newDeck);
+
+        when(cardMapper.findById(2)).thenReturn(card(2, 11, "apple", "táo"));
+        cardTypeaheadService.onCardLifecycle(CardLifecycleEvent.created(entity(2, 11)));
+        when(cardMapper.findById(3)).thenReturn(card(3, 11, "apricot", "mơ"));
+        cardTypeaheadService.onCardLifecycle(CardLifecycleEvent.created(entity(3, 11)));
+
+        assertEquals(List.of(2, 3), ids(cardTypeaheadService.suggest(1, 11, "ap", 10)));
+        verify(deckCache, times(1)).get(11);
+    }
+
+    @Test
+    void testDroppedIndex_ForgetsDeckOwners() {
+        givenDecks(1, deck(10, 1, 0), deck(11, 1, 0));
+        when(cardMapper.findByDeckId(anyInt())).thenReturn(List.of());
+        cardTypeaheadService.suggest(1, null, "app", 10);
+        assertEquals(2, ((Map<?, ?>) ReflectionTestUtils.getField(cardTypeaheadService, "deckOwners")).size());
+
+        cardTypeaheadService.invalidateUser(1);
+        cardTypeaheadService.onCardsBulkChanged(CardsBulkChangedEvent.forDeck(12));
+
+        assertEquals(0, ((Map<?, ?>) ReflectionTestUtils.getField(cardTypeaheadService, "deckOwners")).size());
+        verifyNoInteractions(deckCache);
+    }
+
+    @Test
+    void testSuggest_FallsBackToDatabaseForLargeAccounts() {
+        ReflectionTestUtils.setField(cardTypeaheadService, "maxCardsPerUser", 2);
+        givenDecks(1, deck(10, 1, 3));
+        CardSearchHit hit = CardSearchHit.builder().cardID(5).deckID(10).frontContent("apple").backContent("táo").build();
+        when(cardSearchService.search(1, null, "app", 10, 0)).thenReturn(new CardSearchResult(List.of(hit), false));
+
+        List<CardSuggestion> suggestions = cardTypeaheadService.suggest(1, null, "app", 10);
+
+        assertEquals(List.of(5), ids(suggestions));
+        verify(cardMapper, never()).findByDeckId(anyInt());
+    }
+
+    @Test
+    void testEvictIdle_DropsUnusedIndexes() {
+        givenDecks(1, deck(10, 1, 0));
+        when(cardMapper.findByDeckId(10)).thenReturn(List.of());
+        cardTypeaheadService.suggest(1, null, "app", 10);
+        ReflectionTestUtils.setField(cardTypeaheadService, "idleMinutes", 0L);
+
+        assertEquals(1, cardTypeaheadService.evictIdle());
+        assertEquals(0, cardTypeaheadService.getIndexedUserCount());
+    }
+
+    @Test
+    void testSuggest_RejectsBlankQuery() {
+        assertThrows(ValidationException.class, () -> cardTypeaheadService.suggest(1, null, "  ", 10));
+        verifyNoInteractions(deckMapper, cardMapper, cardSearchService);
+    }
+
+    private void givenDecks(int userID, DeckPojo... decks) {
+        when(deckMapper.findByUserId(userID)).thenReturn(List.of(decks));
+    }
+
+    private static DeckPojo deck(int deckID, int userID, int cards) {
+        return DeckPojo.builder().deckID(deckID).userID(userID).newCardNum(cards).build();
+    }
+
+    private static CardPojo card(int cardID, int deckID, String front, String back) {
+        return CardPojo.builder().cardID(cardID).deckID(deckID).frontContent(front).backContent(back).build();
+    }
+
+    private static Card entity(int cardID, int deckID) {
+        Card card = new Card();
+        card.setCardID(cardID);
+        card.setDeckID(deckID);
+        return card;
+    }
+
+    private static List<Integer> ids(List<CardSuggestion> suggestions) {
+        return suggestions.stream().map(CardSuggestion::getCardID).collect(Collectors.toList());
+    }
+}
@@ -1,17 +1,26 @@
 package com.app.flashcard.deck.service;
 
+import com.app.flashcard.card.event.CardLifecycleEvent;
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
 import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.model.DeckStatistics;
+import com.app.flashcard.deck.repository.DeckMapper;
 import com.app.flashcard.deck.repository.DeckRepository;
 import com.app.flashcard.card.repository.CardRepository;
 import com.app.flashcard.card.model.Card;
+import com.app.flashcard.shared.cache.EntityCache;
 import com.app.flashcard.shared.exception.EntityNotFoundException;
+import com.app.flashcard.shared.shadow.ShadowReadService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -31,6 +40,15 @@ class DeckServiceTest {
     @Mock
     private CardRepository cardRepository;
 
+    @Mock
+    private DeckMapper deckMapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ShadowReadService shadowReads;
+
     @InjectMocks
     private DeckService deckService;
 
@@ -45,6 +63,43 @@ class DeckServiceTest {
         testDeck.setNewCardNum(5);
         testDeck.setLearningCardNum(3);
         testDeck.setDueCardNum(2);
+
+        ReflectionTestUtils.setField(deckService, "deckCache", new EntityCache<Integer, Deck>("deck",
+            deckID -> deckRepository.findById(deckID).orElse(null), Deck::new, true, Duration.ofMinutes(1), 100));
+    }
+
+    @Test
+    void testFindByDeckID_CachedUntilSaved() {
+        when(deckRepository.findById(1)).thenReturn(Optional.of(testDeck));
+        when(deckRepository.save(any(Deck.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Deck first = deckService.findByDeckID(1);
+        Deck second = deckService.findByDeckID(1);
+        assertEquals("Test Deck", second.getDeckName());
+        assertNotSame(first, second);
+        verify(deckRepository, times(1)).findById(1);
+
+        second.setDeckName("Renamed");
+        assertEquals("Test Deck", deckService.findByDeckID(1).getDeckName());
+
+        deckService.save(second);
+        deckService.findByDeckID(1);
+        verify(deckRepository, times(2)).findById(1);
+    }
+
+    @Test
+    void testCounterChange_InvalidatesCachedDeck() {
+        when(deckRepository.findById(1)).thenReturn(Optional.of(testDeck));
+        Card card = new Card();
+        card.setCardID(9);
+        card.setDeckID(1);
+        card.setStatus(0);
+
+        deckService.findByDeckID(1);
+        deckService.onCardLifecycle(CardLifecycleEvent.created(card));
+        deckService.findByDeckID(1);
+
+        verify(deckRepository, times(2)).findById(1);
     }
 
     @Test
@@ -63,17 +118,29 @@ class DeckServiceTest {
     void testGetDecksByUserWithStatistics() {
         List<Deck> decks = Arrays.asList(testDeck);
         when(deckRepository.findByUserID(100)).thenReturn(decks);
-        when(cardRepository.countNewCardNum(1)).thenReturn(5);
-        when(cardRepository.countLearningCardNum(1)).thenReturn(3);
-        when(cardRepository.countDueCardNum(1)).thenReturn(2);
-        when(deckRepository.saveAll(decks)).thenReturn(decks);
+        when(deckMapper.findStatisticsByUserId(100))
+            .thenReturn(List.of(new DeckStatistics(1, 7, 3, 2)));
 
         List<Deck> result = deckService.getDecksByUserWithStatistics(100);
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(testDeck, result.get(0));
-        verify(deckRepository).saveAll(decks);
+        assertEquals(7, testDeck.getNewCardNum());
+        verify(deckMapper).batchUpdateStatistics(List.of(new DeckStatistics(1, 7, 3, 2)));
+        verifyNoInteractions(cardRepository);
+    }
+
+    @Test
+    void testGetDecksByUserWithStatistics_UnchangedDecksNotSaved() {
+        List<Deck> decks = Arrays.asList(testDeck);
+        when(deckRepository.findByUserID(100)).thenReturn(decks);
+        when(deckMapper.findStatisticsByUserId(100))
+            .thenReturn(List.of(new DeckStatistics(1, 5, 3, 2)));
+
+        deckService.getDecksByUserWithStatistics(100);
+
+        verify(deckMapper, never()).batchUpdateStatistics(any());
     }
 
     @Test
@@ -97,32 +164,37 @@ class DeckServiceTest {
 
         verify(cardRepository).deleteAll(cards);
         verify(deckRepository).deleteById(1);
+        verify(eventPublisher).publishEvent(any(CardsBulkChangedEvent.class));
     }
 
     @Test
     void testUpdateDeckStatistics_Single() {
-        when(cardRepository.countNewCardNum(1)).thenReturn(5);
-        when(cardRepository.countLearningCardNum(1)).thenReturn(3);
-        when(cardRepository.countDueCardNum(1)).thenReturn(2);
+        when(deckMapper.findStatisticsByDeckIds(List.of(1)))
+            .thenReturn(List.of(new DeckStatistics(1, 6, 4, 1)));
 
         deckService.updateDeckStatistics(testDeck);
 
-        assertEquals(5, testDeck.getNewCardNum());
-        assertEquals(3, testDeck.getLearningCardNum());
-        assertEquals(2, testDeck.getDueCardNum());
+        assertEquals(6, testDeck.getNewCardNum());
+        assertEquals(4, testDeck.getLearningCardNum());
+        assertEquals(1, testDeck.getDueCardNum());
     }
 
     @Test
     void testUpdateDeckStatistics_Multiple() {
-        List<Deck> decks = Arrays.asList(testDeck);
-        when(cardRepository.countNewCardNum(1)).thenReturn(5);
-        when(cardRepository.countLearningCardNum(1)).thenReturn(3);
-        when(cardRepository.countDueCardNum(1)).thenReturn(2);
-        when(deckRepository.saveAll(decks)).thenReturn(decks);
+        Deck otherDeck = new Deck();
+        otherDeck.setDeckID(2);
+        otherDeck.setUserID(100);
+        List<Deck> decks = Arrays.asList(testDeck, otherDeck);
+        when(deckMapper.findStatisticsByDeckIds(List.of(1, 2))).thenReturn(List.of(
+            new DeckStatistics(1, 5, 3, 2),
+            new DeckStatistics(2, 10, 0, 0)));
 
         deckService.updateDeckStatistics(decks);
 
-        verify(deckRepository).saveAll(decks);
+        assertEquals(10, otherDeck.getNewCardNum());
+        verify(deckMapper, times(1)).findStatisticsByDeckIds(List.of(1, 2));
+        verify(deckMapper).batchUpdateStatistics(List.of(new DeckStatistics(2, 10, 0, 0)));
+        verifyNoInteractions(cardRepository);
     }
 
     @Test
@@ -202,7 +274,19 @@ class DeckServiceTest {
         Deck result = deckService.findByDeckID(1);
 
         assertNotNull(result);
-        assertEquals(testDeck, result);
+        assertNotSame(testDeck, result);
+        assertEquals(testDeck.getDeckID(), result.getDeckID());
+    }
+
+    @Test
+    void testFindByDeckIDForWrite_AlwaysReadsDatabase() {
+        when(deckRepository.findById(1)).thenReturn(Optional.of(testDeck));
+
+        deckService.findByDeckID(1);
+        assertSame(testDeck, deckService.findByDeckIDForWrite(1));
+        assertNull(deckService.findByDeckIDForWrite(2));
+
+        verify(deckRepository, times(2)).findById(1);
     }
 
     @Test
@@ -235,4 +319,73 @@ class DeckServiceTest {
         verify(cardRepository).deleteAll(cards);
         verify(deckRepository).deleteById(1);
     }
+
+    @Test
+    void testOnCardLifecycle_Created() {
+        Card card = new Card();
+        card.setCardID(10);
+        card.setDeckID(1);
+
+        deckService.onCardLifecycle(CardLifecycleEvent.created(card));
+
+        verify(deckMapper).adjustStatistics(1, 1, 0, 0);
+    }
+
+    @Test
+    void testOnCardLifecycle_Deleted() {
+        Card card = new Card();
+        card.setCardID(10);
+        card.setDeckID(1);
+        card.setStatus(25);
+
+        deckService.onCardLifecycle(CardLifecycleEvent.deleted(card));
+
+        verify(deckMapper).adjustStatistics(1, 0, 0, -1);
+    }
+
+    @Test
+    void testOnCardLifecycle_Moved() {
+        Card card = new Card();
+        card.setCardID(10);
+        card.setDeckID(2);
+        card.setStatus(3);
+
+        deckService.onCardLifecycle(CardLifecycleEvent.moved(card, 1));
+
+        verify(deckMapper).adjustStatistics(1, 0, -1, 0);
+        verify(deckMapper).adjustStatistics(2, 0, 1, 0);
+    }
+
+    @Test
+    void testOnCardLifecycle_StatusChangedAcrossBuckets() {
+        deckService.onCardLifecycle(CardLifecycleEvent.statusChanged(10, 1, 0, 2));
+
+        verify(deckMapper).adjustStatistics(1, -1, 1, 0);
+    }
+
+    @Test
+    void testOnCardLifecycle_StatusChangedWithinBucket() {
+        deckService.onCardLifecycle(CardLifecycleEvent.statusChanged(10, 1, 2, 5));
+
+        verifyNoInteractions(deckMapper);
+    }
+
+    @Test
+    void testOnCardsBulkChanged_RecountsAffectedDecks() {
+        List<DeckStatistics> statistics = List.of(new DeckStatistics(1, 4, 0, 0));
+        when(deckMapper.findStatisticsByDeckIds(List.of(1))).thenReturn(statistics);
+
+        deckService.onCardsBulkChanged(CardsBulkChangedEvent.forDeck(1));
+
+        verify(deckMapper).batchUpdateStatistics(statistics);
+    }
+
+    @Test
+    void testReconcileStatistics() {
+        when(deckMapper.reconcileStatistics()).thenReturn(3);
+
+        int repaired = deckService.reconcileStatistics();
+
+        assertEquals(3, repaired);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.app.flashcard.learning.repository;
+
+import com.app.flashcard.learning.model.LearningLogPojo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test for the learning log upsert against the real database:
+ * parallel increments on one (deck, user, day) key must neither create duplicate rows nor lose counts.
+ * Needs the configured PostgreSQL; run with ./gradlew integrationTest (excluded from the regular test task).
+ */
+@Tag("integration")
+@SpringBootTest
+class LearningLogMapperConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int INCREMENTS_PER_THREAD = 200;
+
+    @Autowired
+    private LearningLogMapper learningLogMapper;
+
+    // Deck and user IDs far outside generated ranges, so the test never touches real rows
+    private final int deckID = 1_000_000 + ThreadLocalRandom.current().nextInt(1_000_000);
+    private final int userID = 1_000_000 + ThreadLocalRandom.current().nextInt(1_000_000);
+    private final LocalDate day = LocalDate.of(2024, 1, 15);
+
+    @AfterEach
+    void cleanUp() {
+        for (LearningLogPojo log : learningLogMapper.findByDeckId(deckID)) {
+            learningLogMapper.deleteById(log.getLogID());
+        }
+    }
+
+    @Test
+    void testUpsertIncrement_ParallelIncrementsAreExact() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                        learningLogMapper.upsertIncrement(deckID, userID, day, 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<LearningLogPojo> rows = learningLogMapper.findByDeckId(deckID);
+        assertEquals(1, rows.size());
+        assertEquals(THREADS * INCREMENTS_PER_THREAD, rows.get(0).getLearnTime());
+    }
+
+    @Test
+    void testBatchUpsertIncrement_SumsDuplicateKeysAndConcurrentBatches() throws Exception {
+        LocalDate nextDay = day.plusDays(1);
+        List<LearningLogPojo> batch = List.of(
+            LearningLogPojo.builder().deckID(deckID).userID(userID).logTime(day).learnTime(2).build(),
+            LearningLogPojo.builder().deckID(deckID).userID(userID).logTime(day).learnTime(3).build(),
+            LearningLogPojo.builder().deckID(deckID).userID(userID).logTime(nextDay).learnTime(1).build());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> learningLogMapper.batchUpsertIncrement(batch)));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(THREADS * 5, learningLogMapper.findByDeckUserAndDate(deckID, userID, day).getLearnTime());
+        assertEquals(THREADS, learningLogMapper.findByDeckUserAndDate(deckID, userID, nextDay).getLearnTime());
+    }
+}
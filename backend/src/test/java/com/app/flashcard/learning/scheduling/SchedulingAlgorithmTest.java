@@ -0,0 +1,189 @@
+package com.app.flashcard.learning.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchedulingAlgorithmTest {
+
+    private static final long TODAY = LocalDate.of(2024, 5, 10).toEpochDay();
+
+    private final LegacySchedulingAlgorithm legacy = new LegacySchedulingAlgorithm();
+    private final Sm2SchedulingAlgorithm sm2 = new Sm2SchedulingAlgorithm();
+    private final FsrsSchedulingAlgorithm fsrs = new FsrsSchedulingAlgorithm(0.9);
+
+    @Test
+    void testLegacy_AddsAnswerToStatusAndStatusDaysToRemindTime() {
+        SchedulingState state = new SchedulingState(3, 0, 0, 0, 0, TODAY - 2);
+
+        legacy.schedule(state, SchedulingAlgorithm.ANSWER_GOOD, TODAY);
+
+        assertEquals(6, state.getStatus());
+        assertEquals(TODAY - 2 + 6, state.getDueEpochDay());
+    }
+
+    @Test
+    void testLegacy_AgainOnFutureCardRestartsToday() {
+        SchedulingState state = new SchedulingState(8, 8, 0, 0, 0, TODAY + 4);
+
+        legacy.schedule(state, SchedulingAlgorithm.ANSWER_AGAIN, TODAY);
+
+        assertEquals(0, state.getStatus());
+        assertEquals(TODAY, state.getDueEpochDay());
+    }
+
+    @Test
+    void testSm2_IntervalsGrowOneSixThenByEase() {
+        SchedulingState state = new SchedulingState(0, 0, 0, 0, 0, TODAY);
+
+        sm2.schedule(state, SchedulingAlgorithm.ANSWER_GOOD, TODAY);
+        assertEquals(1, state.getIntervalDays());
+        assertEquals(TODAY + 1, state.getDueEpochDay());
+        assertEquals(Sm2SchedulingAlgorithm.INITIAL_EASE_FACTOR, state.getEaseFactor(), 1e-9);
+
+        sm2.schedule(state, SchedulingAlgorithm.ANSWER_GOOD, TODAY + 1);
+        assertEquals(6, state.getIntervalDays());
+
+        sm2.schedule(state, SchedulingAlgorithm.ANSWER_GOOD, TODAY + 7);
+        assertEquals(15, state.getIntervalDays());
+        assertEquals(15, state.getStatus());
+        assertEquals(TODAY + 7 + 15, state.getDueEpochDay());
+    }
+
+    @Test
+    void testSm2_AgainRelearnsTodayAndLowersEase() {
+        SchedulingState state = new SchedulingState(30, 30, 2.5, 0, 0, TODAY);
+
+        sm2.schedule(state, SchedulingAlgorithm.ANSWER_AGAIN, TODAY);
+
+        assertEquals(0, state.getStatus());
+        assertEquals(TODAY, state.getDueEpochDay());
+        assertEquals(1.96, state.getEaseFactor(), 1e-9);
+    }
+
+    @Test
+    void testSm2_EaseNeverDropsBelowMinimum() {
+        SchedulingState state = new SchedulingState(0, 0, 1.3, 0, 0, TODAY);
+
+        sm2.schedule(state, SchedulingAlgorithm.ANSWER_HARD, TODAY);
+
+        assertEquals(Sm2SchedulingAlgorithm.MIN_EASE_FACTOR, state.getEaseFactor(), 1e-9);
+    }
+
+    @Test
+    void testFsrs_FirstReviewUsesInitialStabilityAndDifficulty() {
+        SchedulingState state = new SchedulingState(0, 0, 0, 0, 0, TODAY);
+
+        fsrs.schedule(state, SchedulingAlgorithm.ANSWER_EASY, TODAY);
+
+        assertEquals(5.8, state.getStability(), 1e-9);
+        assertEquals(4.93 - 0.94, state.getDifficulty(), 1e-9);
+        assertEquals(6, state.getIntervalDays());
+        assertEquals(TODAY + 6, state.getDueEpochDay());
+    }
+
+    @Test
+    void testFsrs_SuccessfulReviewsIncreaseStabilityAndLapseShrinksIt() {
+        SchedulingState state = new SchedulingState(0, 0, 0, 0, 0, TODAY);
+        fsrs.schedule(state, SchedulingAlgorithm.ANSWER_GOOD, TODAY);
+
+        long day = TODAY;
+        double previousStability = state.getStability();
+        for (int i = 0; i < 4; i++) {
+            day = state.getDueEpochDay();
+            fsrs.schedule(state, SchedulingAlgorithm.ANSWER_GOOD, day);
+            assertTrue(state.getStability() > previousStability);
+            assertEquals(state.getIntervalDays(), state.getStatus());
+            previousStability = state.getStability();
+        }
+
+        fsrs.schedule(state, SchedulingAlgorithm.ANSWER_AGAIN, state.getDueEpochDay());
+        assertTrue(state.getStability() < previousStability);
+        assertEquals(0, state.getStatus());
+    }
+
+    @Test
+    void testFsrs_HarderAnswersRaiseDifficulty() {
+        SchedulingState hard = new SchedulingState(0, 0, 0, 0, 0, TODAY);
+        SchedulingState easy = new SchedulingState(0, 0, 0, 0, 0, TODAY);
+
+        fsrs.schedule(hard, SchedulingAlgorithm.ANSWER_HARD, TODAY);
+        fsrs.schedule(easy, SchedulingAlgorithm.ANSWER_EASY, TODAY);
+
+        assertTrue(hard.getDifficulty() > easy.getDifficulty());
+        assertTrue(hard.getIntervalDays() < easy.getIntervalDays());
+    }
+
+    @Test
+    void testFsrs_RejectsInvalidRetention() {
+        assertThrows(IllegalArgumentException.class, () -> new FsrsSchedulingAlgorithm(1.0));
+    }
+
+    @Test
+    void testEngine_SelectsConfiguredAlgorithm() {
+        SchedulingEngine engine = new SchedulingEngine(List.of(legacy, sm2, fsrs), "fsrs");
+
+        assertSame(fsrs, engine.getActive());
+        assertSame(sm2, engine.get("sm2"));
+        assertThrows(IllegalArgumentException.class,
+            () -> new SchedulingEngine(List.of(legacy), "unknown"));
+    }
+
+    @Test
+    void testFsrsReschedule_LowerRetentionStretchesIntervalFromLastReview() {
+        SchedulingState state = new SchedulingState(0, 0, 0, 0, 0, TODAY);
+        fsrs.schedule(state, SchedulingAlgorithm.ANSWER_GOOD, TODAY);
+        int interval = state.getIntervalDays();
+
+        assertTrue(new FsrsSchedulingAlgorithm(0.8).reschedule(state));
+
+        assertTrue(state.getIntervalDays() > interval);
+        assertEquals(state.getIntervalDays(), state.getStatus());
+        assertEquals(TODAY + state.getIntervalDays(), state.getDueEpochDay());
+    }
+
+    @Test
+    void testReschedule_UnchangedParametersOrNoFsrsStateLeaveCardAlone() {
+        SchedulingState state = new SchedulingState(0, 0, 0, 0, 0, TODAY);
+        fsrs.schedule(state, SchedulingAlgorithm.ANSWER_GOOD, TODAY);
+        assertFalse(fsrs.reschedule(state));
+
+        SchedulingState legacyCard = new SchedulingState(6, 0, 0, 0, 0, TODAY + 6);
+        assertFalse(fsrs.reschedule(legacyCard));
+        assertFalse(legacy.reschedule(legacyCard));
+        assertFalse(sm2.reschedule(new SchedulingState(15, 15, 2.5, 0, 0, TODAY + 15)));
+    }
+
+    @Test
+    void testSchedule_HotPathDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        SchedulingState state = new SchedulingState();
+        for (SchedulingAlgorithm algorithm : List.of(legacy, sm2, fsrs)) {
+            runSchedule(algorithm, state, 20_000); // warm up
+
+            long before = threads.getCurrentThreadAllocatedBytes();
+            runSchedule(algorithm, state, 200_000);
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            // Allow for the measurement itself; one object per call would be several MB
+            assertTrue(allocated < 64 * 1024, algorithm.getName() + " allocated " + allocated + " bytes");
+        }
+    }
+
+    private static void runSchedule(SchedulingAlgorithm algorithm, SchedulingState state, int calls) {
+        for (int i = 0; i < calls; i++) {
+            if ((i & 63) == 0) {
+                state.set(0, 0, 0, 0, 0, TODAY);
+            }
+            algorithm.schedule(state, 1 + (i & 3), TODAY + i);
+        }
+    }
+}
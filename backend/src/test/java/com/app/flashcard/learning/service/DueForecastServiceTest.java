@@ -0,0 +1,171 @@
+package com.app.flashcard.learning.service;
+
+import com.app.flashcard.card.event.CardLifecycleEvent;
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
+import com.app.flashcard.card.model.DueCount;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.learning.model.DueForecast;
+import com.app.flashcard.shared.cache.EntityCache;
+import com.app.flashcard.shared.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DueForecastServiceTest {
+
+    private static final int USER_ID = 1;
+
+    @Mock
+    private CardMapper cardMapper;
+
+    @Mock
+    private EntityCache<Integer, Deck> deckCache;
+
+    @InjectMocks
+    private DueForecastService dueForecastService;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        ReflectionTestUtils.setField(dueForecastService, "maxDays", 90);
+    }
+
+    @Test
+    void testGetForecast_BuildsDeckAndTotalHistograms() {
+        when(cardMapper.countDueByDeckAndDay(USER_ID, today, today.plusDays(90))).thenReturn(List.of(
+            new DueCount(10, today, 5),
+            new DueCount(10, today.plusDays(2), 3),
+            new DueCount(11, today.plusDays(2), 4),
+            new DueCount(11, today.plusDays(89), 1)));
+
+        DueForecast forecast = dueForecastService.getForecast(USER_ID, 30);
+
+        assertEquals(today, forecast.getStartDate());
+        assertEquals(Set.of(10, 11), forecast.getDeckIDs());
+        assertArrayEquals(new int[] {5, 0, 3}, forecast.getDeckCounts(10, 3));
+        assertArrayEquals(new int[] {5, 0, 7, 0}, forecast.getTotalCounts(4));
+        assertEquals(1, forecast.getTotalCounts(90)[89]);
+        assertArrayEquals(new int[30], forecast.getDeckCounts(12, 30));
+    }
+
+    @Test
+    void testGetForecast_SecondRequestIsServedFromCache() {
+        when(cardMapper.countDueByDeckAndDay(eq(USER_ID), any(), any()))
+            .thenReturn(List.of(new DueCount(10, today, 5)));
+
+        DueForecast first = dueForecastService.getForecast(USER_ID, 30);
+        DueForecast second = dueForecastService.getForecast(USER_ID, 90);
+
+        assertSame(first, second);
+        verify(cardMapper, times(1)).countDueByDeckAndDay(anyInt(), any(), any());
+    }
+
+    @Test
+    void testGetForecast_InvalidDays() {
+        assertThrows(ValidationException.class, () -> dueForecastService.getForecast(USER_ID, 0));
+        assertThrows(ValidationException.class, () -> dueForecastService.getForecast(USER_ID, 91));
+        verifyNoInteractions(cardMapper);
+    }
+
+    @Test
+    void testCardEvent_InvalidatesOwnerOfCachedDeck() {
+        when(cardMapper.countDueByDeckAndDay(eq(USER_ID), any(), any()))
+            .thenReturn(List.of(new DueCount(10, today, 5)));
+        dueForecastService.getForecast(USER_ID, 30);
+
+        dueForecastService.onCardLifecycle(CardLifecycleEvent.statusChanged(1, 10, 0, 3));
+        dueForecastService.getForecast(USER_ID, 30);
+
+        verify(cardMapper, times(2)).countDueByDeckAndDay(anyInt(), any(), any());
+        verifyNoInteractions(deckCache);
+    }
+
+    @Test
+    void testBulkEvent_DeckWithoutDueCardsResolvesOwnerThroughDeckCache() {
+        when(cardMapper.countDueByDeckAndDay(eq(USER_ID), any(), any())).thenReturn(List.of());
+        when(deckCache.get(20)).thenReturn(deck(20, USER_ID));
+        dueForecastService.getForecast(USER_ID, 30);
+
+        dueForecastService.onCardsBulkChanged(CardsBulkChangedEvent.forDeck(20));
+        dueForecastService.getForecast(USER_ID, 30);
+
+        verify(deckCache, times(1)).get(20);
+        verify(cardMapper, times(2)).countDueByDeckAndDay(anyInt(), any(), any());
+    }
+
+    @Test
+    void testEventWithoutCachedForecasts_LooksNothingUp() {
+        dueForecastService.onCardsBulkChanged(CardsBulkChangedEvent.forDeck(20));
+
+        verifyNoInteractions(deckCache);
+    }
+
+    @Test
+    void testInvalidation_DropsVersionAndDeckOwners() {
+        when(cardMapper.countDueByDeckAndDay(eq(USER_ID), any(), any()))
+            .thenReturn(List.of(new DueCount(10, today, 5)));
+        dueForecastService.getForecast(USER_ID, 30);
+        assertEquals(1, stateSize("slots"));
+        assertEquals(1, stateSize("deckOwners"));
+
+        dueForecastService.onCardsBulkChanged(CardsBulkChangedEvent.forDeck(10));
+
+        assertEquals(0, stateSize("slots"));
+        assertEquals(0, stateSize("deckOwners"));
+    }
+
+    @Test
+    void testEventForOtherUser_KeepsCache() {
+        when(cardMapper.countDueByDeckAndDay(eq(USER_ID), any(), any()))
+            .thenReturn(List.of(new DueCount(10, today, 5)));
+        when(deckCache.get(30)).thenReturn(deck(30, 2));
+        dueForecastService.getForecast(USER_ID, 30);
+
+        dueForecastService.onCardsBulkChanged(CardsBulkChangedEvent.forDeck(30));
+        dueForecastService.getForecast(USER_ID, 30);
+
+        verify(cardMapper, times(1)).countDueByDeckAndDay(anyInt(), any(), any());
+    }
+
+    @Test
+    void testInvalidationDuringLoad_ResultIsNotCached() {
+        when(cardMapper.countDueByDeckAndDay(eq(USER_ID), any(), any())).thenAnswer(invocation -> {
+            // A commit lands while the grouped query runs
+            dueForecastService.invalidateUser(USER_ID);
+            return List.of(new DueCount(10, today, 5));
+        }).thenReturn(List.of(new DueCount(10, today, 6)));
+
+        assertEquals(5, dueForecastService.getForecast(USER_ID, 30).getTotalCounts(1)[0]);
+        assertEquals(6, dueForecastService.getForecast(USER_ID, 30).getTotalCounts(1)[0]);
+    }
+
+    private int stateSize(String field) {
+        return ((Map<?, ?>) ReflectionTestUtils.getField(dueForecastService, field)).size();
+    }
+
+    private static Deck deck(int deckID, int userID) {
+        Deck deck = new Deck();
+        deck.setDeckID(deckID);
+        deck.setUserID(userID);
+        return deck;
+    }
+}
@@ -0,0 +1,162 @@
+package com.app.flashcard.learning.service;
+
+import com.app.flashcard.learning.model.LearningLogPojo;
+import com.app.flashcard.learning.repository.LearningLogMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LearningLogAggregatorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 10);
+
+    @Mock
+    private LearningLogMapper learningLogMapper;
+
+    @InjectMocks
+    private LearningLogAggregator aggregator;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_AggregatesPerDeckUserAndDay() {
+        aggregator.record(100, 200, DAY, 1);
+        aggregator.record(100, 200, DAY, 1);
+        aggregator.record(100, 200, DAY.plusDays(1), 1);
+        aggregator.record(101, 200, DAY, 4);
+
+        int written = aggregator.flush();
+
+        assertEquals(3, written);
+        ArgumentCaptor<List<LearningLogPojo>> rows = ArgumentCaptor.forClass(List.class);
+        verify(learningLogMapper, times(1)).batchUpsertIncrement(rows.capture());
+        List<LearningLogPojo> sorted = new ArrayList<>(rows.getValue());
+        sorted.sort(Comparator.comparing(LearningLogPojo::getDeckID).thenComparing(LearningLogPojo::getLogTime));
+        assertEquals(2, sorted.get(0).getLearnTime());
+        assertEquals(1, sorted.get(1).getLearnTime());
+        assertEquals(4, sorted.get(2).getLearnTime());
+        assertEquals(0, aggregator.getPendingCount(100, 200, DAY));
+    }
+
+    @Test
+    void testFlush_NothingPendingWritesNothing() {
+        assertEquals(0, aggregator.flush());
+        verifyNoInteractions(learningLogMapper);
+    }
+
+    @Test
+    void testFlush_FailureKeepsIncrementsForNextFlush() {
+        doThrow(new RuntimeException("database down")).doReturn(1)
+            .when(learningLogMapper).batchUpsertIncrement(anyList());
+        aggregator.record(100, 200, DAY, 3);
+
+        assertEquals(0, aggregator.flush());
+        assertEquals(3, aggregator.getPendingCount(100, 200, DAY));
+
+        assertEquals(1, aggregator.flush());
+        assertEquals(0, aggregator.getPendingCount(100, 200, DAY));
+    }
+
+    @Test
+    void testRecord_InsideTransactionOnlyCountsAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        aggregator.record(100, 200, DAY, 1);
+        assertEquals(0, aggregator.getPendingCount(100, 200, DAY));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(1, aggregator.getPendingCount(100, 200, DAY));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRecord_ParallelIncrementsAreExactAcrossFlushes() throws Exception {
+        // Low threshold so background flushes drain the buffer while answers keep arriving
+        ReflectionTestUtils.setField(aggregator, "flushThreshold", 1000L);
+        List<Integer> flushed = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            List<LearningLogPojo> rows = invocation.getArgument(0);
+            rows.forEach(row -> flushed.add(row.getLearnTime()));
+            return rows.size();
+        }).when(learningLogMapper).batchUpsertIncrement(anyList());
+
+        int threads = 8;
+        int perThread = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < perThread; i++) {
+                        aggregator.record(100, 200, DAY, 1);
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        aggregator.shutdown();
+
+        assertEquals(threads * perThread, flushed.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(0, aggregator.getPendingCount(100, 200, DAY));
+    }
+
+    @Test
+    void testRecord_ThresholdTriggersBackgroundFlush() {
+        ReflectionTestUtils.setField(aggregator, "flushThreshold", 2L);
+
+        aggregator.record(100, 200, DAY, 1);
+        aggregator.record(100, 200, DAY, 1);
+
+        verify(learningLogMapper, timeout(5000)).batchUpsertIncrement(anyList());
+    }
+
+    @Test
+    void testShutdown_FlushesPendingIncrements() {
+        aggregator.record(100, 200, DAY, 2);
+
+        aggregator.shutdown();
+
+        verify(learningLogMapper).batchUpsertIncrement(anyList());
+        assertEquals(0, aggregator.getPendingCount(100, 200, DAY));
+    }
+}
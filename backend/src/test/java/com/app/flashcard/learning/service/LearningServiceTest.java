@@ -1,22 +1,42 @@
 package com.app.flashcard.learning.service;
 
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
 import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.repository.CardMapper;
 import com.app.flashcard.card.repository.CardRepository;
+import com.app.flashcard.learning.model.AnswerBatchResult;
+import com.app.flashcard.learning.model.CardAnswer;
 import com.app.flashcard.learning.model.LearningLog;
 import com.app.flashcard.learning.repository.LearningLogRepository;
+import com.app.flashcard.learning.scheduling.LegacySchedulingAlgorithm;
+import com.app.flashcard.learning.scheduling.SchedulingEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.app.flashcard.shared.exception.ValidationException;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,9 +45,22 @@ class LearningServiceTest {
     @Mock
     private CardRepository cardRepository;
 
+    @Mock
+    private CardMapper cardMapper;
+
     @Mock
     private LearningLogRepository learningLogRepository;
 
+    @Mock
+    private LearningLogAggregator learningLogAggregator;
+
+    @Spy
+    private SchedulingEngine schedulingEngine =
+        new SchedulingEngine(List.of(new LegacySchedulingAlgorithm()), LegacySchedulingAlgorithm.NAME);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private LearningService learningService;
 
@@ -47,16 +80,13 @@ class LearningServiceTest {
         // Given
         when(cardRepository.findById(1)).thenReturn(Optional.of(testCard));
         when(cardRepository.save(any(Card.class))).thenReturn(testCard);
-        when(learningLogRepository.findByDeckIDAndUserIDAndLogTime(100, 200, LocalDate.now()))
-            .thenReturn(Collections.emptyList());
-        when(learningLogRepository.save(any(LearningLog.class))).thenReturn(new LearningLog());
 
         // When
         learningService.processAnswer(1, 2, 200, 100);
 
         // Then
         verify(cardRepository).save(testCard);
-        verify(learningLogRepository).save(any(LearningLog.class));
+        verify(learningLogAggregator).record(100, 200, LocalDate.now(), 1);
     }
 
     @Test
@@ -65,9 +95,6 @@ class LearningServiceTest {
         testCard.setStatus(5); // established card
         when(cardRepository.findById(1)).thenReturn(Optional.of(testCard));
         when(cardRepository.save(any(Card.class))).thenReturn(testCard);
-        when(learningLogRepository.findByDeckIDAndUserIDAndLogTime(100, 200, LocalDate.now()))
-            .thenReturn(Collections.emptyList());
-        when(learningLogRepository.save(any(LearningLog.class))).thenReturn(new LearningLog());
 
         // When
         learningService.processAnswer(1, 1, 200, 100); // answer = 1 (again)
@@ -88,28 +115,17 @@ class LearningServiceTest {
             () -> learningService.processAnswer(999, 1, 200, 100));
         
         verify(cardRepository, never()).save(any());
-        verify(learningLogRepository, never()).save(any());
+        verifyNoInteractions(learningLogAggregator);
     }
 
     @Test
-    void testUpdateLearningLog_CreatesNewLog() {
-        // Given
-        when(learningLogRepository.findByDeckIDAndUserIDAndLogTime(100, 200, LocalDate.now()))
-            .thenReturn(Collections.emptyList());
-        when(learningLogRepository.save(any(LearningLog.class))).thenAnswer(invocation -> {
-            LearningLog log = invocation.getArgument(0);
-            assertEquals(200, log.getUserID());
-            assertEquals(100, log.getDeckID());
-            assertEquals(LocalDate.now(), log.getLogTime());
-            assertEquals(1, log.getLearnTime());
-            return log;
-        });
-
+    void testUpdateLearningLog_BufferedWithoutIO() {
         // When
         learningService.updateLearningLog(100, 200);
 
-        // Then
-        verify(learningLogRepository).save(any(LearningLog.class));
+        // Then - buffered for write-behind, no database access
+        verify(learningLogAggregator).record(100, 200, LocalDate.now(), 1);
+        verifyNoInteractions(learningLogRepository);
     }
 
     @Test
@@ -183,4 +199,129 @@ class LearningServiceTest {
         assertNotNull(stats);
         assertEquals(10, stats.getCardsStudiedToday());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetLearningStatistics_IncludesBufferedAnswers() {
+        // Given
+        LearningLog log = new LearningLog();
+        log.setLearnTime(10);
+        when(learningLogRepository.findByDeckIDAndUserIDAndLogTime(100, 200, LocalDate.now()))
+            .thenReturn(Collections.singletonList(log));
+        when(learningLogAggregator.getPendingCount(100, 200, LocalDate.now())).thenReturn(3);
+
+        // When
+        LearningService.LearningStatistics stats = learningService.getLearningStatistics(100, 200);
+
+        // Then
+        assertEquals(13, stats.getCardsStudiedToday());
+    }
+
+    @Test
+    void testApplyAnswer_UpdatesCardInPlaceWithoutRepository() {
+        LocalDate today = LocalDate.of(2024, 5, 10);
+        CardPojo card = CardPojo.builder().cardID(1).deckID(100).status(3).remindTime(today).build();
+
+        learningService.applyAnswer(card, 3, today);
+
+        assertEquals(6, card.getStatus());
+        assertEquals(today.plusDays(6), card.getRemindTime());
+        verifyNoInteractions(cardRepository, learningLogRepository, eventPublisher);
+    }
+
+    @Test
+    void testApplyAnswer_InvalidAnswer() {
+        CardPojo card = CardPojo.builder().cardID(1).deckID(100).status(3).remindTime(LocalDate.now()).build();
+
+        assertThrows(ValidationException.class, () -> learningService.applyAnswer(card, 0, LocalDate.now()));
+        assertEquals(3, card.getStatus());
+    }
+
+    @Test
+    void testApplyAnswer_AgainOnFutureCardRestartsToday() {
+        LocalDate today = LocalDate.of(2024, 5, 10);
+        CardPojo card = CardPojo.builder().cardID(1).deckID(100).status(8).remindTime(today.plusDays(4)).build();
+
+        learningService.applyAnswer(card, 1, today);
+
+        assertEquals(0, card.getStatus());
+        assertEquals(today, card.getRemindTime());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProcessAnswerBatch_OneBatchUpdateAndOneLogPerDeckAndDay() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        CardPojo card1 = CardPojo.builder().cardID(1).deckID(100).status(0).remindTime(today).build();
+        CardPojo card2 = CardPojo.builder().cardID(2).deckID(100).status(2).remindTime(today).build();
+        CardPojo card3 = CardPojo.builder().cardID(3).deckID(101).status(0).remindTime(today).build();
+        when(cardMapper.findOwnedByIdsForUpdate(anyCollection(), eq(200)))
+            .thenReturn(Arrays.asList(card1, card2, card3));
+
+        AnswerBatchResult result = learningService.processAnswerBatch(200, Arrays.asList(
+            new CardAnswer(1, 3, now.minusMinutes(3)),
+            new CardAnswer(2, 2, now.minusMinutes(2)),
+            new CardAnswer(3, 4, now.minusMinutes(1))));
+
+        assertEquals(3, result.getAppliedCount());
+        assertTrue(result.getSkippedCardIDs().isEmpty());
+        verify(cardMapper, times(1)).batchUpdateSchedule(argThat(cards -> cards.size() == 3));
+        verify(cardRepository, never()).save(any());
+        verify(learningLogAggregator).record(100, 200, today, 2);
+        verify(learningLogAggregator).record(101, 200, today, 1);
+        verifyNoMoreInteractions(learningLogAggregator);
+        verifyNoInteractions(learningLogRepository);
+        ArgumentCaptor<CardsBulkChangedEvent> event = ArgumentCaptor.forClass(CardsBulkChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Set.of(100, 101), event.getValue().getDeckIDs());
+    }
+
+    @Test
+    void testProcessAnswerBatch_AppliesAnswersForSameCardInTimeOrder() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        CardPojo card = CardPojo.builder().cardID(1).deckID(100).status(5).remindTime(today).build();
+        when(cardMapper.findOwnedByIdsForUpdate(anyCollection(), eq(200))).thenReturn(List.of(card));
+
+        // Submitted out of order: "Again" happened first, then "Good"
+        AnswerBatchResult result = learningService.processAnswerBatch(200, Arrays.asList(
+            new CardAnswer(1, 3, now.minusMinutes(1)),
+            new CardAnswer(1, 1, now.minusMinutes(5))));
+
+        assertEquals(2, result.getAppliedCount());
+        assertEquals(1, result.getUpdatedCards().size());
+        assertEquals(3, card.getStatus());
+    }
+
+    @Test
+    void testProcessAnswerBatch_SkipsCardsOfOtherUsers() {
+        LocalDate today = LocalDate.now();
+        CardPojo card = CardPojo.builder().cardID(1).deckID(100).status(0).remindTime(today).build();
+        when(cardMapper.findOwnedByIdsForUpdate(anyCollection(), eq(200))).thenReturn(List.of(card));
+
+        AnswerBatchResult result = learningService.processAnswerBatch(200, Arrays.asList(
+            new CardAnswer(1, 3, null),
+            new CardAnswer(99, 3, null)));
+
+        assertEquals(1, result.getAppliedCount());
+        assertEquals(List.of(99), result.getSkippedCardIDs());
+    }
+
+    @Test
+    void testProcessAnswerBatch_NothingOwnedWritesNothing() {
+        when(cardMapper.findOwnedByIdsForUpdate(anyCollection(), eq(200))).thenReturn(Collections.emptyList());
+
+        AnswerBatchResult result = learningService.processAnswerBatch(200, List.of(new CardAnswer(99, 3, null)));
+
+        assertEquals(0, result.getAppliedCount());
+        verify(cardMapper, never()).batchUpdateSchedule(any());
+        verifyNoInteractions(learningLogAggregator, eventPublisher);
+    }
+
+    @Test
+    void testProcessAnswerBatch_InvalidAnswer() {
+        assertThrows(ValidationException.class,
+            () -> learningService.processAnswerBatch(200, List.of(new CardAnswer(1, 5, null))));
+        verifyNoInteractions(cardMapper);
+    }
+}
@@ -0,0 +1,223 @@
+package com.app.flashcard.learning.service;
+
+import com.app.flashcard.card.event.CardsBulkChangedEvent;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.model.ScheduleUpdate;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.learning.model.RescheduleJob;
+import com.app.flashcard.learning.repository.RescheduleJobRepository;
+import com.app.flashcard.learning.scheduling.FsrsSchedulingAlgorithm;
+import com.app.flashcard.learning.scheduling.SchedulingEngine;
+import com.app.flashcard.learning.scheduling.SchedulingState;
+import com.app.flashcard.shared.exception.ValidationException;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RescheduleJobServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 10);
+
+    @Mock
+    private CardMapper cardMapper;
+
+    @Mock
+    private RescheduleJobRepository rescheduleJobRepository;
+
+    @Mock
+    private SchedulingEngine schedulingEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RescheduleJobService rescheduleJobService;
+
+    private final FsrsSchedulingAlgorithm scheduledWith = new FsrsSchedulingAlgorithm(0.9);
+    private final FsrsSchedulingAlgorithm reschedulingWith = new FsrsSchedulingAlgorithm(0.8);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(rescheduleJobService, "chunkSize", 2);
+        ReflectionTestUtils.setField(rescheduleJobService, "segmentSize", 3);
+        ReflectionTestUtils.setField(rescheduleJobService, "parallelism", 2);
+        when(schedulingEngine.get("fsrs")).thenReturn(reschedulingWith);
+        when(rescheduleJobRepository.save(any(RescheduleJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(cardMapper.batchUpdateScheduleIfUnchanged(anyList())).thenAnswer(invocation -> writtenIDs(invocation.getArgument(0)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRescheduleChunk_WritesOnlyChangedCards() {
+        CardPojo fsrsCard = fsrsCard(1, 10);
+        CardPojo legacyCard = CardPojo.builder().cardID(2).deckID(10).status(6).remindTime(TODAY).build();
+
+        List<CardPojo> changed = rescheduleJobService.rescheduleChunk(
+            new ArrayList<>(List.of(fsrsCard, legacyCard)), reschedulingWith);
+
+        assertEquals(List.of(fsrsCard), changed);
+        assertTrue(fsrsCard.getIntervalDays() > fsrsCard(1, 10).getIntervalDays());
+        assertEquals(TODAY.plusDays(fsrsCard.getIntervalDays()), fsrsCard.getRemindTime());
+        ArgumentCaptor<List<ScheduleUpdate>> updates = ArgumentCaptor.forClass(List.class);
+        verify(cardMapper).batchUpdateScheduleIfUnchanged(updates.capture());
+        ScheduleUpdate update = updates.getValue().get(0);
+        assertSame(fsrsCard, update.getCard());
+        assertEquals(fsrsCard(1, 10).getStatus(), update.getExpectedStatus());
+        assertEquals(fsrsCard(1, 10).getRemindTime(), update.getExpectedRemindTime());
+        verify(cardMapper, never()).batchUpdateSchedule(any());
+    }
+
+    @Test
+    void testRescheduleChunk_CardAnsweredSinceRead_IsNotReported() {
+        when(cardMapper.batchUpdateScheduleIfUnchanged(anyList())).thenReturn(List.of(2));
+        CardPojo answered = fsrsCard(1, 10);
+        CardPojo untouched = fsrsCard(2, 11);
+
+        List<CardPojo> changed = rescheduleJobService.rescheduleChunk(
+            new ArrayList<>(List.of(answered, untouched)), reschedulingWith);
+
+        assertEquals(List.of(untouched), changed);
+    }
+
+    @Test
+    void testRescheduleChunk_NothingChanged_SkipsWrite() {
+        List<CardPojo> changed = rescheduleJobService.rescheduleChunk(
+            new ArrayList<>(List.of(fsrsCard(1, 10))), scheduledWith);
+
+        assertTrue(changed.isEmpty());
+        verify(cardMapper, never()).batchUpdateScheduleIfUnchanged(any());
+    }
+
+    @Test
+    void testRun_StreamsSegmentsAndCompletesWithCheckpoint() {
+        RescheduleJob job = job(RescheduleJob.Status.PENDING, 0);
+        when(rescheduleJobRepository.findById(1)).thenReturn(Optional.of(job));
+        mockSegment(0, fsrsCard(1, 10), fsrsCard(2, 10), fsrsCard(3, 11));
+        mockSegment(3, fsrsCard(4, 11));
+
+        rescheduleJobService.run(1);
+
+        assertEquals(RescheduleJob.Status.COMPLETED, job.getStatus());
+        assertEquals(4, job.getLastCardID());
+        assertEquals(4, job.getProcessedCount());
+        assertEquals(4, job.getUpdatedCount());
+        assertNotNull(job.getFinishedAt());
+        verify(cardMapper, times(3)).batchUpdateScheduleIfUnchanged(anyList());
+        // One event per written chunk: [1, 2], [3] and [4]
+        ArgumentCaptor<CardsBulkChangedEvent> events = ArgumentCaptor.forClass(CardsBulkChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertEquals(Set.of(10, 11), events.getAllValues().stream()
+            .flatMap(event -> event.getDeckIDs().stream()).collect(Collectors.toSet()));
+        assertTrue(events.getAllValues().stream().noneMatch(CardsBulkChangedEvent::isContentChanged));
+    }
+
+    @Test
+    void testRun_ResumesAfterCheckpoint() {
+        RescheduleJob job = job(RescheduleJob.Status.RUNNING, 2);
+        job.setProcessedCount(2L);
+        when(rescheduleJobRepository.findById(1)).thenReturn(Optional.of(job));
+        mockSegment(2, fsrsCard(3, 10));
+
+        rescheduleJobService.run(1);
+
+        verify(cardMapper, never()).streamCardsForReschedule(isNull(), isNull(), eq(0), anyInt());
+        assertEquals(RescheduleJob.Status.COMPLETED, job.getStatus());
+        assertEquals(3, job.getLastCardID());
+        assertEquals(3, job.getProcessedCount());
+    }
+
+    @Test
+    void testRun_WriteFails_MarksJobFailedBeforeFailedChunk() {
+        RescheduleJob job = job(RescheduleJob.Status.PENDING, 0);
+        when(rescheduleJobRepository.findById(1)).thenReturn(Optional.of(job));
+        ReflectionTestUtils.setField(rescheduleJobService, "parallelism", 1);
+        mockSegment(0, fsrsCard(1, 10), fsrsCard(2, 10), fsrsCard(3, 10));
+        mockSegment(3);
+        when(cardMapper.batchUpdateScheduleIfUnchanged(anyList()))
+            .thenReturn(List.of(1, 2))
+            .thenThrow(new IllegalStateException("connection lost"));
+
+        rescheduleJobService.run(1);
+
+        assertEquals(RescheduleJob.Status.FAILED, job.getStatus());
+        assertEquals("connection lost", job.getErrorMessage());
+        assertEquals(2, job.getLastCardID());
+        // The chunk written before the failure still invalidates its deck
+        ArgumentCaptor<CardsBulkChangedEvent> event = ArgumentCaptor.forClass(CardsBulkChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Set.of(10), event.getValue().getDeckIDs());
+    }
+
+    @Test
+    void testResumeJob_OnlyFailedJobs() {
+        when(rescheduleJobRepository.findById(1)).thenReturn(Optional.of(job(RescheduleJob.Status.COMPLETED, 5)));
+
+        assertThrows(ValidationException.class, () -> rescheduleJobService.resumeJob(1));
+        verify(rescheduleJobRepository, never()).save(any());
+    }
+
+    @Test
+    void testStartJob_DeckScopeNeedsScopeID() {
+        assertThrows(ValidationException.class,
+            () -> rescheduleJobService.startJob(RescheduleJob.Scope.DECK, null, 1));
+        verify(rescheduleJobRepository, never()).save(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockSegment(int afterCardID, CardPojo... cards) {
+        Cursor<CardPojo> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(List.of(cards).iterator());
+        when(cardMapper.streamCardsForReschedule(isNull(), isNull(), eq(afterCardID), anyInt())).thenReturn(cursor);
+    }
+
+    private static List<Integer> writtenIDs(List<ScheduleUpdate> updates) {
+        return updates.stream().map(update -> update.getCard().getCardID()).collect(Collectors.toList());
+    }
+
+    private RescheduleJob job(RescheduleJob.Status status, int lastCardID) {
+        RescheduleJob job = new RescheduleJob(RescheduleJob.Scope.ALL, null, null);
+        job.setJobID(1);
+        job.setAlgorithm("fsrs");
+        job.setStatus(status);
+        job.setLastCardID(lastCardID);
+        return job;
+    }
+
+    // Card last reviewed today under FSRS with 90% retention
+    private CardPojo fsrsCard(int cardID, int deckID) {
+        SchedulingState state = new SchedulingState(0, 0, 0, 0, 0, TODAY.toEpochDay());
+        scheduledWith.schedule(state, FsrsSchedulingAlgorithm.ANSWER_GOOD, TODAY.toEpochDay());
+        return CardPojo.builder()
+            .cardID(cardID).deckID(deckID)
+            .status(state.getStatus()).intervalDays(state.getIntervalDays())
+            .stability(state.getStability()).difficulty(state.getDifficulty())
+            .remindTime(LocalDate.ofEpochDay(state.getDueEpochDay()))
+            .build();
+    }
+}
@@ -0,0 +1,217 @@
+package com.app.flashcard.learning.service;
+
+import com.app.flashcard.card.event.CardLifecycleEvent;
+import com.app.flashcard.card.model.CardPojo;
+import com.app.flashcard.card.repository.CardMapper;
+import com.app.flashcard.learning.model.StudySession;
+import com.app.flashcard.shared.exception.EntityNotFoundException;
+import com.app.flashcard.shared.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudySessionServiceTest {
+
+    @Mock
+    private CardMapper cardMapper;
+
+    @Mock
+    private LearningService learningService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private StudySessionService studySessionService;
+
+    private CardPojo card1;
+    private CardPojo card2;
+
+    @BeforeEach
+    void setUp() {
+        card1 = CardPojo.builder().cardID(1).deckID(100).status(0).remindTime(LocalDate.now()).build();
+        card2 = CardPojo.builder().cardID(2).deckID(100).status(5).remindTime(LocalDate.now()).build();
+    }
+
+    @Test
+    void testStartSession_PrefetchesBatchWithOneQuery() {
+        when(cardMapper.findCardsForReview(eq(100), anyCollection(), eq(20)))
+            .thenReturn(Arrays.asList(card1, card2));
+
+        StudySession session = studySessionService.startSession(200L, 100, 20);
+
+        assertNotNull(session.getSessionID());
+        assertEquals(100, session.getDeckID());
+        assertEquals(2, session.getPendingCount());
+        verify(cardMapper, times(1)).findCardsForReview(anyInt(), anyCollection(), anyInt());
+    }
+
+    @Test
+    void testStartSession_ClampsBatchSize() {
+        when(cardMapper.findCardsForReview(eq(100), anyCollection(), eq(StudySessionService.MAX_BATCH_SIZE)))
+            .thenReturn(Collections.emptyList());
+
+        studySessionService.startSession(200L, 100, 10_000);
+
+        verify(cardMapper).findCardsForReview(eq(100), anyCollection(), eq(StudySessionService.MAX_BATCH_SIZE));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testNextCards_ExcludesPendingCards() {
+        when(cardMapper.findCardsForReview(eq(100), anyCollection(), anyInt()))
+            .thenReturn(Arrays.asList(card1), Arrays.asList(card2));
+        StudySession session = studySessionService.startSession(200L, 100, 1);
+
+        List<CardPojo> next = studySessionService.nextCards(session.getSessionID(), 200L, 1);
+
+        assertEquals(Arrays.asList(card2), next);
+        ArgumentCaptor<Collection<Integer>> excluded = ArgumentCaptor.forClass(Collection.class);
+        verify(cardMapper, times(2)).findCardsForReview(eq(100), excluded.capture(), eq(1));
+        assertEquals(Set.of(1), Set.copyOf(excluded.getAllValues().get(1)));
+    }
+
+    @Test
+    void testNextCards_OtherUserCannotAccessSession() {
+        when(cardMapper.findCardsForReview(eq(100), anyCollection(), anyInt())).thenReturn(Arrays.asList(card1));
+        StudySession session = studySessionService.startSession(200L, 100, 20);
+
+        assertThrows(EntityNotFoundException.class,
+            () -> studySessionService.nextCards(session.getSessionID(), 201L, 20));
+    }
+
+    @Test
+    void testSubmitAnswer_SingleUpdateByPrimaryKey() {
+        when(cardMapper.findCardsForReview(eq(100), anyCollection(), anyInt())).thenReturn(Arrays.asList(card1));
+        doAnswer(invocation -> {
+            CardPojo card = invocation.getArgument(0);
+            card.setStatus(3);
+            card.setRemindTime(card.getRemindTime().plusDays(3));
+            return null;
+        }).when(learningService).applyAnswer(any(CardPojo.class), eq(3), any(LocalDate.class));
+        when(cardMapper.updateScheduleIfUnchanged(any(CardPojo.class), eq(0), any(LocalDate.class))).thenReturn(1);
+        StudySession session = studySessionService.startSession(200L, 100, 20);
+
+        CardPojo result = studySessionService.submitAnswer(session.getSessionID(), 200L, 1, 3);
+
+        assertEquals(3, result.getStatus());
+        assertEquals(0, session.getPendingCount());
+        assertEquals(1, session.getAnsweredCount());
+        verify(cardMapper, never()).findById(anyInt());
+        verify(learningService).updateLearningLog(100, 200);
+        ArgumentCaptor<CardLifecycleEvent> event = ArgumentCaptor.forClass(CardLifecycleEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(CardLifecycleEvent.Type.STATUS_CHANGED, event.getValue().getType());
+        assertEquals(0, event.getValue().getPreviousStatus());
+        assertEquals(3, event.getValue().getStatus());
+    }
+
+    @Test
+    void testSubmitAnswer_StaleCardIsReloaded() {
+        when(cardMapper.findCardsForReview(eq(100), anyCollection(), anyInt())).thenReturn(Arrays.asList(card1));
+        CardPojo current = CardPojo.builder().cardID(1).deckID(100).status(4).remindTime(LocalDate.now()).build();
+        when(cardMapper.findById(1)).thenReturn(current);
+        when(cardMapper.updateScheduleIfUnchanged(any(CardPojo.class), anyInt(), any(LocalDate.class)))
+            .thenReturn(0, 1);
+        StudySession session = studySessionService.startSession(200L, 100, 20);
+
+        CardPojo result = studySessionService.submitAnswer(session.getSessionID(), 200L, 1, 2);
+
+        assertSame(current, result);
+        verify(learningService).applyAnswer(current, 2, LocalDate.now());
+        verify(cardMapper).updateScheduleIfUnchanged(current, 4, LocalDate.now());
+    }
+
+    @Test
+    void testSubmitAnswer_DeletedCard() {
+        when(cardMapper.findCardsForReview(eq(100), anyCollection(), anyInt())).thenReturn(Arrays.asList(card1));
+        when(cardMapper.updateScheduleIfUnchanged(any(CardPojo.class), anyInt(), any(LocalDate.class))).thenReturn(0);
+        when(cardMapper.findById(1)).thenReturn(null);
+        StudySession session = studySessionService.startSession(200L, 100, 20);
+
+        assertThrows(EntityNotFoundException.class,
+            () -> studySessionService.submitAnswer(session.getSessionID(), 200L, 1, 3));
+        verify(learningService, never()).updateLearningLog(anyInt(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any());
+        assertEquals(0, session.getPendingCount());
+    }
+
+    @Test
+    void testSubmitAnswer_FailedWrite_CardCanBeAnsweredAgain() {
+        when(cardMapper.findCardsForReview(eq(100), anyCollection(), anyInt())).thenReturn(Arrays.asList(card1));
+        doAnswer(invocation -> {
+            invocation.<CardPojo>getArgument(0).setStatus(3);
+            return null;
+        }).when(learningService).applyAnswer(any(CardPojo.class), eq(3), any(LocalDate.class));
+        when(cardMapper.updateScheduleIfUnchanged(any(CardPojo.class), eq(0), any(LocalDate.class)))
+            .thenThrow(new IllegalStateException("connection lost"))
+            .thenReturn(1);
+        StudySession session = studySessionService.startSession(200L, 100, 20);
+
+        assertThrows(IllegalStateException.class,
+            () -> studySessionService.submitAnswer(session.getSessionID(), 200L, 1, 3));
+        assertEquals(Set.of(1), session.getPendingCardIDs());
+        assertEquals(0, session.getPendingCards().get(0).getStatus());
+        assertEquals(0, session.getAnsweredCount());
+
+        CardPojo result = studySessionService.submitAnswer(session.getSessionID(), 200L, 1, 3);
+
+        assertEquals(3, result.getStatus());
+        assertEquals(0, session.getPendingCount());
+        assertEquals(1, session.getAnsweredCount());
+    }
+
+    @Test
+    void testSubmitAnswer_CardNotPending() {
+        when(cardMapper.findCardsForReview(eq(100), anyCollection(), anyInt())).thenReturn(Arrays.asList(card1));
+        StudySession session = studySessionService.startSession(200L, 100, 20);
+
+        assertThrows(ValidationException.class,
+            () -> studySessionService.submitAnswer(session.getSessionID(), 200L, 99, 3));
+        verify(cardMapper, never()).updateScheduleIfUnchanged(any(), anyInt(), any());
+    }
+
+    @Test
+    void testEndSession() {
+        when(cardMapper.findCardsForReview(eq(100), anyCollection(), anyInt())).thenReturn(Collections.emptyList());
+        StudySession session = studySessionService.startSession(200L, 100, 20);
+
+        studySessionService.endSession(session.getSessionID(), 200L);
+
+        assertEquals(0, studySessionService.getActiveSessionCount());
+        assertThrows(EntityNotFoundException.class,
+            () -> studySessionService.getSession(session.getSessionID(), 200L));
+    }
+
+    @Test
+    void testStartSession_EvictsOldestSessionsOfUser() {
+        when(cardMapper.findCardsForReview(eq(100), anyCollection(), anyInt())).thenReturn(Collections.emptyList());
+
+        for (int i = 0; i < 7; i++) {
+            studySessionService.startSession(200L, 100, 20);
+        }
+        studySessionService.startSession(300L, 100, 20);
+
+        assertEquals(6, studySessionService.getActiveSessionCount());
+    }
+}
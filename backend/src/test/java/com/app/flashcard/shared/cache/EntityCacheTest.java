@@ -0,0 +1,110 @@
+package com.app.flashcard.shared.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private EntityCache<Integer, StringBuilder> cache(boolean enabled, int maxEntries) {
+        return new EntityCache<>("test", key -> {
+            loads.incrementAndGet();
+            return key < 0 ? null : new StringBuilder("v" + key);
+        }, StringBuilder::new, enabled, Duration.ofSeconds(10), maxEntries, clock::get);
+    }
+
+    @Test
+    void testHitsReturnCopiesUntilExpired() {
+        EntityCache<Integer, StringBuilder> cache = cache(true, 10);
+
+        cache.get(1).append("-changed");
+        assertEquals("v1", cache.get(1).toString());
+        assertEquals(1, loads.get());
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        cache.get(1);
+        assertEquals(2, loads.get());
+        assertEquals(1.0 / 3, cache.getStatistics().get("cache.test.hitRatio"));
+    }
+
+    @Test
+    void testMissReturnsCopyOfLoadedEntity() {
+        StringBuilder loaded = new StringBuilder("v1");
+        EntityCache<Integer, StringBuilder> cache = new EntityCache<>("test", key -> loaded,
+            StringBuilder::new, true, Duration.ofSeconds(10), 10, clock::get);
+
+        cache.get(1).append("-changed");
+
+        assertEquals("v1", loaded.toString());
+        assertEquals("v1", cache.get(1).toString());
+    }
+
+    @Test
+    void testMissingEntitiesAreNotCached() {
+        EntityCache<Integer, StringBuilder> cache = cache(true, 10);
+
+        assertNull(cache.get(-1));
+        assertNull(cache.get(-1));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testInvalidation() {
+        EntityCache<Integer, StringBuilder> cache = cache(true, 10);
+        cache.get(1);
+        cache.get(2);
+        cache.get(3);
+
+        cache.invalidate(1);
+        cache.invalidateIf(value -> value.toString().equals("v2"));
+
+        assertEquals(1, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testLoadOverlappingInvalidationIsNotCached() {
+        EntityCache<Integer, StringBuilder> cache = cache(true, 10);
+
+        StringBuilder value = cache.get(1, key -> {
+            cache.invalidate(key);
+            return new StringBuilder("stale");
+        });
+
+        assertEquals("stale", value.toString());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testSizeBound() {
+        EntityCache<Integer, StringBuilder> cache = cache(true, 16);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get(i);
+        }
+
+        assertTrue(cache.size() <= 16);
+        assertTrue((Long) cache.getStatistics().get("cache.test.evictions") > 0);
+    }
+
+    @Test
+    void testDisabledPassesThrough() {
+        EntityCache<Integer, StringBuilder> cache = cache(false, 10);
+
+        cache.get(1);
+        cache.get(1);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,104 @@
+package com.app.flashcard.shared.cache;
+
+import com.app.flashcard.card.model.Card;
+import com.app.flashcard.deck.model.Deck;
+import com.app.flashcard.deck.repository.DeckMapper;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.parsing.PropertyParser;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.InputStream;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MapperCacheManagerTest {
+
+    private static final String CARD_NAMESPACE = "com.app.flashcard.card.repository.CardMapper";
+    private static final String DECK_NAMESPACE = "com.app.flashcard.deck.repository.DeckMapper";
+
+    @Mock
+    private ObjectProvider<SqlSessionFactory> sqlSessionFactoryProvider;
+
+    private Configuration configuration;
+    private MapperCacheManager mapperCacheManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Properties variables = new Properties();
+        variables.setProperty(PropertyParser.KEY_ENABLE_DEFAULT_VALUE, "true");
+        variables.setProperty("flashcard.mybatis-cache.card.size", "7");
+        configuration = new Configuration();
+        configuration.setVariables(variables);
+        parse("mappers/CardMapper.xml");
+        parse("mappers/DeckMapper.xml");
+
+        lenient().when(sqlSessionFactoryProvider.getIfAvailable()).thenReturn(new DefaultSqlSessionFactory(configuration));
+        mapperCacheManager = new MapperCacheManager();
+        ReflectionTestUtils.setField(mapperCacheManager, "sqlSessionFactory", sqlSessionFactoryProvider);
+    }
+
+    @Test
+    void testMapperXml_DeckSharesCardCacheWithConfiguredSize() {
+        Cache cardCache = configuration.getCache(CARD_NAMESPACE);
+
+        assertSame(cardCache, configuration.getMappedStatement(DECK_NAMESPACE + ".findStatisticsByUserId").getCache());
+        assertTrue(configuration.getMappedStatement(DECK_NAMESPACE + ".findStatisticsByUserId").isUseCache());
+        assertFalse(configuration.getMappedStatement(DECK_NAMESPACE + ".findStatisticsByDeckIds").isUseCache());
+        assertFalse(configuration.getMappedStatement(CARD_NAMESPACE + ".findOwnedByIdsForUpdate").isUseCache());
+        assertTrue(configuration.getMappedStatement(CARD_NAMESPACE + ".batchUpdateSchedule").isFlushCacheRequired());
+        assertEquals(7, mapperCacheManager.getStatistics().get("mybatisCache.CardMapper.maxEntries"));
+    }
+
+    @Test
+    void testFlush_DeckMapperResolvesSharedCache() {
+        Cache cardCache = configuration.getCache(CARD_NAMESPACE);
+        cardCache.putObject("statistics", 1);
+
+        mapperCacheManager.flush(DeckMapper.class);
+
+        assertNull(cardCache.getObject("statistics"));
+    }
+
+    @Test
+    void testEntityWrite_FlushesAgainAfterCompletion() {
+        Cache cardCache = configuration.getCache(CARD_NAMESPACE);
+        mapperCacheManager.register();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Card card = new Card();
+            new MapperCacheEntityListener().onWrite(card);
+            new MapperCacheEntityListener().onWrite(new Deck());
+            assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+
+            // Stored by a reader that started before the commit
+            cardCache.putObject("page", 1);
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            assertNull(cardCache.getObject("page"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void parse(String resource) throws Exception {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(resource)) {
+            new XMLMapperBuilder(input, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.app.flashcard.shared.cache;
+
+import org.apache.ibatis.cache.CacheException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapperCacheTest {
+
+    private MapperCache cache(String id, int size, long ttlSeconds, String eviction) {
+        MapperCache cache = new MapperCache(id);
+        cache.setSize(size);
+        cache.setTtlSeconds(ttlSeconds);
+        cache.setEviction(eviction);
+        cache.initialize();
+        return cache;
+    }
+
+    @Test
+    void testHitsReturnCopies() {
+        MapperCache cache = cache("test.CopyMapper", 10, 60, "LRU");
+        cache.putObject("key", new ArrayList<>(List.of("a", "b")));
+
+        @SuppressWarnings("unchecked")
+        List<String> first = (List<String>) cache.getObject("key");
+        first.add("c");
+
+        assertEquals(List.of("a", "b"), cache.getObject("key"));
+        assertNull(cache.getObject("other"));
+        assertEquals(2.0 / 3, cache.getStatistics().get("mybatisCache.CopyMapper.hitRatio"));
+    }
+
+    @Test
+    void testBypassMissesAndDoesNotStore() {
+        MapperCache cache = cache("test.BypassMapper", 10, 60, "LRU");
+        cache.putObject("cached", "value");
+
+        Object bypassed = MapperCache.bypass(() -> {
+            cache.putObject("new", "value");
+            return cache.getObject("cached");
+        });
+
+        assertNull(bypassed);
+        assertEquals("value", cache.getObject("cached"));
+        assertNull(cache.getObject("new"));
+        // The bypassed lookup is neither a hit nor a miss
+        assertEquals(1L, cache.getStatistics().get("mybatisCache.BypassMapper.hits"));
+        assertEquals(1L, cache.getStatistics().get("mybatisCache.BypassMapper.misses"));
+    }
+
+    @Test
+    void testLruEviction() {
+        MapperCache cache = cache("test.LruMapper", 2, 60, "lru");
+        cache.putObject(1, 1);
+        cache.putObject(2, 2);
+        cache.getObject(1);
+        cache.putObject(3, 3);
+
+        assertEquals(1, cache.getObject(1));
+        assertNull(cache.getObject(2));
+        assertEquals(1L, cache.getStatistics().get("mybatisCache.LruMapper.evictions"));
+    }
+
+    @Test
+    void testFifoEviction() {
+        MapperCache cache = cache("test.FifoMapper", 2, 60, "FIFO");
+        cache.putObject(1, 1);
+        cache.putObject(2, 2);
+        cache.getObject(1);
+        cache.putObject(3, 3);
+
+        assertNull(cache.getObject(1));
+        assertEquals(2, cache.getObject(2));
+    }
+
+    @Test
+    void testExpiryClearAndNullPuts() {
+        MapperCache expiring = cache("test.ExpiringMapper", 10, 0, "LRU");
+        expiring.putObject(1, 1);
+        assertNull(expiring.getObject(1));
+        assertEquals(1L, expiring.getStatistics().get("mybatisCache.ExpiringMapper.expirations"));
+
+        MapperCache cache = cache("test.ClearMapper", 10, 60, "LRU");
+        cache.putObject(1, null);
+        cache.putObject(2, 2);
+        assertEquals(1, cache.getSize());
+        cache.clear();
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(CacheException.class, () -> cache("test.BadMapper", 10, 60, "RANDOM"));
+
+        MapperCache cache = cache("test.PlainMapper", 10, 60, "LRU");
+        assertThrows(CacheException.class, () -> cache.putObject(1, new Object()));
+    }
+}
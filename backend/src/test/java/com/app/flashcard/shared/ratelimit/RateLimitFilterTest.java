@@ -0,0 +1,120 @@
+package com.app.flashcard.shared.ratelimit;
+
+import com.app.flashcard.shared.security.JwtClaims;
+import com.app.flashcard.shared.security.JwtUtil;
+import com.app.flashcard.user.model.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.MalformedJwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private final ApiAdmissionControl admissionControl = new ApiAdmissionControl(true, 1, 2, 1, 1, 100, 1, 1, 1);
+
+    private final RateLimitFilter filter = new RateLimitFilter();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(filter, "admissionControl", admissionControl);
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    void testUserOverRate_IsRejectedWith429AndRetryAfter() throws Exception {
+        when(jwtUtil.verify("token")).thenReturn(claims(7L));
+
+        assertEquals(200, send("/api/v1/decks", "token").getStatus());
+        assertEquals(200, send("/api/v1/decks", "token").getStatus());
+        MockHttpServletResponse rejected = send("/api/v1/decks", "token");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Too many requests"));
+        assertEquals(1L, admissionControl.getStatistics().get("rateLimit.default.rejected.rate"));
+    }
+
+    @Test
+    void testAnonymousRequests_AreLimitedPerClientIp() throws Exception {
+        when(jwtUtil.verify("forged")).thenThrow(new MalformedJwtException("bad"));
+
+        assertEquals(200, send("/api/v1/auth/login", null).getStatus());
+        assertEquals(429, send("/api/v1/auth/login", "forged").getStatus());
+    }
+
+    @Test
+    void testForgedForwardedFor_DoesNotGiveAnonymousClientANewBucket() throws Exception {
+        assertEquals(200, sendForwardedFor("203.0.113.1").getStatus());
+        assertEquals(429, sendForwardedFor("203.0.113.2").getStatus());
+    }
+
+    @Test
+    void testGroupAtConcurrencyLimit_IsRejectedWith503() throws Exception {
+        when(jwtUtil.verify(anyString())).thenAnswer(invocation -> claims(invocation.getArgument(0).hashCode()));
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        FilterChain slowChain = (request, response) -> nested[0] = send("/api/v1/cards/export", "other");
+
+        MockHttpServletRequest request = request("/api/v1/cards/deck/1/export", "token");
+        filter.doFilter(request, new MockHttpServletResponse(), slowChain);
+
+        assertEquals(503, nested[0].getStatus());
+        assertEquals("1", nested[0].getHeader("Retry-After"));
+        // The slot is free again once the first request completed
+        assertEquals(200, send("/api/v1/cards/export", "third").getStatus());
+    }
+
+    @Test
+    void testNonApiPaths_AreNotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, send("/swagger-ui/index.html", null).getStatus());
+        }
+        verifyNoInteractions(jwtUtil);
+    }
+
+    private MockHttpServletResponse send(String path, String token) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(path, token), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletResponse sendForwardedFor(String forwardedFor) throws ServletException, IOException {
+        MockHttpServletRequest request = request("/api/v1/auth/login", null);
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr("10.0.0.1");
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    private static JwtClaims claims(long userID) {
+        return new JwtClaims("user" + userID, userID, UserRole.USER, 0, Instant.now().plusSeconds(60));
+    }
+}
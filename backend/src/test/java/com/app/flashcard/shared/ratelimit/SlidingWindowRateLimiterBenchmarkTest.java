@@ -0,0 +1,120 @@
+package com.app.flashcard.shared.ratelimit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Throughput and memory of SlidingWindowRateLimiter with one million distinct client IP keys
+ * hit from several threads, as the login limiter sees them. Run with ./gradlew benchmark
+ * (excluded from the regular test task).
+ */
+@Tag("benchmark")
+class SlidingWindowRateLimiterBenchmarkTest {
+
+    private static final int KEYS = 1_000_000;
+    private static final int THREADS = 8;
+    private static final long WINDOW_MILLIS = 15 * 60 * 1000L;
+
+    private record Result(String phase, double nanosPerOperation) {
+    }
+
+    @Test
+    void benchmarkMillionKeys() throws Exception {
+        String[] keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = ip(i);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            warmUp(executor, keys);
+            long heapBefore = usedHeap();
+            SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(5, WINDOW_MILLIS, WINDOW_MILLIS, KEYS);
+            List<Result> results = new ArrayList<>();
+            results.add(new Result("first hit (insert)", run(executor, i -> limiter.hit(keys[i]))));
+            long bytesPerKey = (usedHeap() - heapBefore) / KEYS;
+            results.add(new Result("repeat hit", run(executor, i -> limiter.hit(keys[i]))));
+            assertEquals(KEYS, limiter.size());
+            assertEquals(2, limiter.count(keys[KEYS - 1]));
+
+            long start = System.nanoTime();
+            limiter.expire();
+            double expireMillis = (System.nanoTime() - start) / 1_000_000.0;
+            assertEquals(KEYS, limiter.size());
+
+            results.add(new Result("new keys into full limiter (evicting)",
+                run(executor, i -> limiter.hit(ip(KEYS + i)))));
+            assertTrue(limiter.size() <= KEYS + THREADS, "size " + limiter.size());
+
+            print(results, bytesPerKey, expireMillis);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Run the same phases on a throwaway limiter, so the measured one starts empty
+     */
+    private static void warmUp(ExecutorService executor, String[] keys) throws Exception {
+        SlidingWindowRateLimiter warmup = new SlidingWindowRateLimiter(5, WINDOW_MILLIS, WINDOW_MILLIS, KEYS);
+        run(executor, i -> warmup.hit(keys[i]));
+        run(executor, i -> warmup.hit(keys[i]));
+        run(executor, i -> warmup.hit(ip(KEYS + i)));
+    }
+
+    /**
+     * Hit every key index once, split across the threads
+     * @return Wall-clock nanoseconds per operation, all threads together
+     */
+    private static double run(ExecutorService executor, IntConsumer hit) throws Exception {
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            int first = t;
+            futures.add(executor.submit(() -> {
+                for (int i = first; i < KEYS; i += THREADS) {
+                    hit.accept(i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return (double) (System.nanoTime() - start) / KEYS;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static String ip(int i) {
+        return "10." + ((i >>> 16) & 0xFF) + "." + ((i >>> 8) & 0xFF) + "." + (i & 0xFF);
+    }
+
+    private static void print(List<Result> results, long bytesPerKey, double expireMillis) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+            "%n%d keys, %d threads, %d processors%n%-40s %12s %12s%n",
+            KEYS, THREADS, Runtime.getRuntime().availableProcessors(), "phase", "ns/op", "ops/s"));
+        results.forEach(result -> table.append(String.format(Locale.ROOT, "%-40s %12.0f %12.0f%n",
+            result.phase(), result.nanosPerOperation(), 1e9 / result.nanosPerOperation())));
+        table.append(String.format(Locale.ROOT, "%-40s %12d%n", "bytes per key (excluding the key string)", bytesPerKey));
+        table.append(String.format(Locale.ROOT, "%-40s %12.3f%n", "expire() with none due, ms", expireMillis));
+        System.out.println(table);
+    }
+}
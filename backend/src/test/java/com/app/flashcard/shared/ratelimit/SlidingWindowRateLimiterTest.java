@@ -0,0 +1,131 @@
+package com.app.flashcard.shared.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long WINDOW = 60_000;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void testHit_BlocksAtLimitForBlockPeriod() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(3, WINDOW, 120_000, 100, clock::get);
+
+        assertEquals(1, limiter.hit("a"));
+        assertEquals(2, limiter.hit("a"));
+        assertEquals(0, limiter.blockedForMillis("a"));
+        assertEquals(1, limiter.remaining("a"));
+        assertEquals(3, limiter.hit("a"));
+
+        assertEquals(120_000, limiter.blockedForMillis("a"));
+        assertEquals(0, limiter.remaining("a"));
+        assertEquals(0, limiter.blockedForMillis("b"));
+
+        clock.addAndGet(120_000);
+        assertEquals(0, limiter.blockedForMillis("a"));
+    }
+
+    @Test
+    void testCount_WeighsPreviousWindowBySlidingOverlap() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(100, WINDOW, 0, 100, clock::get);
+        for (int i = 0; i < 10; i++) {
+            limiter.hit("a");
+        }
+
+        clock.addAndGet(WINDOW + WINDOW / 4);
+
+        // A quarter into the next window, three quarters of the previous one still count
+        assertEquals(7, limiter.count("a"));
+        assertEquals(8, limiter.hit("a"));
+
+        clock.addAndGet(2 * WINDOW);
+        assertEquals(0, limiter.count("a"));
+    }
+
+    @Test
+    void testBlockedForMillis_WithoutBlockPeriodRejectsUntilWindowRollsOver() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(2, WINDOW, 0, 100, clock::get);
+        limiter.hit("a");
+        limiter.hit("a");
+
+        assertTrue(limiter.blockedForMillis("a") > 0);
+        assertTrue(limiter.blockedForMillis("a") <= WINDOW);
+    }
+
+    @Test
+    void testReset_ForgetsKey() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(2, WINDOW, 60_000, 100, clock::get);
+        limiter.hit("a");
+        limiter.hit("a");
+
+        limiter.reset("a");
+
+        assertEquals(0, limiter.blockedForMillis("a"));
+        assertEquals(1, limiter.hit("a"));
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void testExpire_DropsOnlyKeysThatRanOut() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(2, WINDOW, 10 * WINDOW, 100, clock::get);
+        limiter.hit("quiet");
+        limiter.hit("blocked");
+        limiter.hit("blocked");
+
+        clock.addAndGet(3 * WINDOW);
+        assertEquals(1, limiter.expire());
+        assertEquals(1, limiter.size());
+        assertTrue(limiter.blockedForMillis("blocked") > 0);
+
+        clock.addAndGet(10 * WINDOW);
+        assertEquals(1, limiter.expire());
+        assertEquals(0, limiter.size());
+    }
+
+    @Test
+    void testCapacity_EvictsKeysExpiringSoonestFirst() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(2, WINDOW, 10 * WINDOW, 8, clock::get);
+        limiter.hit("blocked");
+        limiter.hit("blocked");
+        for (int i = 0; i < 20; i++) {
+            limiter.hit("key-" + i);
+        }
+
+        assertTrue(limiter.size() <= 8);
+        assertTrue(limiter.blockedForMillis("blocked") > 0);
+        assertEquals(1, limiter.count("key-19"));
+    }
+
+    @Test
+    void testHit_CountsConcurrentHitsExactly() throws Exception {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(60_000, WINDOW, 0, 100, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 5000; i++) {
+                    limiter.hit("shared");
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(40_000, limiter.count("shared"));
+    }
+}
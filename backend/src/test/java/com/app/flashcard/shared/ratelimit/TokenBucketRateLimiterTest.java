@@ -0,0 +1,54 @@
+package com.app.flashcard.shared.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    void testTryAcquire_AllowsBurstThenRefillRate() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 3, 100, clock::get);
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(SECOND / 2, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("b"));
+
+        clock.addAndGet(SECOND / 2);
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void testExpire_DropsRefilledBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 5, 100, clock::get);
+        limiter.tryAcquire("idle");
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("busy");
+        }
+
+        clock.addAndGet(2 * SECOND);
+
+        assertEquals(1, limiter.expire());
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void testCapacity_IsBounded() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 16, clock::get);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("key-" + i);
+        }
+
+        assertTrue(limiter.size() <= 16);
+    }
+}
@@ -0,0 +1,73 @@
+package com.app.flashcard.shared.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void testEncodeAndMatches() {
+        encoder = new BoundedPasswordEncoder(4, 2, 8, 5000);
+
+        String hash = encoder.encode("secret1");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(encoder.matches("secret1", hash));
+        assertFalse(encoder.matches("secret2", hash));
+        assertEquals(3L, encoder.getStatistics().get("passwordHashing.completed"));
+    }
+
+    @Test
+    void testUpgradeEncoding_WorkFactorChanged() {
+        encoder = new BoundedPasswordEncoder(5, 1, 8, 5000);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret1")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret1")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret1")));
+        assertFalse(encoder.upgradeEncoding("plain-text"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Test
+    void testQueueFull_RejectsFast() throws Exception {
+        encoder = new BoundedPasswordEncoder(13, 1, 1, 30000);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        waitFor("passwordHashing.active", 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitFor("passwordHashing.queueDepth", 1);
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("c", "$2a$04$x"));
+        assertEquals(1L, encoder.getStatistics().get("passwordHashing.rejected"));
+
+        assertNotNull(running.get());
+        assertNotNull(queued.get());
+    }
+
+    @Test
+    void testTimeout_FailsWithBusy() {
+        encoder = new BoundedPasswordEncoder(13, 1, 4, 1);
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("secret1"));
+        assertEquals(1L, encoder.getStatistics().get("passwordHashing.timedOut"));
+    }
+
+    private void waitFor(String statistic, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (((Number) encoder.getStatistics().get(statistic)).intValue() != expected) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for " + statistic);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.app.flashcard.shared.security;
+
+import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.model.UserStatus;
+import com.app.flashcard.user.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Test
+    void testLoadUserByUsername_SingleLookup() {
+        User user = new User();
+        user.setUserID(7L);
+        user.setUserLoginID("alice");
+        user.setStatus(UserStatus.ACTIVE);
+        when(userService.findByLoginIdentifier("alice@example.com")).thenReturn(user);
+
+        UserDetails details = customUserDetailsService.loadUserByUsername("alice@example.com");
+
+        assertSame(user, ((UserPrincipal) details).getUser());
+        verify(userService, times(1)).findByLoginIdentifier("alice@example.com");
+        verifyNoMoreInteractions(userService);
+    }
+
+    @Test
+    void testLoadUserByUsername_UnknownUser_NoFallbackQuery() {
+        when(userService.findByLoginIdentifier("nobody")).thenReturn(null);
+
+        assertThrows(UsernameNotFoundException.class,
+            () -> customUserDetailsService.loadUserByUsername("nobody"));
+
+        verify(userService, times(1)).findByLoginIdentifier("nobody");
+        verifyNoMoreInteractions(userService);
+    }
+
+    @Test
+    void testUpdatePassword_StoresRehashedPassword() {
+        User user = new User();
+        user.setUserID(7L);
+        user.setUserLoginID("alice");
+        user.setUserPW("$2a$04$old");
+
+        UserDetails details = customUserDetailsService.updatePassword(new UserPrincipal(user), "$2a$10$new");
+
+        assertEquals("$2a$10$new", details.getPassword());
+        verify(userService).updatePasswordHash(7L, "$2a$10$new");
+    }
+}
@@ -0,0 +1,129 @@
+package com.app.flashcard.shared.security;
+
+import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.model.UserRole;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @InjectMocks
+    private JwtAuthenticationFilter filter;
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        jwtUtil.init();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testStatelessToken_AuthenticatesFromClaimsWithoutUserLookup() throws Exception {
+        String token = jwtUtil.generateToken(new UserPrincipal(user(7L, UserRole.ADMIN, 2)));
+        when(tokenVersionService.isCurrent(7L, 2)).thenReturn(true);
+
+        Authentication authentication = filter(token);
+
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertEquals(7L, principal.getUserID());
+        assertEquals("alice", principal.getUsername());
+        assertNull(principal.getUser());
+        assertTrue(authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN")));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void testStatelessToken_RevokedVersionIsRejected() throws Exception {
+        String token = jwtUtil.generateToken(new UserPrincipal(user(7L, UserRole.USER, 2)));
+        when(tokenVersionService.isCurrent(7L, 2)).thenReturn(false);
+
+        assertNull(filter(token));
+    }
+
+    @Test
+    void testLegacyToken_LoadsUser() throws Exception {
+        String token = Jwts.builder()
+            .subject("alice")
+            .expiration(new Date(System.currentTimeMillis() + 60000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+            .compact();
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(new UserPrincipal(user(7L, UserRole.USER, 0)));
+
+        Authentication authentication = filter(token);
+
+        assertEquals(7L, ((UserPrincipal) authentication.getPrincipal()).getUserID());
+        verify(tokenVersionService, never()).isCurrent(anyLong(), anyInt());
+    }
+
+    @Test
+    void testStatefulMode_RejectsTokenOfOlderVersion() throws Exception {
+        ReflectionTestUtils.setField(filter, "stateless", false);
+        String token = jwtUtil.generateToken(new UserPrincipal(user(7L, UserRole.USER, 1)));
+        when(userDetailsService.loadUserByUsername("alice")).thenReturn(new UserPrincipal(user(7L, UserRole.USER, 2)));
+
+        assertNull(filter(token));
+    }
+
+    @Test
+    void testInvalidToken_LeavesRequestUnauthenticated() throws Exception {
+        assertNull(filter("not-a-token"));
+        verifyNoInteractions(userDetailsService, tokenVersionService);
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static User user(Long userID, UserRole role, int tokenVersion) {
+        User user = new User();
+        user.setUserID(userID);
+        user.setUserLoginID("alice");
+        user.setRole(role);
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+}
@@ -0,0 +1,105 @@
+package com.app.flashcard.shared.security;
+
+import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.model.UserRole;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        jwtUtil.init();
+    }
+
+    @Test
+    void testVerify_ReadsClaimsOnceAndServesRepeatsFromCache() {
+        String token = jwtUtil.generateToken(new UserPrincipal(user(7L, UserRole.MODERATOR, 3)));
+
+        JwtClaims claims = jwtUtil.verify(token);
+
+        assertEquals("alice", claims.subject());
+        assertEquals(7L, claims.userID());
+        assertEquals(UserRole.MODERATOR, claims.role());
+        assertEquals(3, claims.tokenVersion());
+        assertTrue(claims.isStateless());
+        assertSame(claims, jwtUtil.verify(token));
+    }
+
+    @Test
+    void testVerify_RejectsTamperedAndForeignTokens() {
+        String token = jwtUtil.generateToken(new UserPrincipal(user(7L, UserRole.USER, 0)));
+        jwtUtil.verify(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        String foreign = Jwts.builder()
+            .subject("alice")
+            .signWith(Keys.hmacShaKeyFor("another-secret-another-secret-another-secret".getBytes()))
+            .compact();
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+        assertThrows(JwtException.class, () -> jwtUtil.verify(foreign));
+        assertFalse(jwtUtil.isTokenValid("not-a-token"));
+    }
+
+    @Test
+    void testVerify_RejectsExpiredTokens() {
+        String expired = Jwts.builder()
+            .subject("alice")
+            .expiration(new Date(System.currentTimeMillis() - 1000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+            .compact();
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(expired));
+    }
+
+    @Test
+    void testVerify_LegacyTokenHasNoStatelessClaims() {
+        String legacy = Jwts.builder()
+            .subject("alice")
+            .expiration(new Date(System.currentTimeMillis() + 60000))
+            .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+            .compact();
+
+        JwtClaims claims = jwtUtil.verify(legacy);
+
+        assertEquals("alice", claims.subject());
+        assertFalse(claims.isStateless());
+    }
+
+    @Test
+    void testVerify_CacheIsBounded() {
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 1);
+        String first = jwtUtil.generateToken(new UserPrincipal(user(1L, UserRole.USER, 0)));
+        String second = jwtUtil.generateToken(new UserPrincipal(user(2L, UserRole.USER, 0)));
+
+        JwtClaims claims = jwtUtil.verify(first);
+        jwtUtil.verify(second);
+
+        assertNotSame(claims, jwtUtil.verify(first));
+        assertEquals(claims, jwtUtil.verify(first));
+    }
+
+    private static User user(Long userID, UserRole role, int tokenVersion) {
+        User user = new User();
+        user.setUserID(userID);
+        user.setUserLoginID("alice");
+        user.setRole(role);
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+}
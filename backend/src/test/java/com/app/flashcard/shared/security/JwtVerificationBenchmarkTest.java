@@ -0,0 +1,110 @@
+package com.app.flashcard.shared.security;
+
+import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.model.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cost of authenticating one request from its bearer token, before and after JwtUtil parsed
+ * each token once and cached verified tokens. Run with ./gradlew benchmark (excluded from the
+ * regular test task).
+ */
+@Tag("benchmark")
+class JwtVerificationBenchmarkTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    private record Result(String variant, double meanMicros, double p50Micros, double p99Micros,
+                          long bytesPerRequest) {
+    }
+
+    @Test
+    void benchmarkTokenVerification() {
+        JwtUtil cached = jwtUtil(10000);
+        JwtUtil uncached = jwtUtil(0);
+        String token = cached.generateToken(new UserPrincipal(user()));
+
+        List<Result> results = new ArrayList<>();
+        results.add(measure("key + parser per call, 3 parses", token, JwtVerificationBenchmarkTest::verifyPerCall));
+        results.add(measure("parse once, shared parser", token, t -> uncached.verify(t).subject()));
+        results.add(measure("cached verified token", token, t -> cached.verify(t).subject()));
+        print(results);
+    }
+
+    /**
+     * The request path before the change: extractUsername, validateToken and isTokenExpired
+     * each built the key and a parser and parsed the token again
+     */
+    private static String verifyPerCall(String token) {
+        String username = parse(token).getSubject();
+        boolean valid = parse(token).getSubject().equals(username);
+        boolean expired = parse(token).getExpiration().before(new Date());
+        return valid && !expired ? username : null;
+    }
+
+    private static Claims parse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+
+    private static Result measure(String variant, String token, Function<String, String> verify) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            assertEquals("alice", verify.apply(token));
+        }
+        long[] nanos = new long[ITERATIONS];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            verify.apply(token);
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        Arrays.sort(nanos);
+        return new Result(variant, Arrays.stream(nanos).average().orElse(0) / 1000.0,
+            nanos[ITERATIONS / 2] / 1000.0, nanos[(int) (ITERATIONS * 0.99)] / 1000.0, allocated / ITERATIONS);
+    }
+
+    private static JwtUtil jwtUtil(int verifiedCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", verifiedCacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setUserID(7L);
+        user.setUserLoginID("alice");
+        user.setRole(UserRole.USER);
+        return user;
+    }
+
+    private static void print(List<Result> results) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-36s %10s %10s %10s %12s%n",
+            "variant", "mean us", "p50 us", "p99 us", "bytes/req"));
+        results.forEach(result -> table.append(String.format(Locale.ROOT, "%-36s %10.2f %10.2f %10.2f %12d%n",
+            result.variant(), result.meanMicros(), result.p50Micros(), result.p99Micros(), result.bytesPerRequest())));
+        System.out.println(table);
+    }
+}
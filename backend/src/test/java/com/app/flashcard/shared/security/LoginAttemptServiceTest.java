@@ -0,0 +1,44 @@
+package com.app.flashcard.shared.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptServiceTest {
+
+    private final LoginAttemptService loginAttemptService = new LoginAttemptService(3, 5, 15, 15, 1000);
+
+    @Test
+    void testFailedAttempts_BlockIpAtLimit() {
+        loginAttemptService.registerFailedAttempt("10.0.0.1", "alice");
+        loginAttemptService.registerFailedAttempt("10.0.0.1", "alice");
+        assertEquals(1, loginAttemptService.getRemainingAttempts("10.0.0.1", "alice"));
+        assertFalse(loginAttemptService.isBlocked("10.0.0.1", "alice"));
+
+        loginAttemptService.registerFailedAttempt("10.0.0.1", "alice");
+
+        assertTrue(loginAttemptService.isBlocked("10.0.0.1"));
+        assertEquals(15, loginAttemptService.getBlockRemainingMinutes("10.0.0.1", "alice"));
+        assertFalse(loginAttemptService.isBlocked("10.0.0.2", "bob"));
+    }
+
+    @Test
+    void testFailedAttempts_BlockAccountAcrossIps() {
+        for (int i = 0; i < 5; i++) {
+            loginAttemptService.registerFailedAttempt("10.0.1." + i, "Alice ");
+        }
+
+        assertTrue(loginAttemptService.isBlocked("10.0.2.1", "alice"));
+        assertFalse(loginAttemptService.isBlocked("10.0.2.1", "bob"));
+    }
+
+    @Test
+    void testSuccessfulAttempt_ResetsIpAndAccount() {
+        loginAttemptService.registerFailedAttempt("10.0.0.1", "alice");
+        loginAttemptService.registerFailedAttempt("10.0.0.1", "alice");
+
+        loginAttemptService.registerSuccessfulAttempt("10.0.0.1", "alice");
+
+        assertEquals(3, loginAttemptService.getRemainingAttempts("10.0.0.1", "alice"));
+    }
+}
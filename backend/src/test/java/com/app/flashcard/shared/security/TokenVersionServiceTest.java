@@ -0,0 +1,64 @@
+package com.app.flashcard.shared.security;
+
+import com.app.flashcard.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TokenVersionService tokenVersionService;
+
+    @Test
+    void testIsCurrent_LoadsVersionOncePerCachePeriod() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3));
+
+        assertTrue(tokenVersionService.isCurrent(1L, 3));
+        assertTrue(tokenVersionService.isCurrent(1L, 3));
+        assertFalse(tokenVersionService.isCurrent(1L, 2));
+
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void testIsCurrent_ReloadsExpiredEntries() {
+        ReflectionTestUtils.setField(tokenVersionService, "cacheSeconds", 0L);
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0)).thenReturn(Optional.of(1));
+
+        assertTrue(tokenVersionService.isCurrent(1L, 0));
+        assertFalse(tokenVersionService.isCurrent(1L, 0));
+    }
+
+    @Test
+    void testIsCurrent_RejectsUnknownUsers() {
+        when(userRepository.findTokenVersionById(9L)).thenReturn(Optional.empty());
+
+        assertFalse(tokenVersionService.isCurrent(9L, 0));
+    }
+
+    @Test
+    void testRevokeTokens_RejectsOlderTokensWithoutReload() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0)).thenReturn(Optional.of(1));
+        assertTrue(tokenVersionService.isCurrent(1L, 0));
+
+        assertEquals(1, tokenVersionService.revokeTokens(1L));
+
+        assertFalse(tokenVersionService.isCurrent(1L, 0));
+        assertTrue(tokenVersionService.isCurrent(1L, 1));
+        verify(userRepository).incrementTokenVersion(1L);
+        verify(userRepository, times(2)).findTokenVersionById(1L);
+    }
+}
@@ -0,0 +1,47 @@
+package com.app.flashcard.shared.shadow;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testPercentilesReportBucketUpperBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.record(3_000);
+        }
+        histogram.record(100_000);
+        histogram.record(5_000_000);
+
+        assertEquals(100, histogram.count());
+        assertEquals(4, histogram.percentileMicros(0.5));
+        assertEquals(128, histogram.percentileMicros(0.99));
+        assertEquals(8192, histogram.percentileMicros(1.0));
+    }
+
+    @Test
+    void testStatisticsUsePrefix() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000);
+        histogram.record(3_000);
+
+        Map<String, Object> statistics = histogram.getStatistics("q.jpa.");
+
+        assertEquals(2L, statistics.get("q.jpa.count"));
+        assertEquals(2.0, statistics.get("q.jpa.latencyMicros.avg"));
+        assertEquals(3.0, statistics.get("q.jpa.latencyMicros.max"));
+    }
+
+    @Test
+    void testEmptyHistogramReportsZeros() {
+        Map<String, Object> statistics = new LatencyHistogram().getStatistics("");
+
+        assertEquals(0L, statistics.get("count"));
+        assertEquals(0.0, statistics.get("latencyMicros.avg"));
+        assertEquals(0L, statistics.get("latencyMicros.p99"));
+    }
+}
@@ -0,0 +1,266 @@
+package com.app.flashcard.shared.shadow;
+
+import com.app.flashcard.card.model.Card;
+import com.app.flashcard.card.repository.CardRepository;
+import com.app.flashcard.deck.repository.DeckRepository;
+import com.app.flashcard.shared.cache.MapperCache;
+import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ShadowReadServiceTest {
+
+    @Mock
+    private CardRepository jpaCards;
+
+    @Mock
+    private CardRepository myBatisCards;
+
+    @Mock
+    private UserRepository jpaUsers;
+
+    @Mock
+    private UserRepository myBatisUsers;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Runnable> submitted = new ArrayList<>();
+
+    private ShadowReadService shadowReads;
+
+    @BeforeEach
+    void setUp() {
+        shadowReads = service(1.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private ShadowReadService service(double sampleRate) {
+        return new ShadowReadService(
+            new ShadowReadService.Repositories(jpaCards, mock(DeckRepository.class), jpaUsers),
+            new ShadowReadService.Repositories(myBatisCards, mock(DeckRepository.class), myBatisUsers),
+            transactionManager, submitted::add, sampleRate);
+    }
+
+    @Test
+    void testEqualResultsCountAsMatchAndTimeBothBackends() {
+        when(jpaCards.findById(5)).thenReturn(Optional.of(card(5, "Front")));
+        when(myBatisCards.findById(5)).thenReturn(Optional.of(card(5, "Front")));
+
+        shadowReads.sample("card.findById", repositories -> repositories.cards().findById(5));
+        runSubmitted();
+
+        Map<String, Object> statistics = shadowReads.getStatistics();
+        assertEquals(1L, statistics.get("shadowReads.sampled"));
+        assertEquals(1L, statistics.get("shadowReads.card.findById.matches"));
+        assertEquals(0L, statistics.get("shadowReads.card.findById.mismatches"));
+        assertEquals(1L, statistics.get("shadowReads.card.findById.jpa.count"));
+        assertEquals(1L, statistics.get("shadowReads.card.findById.mybatis.count"));
+    }
+
+    @Test
+    void testDifferenceSurvivingTheRetryIsAMismatch() {
+        when(jpaCards.findById(5)).thenReturn(Optional.of(card(5, "Front")));
+        when(myBatisCards.findById(5)).thenReturn(Optional.of(card(5, "Other")));
+
+        shadowReads.compare("card.findById", repositories -> repositories.cards().findById(5), true);
+
+        Map<String, Object> statistics = shadowReads.getStatistics();
+        assertEquals(1L, statistics.get("shadowReads.card.findById.mismatches"));
+        assertEquals(0L, statistics.get("shadowReads.card.findById.transientMismatches"));
+        assertEquals(2L, statistics.get("shadowReads.card.findById.jpa.count"));
+    }
+
+    @Test
+    void testDifferenceGoneOnRetryIsTransient() {
+        // A write landed between the first two reads
+        when(jpaCards.countDueCardNum(7)).thenReturn(3, 4);
+        when(myBatisCards.countDueCardNum(7)).thenReturn(4);
+
+        shadowReads.compare("card.countDueCardNum", repositories -> repositories.cards().countDueCardNum(7), true);
+
+        Map<String, Object> statistics = shadowReads.getStatistics();
+        assertEquals(1L, statistics.get("shadowReads.card.countDueCardNum.transientMismatches"));
+        assertEquals(0L, statistics.get("shadowReads.card.countDueCardNum.mismatches"));
+    }
+
+    @Test
+    void testUnorderedCompareIgnoresTieOrder() {
+        when(jpaCards.findByDeckIDOrderByRemindTimeAsc(7)).thenReturn(List.of(card(1, "A"), card(2, "B")));
+        when(myBatisCards.findByDeckIDOrderByRemindTimeAsc(7)).thenReturn(List.of(card(2, "B"), card(1, "A")));
+
+        shadowReads.compare("card.findByDeck", repositories -> repositories.cards().findByDeckIDOrderByRemindTimeAsc(7), false);
+        shadowReads.compare("card.findByDeckOrdered",
+            repositories -> repositories.cards().findByDeckIDOrderByRemindTimeAsc(7), true);
+
+        Map<String, Object> statistics = shadowReads.getStatistics();
+        assertEquals(1L, statistics.get("shadowReads.card.findByDeck.matches"));
+        assertEquals(1L, statistics.get("shadowReads.card.findByDeckOrdered.mismatches"));
+    }
+
+    @Test
+    void testBackendOrderAlternates() {
+        List<String> firstBackends = new ArrayList<>();
+        when(jpaCards.countNewCardNum(7)).thenAnswer(invocation -> {
+            firstBackends.add("jpa");
+            return 1;
+        });
+        when(myBatisCards.countNewCardNum(7)).thenAnswer(invocation -> {
+            firstBackends.add("mybatis");
+            return 1;
+        });
+
+        for (int i = 0; i < 64; i++) {
+            shadowReads.compare("card.countNewCardNum", repositories -> repositories.cards().countNewCardNum(7), true);
+        }
+
+        List<String> firsts = new ArrayList<>();
+        for (int i = 0; i < firstBackends.size(); i += 2) {
+            firsts.add(firstBackends.get(i));
+        }
+        assertTrue(firsts.contains("jpa"));
+        assertTrue(firsts.contains("mybatis"));
+    }
+
+    @Test
+    void testMyBatisSideBypassesMapperCaches() {
+        MapperCache cache = new MapperCache("test.ShadowMapper");
+        cache.initialize();
+        cache.putObject("key", 1);
+        List<Object> seenByJpa = new ArrayList<>();
+        List<Object> seenByMyBatis = new ArrayList<>();
+        when(jpaCards.countNewCardNum(7)).thenAnswer(invocation -> {
+            seenByJpa.add(cache.getObject("key"));
+            return 1;
+        });
+        when(myBatisCards.countNewCardNum(7)).thenAnswer(invocation -> {
+            seenByMyBatis.add(cache.getObject("key"));
+            return 1;
+        });
+
+        shadowReads.compare("card.countNewCardNum", repositories -> repositories.cards().countNewCardNum(7), true);
+
+        assertEquals(List.of(1), seenByJpa);
+        assertEquals(Collections.singletonList(null), seenByMyBatis);
+    }
+
+    @Test
+    void testDisabledServiceStartsNoThreads() {
+        ShadowReadService disabled = new ShadowReadService(jpaCards, mock(DeckRepository.class), jpaUsers,
+            null, null, null, transactionManager, false, 0.01, 1, 100);
+
+        assertNull(ReflectionTestUtils.getField(disabled, "ownExecutor"));
+        disabled.sample("card.findById", repositories -> repositories.cards().findById(5));
+        disabled.destroy();
+        verifyNoInteractions(jpaCards);
+    }
+
+    @Test
+    void testPasswordHashesAreNotCompared() {
+        User jpaUser = user("hash-a");
+        User myBatisUser = user("hash-b");
+        when(jpaUsers.findById(3L)).thenReturn(Optional.of(jpaUser));
+        when(myBatisUsers.findById(3L)).thenReturn(Optional.of(myBatisUser));
+
+        shadowReads.compare("user.findById", repositories -> repositories.users().findById(3L), true);
+
+        assertEquals(1L, shadowReads.getStatistics().get("shadowReads.user.findById.matches"));
+        assertFalse(ShadowReadService.normalize(jpaUser, true).toString().contains("hash-a"));
+    }
+
+    @Test
+    void testFailingReadCountsAsError() {
+        // Not reached when MyBatis happens to go first
+        lenient().when(jpaCards.countNewCardNum(7)).thenReturn(1);
+        when(myBatisCards.countNewCardNum(7)).thenThrow(new IllegalStateException("bad mapping"));
+
+        shadowReads.compare("card.countNewCardNum", repositories -> repositories.cards().countNewCardNum(7), true);
+
+        assertEquals(1L, shadowReads.getStatistics().get("shadowReads.card.countNewCardNum.errors"));
+    }
+
+    @Test
+    void testZeroSampleRateNeverRuns() {
+        ShadowReadService disabled = service(0.0);
+
+        for (int i = 0; i < 100; i++) {
+            disabled.sample("card.findById", repositories -> repositories.cards().findById(5));
+        }
+
+        assertTrue(submitted.isEmpty());
+        assertEquals(0L, disabled.getStatistics().get("shadowReads.sampled"));
+        verifyNoInteractions(jpaCards, myBatisCards);
+    }
+
+    @Test
+    void testInTransactionWaitsForCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        shadowReads.sample("card.findById", repositories -> repositories.cards().findById(5));
+        assertTrue(submitted.isEmpty());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertEquals(1, submitted.size());
+    }
+
+    @Test
+    void testFullQueueDropsTheSample() {
+        ShadowReadService saturated = new ShadowReadService(
+            new ShadowReadService.Repositories(jpaCards, mock(DeckRepository.class), jpaUsers),
+            new ShadowReadService.Repositories(myBatisCards, mock(DeckRepository.class), myBatisUsers),
+            transactionManager, runnable -> {
+                throw new RejectedExecutionException();
+            }, 1.0);
+
+        saturated.sample("card.findById", repositories -> repositories.cards().findById(5));
+
+        assertEquals(1L, saturated.getStatistics().get("shadowReads.dropped"));
+        verifyNoInteractions(jpaCards, myBatisCards);
+    }
+
+    private void runSubmitted() {
+        submitted.forEach(Runnable::run);
+        submitted.clear();
+    }
+
+    private static Card card(int cardID, String front) {
+        Card card = new Card();
+        card.setCardID(cardID);
+        card.setDeckID(7);
+        card.setFontContent(front);
+        return card;
+    }
+
+    private static User user(String passwordHash) {
+        User user = new User().setByUserData("alice", passwordHash, "Alice Smith", 30, "alice@example.com");
+        user.setUserID(3L);
+        return user;
+    }
+}
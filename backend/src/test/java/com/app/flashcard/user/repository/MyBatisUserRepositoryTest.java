@@ -0,0 +1,99 @@
+package com.app.flashcard.user.repository;
+
+import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.model.UserPojo;
+import com.app.flashcard.user.model.UserRole;
+import com.app.flashcard.user.model.UserStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MyBatisUserRepositoryTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    private MyBatisUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new MyBatisUserRepository(userMapper);
+    }
+
+    @Test
+    void testFindByLoginIdentifier_KeepsLegacyAndModernFieldsAsStored() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4);
+        UserPojo pojo = UserPojo.builder()
+            .userID(3L).userLoginID("legacy").userPW("hash").userName("Old Name").userAge(40).userMail("old@example.com")
+            .modernUsername("modern").email("new@example.com").firstName("New").lastName("Name")
+            .dateOfBirth(LocalDate.of(1990, 5, 6)).status(UserStatus.SUSPENDED).role(UserRole.ADMIN)
+            .failedLoginAttempts(2).tokenVersion(7).createdAt(createdAt).build();
+        when(userMapper.findByLoginIdentifier("modern")).thenReturn(pojo);
+
+        User user = userRepository.findByLoginIdentifier("modern").orElseThrow();
+
+        assertEquals(3L, user.getUserID());
+        assertEquals("legacy", user.getUserLoginID());
+        assertEquals("modern", user.getUsername());
+        assertEquals("old@example.com", user.getUserMail());
+        assertEquals("new@example.com", user.getEmail());
+        assertEquals("Old Name", user.getUserName());
+        assertEquals(40, user.getUserAge());
+        assertEquals(LocalDate.of(1990, 5, 6), user.getDateOfBirth());
+        assertEquals(UserStatus.SUSPENDED, user.getStatus());
+        assertEquals(UserRole.ADMIN, user.getRole());
+        assertEquals(2, user.getFailedLoginAttempts());
+        assertEquals(7, user.getTokenVersion());
+        assertEquals(createdAt, user.getCreatedAt());
+    }
+
+    @Test
+    void testSave_NewUserIsInsertedWithIdAndTimestamps() {
+        when(userMapper.insert(any(UserPojo.class))).thenAnswer(invocation -> {
+            invocation.<UserPojo>getArgument(0).setUserID(11L);
+            return 1;
+        });
+        User user = new User().setByUserData("alice", "hash", "Alice Smith", 30, "alice@example.com");
+
+        User saved = userRepository.save(user);
+
+        assertEquals(11L, saved.getUserID());
+        assertNotNull(saved.getCreatedAt());
+        assertEquals(saved.getCreatedAt(), saved.getUpdatedAt());
+        ArgumentCaptor<UserPojo> inserted = ArgumentCaptor.forClass(UserPojo.class);
+        verify(userMapper).insert(inserted.capture());
+        assertEquals("alice", inserted.getValue().getModernUsername());
+        assertEquals(saved.getCreatedAt(), inserted.getValue().getCreatedAt());
+    }
+
+    @Test
+    void testFindByUserLoginID_ReturnsEveryMatch() {
+        when(userMapper.findAllByUserLoginID("bob")).thenReturn(List.of(
+            UserPojo.builder().userID(1L).userLoginID("bob").build(),
+            UserPojo.builder().userID(2L).userLoginID("bob").build()));
+
+        assertEquals(2, userRepository.findByUserLoginID("bob").size());
+    }
+
+    @Test
+    void testDeleteById_RemovesPreferencesFirst() {
+        userRepository.deleteById(5L);
+
+        InOrder order = inOrder(userMapper);
+        order.verify(userMapper).deleteAllPreferences(5L);
+        order.verify(userMapper).deleteById(5L);
+    }
+}
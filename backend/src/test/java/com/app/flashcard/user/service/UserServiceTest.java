@@ -1,9 +1,13 @@
 package com.app.flashcard.user.service;
 
 import com.app.flashcard.user.model.User;
+import com.app.flashcard.user.model.UserStatus;
 import com.app.flashcard.user.repository.UserRepository;
 import com.app.flashcard.shared.exception.EntityNotFoundException;
 import com.app.flashcard.shared.exception.ValidationException;
+import com.app.flashcard.shared.cache.MapperCacheManager;
+import com.app.flashcard.shared.security.TokenVersionService;
+import com.app.flashcard.shared.shadow.ShadowReadService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +22,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -30,6 +35,15 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Mock
+    private MapperCacheManager mapperCacheManager;
+
+    @Mock
+    private ShadowReadService shadowReads;
+
     @InjectMocks
     private UserService userService;
 
@@ -38,7 +52,7 @@ class UserServiceTest {
     @BeforeEach
     void setUp() {
         testUser = new User();
-        testUser.setUserID(1);
+        testUser.setUserID(1L);
         testUser.setUserLoginID("testuser");
         testUser.setUserPW("hashedpassword");
         testUser.setUserName("Test User");
@@ -98,39 +112,71 @@ class UserServiceTest {
 
     @Test
     void testFindById_Success() {
-        when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
-        User result = userService.findById(1);
+        User result = userService.findById(1L);
 
         assertNotNull(result);
-        assertEquals(1, result.getUserID());
+        assertEquals(1L, result.getUserID());
     }
 
     @Test
     void testFindById_NotFound() {
-        when(userRepository.findById(999)).thenReturn(Optional.empty());
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, 
-            () -> userService.findById(999));
+            () -> userService.findById(999L));
     }
 
     @Test
     void testUpdateProfile_Success() {
-        when(userRepository.findById(1)).thenReturn(Optional.of(testUser));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(userRepository.save(any(User.class))).thenReturn(testUser);
 
-        User result = userService.updateProfile(1, "newpassword", "Updated Name", 26, "updated@example.com");
+        User result = userService.updateProfile(1L, "newpassword", "Updated Name", 26, "updated@example.com");
 
         assertNotNull(result);
         verify(userRepository).save(any(User.class));
+        verify(tokenVersionService).revokeTokens(1L);
+    }
+
+    @Test
+    void testUpdateProfile_SamePassword_KeepsTokens() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        userService.updateProfile(1L, "hashedpassword", "Updated Name", 26, "updated@example.com");
+
+        verify(tokenVersionService, never()).revokeTokens(anyLong());
+    }
+
+    @Test
+    void testUpdateStatus_RevokesTokens() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(testUser)).thenReturn(testUser);
+
+        User result = userService.updateStatus(1L, UserStatus.SUSPENDED);
+
+        assertEquals(UserStatus.SUSPENDED, result.getStatus());
+        verify(tokenVersionService).revokeTokens(1L);
+    }
+
+    @Test
+    void testUpdateStatus_Unchanged_KeepsTokens() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        userService.updateStatus(1L, UserStatus.ACTIVE);
+
+        verify(userRepository, never()).save(any(User.class));
+        verify(tokenVersionService, never()).revokeTokens(anyLong());
     }
 
     @Test
     void testUpdateProfile_UserNotFound() {
-        when(userRepository.findById(999)).thenReturn(Optional.empty());
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, 
-            () -> userService.updateProfile(999, "newpassword", "Updated Name", 26, "updated@example.com"));
+            () -> userService.updateProfile(999L, "newpassword", "Updated Name", 26, "updated@example.com"));
     }
 
     @Test